@@ -34,6 +34,9 @@ configurations {
     create("apiTestImplementation").extendsFrom(configurations["testImplementation"])
     create("apiTestRuntimeOnly").extendsFrom(configurations["testRuntimeOnly"])
 
+    create("jmhImplementation").extendsFrom(configurations["implementation"])
+    create("jmhRuntimeOnly").extendsFrom(configurations["runtimeOnly"])
+
     all {
         exclude(group = "junit", module = "junit")
         exclude(group = "org.assertj", module = "assertj-core")
@@ -95,6 +98,10 @@ dependencies {
 
     testCompileOnly("org.projectlombok:lombok:1.18.24")
     testAnnotationProcessor("org.projectlombok:lombok:1.18.24")
+
+    // JMH
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 sourceSets {
@@ -102,6 +109,11 @@ sourceSets {
         compileClasspath += sourceSets["main"].output + sourceSets["test"].output
         runtimeClasspath += sourceSets["main"].output + sourceSets["test"].output
     }
+
+    create("jmh") {
+        compileClasspath += sourceSets["main"].output
+        runtimeClasspath += sourceSets["main"].output
+    }
 }
 
 tasks.withType<Test> {
@@ -120,3 +132,18 @@ tasks.named("check") {
     dependsOn(tasks.named("apiTest"))
 }
 
+tasks.register<JavaExec>("jmh") {
+    description = "Run JMH benchmarks, e.g. -Pjmh.args=\"FilterThroughputBenchmark -p strategy=DAT -prof gc\"."
+    group = "benchmark"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args = (project.findProperty("jmh.args") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: listOf()
+}
+
+tasks.register<JavaExec>("jmhFootprint") {
+    description = "Print the retained heap of each sensitive word filter, e.g. -Pjmh.args=\"1000 100000\"."
+    group = "benchmark"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.ricky.common.sensitiveword.benchmark.FilterFootprint")
+    args = (project.findProperty("jmh.args") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: listOf()
+}
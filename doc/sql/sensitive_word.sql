@@ -6,7 +6,57 @@ USE `my_sensitive_word`;
 DROP TABLE IF EXISTS `sensitive_word`;
 CREATE TABLE `sensitive_word`
 (
-    `word` varchar(64) NOT NULL COMMENT '敏感词'
+    `id`       bigint      NOT NULL AUTO_INCREMENT COMMENT '主键',
+    `word`     varchar(64) NOT NULL COMMENT '敏感词',
+    `category` varchar(16) NOT NULL DEFAULT 'OTHER' COMMENT '分类：POLITICS/ADVERTISEMENT/ABUSE/PORNOGRAPHY/OTHER',
+    `severity` varchar(16) NOT NULL DEFAULT 'MEDIUM' COMMENT '严重程度：LOW/MEDIUM/HIGH',
+    `max_gap`  tinyint              DEFAULT NULL COMMENT '相邻两个字之间最多允许插入的字符数，为空时取分类的默认值',
+    `update_time` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3) COMMENT '最后修改时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_word` (`word`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4
-  COLLATE = utf8mb4_0900_ai_ci COMMENT ='敏感词表';
\ No newline at end of file
+  COLLATE = utf8mb4_0900_ai_ci COMMENT ='敏感词表';
+
+DROP TABLE IF EXISTS `sensitive_word_scene`;
+CREATE TABLE `sensitive_word_scene`
+(
+    `id`    bigint      NOT NULL AUTO_INCREMENT COMMENT '主键',
+    `scene` varchar(32) NOT NULL COMMENT '场景：danmaku/username/ad等',
+    `word`  varchar(64) NOT NULL COMMENT '敏感词',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_scene_word` (`scene`, `word`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_0900_ai_ci COMMENT ='场景敏感词表';
+DROP TABLE IF EXISTS `sensitive_word_change`;
+CREATE TABLE `sensitive_word_change`
+(
+    `id`          bigint      NOT NULL AUTO_INCREMENT COMMENT '主键，即变更版本',
+    `word`        varchar(64) NOT NULL COMMENT '发生变化的敏感词',
+    `create_time` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '变更时间',
+    PRIMARY KEY (`id`),
+    KEY `idx_create_time` (`create_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_0900_ai_ci COMMENT ='敏感词变更记录，由触发器写入，各节点据此增量同步；可按create_time定期清理旧记录';
+
+CREATE TRIGGER `trg_sensitive_word_insert`
+    AFTER INSERT
+    ON `sensitive_word`
+    FOR EACH ROW INSERT INTO `sensitive_word_change` (`word`)
+                 VALUES (NEW.`word`);
+
+CREATE TRIGGER `trg_sensitive_word_update`
+    AFTER UPDATE
+    ON `sensitive_word`
+    FOR EACH ROW INSERT INTO `sensitive_word_change` (`word`)
+                 SELECT NEW.`word`
+                 UNION
+                 SELECT OLD.`word`;
+
+CREATE TRIGGER `trg_sensitive_word_delete`
+    AFTER DELETE
+    ON `sensitive_word`
+    FOR EACH ROW INSERT INTO `sensitive_word_change` (`word`)
+                 VALUES (OLD.`word`);
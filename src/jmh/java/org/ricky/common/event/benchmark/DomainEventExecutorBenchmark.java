@@ -0,0 +1,440 @@
+package org.ricky.common.event.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.ricky.common.event.consume.DomainEventConsumeLimiter;
+import org.ricky.common.event.consume.PartitionedDomainEventDispatcher;
+import org.ricky.common.event.consume.RedisDomainEventListener;
+import org.ricky.common.event.publish.AsynchronousDomainEventPublisher;
+import org.ricky.common.event.publish.sender.DomainEventSender;
+import org.ricky.common.taskexecutor.DownstreamConcurrencyLimiter;
+import org.ricky.common.taskexecutor.DownstreamConcurrencyLimiter.Permit;
+import org.ricky.common.taskexecutor.TaskExecutorModeEnum;
+import org.ricky.common.taskexecutor.TaskExecutors;
+import org.ricky.core.common.domain.event.*;
+import org.ricky.core.common.properties.DomainEventProperties;
+import org.ricky.core.common.utils.TaskRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DomainEventExecutorBenchmark
+ * @desc 平台线程池与虚拟线程两种执行模式下，领域事件发布与消费路径处理一批突发事件的耗时、完成数与被拒绝数<br>
+ * 直接驱动应用中的{@link AsynchronousDomainEventPublisher}与{@link DomainEventConsumer}，
+ * 执行器与应用中的配置一致，只把MongoDB与Redis的访问换成固定耗时的休眠：
+ * <ul>
+ *     <li>PUBLISH：发布器在taskExecutor上读取事件（MongoDB） -> 发送到流（Redis） -> 批量记录发布结果（MongoDB）</li>
+ *     <li>CONSUME与CONSUME_PARTITIONED：与应用中一样，consumeDomainEventTaskExecutor上只运行固定数量的拉取循环，
+ *     每次从流中拉取一批事件（Redis），按{@link RedisDomainEventListener}的方式逐个处理：
+ *     先取得{@link DomainEventConsumeLimiter}的许可，CONSUME在拉取线程中消费，
+ *     CONSUME_PARTITIONED按聚合根分配到{@link PartitionedDomainEventDispatcher}的通道中消费；
+ *     两个可并发的处理器在handleDomainEventTaskExecutor上各自查询并保存聚合根（MongoDB），
+ *     消费状态由{@link DomainEventConsumeStatusRecorder}写入（MongoDB）</li>
+ * </ul>
+ * VIRTUAL模式下对下游的并发访问由{@link DownstreamConcurrencyLimiter}限制，与应用中的默认配置一致<br>
+ * 每次调用发布或向流中写入burst个事件并等待全部结束，events只统计处理完成的事件，被执行器拒绝的事件计入rejected；
+ * 比较两种模式时应同时看耗时与完成数<br>
+ * 虚拟线程需要JDK 21及以上，低版本JDK上VIRTUAL会退回平台线程池，此时应指定JMH的-jvm，例如
+ * {@code ./gradlew jmh -Pjmh.args="DomainEventExecutorBenchmark -jvm /opt/jdk-21/bin/java"}<br>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DomainEventExecutorBenchmark {
+
+    /**
+     * 模拟的单次MongoDB访问耗时，单位微秒
+     */
+    private static final long MONGO_MICROS = 2000;
+
+    /**
+     * 模拟的单次Redis访问耗时，单位微秒
+     */
+    private static final long REDIS_MICROS = 500;
+
+    /**
+     * 最大的burst，事件预先创建
+     */
+    private static final int MAX_BURST = 5000;
+
+    /**
+     * 事件分布的聚合根数
+     */
+    private static final int AGGREGATE_ROOTS = 1000;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private TaskExecutorModeEnum mode;
+
+    @Param({"PUBLISH", "CONSUME", "CONSUME_PARTITIONED"})
+    private PathEnum path;
+
+    /**
+     * 一批突发事件的数量
+     */
+    @Param({"500", "5000"})
+    private int burst;
+
+    private final List<TaskExecutor> executors = new ArrayList<>();
+
+    private DownstreamConcurrencyLimiter mongo;
+
+    private DownstreamConcurrencyLimiter redis;
+
+    private AsynchronousDomainEventPublisher publisher;
+
+    private DomainEventConsumer consumer;
+
+    private DomainEventConsumeStatusRecorder recorder;
+
+    private DomainEventConsumeLimiter consumeLimiter;
+
+    private PartitionedDomainEventDispatcher dispatcher;
+
+    /**
+     * 流中尚未被拉取的事件
+     */
+    private final BlockingQueue<DomainEvent> stream = new LinkedBlockingQueue<>();
+
+    private volatile boolean polling;
+
+    private int pollBatchSize;
+
+    private final DomainEvent[] events = new DomainEvent[MAX_BURST];
+
+    private final AtomicLong completed = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * 当前这批事件中尚未结束的事件数
+     */
+    private volatile CountDownLatch remaining;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (TaskExecutors.virtual(mode)) {
+            // 与MongoDB连接池的maxWaitTime、Lettuce的命令超时的默认值一致
+            mongo = new DownstreamConcurrencyLimiter("mongo", 200, Duration.ofMinutes(2));
+            redis = new DownstreamConcurrencyLimiter("redis", 256, Duration.ofSeconds(60));
+        }
+        for (int i = 0; i < events.length; ++i) {
+            events[i] = new BenchmarkEvent("ar-" + i % AGGREGATE_ROOTS);
+        }
+        DomainEventDao domainEventDao = new SimulatedDomainEventDao();
+        if (path == PathEnum.PUBLISH) {
+            TaskExecutor taskExecutor = executor("bench-common-", 500);
+            publisher = new AsynchronousDomainEventPublisher(domainEventDao, new SimulatedDomainEventSender(domainEventDao),
+                    taskExecutor);
+            return;
+        }
+        DomainEventProperties properties = new DomainEventProperties();
+        recorder = new DomainEventConsumeStatusRecorder(domainEventDao, properties);
+        List<DomainEventHandler> handlers = new ArrayList<>(List.of(new SimulatedHandler(), new SimulatedHandler()));
+        consumer = new DomainEventConsumer(handlers, recorder, executor("bench-handler-", 500));
+        consumeLimiter = new DomainEventConsumeLimiter(properties);
+        if (path == PathEnum.CONSUME_PARTITIONED) {
+            dispatcher = new PartitionedDomainEventDispatcher(properties);
+        }
+        // 与应用中一样，consumeDomainEventTaskExecutor只运行固定数量的拉取循环
+        pollBatchSize = properties.getConsumeBatchSize();
+        polling = true;
+        TaskExecutor consumeDomainEventTaskExecutor = executor("bench-event-", 0);
+        for (int i = 0; i < properties.getConsumers(); ++i) {
+            consumeDomainEventTaskExecutor.execute(this::poll);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        polling = false;
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        if (recorder != null) {
+            recorder.shutdown();
+        }
+        for (TaskExecutor executor : executors) {
+            if (executor instanceof ThreadPoolTaskExecutor threadPool) {
+                threadPool.shutdown();
+            }
+        }
+    }
+
+    @Benchmark
+    public void burst(EventCounters counters) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(burst);
+        remaining = latch;
+        long completedBefore = completed.get();
+        long rejectedBefore = rejected.get();
+        for (int i = 0; i < burst; ++i) {
+            if (path == PathEnum.PUBLISH) {
+                try {
+                    publisher.publish(List.of(Integer.toString(i)));
+                } catch (RejectedExecutionException e) {
+                    rejected.incrementAndGet();
+                    latch.countDown();
+                }
+            } else {
+                // 写入流的一方不计入耗时，拉取循环随即开始处理
+                stream.add(events[i]);
+            }
+        }
+        latch.await();
+        counters.events += completed.get() - completedBefore;
+        counters.rejected += rejected.get() - rejectedBefore;
+    }
+
+    private TaskExecutor executor(String prefix, int queueCapacity) {
+        TaskExecutor executor = TaskExecutors.create(mode, prefix, queueCapacity);
+        executors.add(executor);
+        return executor;
+    }
+
+    /**
+     * 拉取循环，对应StreamMessageListenerContainer中的一个订阅：每次XREADGROUP读取一批事件，依次交给监听器
+     */
+    private void poll() {
+        List<DomainEvent> batch = new ArrayList<>(pollBatchSize);
+        while (polling) {
+            try {
+                DomainEvent first = stream.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                stream.drainTo(batch, pollBatchSize - 1);
+                access(redis, REDIS_MICROS);
+                for (DomainEvent domainEvent : batch) {
+                    onMessage(domainEvent);
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 与{@link RedisDomainEventListener}的处理方式一致
+     */
+    private void onMessage(DomainEvent domainEvent) {
+        // 达到处理中事件数上限时阻塞拉取线程
+        consumeLimiter.acquire();
+        long start = System.nanoTime();
+        if (dispatcher == null) {
+            consume(domainEvent, start);
+            return;
+        }
+        try {
+            dispatcher.dispatch(domainEvent.getArId(), () -> consume(domainEvent, start));
+        } catch (RejectedExecutionException e) {
+            consumeLimiter.release(System.nanoTime() - start);
+            rejected.incrementAndGet();
+            remaining.countDown();
+        }
+    }
+
+    private void consume(DomainEvent domainEvent, long start) {
+        try {
+            consumer.consume(domainEvent);
+            completed.incrementAndGet();
+        } finally {
+            consumeLimiter.release(System.nanoTime() - start);
+            remaining.countDown();
+        }
+    }
+
+    private void access(DownstreamConcurrencyLimiter limiter, long micros) {
+        Permit permit = limiter != null ? limiter.acquire() : null;
+        try {
+            TimeUnit.MICROSECONDS.sleep(micros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (permit != null) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * 领域事件的处理路径
+     */
+    public enum PathEnum {
+        PUBLISH,
+        CONSUME,
+        CONSUME_PARTITIONED,
+    }
+
+    /**
+     * 每次迭代处理完成的事件数与被拒绝的事件数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EventCounters {
+
+        public long events;
+
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            events = 0;
+            rejected = 0;
+        }
+    }
+
+    /**
+     * 事件分布在多个聚合根上，分区消费时进入不同的通道
+     */
+    private static class BenchmarkEvent extends DomainEvent {
+
+        private final String arId;
+
+        private BenchmarkEvent(String arId) {
+            this.arId = arId;
+        }
+
+        @Override
+        public String getArId() {
+            return arId;
+        }
+
+    }
+
+    /**
+     * 发送到流的耗时用一次Redis访问模拟，发布结果一次写入，写入后这个事件才算发布完成
+     */
+    private class SimulatedDomainEventSender implements DomainEventSender {
+
+        private final DomainEventDao domainEventDao;
+
+        private SimulatedDomainEventSender(DomainEventDao domainEventDao) {
+            this.domainEventDao = domainEventDao;
+        }
+
+        @Override
+        public void send(DomainEvent event) {
+            send(List.of(event));
+        }
+
+        @Override
+        public void send(List<DomainEvent> events) {
+            try {
+                access(redis, REDIS_MICROS);
+                domainEventDao.recordPublishResults(events, List.of());
+                completed.addAndGet(events.size());
+            } finally {
+                for (int i = 0; i < events.size(); ++i) {
+                    remaining.countDown();
+                }
+            }
+        }
+
+    }
+
+    /**
+     * 查询并保存聚合根
+     */
+    private class SimulatedHandler implements DomainEventHandler {
+
+        @Override
+        public boolean canHandle(DomainEvent domainEvent) {
+            return true;
+        }
+
+        @Override
+        public void handle(DomainEvent domainEvent, TaskRunner taskRunner) {
+            access(mongo, MONGO_MICROS);
+            access(mongo, MONGO_MICROS);
+        }
+
+        @Override
+        public boolean concurrent() {
+            return true;
+        }
+
+    }
+
+    /**
+     * 每次读写用一次MongoDB访问模拟，基准测试用不到的方法不支持
+     */
+    private class SimulatedDomainEventDao implements DomainEventDao {
+
+        @Override
+        public List<DomainEvent> byIds(List<String> ids) {
+            access(mongo, MONGO_MICROS);
+            return ids.stream().map(id -> events[Integer.parseInt(id)]).toList();
+        }
+
+        @Override
+        public void recordPublishResults(List<DomainEvent> succeeded, List<DomainEvent> failed) {
+            access(mongo, MONGO_MICROS);
+        }
+
+        @Override
+        public void recordConsumeResults(List<DomainEvent> succeeded, List<DomainEvent> failed) {
+            access(mongo, MONGO_MICROS);
+        }
+
+        @Override
+        public void successConsume(DomainEvent event) {
+            access(mongo, MONGO_MICROS);
+        }
+
+        @Override
+        public void failConsume(DomainEvent event) {
+            access(mongo, MONGO_MICROS);
+        }
+
+        @Override
+        public void insert(List<DomainEvent> events) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public DomainEvent byId(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T extends DomainEvent> T latestEventFor(String arId, DomainEventTypeEnum type, Class<T> eventClass) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void successPublish(DomainEvent event) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void failPublish(DomainEvent event) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<DomainEvent> tobePublishedEvents(String startId, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<DomainEvent> claimTobePublishedEvents(Instant raisedBefore, Duration lease, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
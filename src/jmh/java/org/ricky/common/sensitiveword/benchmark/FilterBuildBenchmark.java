@@ -0,0 +1,48 @@
+package org.ricky.common.sensitiveword.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordFilterStrategyEnum;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className FilterBuildBenchmark
+ * @desc 各过滤策略构建词库的耗时<br>
+ * 配合{@code -prof gc}可以同时得到构建过程中的内存分配量，构建完成后的常驻内存见{@link FilterFootprint}<br>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FilterBuildBenchmark {
+
+    @Param({"DFA", "AC", "AC_PRO", "DAT"})
+    private SensitiveWordFilterStrategyEnum strategy;
+
+    @Param({"1000", "10000", "100000", "500000"})
+    private int dictionarySize;
+
+    private List<String> words;
+
+    private SensitiveWordFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = new SensitiveWordCorpus(SensitiveWordCorpus.DEFAULT_SEED).words(dictionarySize);
+        filter = strategy.filter();
+    }
+
+    @Benchmark
+    public SensitiveWordFilter build() {
+        filter.loadWord(words);
+        return filter;
+    }
+
+}
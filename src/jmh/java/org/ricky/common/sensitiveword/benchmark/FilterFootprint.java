@@ -0,0 +1,104 @@
+package org.ricky.common.sensitiveword.benchmark;
+
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordFilterStrategyEnum;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className FilterFootprint
+ * @desc 各过滤策略构建完成后词库的常驻堆内存<br>
+ * JMH只能测量分配量，无法测量构建结果本身占用的内存，因此单独比较加载词库前后Full GC之后的已用堆内存；
+ * 每个策略与词库规模都在独立的JVM中测量，互不干扰<br>
+ * 用法：{@code ./gradlew jmhFootprint -Pjmh.args="1000 100000"}，参数为词库规模，默认为1k、10k、100k、500k<br>
+ */
+public final class FilterFootprint {
+
+    private static final int[] DEFAULT_DICTIONARY_SIZES = {1000, 10000, 100000, 500000};
+
+    /**
+     * 子进程参数标记
+     */
+    private static final String CHILD = "--child";
+
+    /**
+     * 加载词库之前先加载的占位词，使各过滤器首次使用时初始化的数据计入基线
+     */
+    private static final List<String> PLACEHOLDER = List.of("占位");
+
+    private FilterFootprint() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 3 && CHILD.equals(args[0])) {
+            System.out.println(measure(SensitiveWordFilterStrategyEnum.valueOf(args[1]), Integer.parseInt(args[2])));
+            return;
+        }
+        int[] sizes = args.length == 0
+                ? DEFAULT_DICTIONARY_SIZES
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        System.out.printf("%-8s %12s %14s %14s%n", "strategy", "words", "retained(KB)", "bytes/word");
+        for (int size : sizes) {
+            for (SensitiveWordFilterStrategyEnum strategy : SensitiveWordFilterStrategyEnum.values()) {
+                long retained = fork(strategy, size);
+                System.out.printf("%-8s %12d %14d %14.1f%n", strategy, size, retained / 1024, (double) retained / size);
+            }
+        }
+    }
+
+    private static long fork(SensitiveWordFilterStrategyEnum strategy, int size) throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(java, "-XX:+UseSerialGC", "-Xmx4g",
+                "-cp", System.getProperty("java.class.path"),
+                FilterFootprint.class.getName(), CHILD, strategy.name(), String.valueOf(size))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Failed to measure " + strategy + " with " + size + " words.");
+        }
+        return Long.parseLong(output);
+    }
+
+    private static long measure(SensitiveWordFilterStrategyEnum strategy, int size) throws InterruptedException {
+        List<String> words = new SensitiveWordCorpus(SensitiveWordCorpus.DEFAULT_SEED).words(size);
+        SensitiveWordFilter filter = strategy.filter();
+        filter.loadWord(PLACEHOLDER);
+        long before = usedHeapAfterGc();
+        filter.loadWord(words);
+        long after = usedHeapAfterGc();
+        // 保证测量期间词库可达
+        if (!filter.hasSensitiveWord(words.get(0))) {
+            throw new IllegalStateException(strategy + " does not match its own words.");
+        }
+        return after - before;
+    }
+
+    /**
+     * Full GC之后的已用堆内存<br>
+     * 取各内存池在上一次GC刚结束时的用量，不受GC之后新分配的临时对象影响
+     */
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; ++i) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null) {
+                used += pool.getCollectionUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+}
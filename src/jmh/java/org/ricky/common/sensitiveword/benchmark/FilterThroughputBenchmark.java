@@ -0,0 +1,85 @@
+package org.ricky.common.sensitiveword.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.ricky.common.sensitiveword.benchmark.SensitiveWordCorpus.TextTypeEnum;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordFilterStrategyEnum;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className FilterThroughputBenchmark
+ * @desc 各过滤策略{@code filter}与{@code hasSensitiveWord}的吞吐量与延迟分布<br>
+ * 每组参数预先生成固定的一批文本，各线程依次轮流使用，避免只反复扫描同一段文本<br>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FilterThroughputBenchmark {
+
+    /**
+     * 每组参数生成的文本数
+     */
+    private static final int TEXT_COUNT = 1024;
+
+    @Param({"DFA", "AC", "AC_PRO", "DAT"})
+    private SensitiveWordFilterStrategyEnum strategy;
+
+    @Param({"1000", "100000", "500000"})
+    private int dictionarySize;
+
+    @Param({"DANMAKU", "COMMENT", "ARTICLE"})
+    private TextTypeEnum textType;
+
+    /**
+     * 敏感词字符在文本中所占的比例
+     */
+    @Param({"0", "0.01", "0.1"})
+    private double hitDensity;
+
+    private String[] texts;
+
+    private SensitiveWordFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SensitiveWordCorpus corpus = new SensitiveWordCorpus(SensitiveWordCorpus.DEFAULT_SEED);
+        List<String> words = corpus.words(dictionarySize);
+        texts = corpus.texts(textType, TEXT_COUNT, words, hitDensity).toArray(new String[0]);
+        filter = strategy.filter();
+        filter.loadWord(words);
+    }
+
+    @Benchmark
+    public String filter(TextCursor cursor) {
+        return filter.filter(cursor.next(texts));
+    }
+
+    @Benchmark
+    public boolean hasSensitiveWord(TextCursor cursor) {
+        return filter.hasSensitiveWord(cursor.next(texts));
+    }
+
+    /**
+     * 每个线程独立的文本游标
+     */
+    @State(Scope.Thread)
+    public static class TextCursor {
+
+        private int index;
+
+        String next(String[] texts) {
+            String text = texts[index];
+            index = (index + 1) & (texts.length - 1);
+            return text;
+        }
+    }
+
+}
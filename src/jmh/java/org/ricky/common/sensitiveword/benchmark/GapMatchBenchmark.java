@@ -0,0 +1,97 @@
+package org.ricky.common.sensitiveword.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.ricky.common.sensitiveword.benchmark.SensitiveWordCorpus.TextTypeEnum;
+import org.ricky.common.sensitiveword.domain.SensitiveWord;
+import org.ricky.common.sensitiveword.domain.filter.impl.DATFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className GapMatchBenchmark
+ * @desc 允许字间插入字符的匹配相对精确匹配的开销<br>
+ * gapWordRatio为允许插入字符的敏感词所占的比例，maxGap为这些敏感词允许的间隔；
+ * gapWordRatio为0时即为精确匹配的基准，其余参数组合与之对比<br>
+ * 文本中约一半的敏感词在字间插入了字符，保证两种匹配方式都要处理命中<br>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GapMatchBenchmark {
+
+    /**
+     * 每组参数生成的文本数
+     */
+    private static final int TEXT_COUNT = 1024;
+
+    @Param({"10000", "100000"})
+    private int dictionarySize;
+
+    @Param({"0", "0.1", "1"})
+    private double gapWordRatio;
+
+    @Param({"1", "2"})
+    private int maxGap;
+
+    @Param({"DANMAKU", "COMMENT", "ARTICLE"})
+    private TextTypeEnum textType;
+
+    private String[] texts;
+
+    private DATFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SensitiveWordCorpus corpus = new SensitiveWordCorpus(SensitiveWordCorpus.DEFAULT_SEED);
+        List<String> words = corpus.words(dictionarySize);
+        Random random = new Random(SensitiveWordCorpus.DEFAULT_SEED);
+        List<SensitiveWord> sensitiveWords = new ArrayList<>(words.size());
+        List<String> textWords = new ArrayList<>(words.size());
+        for (String word : words) {
+            SensitiveWord sensitiveWord = new SensitiveWord();
+            sensitiveWord.setWord(word);
+            sensitiveWord.setMaxGap(random.nextDouble() < gapWordRatio ? maxGap : 0);
+            sensitiveWords.add(sensitiveWord);
+            textWords.add(random.nextBoolean() ? interleave(word, random) : word);
+        }
+        texts = corpus.texts(textType, TEXT_COUNT, textWords, 0.01).toArray(new String[0]);
+        filter = DATFilter.getInstance();
+        filter.loadSensitiveWord(sensitiveWords);
+    }
+
+    /**
+     * 在敏感词的字间插入1~maxGap个字符
+     */
+    private String interleave(String word, Random random) {
+        StringBuilder interleaved = new StringBuilder(word.length() * (maxGap + 1));
+        for (int i = 0; i < word.length(); ++i) {
+            if (i > 0) {
+                for (int j = 1 + random.nextInt(maxGap); j > 0; --j) {
+                    interleaved.append('x');
+                }
+            }
+            interleaved.append(word.charAt(i));
+        }
+        return interleaved.toString();
+    }
+
+    @Benchmark
+    public String filter(FilterThroughputBenchmark.TextCursor cursor) {
+        return filter.filter(cursor.next(texts));
+    }
+
+    @Benchmark
+    public boolean hasSensitiveWord(FilterThroughputBenchmark.TextCursor cursor) {
+        return filter.hasSensitiveWord(cursor.next(texts));
+    }
+
+}
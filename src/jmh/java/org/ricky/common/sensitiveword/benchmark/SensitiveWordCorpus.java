@@ -0,0 +1,190 @@
+package org.ricky.common.sensitiveword.benchmark;
+
+import java.util.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordCorpus
+ * @desc 可复现的合成中文语料<br>
+ * 字符取自CJK统一汉字区，按Zipf分布抽样，接近真实文本中常用字远多于生僻字的分布；
+ * 相同的种子总是生成相同的敏感词与文本，不同提交之间的测试结果可以直接比较<br>
+ */
+public final class SensitiveWordCorpus {
+
+    /**
+     * 默认种子
+     */
+    public static final long DEFAULT_SEED = 20261017L;
+
+    /**
+     * CJK统一汉字区
+     */
+    private static final char CJK_FIRST = '\u4E00';
+    private static final char CJK_LAST = '\u9FA5';
+
+    /**
+     * 汉字字符池大小，接近常用字的数量
+     */
+    private static final int CHAR_POOL_SIZE = 3500;
+
+    /**
+     * Zipf分布的指数
+     */
+    private static final double ZIPF_EXPONENT = 1.0;
+
+    /**
+     * 弹幕中常见的非汉字片段
+     */
+    private static final String[] DANMAKU_FRAGMENTS = {"233", "hhh", "awsl", "yyds", "？？？", "！", "~", "666", "2333333"};
+
+    private static final String PUNCTUATIONS = "，。！？、；：";
+
+    private final long seed;
+
+    /**
+     * 汉字字符池，按抽样概率从高到低排列
+     */
+    private final char[] chars;
+
+    /**
+     * 字符池的累积分布
+     */
+    private final double[] cumulative;
+
+    public SensitiveWordCorpus(long seed) {
+        this.seed = seed;
+        Random random = new Random(seed);
+        List<Character> all = new ArrayList<>(CJK_LAST - CJK_FIRST + 1);
+        for (char c = CJK_FIRST; c <= CJK_LAST; ++c) {
+            all.add(c);
+        }
+        Collections.shuffle(all, random);
+        chars = new char[CHAR_POOL_SIZE];
+        cumulative = new double[CHAR_POOL_SIZE];
+        double sum = 0;
+        for (int i = 0; i < CHAR_POOL_SIZE; ++i) {
+            chars[i] = all.get(i);
+            sum += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < CHAR_POOL_SIZE; ++i) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    /**
+     * 生成互不相同的敏感词，长度为2~6，以2~4字为主<br>
+     * 字符在字符池中均匀抽样，否则大词库中的短词几乎都由最常用的字组成，普通文本也会频繁命中
+     *
+     * @param count 敏感词数
+     * @return 敏感词列表，相同的种子与数量总是返回相同的结果
+     */
+    public List<String> words(int count) {
+        Random random = new Random(seed ^ count);
+        Set<String> words = new LinkedHashSet<>(count * 2);
+        StringBuilder word = new StringBuilder(6);
+        while (words.size() < count) {
+            word.setLength(0);
+            int length = wordLength(random);
+            for (int i = 0; i < length; ++i) {
+                word.append(chars[random.nextInt(CHAR_POOL_SIZE)]);
+            }
+            words.add(word.toString());
+        }
+        return new ArrayList<>(words);
+    }
+
+    /**
+     * 生成文本
+     *
+     * @param type       文本类型
+     * @param count      文本数
+     * @param words      敏感词
+     * @param hitDensity 敏感词字符在文本中所占的比例，0表示不含（刻意插入的）敏感词
+     * @return 文本列表，相同的参数总是返回相同的结果
+     */
+    public List<String> texts(TextTypeEnum type, int count, List<String> words, double hitDensity) {
+        Random random = new Random(seed ^ ((long) type.ordinal() << 32) ^ Double.doubleToLongBits(hitDensity));
+        List<String> texts = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            texts.add(text(random, type, words, hitDensity));
+        }
+        return texts;
+    }
+
+    private String text(Random random, TextTypeEnum type, List<String> words, double hitDensity) {
+        int length = type.getMinLength() + random.nextInt(type.getMaxLength() - type.getMinLength() + 1);
+        StringBuilder text = new StringBuilder(length + 8);
+        while (text.length() < length) {
+            if (!words.isEmpty() && random.nextDouble() < hitDensity / 3) {
+                // 敏感词平均长度约为3，按字符比例换算为插入概率
+                text.append(words.get(random.nextInt(words.size())));
+            } else if (type == TextTypeEnum.DANMAKU && random.nextInt(8) == 0) {
+                text.append(DANMAKU_FRAGMENTS[random.nextInt(DANMAKU_FRAGMENTS.length)]);
+            } else if (type != TextTypeEnum.DANMAKU && random.nextInt(12) == 0) {
+                text.append(PUNCTUATIONS.charAt(random.nextInt(PUNCTUATIONS.length())));
+            } else {
+                text.append(nextChar(random));
+            }
+        }
+        return text.toString();
+    }
+
+    private static int wordLength(Random random) {
+        int p = random.nextInt(100);
+        if (p < 30) {
+            return 2;
+        } else if (p < 60) {
+            return 3;
+        } else if (p < 85) {
+            return 4;
+        }
+        return 5 + random.nextInt(2);
+    }
+
+    private char nextChar(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return chars[Math.min(index < 0 ? -index - 1 : index, CHAR_POOL_SIZE - 1)];
+    }
+
+    /**
+     * 文本类型
+     */
+    public enum TextTypeEnum {
+
+        /**
+         * 弹幕
+         */
+        DANMAKU(8, 30),
+
+        /**
+         * 评论
+         */
+        COMMENT(50, 300),
+
+        /**
+         * 专栏文章
+         */
+        ARTICLE(3000, 8000),
+        ;
+
+        private final int minLength;
+        private final int maxLength;
+
+        TextTypeEnum(int minLength, int maxLength) {
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+        }
+
+        public int getMinLength() {
+            return minLength;
+        }
+
+        public int getMaxLength() {
+            return maxLength;
+        }
+    }
+
+}
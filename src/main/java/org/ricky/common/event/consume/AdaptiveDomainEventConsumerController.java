@@ -0,0 +1,300 @@
+package org.ricky.common.event.consume;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.ricky.core.common.properties.DomainEventProperties;
+import org.ricky.core.common.properties.RedisProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.Subscription;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.ricky.common.event.consume.DomainEventConsumeModeEnum.PARTITIONED;
+import static org.ricky.core.common.constants.MyConstants.REDIS_DOMAIN_EVENT_CONSUMER_GROUP;
+import static org.springframework.data.redis.connection.stream.Consumer.from;
+import static org.springframework.data.redis.connection.stream.ReadOffset.lastConsumed;
+import static org.springframework.data.redis.connection.stream.StreamOffset.create;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className AdaptiveDomainEventConsumerController
+ * @desc 领域事件流消费者的自适应控制器<br>
+ * 每个消费者在consumeDomainEventTaskExecutor中占用一个线程循环拉取并处理事件。
+ * 开启自适应后，控制器定时根据以下指标增减消费者数：
+ * <ul>
+ *     <li>消费者组的积压（XINFO GROUPS的lag，Redis 7以下没有lag时用pending代替），
+ *     按本节点消费者占组内活跃消费者（XINFO CONSUMERS）的比例分摊，各节点不会都按全组积压扩容</li>
+ *     <li>上个周期的吞吐与平均处理耗时，按利特尔法则估算需要同时处理的事件数</li>
+ *     <li>处理中的事件数与handleDomainEventTaskExecutor、各通道的排队任务，已饱和时不再增加消费者</li>
+ * </ul>
+ * 需要增加时一次到位，需要减少时每个周期只减少一个，避免抖动；消费者数不超过maxConsumers与线程池的最大线程数<br>
+ * 处理中的事件数由{@link DomainEventConsumeLimiter}限制，达到上限时拉取线程阻塞，事件留在流中而不是被线程池拒绝<br>
+ * PARTITIONED模式下为保证顺序只有一个消费者，只导出指标<br>
+ * 导出的指标：domain.event.consumers、domain.event.lag、domain.event.pending、domain.event.inflight、
+ * domain.event.consume.latency<br>
+ */
+@Slf4j
+@Component
+@Profile("!ci")
+public class AdaptiveDomainEventConsumerController {
+
+    /**
+     * 估算的同时处理事件数与消费者数之比的目标值，留出余量应对突发
+     */
+    private static final double TARGET_UTILIZATION = 0.75;
+
+    private final RedisProperties redisProperties;
+    private final DomainEventProperties domainEventProperties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final StreamMessageListenerContainer<String, ObjectRecord<String, String>> domainEventContainer;
+    private final RedisDomainEventListener redisDomainEventListener;
+    private final DomainEventConsumeLimiter domainEventConsumeLimiter;
+    private final TaskExecutor consumeDomainEventTaskExecutor;
+    private final TaskExecutor handleDomainEventTaskExecutor;
+    private final PartitionedDomainEventDispatcher partitionedDomainEventDispatcher;
+
+    private final String consumerNamePrefix;
+
+    /**
+     * 当前的消费者，最后注册的在队尾，减少时先注销
+     */
+    private final Deque<Subscription> subscriptions = new ArrayDeque<>();
+
+    private volatile long lag;
+    private volatile long pending;
+    private volatile int groupConsumers;
+    private volatile double latencySeconds;
+
+    private long lastConsumed;
+    private long lastConsumeNanos;
+    private long lastSampleNanos;
+
+    public AdaptiveDomainEventConsumerController(RedisProperties redisProperties,
+                                                 DomainEventProperties domainEventProperties,
+                                                 StringRedisTemplate stringRedisTemplate,
+                                                 StreamMessageListenerContainer<String, ObjectRecord<String, String>> domainEventContainer,
+                                                 RedisDomainEventListener redisDomainEventListener,
+                                                 DomainEventConsumeLimiter domainEventConsumeLimiter,
+                                                 @Qualifier("consumeDomainEventTaskExecutor") TaskExecutor consumeDomainEventTaskExecutor,
+                                                 @Qualifier("handleDomainEventTaskExecutor") TaskExecutor handleDomainEventTaskExecutor,
+                                                 PartitionedDomainEventDispatcher partitionedDomainEventDispatcher,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) throws UnknownHostException {
+        this.redisProperties = redisProperties;
+        this.domainEventProperties = domainEventProperties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.domainEventContainer = domainEventContainer;
+        this.redisDomainEventListener = redisDomainEventListener;
+        this.domainEventConsumeLimiter = domainEventConsumeLimiter;
+        this.consumeDomainEventTaskExecutor = consumeDomainEventTaskExecutor;
+        this.handleDomainEventTaskExecutor = handleDomainEventTaskExecutor;
+        this.partitionedDomainEventDispatcher = partitionedDomainEventDispatcher;
+        this.consumerNamePrefix = InetAddress.getLocalHost().getHostName() + "-";
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            bindMetrics(registry);
+        }
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        Gauge.builder("domain.event.consumers", this, AdaptiveDomainEventConsumerController::consumers)
+                .description("Active domain event stream consumers on this node")
+                .register(registry);
+        Gauge.builder("domain.event.lag", this, controller -> controller.lag)
+                .description("Domain events not yet delivered to the consumer group")
+                .register(registry);
+        Gauge.builder("domain.event.pending", this, controller -> controller.pending)
+                .description("Domain events delivered but not yet acknowledged")
+                .register(registry);
+        Gauge.builder("domain.event.inflight", domainEventConsumeLimiter, DomainEventConsumeLimiter::inFlight)
+                .description("Domain events being handled on this node")
+                .register(registry);
+        Gauge.builder("domain.event.consume.latency", this, controller -> controller.latencySeconds)
+                .description("Average time spent handling a domain event in the last adjustment period")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * 注册初始的消费者
+     */
+    @PostConstruct
+    public void start() {
+        lastSampleNanos = System.nanoTime();
+        int initial;
+        if (domainEventProperties.getConsumeMode() == PARTITIONED) {
+            // 只有1个consumer按流中的顺序拉取，再按聚合根ID分配到各通道并行处理
+            initial = 1;
+        } else if (domainEventProperties.isAdaptiveConsumers()) {
+            initial = domainEventProperties.getMinConsumers();
+        } else {
+            initial = domainEventProperties.getConsumers();
+        }
+        resize(Math.min(initial, ceiling()));
+    }
+
+    /**
+     * 当前的消费者数
+     *
+     * @return 消费者数
+     */
+    public synchronized int consumers() {
+        return subscriptions.size();
+    }
+
+    /**
+     * 定时采样并调整消费者数
+     */
+    @Scheduled(initialDelayString = "#{@domainEventProperties.consumerAdjustInterval.toMillis()}",
+            fixedDelayString = "#{@domainEventProperties.consumerAdjustInterval.toMillis()}")
+    public void adjust() {
+        try {
+            sampleGroup();
+        } catch (Throwable t) {
+            log.warn("Failed to read domain event consumer group info: {}.", t.getMessage());
+            return;
+        }
+
+        long now = System.nanoTime();
+        long consumed = domainEventConsumeLimiter.consumed();
+        long consumeNanos = domainEventConsumeLimiter.consumeNanos();
+        double seconds = (now - lastSampleNanos) / 1e9;
+        long consumedInPeriod = consumed - lastConsumed;
+        double throughput = seconds > 0 ? consumedInPeriod / seconds : 0;
+        latencySeconds = consumedInPeriod > 0 ? (consumeNanos - lastConsumeNanos) / 1e9 / consumedInPeriod : 0;
+        lastConsumed = consumed;
+        lastConsumeNanos = consumeNanos;
+        lastSampleNanos = now;
+
+        if (!domainEventProperties.isAdaptiveConsumers() || domainEventProperties.getConsumeMode() == PARTITIONED) {
+            return;
+        }
+
+        int current = consumers();
+        int target = target(current, throughput);
+        if (target > current && saturated()) {
+            log.debug("Domain event consumers saturated, keep {} consumers.", current);
+            return;
+        }
+        if (target != current) {
+            // 增加时一次到位，减少时每次只减少一个
+            int next = target > current ? target : current - 1;
+            log.info("Resize domain event consumers from {} to {}, lag={}, pending={}, throughput={}/s, latency={}ms.",
+                    current, next, lag, pending, Math.round(throughput), Math.round(latencySeconds * 1000));
+            resize(next);
+        }
+    }
+
+    /**
+     * 估算需要的消费者数<br>
+     * 每个消费者同一时刻只处理一个事件，按利特尔法则，需要同时处理的事件数 = 到达速率 × 平均处理耗时；
+     * 有积压时再加上在lagDrainTime内消化本节点分摊的积压所需的速率
+     */
+    private int target(int current, double throughput) {
+        // 积压是整个消费者组的，按本节点消费者的占比分摊
+        long backlog = Math.max(lag, 0) * Math.max(current, 1) / Math.max(groupConsumers, Math.max(current, 1));
+        int target;
+        if (latencySeconds > 0) {
+            double rate = throughput + backlog * 1000.0 / Math.max(1, domainEventProperties.getLagDrainTime().toMillis());
+            target = (int) Math.ceil(rate * latencySeconds / TARGET_UTILIZATION);
+        } else {
+            // 上个周期没有处理完的事件，无法估算耗时：有积压时加倍，否则保持最少
+            target = backlog > 0 ? Math.max(1, current) * 2 : domainEventProperties.getMinConsumers();
+        }
+        return Math.max(domainEventProperties.getMinConsumers(), Math.min(target, ceiling()));
+    }
+
+    /**
+     * 处理中的事件数已达上限，或handler线程池、通道中已有任务排队时，增加消费者只会加剧争抢<br>
+     * consumeDomainEventTaskExecutor不设队列，每个消费者长期占用一个线程，其线程数已由{@link #ceiling()}限制
+     */
+    private boolean saturated() {
+        if (domainEventConsumeLimiter.inFlight() >= domainEventConsumeLimiter.maxInFlight()) {
+            return true;
+        }
+        if (partitionedDomainEventDispatcher.queuedTasks() > 0) {
+            return true;
+        }
+        return handleDomainEventTaskExecutor instanceof ThreadPoolTaskExecutor executor
+                && executor.getThreadPoolExecutor().getQueue().size() > 0;
+    }
+
+    /**
+     * 消费者数上限，每个消费者长期占用一个线程，不能超过线程池的最大线程数
+     */
+    private int ceiling() {
+        int ceiling = domainEventProperties.getMaxConsumers();
+        if (consumeDomainEventTaskExecutor instanceof ThreadPoolTaskExecutor executor) {
+            ceiling = Math.min(ceiling, executor.getMaxPoolSize());
+        }
+        return ceiling;
+    }
+
+    private void sampleGroup() {
+        stringRedisTemplate.opsForStream().groups(redisProperties.getDomainEventStream()).stream()
+                .filter(group -> REDIS_DOMAIN_EVENT_CONSUMER_GROUP.equals(group.groupName()))
+                .findFirst()
+                .ifPresent(group -> {
+                    pending = group.pendingCount();
+                    Object rawLag = group.getRaw().get("lag");
+                    if (rawLag instanceof Number number) {
+                        lag = number.longValue();
+                    } else if (rawLag != null) {
+                        lag = Long.parseLong(rawLag.toString());
+                    } else {
+                        // Redis 7以下或无法计算lag时，用未确认数近似
+                        lag = pending;
+                    }
+                });
+        groupConsumers = activeGroupConsumers();
+    }
+
+    /**
+     * 组内活跃的消费者数<br>
+     * 注销的消费者仍留在消费者组中，只统计最近两个调整周期内拉取过或仍有未确认事件的；回收器认领事件用的消费者不计入
+     */
+    private int activeGroupConsumers() {
+        long maxIdleMillis = domainEventProperties.getConsumerAdjustInterval().toMillis() * 2;
+        return (int) stringRedisTemplate.opsForStream()
+                .consumers(redisProperties.getDomainEventStream(), REDIS_DOMAIN_EVENT_CONSUMER_GROUP).stream()
+                .filter(consumer -> !consumer.consumerName().endsWith(RedisPendingDomainEventReclaimer.OWNER_SUFFIX))
+                .filter(consumer -> consumer.idleTimeMs() < maxIdleMillis || consumer.pendingCount() > 0)
+                .count();
+    }
+
+    private synchronized void resize(int size) {
+        while (subscriptions.size() < size) {
+            subscriptions.addLast(subscribe(subscriptions.size() + 1));
+        }
+        while (subscriptions.size() > size) {
+            // 注销后拉取循环处理完当前批次才退出；显式确认模式下未确认的事件由回收器处理
+            domainEventContainer.remove(subscriptions.removeLast());
+        }
+    }
+
+    private Subscription subscribe(int index) {
+        var consumer = from(REDIS_DOMAIN_EVENT_CONSUMER_GROUP, consumerNamePrefix + index);
+        var offset = create(redisProperties.getDomainEventStream(), lastConsumed());
+        if (domainEventProperties.isExplicitAck()) {
+            // 消费完成后由监听器确认
+            return domainEventContainer.receive(consumer, offset, redisDomainEventListener);
+        }
+        return domainEventContainer.receiveAutoAck(consumer, offset, redisDomainEventListener);
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.ricky.common.event.consume;
+
+import org.ricky.core.common.properties.DomainEventProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DomainEventConsumeLimiter
+ * @desc 正在处理的领域事件数的硬上限<br>
+ * 拉取到事件后先取得许可，处理完成后归还；达到上限时拉取线程阻塞，不再从流中读取新事件，
+ * 未读取的事件留在流中，而不是在线程池或通道中堆积直至被拒绝<br>
+ * 同时统计处理完成的事件数与总耗时，供{@link AdaptiveDomainEventConsumerController}计算吞吐与处理耗时<br>
+ */
+@Component
+public class DomainEventConsumeLimiter {
+
+    private final int maxInFlight;
+
+    private final Semaphore permits;
+
+    private final LongAdder consumed = new LongAdder();
+
+    private final LongAdder consumeNanos = new LongAdder();
+
+    public DomainEventConsumeLimiter(DomainEventProperties domainEventProperties) {
+        this.maxInFlight = domainEventProperties.getMaxInFlight();
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * 取得许可，达到上限时阻塞等待
+     */
+    public void acquire() {
+        permits.acquireUninterruptibly();
+    }
+
+    /**
+     * 归还许可
+     *
+     * @param nanos 事件的处理耗时，单位纳秒
+     */
+    public void release(long nanos) {
+        consumed.increment();
+        consumeNanos.add(nanos);
+        permits.release();
+    }
+
+    /**
+     * 正在处理的事件数
+     *
+     * @return 事件数
+     */
+    public int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * 上限
+     *
+     * @return 上限
+     */
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * 累计处理完成的事件数
+     *
+     * @return 事件数
+     */
+    public long consumed() {
+        return consumed.sum();
+    }
+
+    /**
+     * 累计处理耗时
+     *
+     * @return 耗时，单位纳秒
+     */
+    public long consumeNanos() {
+        return consumeNanos.sum();
+    }
+
+}
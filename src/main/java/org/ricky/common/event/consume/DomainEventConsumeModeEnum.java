@@ -0,0 +1,21 @@
+package org.ricky.common.event.consume;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DomainEventConsumeModeEnum
+ * @desc 领域事件消费模式枚举
+ */
+public enum DomainEventConsumeModeEnum {
+
+    /**
+     * 多个消费者同时拉取并在各自的线程中消费，吞吐高，不保证同一聚合根的事件按顺序处理
+     */
+    CONCURRENT,
+
+    /**
+     * 单个消费者按流中的顺序拉取，按聚合根ID分配到若干通道，通道之间并行，通道内严格按顺序处理
+     */
+    PARTITIONED,
+}
@@ -0,0 +1,99 @@
+package org.ricky.common.event.consume;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.ricky.core.common.properties.DomainEventProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className PartitionedDomainEventDispatcher
+ * @desc 按分区键分配任务的有序通道<br>
+ * 每个通道是一个单线程执行器，同一分区键的任务总是进入同一个通道，按提交顺序依次执行；不同通道之间并行<br>
+ * 通道队列已满时提交方阻塞等待，向上游施加背压而不是丢弃任务或在提交线程中执行（后者会打乱顺序）<br>
+ * 通道线程在首次提交任务时才创建<br>
+ */
+@Slf4j
+@Component
+public class PartitionedDomainEventDispatcher {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final ThreadPoolExecutor[] lanes;
+
+    public PartitionedDomainEventDispatcher(DomainEventProperties domainEventProperties) {
+        this.lanes = new ThreadPoolExecutor[domainEventProperties.getConsumeLanes()];
+        for (int i = 0; i < lanes.length; ++i) {
+            String threadName = "my-event-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(domainEventProperties.getLaneQueueCapacity()),
+                    runnable -> new Thread(runnable, threadName),
+                    PartitionedDomainEventDispatcher::blockUntilQueued);
+        }
+    }
+
+    /**
+     * 提交任务
+     *
+     * @param partitionKey 分区键，为空时分配到第一个通道
+     * @param task         任务
+     */
+    public void dispatch(String partitionKey, Runnable task) {
+        lanes[laneOf(partitionKey)].execute(task);
+    }
+
+    /**
+     * 所有通道中排队的任务数
+     *
+     * @return 任务数
+     */
+    public int queuedTasks() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+        return queued;
+    }
+
+    private int laneOf(String partitionKey) {
+        if (partitionKey == null) {
+            return 0;
+        }
+        int hash = partitionKey.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    private static void blockUntilQueued(Runnable task, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("Domain event lane has been shut down.");
+        }
+        try {
+            lane.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for domain event lane.", e);
+        }
+    }
+
+    /**
+     * 停止接收新任务，等待已提交的任务执行完成
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.warn("Domain event lane did not terminate in {} seconds, {} tasks left.",
+                        SHUTDOWN_TIMEOUT_SECONDS, lane.getQueue().size());
+            }
+        }
+    }
+
+}
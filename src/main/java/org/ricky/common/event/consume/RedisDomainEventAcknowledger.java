@@ -0,0 +1,74 @@
+package org.ricky.common.event.consume;
+
+import jakarta.annotation.PreDestroy;
+import org.ricky.core.common.properties.DomainEventProperties;
+import org.ricky.core.common.properties.RedisProperties;
+import org.ricky.core.common.utils.WriteBehindBuffer;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import static org.ricky.core.common.constants.MyConstants.REDIS_DOMAIN_EVENT_CONSUMER_GROUP;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className RedisDomainEventAcknowledger
+ * @desc 领域事件流的确认器<br>
+ * 显式确认模式下，事件消费完成后才确认；确认先放入缓冲区，在一个时间窗口内或攒够一批后用一条XACK确认，
+ * 缓冲区已满时直接确认<br>
+ * 宕机时尚未确认的事件留在消费者组的待确认列表中，由{@link RedisPendingDomainEventReclaimer}转交给存活的消费者重新处理<br>
+ */
+@Component
+public class RedisDomainEventAcknowledger {
+
+    private final RedisProperties redisProperties;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 未开启显式确认时为null
+     */
+    private final WriteBehindBuffer<RecordId> pending;
+
+    public RedisDomainEventAcknowledger(RedisProperties redisProperties,
+                                        StringRedisTemplate stringRedisTemplate,
+                                        DomainEventProperties domainEventProperties) {
+        this.redisProperties = redisProperties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.pending = domainEventProperties.isExplicitAck()
+                ? new WriteBehindBuffer<>("my-event-acknowledger",
+                domainEventProperties.getAckBufferCapacity(),
+                domainEventProperties.getAckBatchSize(),
+                domainEventProperties.getAckFlushInterval(),
+                ids -> acknowledge(ids.toArray(RecordId[]::new)))
+                : null;
+    }
+
+    /**
+     * 确认事件
+     *
+     * @param recordId 流中的消息ID
+     */
+    public void ack(RecordId recordId) {
+        if (pending == null || !pending.offer(recordId)) {
+            acknowledge(recordId);
+        }
+    }
+
+    private void acknowledge(RecordId... recordIds) {
+        stringRedisTemplate.opsForStream().acknowledge(redisProperties.getDomainEventStream(),
+                REDIS_DOMAIN_EVENT_CONSUMER_GROUP, recordIds);
+    }
+
+    /**
+     * 确认缓冲区中剩余的事件
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (pending != null) {
+            pending.shutdown();
+        }
+    }
+
+}
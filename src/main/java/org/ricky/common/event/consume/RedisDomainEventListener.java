@@ -6,11 +6,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.ricky.common.tracing.TracingService;
 import org.ricky.core.common.domain.event.DomainEvent;
 import org.ricky.core.common.domain.event.DomainEventConsumer;
+import org.ricky.core.common.properties.DomainEventProperties;
 import org.ricky.core.common.utils.MyObjectMapper;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.stream.StreamListener;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.ricky.common.event.consume.DomainEventConsumeModeEnum.PARTITIONED;
+
 /**
  * @author Ricky
  * @version 1.0
@@ -26,17 +32,44 @@ public class RedisDomainEventListener implements DomainEventListener, StreamList
     private final MyObjectMapper objectMapper;
     private final DomainEventConsumer domainEventConsumer;
     private final TracingService tracingService;
+    private final DomainEventProperties domainEventProperties;
+    private final PartitionedDomainEventDispatcher partitionedDomainEventDispatcher;
+    private final RedisDomainEventAcknowledger redisDomainEventAcknowledger;
+    private final DomainEventConsumeLimiter domainEventConsumeLimiter;
 
     @Override
     public void onMessage(ObjectRecord<String, String> message) {
-        ScopedSpan scopedSpan = tracingService.startNewSpan("domain-event-listener");
-
         String jsonString = message.getValue();
         DomainEvent domainEvent = objectMapper.readValue(jsonString, DomainEvent.class);
+        // 达到处理中事件数上限时阻塞拉取线程，向流施加背压
+        domainEventConsumeLimiter.acquire();
+        long start = System.nanoTime();
+        if (domainEventProperties.getConsumeMode() == PARTITIONED) {
+            // 同一聚合根的事件进入同一通道，按拉取顺序依次消费
+            try {
+                partitionedDomainEventDispatcher.dispatch(domainEvent.getArId(),
+                        () -> consume(domainEvent, message.getId(), start));
+            } catch (RejectedExecutionException e) {
+                domainEventConsumeLimiter.release(System.nanoTime() - start);
+                throw e;
+            }
+        } else {
+            consume(domainEvent, message.getId(), start);
+        }
+    }
+
+    private void consume(DomainEvent domainEvent, RecordId recordId, long start) {
+        ScopedSpan scopedSpan = tracingService.startNewSpan("domain-event-listener");
         try {
             domainEventConsumer.consume(domainEvent);
+            // 消费状态已记录后才确认，消费过程中宕机的事件留在待确认列表中等待回收
+            if (domainEventProperties.isExplicitAck()) {
+                redisDomainEventAcknowledger.ack(recordId);
+            }
         } catch (Throwable t) {
             log.error("Failed to listen domain event[{}:{}].", domainEvent.getType(), domainEvent.getId(), t);
+        } finally {
+            domainEventConsumeLimiter.release(System.nanoTime() - start);
         }
 
         scopedSpan.end();
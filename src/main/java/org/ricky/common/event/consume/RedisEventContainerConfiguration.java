@@ -2,7 +2,7 @@ package org.ricky.common.event.consume;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.ricky.core.common.properties.RedisProperties;
+import org.ricky.core.common.properties.DomainEventProperties;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,15 +14,6 @@ import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
 import org.springframework.util.ErrorHandler;
 
-import java.net.InetAddress;
-import java.net.UnknownHostException;
-import java.util.stream.IntStream;
-
-import static org.ricky.core.common.constants.MyConstants.REDIS_DOMAIN_EVENT_CONSUMER_GROUP;
-import static org.springframework.data.redis.connection.stream.Consumer.from;
-import static org.springframework.data.redis.connection.stream.ReadOffset.lastConsumed;
-import static org.springframework.data.redis.connection.stream.StreamOffset.create;
-
 /**
  * @author Ricky
  * @version 1.0
@@ -37,43 +28,25 @@ import static org.springframework.data.redis.connection.stream.StreamOffset.crea
 @RequiredArgsConstructor
 public class RedisEventContainerConfiguration {
 
-    private final RedisProperties redisProperties;
-
-    @Qualifier("redisDomainEventListener")
-    private final DomainEventListener domainEventListener;
+    private final DomainEventProperties domainEventProperties;
 
     @Qualifier("consumeDomainEventTaskExecutor")
     private final TaskExecutor consumeDomainEventTaskExecutor;
 
+    /**
+     * 容器只负责拉取，消费者由{@link AdaptiveDomainEventConsumerController}注册与注销
+     */
     @Bean
     public StreamMessageListenerContainer<String, ObjectRecord<String, String>> domainEventContainer(RedisConnectionFactory factory) {
-        if (!(domainEventListener instanceof RedisDomainEventListener redisDomainEventListener)) {
-            throw new RuntimeException("事件监听器不匹配");
-        }
-
         var options = StreamMessageListenerContainer.StreamMessageListenerContainerOptions
                 .builder()
-                .batchSize(10)
+                .batchSize(domainEventProperties.getConsumeBatchSize())
                 .executor(consumeDomainEventTaskExecutor)
                 .targetType(String.class)
                 .errorHandler(new MryRedisErrorHandler())
                 .build();
 
         var container = StreamMessageListenerContainer.create(factory, options);
-
-        // 25个consumer，对应25个线程，每个consumer线程负责拉取消息并处理
-        IntStream.range(1, 26).forEach(index -> {
-            try {
-                container.receiveAutoAck(
-                        from(REDIS_DOMAIN_EVENT_CONSUMER_GROUP, InetAddress.getLocalHost().getHostName() + "-" + index),
-                        create(redisProperties.getDomainEventStream(), lastConsumed()),
-                        redisDomainEventListener
-                );
-            } catch (UnknownHostException e) {
-                throw new RuntimeException(e);
-            }
-        });
-
         container.start();
         return container;
     }
@@ -0,0 +1,220 @@
+package org.ricky.common.event.consume;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.ricky.core.common.domain.event.DomainEvent;
+import org.ricky.core.common.domain.event.DomainEventDao;
+import org.ricky.core.common.properties.DomainEventProperties;
+import org.ricky.core.common.properties.RedisProperties;
+import org.ricky.core.common.utils.MyObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.ricky.core.common.constants.MyConstants.REDIS_DOMAIN_EVENT_CONSUMER_GROUP;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className RedisPendingDomainEventReclaimer
+ * @desc 待确认领域事件的回收器<br>
+ * 显式确认模式下，消费者宕机后已读取但未确认的事件一直留在消费者组的待确认列表中。
+ * 回收器定时用XPENDING分页扫描待确认列表，把空闲超过阈值的事件用一条XCLAIM转给当前节点并重新消费；
+ * XCLAIM会再次检查空闲时间，多个节点同时回收时同一事件只会被一个节点认领<br>
+ * 回收的事件交给专用的单线程执行器处理，队列容量为一页的事件数，每次只认领队列放得下的事件，
+ * 消费限流或通道已满时阻塞的是该线程而不是共用的定时任务线程，处理不完的事件留在待确认列表中等下次回收<br>
+ * 投递次数达到上限的事件不再重试：同样先认领，标记为消费失败后再确认，之后由发件箱中继根据消费状态重新发布；
+ * 标记失败时不确认，事件留在待确认列表中下次再处理<br>
+ */
+@Slf4j
+@Component
+@Profile("!ci")
+public class RedisPendingDomainEventReclaimer {
+
+    /**
+     * 每次执行最多扫描的页数
+     */
+    private static final int MAX_PAGES = 10;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    /**
+     * 回收器认领事件用的消费者名后缀
+     */
+    static final String OWNER_SUFFIX = "-reclaimer";
+
+    private final RedisProperties redisProperties;
+    private final DomainEventProperties domainEventProperties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisDomainEventListener redisDomainEventListener;
+    private final RedisDomainEventAcknowledger redisDomainEventAcknowledger;
+    private final DomainEventDao domainEventDao;
+    private final MyObjectMapper objectMapper;
+
+    /**
+     * 回收的事件归属的消费者
+     */
+    private final String owner;
+
+    /**
+     * 处理回收的事件，队列有界，只在定时任务线程中提交
+     */
+    private final ThreadPoolExecutor reclaimExecutor;
+
+    public RedisPendingDomainEventReclaimer(RedisProperties redisProperties,
+                                            DomainEventProperties domainEventProperties,
+                                            StringRedisTemplate stringRedisTemplate,
+                                            RedisDomainEventListener redisDomainEventListener,
+                                            RedisDomainEventAcknowledger redisDomainEventAcknowledger,
+                                            DomainEventDao domainEventDao,
+                                            MyObjectMapper objectMapper)
+            throws UnknownHostException {
+        this.redisProperties = redisProperties;
+        this.domainEventProperties = domainEventProperties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisDomainEventListener = redisDomainEventListener;
+        this.redisDomainEventAcknowledger = redisDomainEventAcknowledger;
+        this.domainEventDao = domainEventDao;
+        this.objectMapper = objectMapper;
+        this.owner = InetAddress.getLocalHost().getHostName() + OWNER_SUFFIX;
+        this.reclaimExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(domainEventProperties.getReclaimBatchSize()),
+                runnable -> new Thread(runnable, "my-event-reclaimer"));
+    }
+
+    /**
+     * 定时回收空闲的待确认事件
+     */
+    @Scheduled(initialDelayString = "#{@domainEventProperties.reclaimInterval.toMillis()}",
+            fixedDelayString = "#{@domainEventProperties.reclaimInterval.toMillis()}")
+    public void reclaim() {
+        if (!domainEventProperties.isExplicitAck()) {
+            return;
+        }
+        String stream = redisProperties.getDomainEventStream();
+        Duration minIdle = domainEventProperties.getReclaimMinIdle();
+        int batchSize = domainEventProperties.getReclaimBatchSize();
+        StreamOperations<String, Object, Object> operations = stringRedisTemplate.opsForStream();
+        int reclaimed = 0;
+        try {
+            Range<String> range = Range.unbounded();
+            for (int page = 0; page < MAX_PAGES; ++page) {
+                PendingMessages pendingMessages = operations.pending(stream, REDIS_DOMAIN_EVENT_CONSUMER_GROUP, range, batchSize);
+                if (pendingMessages.isEmpty()) {
+                    break;
+                }
+
+                List<RecordId> idle = new ArrayList<>();
+                List<RecordId> exhausted = new ArrayList<>();
+                RecordId last = null;
+                for (PendingMessage pendingMessage : pendingMessages) {
+                    last = pendingMessage.getId();
+                    if (pendingMessage.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                        continue;
+                    }
+                    if (pendingMessage.getTotalDeliveryCount() >= domainEventProperties.getMaxDeliveries()) {
+                        exhausted.add(pendingMessage.getId());
+                    } else {
+                        idle.add(pendingMessage.getId());
+                    }
+                }
+
+                if (!exhausted.isEmpty()) {
+                    failExhausted(operations, stream, minIdle, exhausted);
+                }
+                if (!idle.isEmpty()) {
+                    int capacity = reclaimExecutor.getQueue().remainingCapacity();
+                    List<RecordId> claimable = idle.size() > capacity ? idle.subList(0, capacity) : idle;
+                    if (!claimable.isEmpty()) {
+                        List<MapRecord<String, Object, Object>> records = operations.claim(stream,
+                                REDIS_DOMAIN_EVENT_CONSUMER_GROUP, owner,
+                                XClaimOptions.minIdle(minIdle).ids(claimable.toArray(RecordId[]::new)));
+                        for (MapRecord<String, Object, Object> record : records) {
+                            // consumeDomainEventTaskExecutor的线程被各消费者的拉取循环长期占用，回收的事件交给专用线程处理，
+                            // PARTITIONED模式下仍进入对应的通道
+                            ObjectRecord<String, String> message = operations.map(record, String.class);
+                            reclaimExecutor.execute(() -> redisDomainEventListener.onMessage(message));
+                            ++reclaimed;
+                        }
+                    }
+                    if (claimable.size() < idle.size()) {
+                        // 上一批回收的事件尚未处理完，剩余的留到下次
+                        break;
+                    }
+                }
+
+                if (pendingMessages.size() < batchSize) {
+                    break;
+                }
+                range = Range.rightUnbounded(Range.Bound.exclusive(last.getValue()));
+            }
+        } catch (Throwable t) {
+            log.error("Failed to reclaim pending domain events.", t);
+        }
+        if (reclaimed > 0) {
+            log.info("Reclaimed {} pending domain events.", reclaimed);
+        }
+    }
+
+    /**
+     * 认领投递次数达到上限的事件，批量标记为消费失败后确认<br>
+     * 无法解析的事件无法标记，记录日志后直接确认
+     */
+    private void failExhausted(StreamOperations<String, Object, Object> operations, String stream,
+                               Duration minIdle, List<RecordId> exhausted) {
+        List<MapRecord<String, Object, Object>> records = operations.claim(stream,
+                REDIS_DOMAIN_EVENT_CONSUMER_GROUP, owner,
+                XClaimOptions.minIdle(minIdle).ids(exhausted.toArray(RecordId[]::new)));
+        if (records.isEmpty()) {
+            return;
+        }
+        List<DomainEvent> failed = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            String jsonString = operations.map(record, String.class).getValue();
+            try {
+                failed.add(objectMapper.readValue(jsonString, DomainEvent.class));
+            } catch (RuntimeException e) {
+                log.error("Failed to parse domain event[{}] that reached max deliveries, acknowledge without retry.",
+                        record.getId(), e);
+            }
+        }
+        if (!failed.isEmpty()) {
+            domainEventDao.recordConsumeResults(List.of(), failed);
+        }
+        log.warn("Domain events{} reached max deliveries, marked as consume failed and acknowledged.",
+                failed.stream().map(DomainEvent::getId).toList());
+        records.forEach(record -> redisDomainEventAcknowledger.ack(record.getId()));
+    }
+
+    /**
+     * 停止回收，等待已回收的事件处理完成，未处理的事件留在待确认列表中
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        reclaimExecutor.shutdown();
+        if (!reclaimExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Domain event reclaimer did not terminate in {} seconds, {} events left pending.",
+                    SHUTDOWN_TIMEOUT_SECONDS, reclaimExecutor.getQueue().size());
+        }
+    }
+
+}
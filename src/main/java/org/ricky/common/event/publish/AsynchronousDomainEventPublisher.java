@@ -38,8 +38,8 @@ public class AsynchronousDomainEventPublisher implements DomainEventPublisher {
             taskExecutor.execute(() -> {
                 // 根据事件ID，从事件发布表中加载相应事件
                 List<DomainEvent> domainEvents = domainEventDao.byIds(eventIds);
-                // 发布事件
-                domainEvents.forEach(domainEventSender::send);
+                // 在一次流水线中发布所有事件
+                domainEventSender.send(domainEvents);
             });
         }
     }
@@ -0,0 +1,74 @@
+package org.ricky.common.event.publish;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ricky.common.event.publish.sender.DomainEventSender;
+import org.ricky.core.common.domain.event.DomainEvent;
+import org.ricky.core.common.domain.event.DomainEventDao;
+import org.ricky.core.common.properties.DomainEventProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DomainEventOutboxRelay
+ * @desc 领域事件发件箱中继<br>
+ * 事件与业务数据在同一事务中写入事件集合（发件箱），请求结束时由{@link AsynchronousDomainEventPublisher}立即发布；
+ * 发布失败、消费失败或节点在发布前宕机的事件由中继定时重新发布，重新发布最多不超过3次<br>
+ * 中继按批认领事件并设置租约，租约到期前其它节点不会再认领同一事件，各节点并行认领互不重复，吞吐随节点数增长，
+ * 无需全局锁；每批事件在一次Redis流水线中发送，发布结果一次批量写入<br>
+ */
+@Slf4j
+@Component
+@Profile("!ci")
+@RequiredArgsConstructor
+public class DomainEventOutboxRelay {
+
+    private final DomainEventDao domainEventDao;
+
+    @Qualifier("redisDomainEventSender")
+    private final DomainEventSender domainEventSender;
+
+    private final DomainEventProperties domainEventProperties;
+
+    /**
+     * 定时认领并发布事件，直到没有待发布的事件或达到每次执行的批数上限
+     */
+    @Scheduled(initialDelayString = "#{@domainEventProperties.relayInterval.toMillis()}",
+            fixedDelayString = "#{@domainEventProperties.relayInterval.toMillis()}")
+    public void relay() {
+        if (!domainEventProperties.isRelayEnabled()) {
+            return;
+        }
+        int batchSize = domainEventProperties.getRelayBatchSize();
+        int relayed = 0;
+        try {
+            for (int batch = 0; batch < domainEventProperties.getRelayMaxBatches(); ++batch) {
+                Instant raisedBefore = Instant.now().minus(domainEventProperties.getRelayDelay());
+                List<DomainEvent> events = domainEventDao.claimTobePublishedEvents(raisedBefore,
+                        domainEventProperties.getRelayLease(), batchSize);
+                if (events.isEmpty()) {
+                    break;
+                }
+                domainEventSender.send(events);
+                relayed += events.size();
+                if (events.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Throwable t) {
+            log.error("Failed to relay domain events.", t);
+        }
+        if (relayed > 0) {
+            log.info("Relayed {} domain events.", relayed);
+        }
+    }
+
+}
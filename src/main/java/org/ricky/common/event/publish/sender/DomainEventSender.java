@@ -2,6 +2,8 @@ package org.ricky.common.event.publish.sender;
 
 import org.ricky.core.common.domain.event.DomainEvent;
 
+import java.util.List;
+
 /**
  * @author Ricky
  * @version 1.0
@@ -19,4 +21,13 @@ public interface DomainEventSender {
      */
     void send(DomainEvent event);
 
+    /**
+     * 批量发送领域事件
+     *
+     * @param events 领域事件
+     */
+    default void send(List<DomainEvent> events) {
+        events.forEach(this::send);
+    }
+
 }
@@ -7,11 +7,17 @@ import org.ricky.core.common.domain.event.DomainEvent;
 import org.ricky.core.common.domain.event.DomainEventDao;
 import org.ricky.core.common.properties.RedisProperties;
 import org.ricky.core.common.utils.MyObjectMapper;
+import org.springframework.data.redis.connection.RedisPipelineException;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author Ricky
  * @version 1.0
@@ -24,6 +30,11 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class RedisDomainEventSender implements DomainEventSender {
 
+    /**
+     * 单次流水线最多发送的事件数，避免一次请求缓冲过多命令
+     */
+    private static final int MAX_PIPELINE_SIZE = 500;
+
     private final MyObjectMapper mryObjectMapper;
     private final RedisProperties redisProperties;
     private final StringRedisTemplate stringRedisTemplate;
@@ -43,4 +54,69 @@ public class RedisDomainEventSender implements DomainEventSender {
             domainEventDao.failPublish(event);
         }
     }
+
+    /**
+     * 每批XADD在一次流水线中发送，发布结果一次写入<br>
+     * 序列化失败或单条XADD失败只影响对应的事件，其余事件照常记录为发布成功
+     */
+    @Override
+    public void send(List<DomainEvent> events) {
+        for (int from = 0; from < events.size(); from += MAX_PIPELINE_SIZE) {
+            sendPipelined(events.subList(from, Math.min(events.size(), from + MAX_PIPELINE_SIZE)));
+        }
+    }
+
+    private void sendPipelined(List<DomainEvent> events) {
+        List<DomainEvent> sending = new ArrayList<>(events.size());
+        List<DomainEvent> failed = new ArrayList<>();
+        List<ObjectRecord<String, String>> records = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            try {
+                records.add(StreamRecords.newRecord()
+                        .ofObject(mryObjectMapper.writeValueAsString(event))
+                        .withStreamKey(redisProperties.getDomainEventStream()));
+                sending.add(event);
+            } catch (Throwable t) {
+                log.error("MyError happened while serialize domain event[{}:{}].", event.getType(), event.getId(), t);
+                failed.add(event);
+            }
+        }
+
+        List<Object> results;
+        try {
+            results = stringRedisTemplate.executePipelined(new SessionCallback<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    // 命令需通过回调传入的operations发送，流水线中只入队，结果在executePipelined返回时一并取回
+                    RedisOperations<String, String> pipeline = (RedisOperations<String, String>) operations;
+                    for (ObjectRecord<String, String> record : records) {
+                        pipeline.opsForStream().add(record);
+                    }
+                    return null;
+                }
+            });
+        } catch (RedisPipelineException e) {
+            // 部分命令失败，结果列表中按发送顺序保存了每条命令的结果或异常
+            results = e.getPipelineResult();
+        } catch (Throwable t) {
+            log.error("MyError happened while publish {} domain events to redis.", sending.size(), t);
+            results = List.of();
+        }
+
+        List<DomainEvent> succeeded = new ArrayList<>(sending.size());
+        for (int i = 0; i < sending.size(); ++i) {
+            DomainEvent event = sending.get(i);
+            Object result = i < results.size() ? results.get(i) : null;
+            if (result == null || result instanceof Throwable) {
+                log.error("MyError happened while publish domain event[{}:{}] to redis.",
+                        event.getType(), event.getId(), (Throwable) result);
+                failed.add(event);
+            } else {
+                succeeded.add(event);
+            }
+        }
+        domainEventDao.recordPublishResults(succeeded, failed);
+    }
+
 }
@@ -0,0 +1,74 @@
+package org.ricky.common.mongo;
+
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import org.ricky.common.taskexecutor.DownstreamConcurrencyLimiter;
+import org.ricky.common.taskexecutor.DownstreamConcurrencyLimiter.Permit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className ConcurrencyLimitingConnectionPoolListener
+ * @desc 从连接池取连接前获取许可，归还连接后释放许可，以此限制同时访问MongoDB的线程数<br>
+ * 同步驱动在调用方线程上取出连接，取出后许可记在连接上，连接归还时释放该连接的许可，
+ * 与归还连接的线程无关（如游标由其他线程关闭）<br>
+ * 同一线程嵌套取多个连接（如遍历游标时再查询）共用一个许可，所有连接都归还后才释放<br>
+ */
+public class ConcurrencyLimitingConnectionPoolListener implements ConnectionPoolListener {
+
+    private final DownstreamConcurrencyLimiter limiter;
+
+    /**
+     * 当前线程正在取连接时持有的许可
+     */
+    private final ThreadLocal<Permit> checkingOut = new ThreadLocal<>();
+
+    /**
+     * 已取出的连接持有的许可
+     */
+    private final Map<ConnectionId, Permit> checkedOut = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitingConnectionPoolListener(DownstreamConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        checkingOut.set(limiter.acquire());
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        Permit permit = checkingOut.get();
+        if (permit != null) {
+            checkingOut.remove();
+            checkedOut.put(event.getConnectionId(), permit);
+        }
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        Permit permit = checkingOut.get();
+        if (permit != null) {
+            checkingOut.remove();
+            permit.release();
+        }
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        Permit permit = checkedOut.remove(event.getConnectionId());
+        if (permit != null) {
+            permit.release();
+        }
+    }
+
+}
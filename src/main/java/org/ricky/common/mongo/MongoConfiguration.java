@@ -2,6 +2,8 @@ package org.ricky.common.mongo;
 
 import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
+import org.ricky.common.taskexecutor.DownstreamConcurrencyLimiter;
+import org.ricky.core.common.properties.TaskExecutorProperties;
 import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +12,11 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.WriteResultChecking;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
 
+import java.time.Duration;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.ricky.common.taskexecutor.TaskExecutors.virtual;
+
 /**
  * @author Ricky
  * @version 1.0
@@ -20,9 +27,20 @@ import org.springframework.data.mongodb.core.convert.MongoConverter;
 @Configuration
 public class MongoConfiguration {
 
+    /**
+     * 使用虚拟线程时线程数不再受限，由信号量限制同时访问MongoDB的线程数，而不是让所有线程都在连接池上排队<br>
+     * 等待许可的时间与连接池的maxWaitTime一致
+     */
     @Bean
-    public MongoClientSettingsBuilderCustomizer mongoClientSettingsBuilderCustomizer() {
-        return builder -> builder.applyToConnectionPoolSettings(poolBuilder -> poolBuilder.maxSize(500).minSize(5));
+    public MongoClientSettingsBuilderCustomizer mongoClientSettingsBuilderCustomizer(TaskExecutorProperties taskExecutorProperties) {
+        return builder -> builder.applyToConnectionPoolSettings(poolBuilder -> {
+            poolBuilder.maxSize(500).minSize(5);
+            if (virtual(taskExecutorProperties.getMode())) {
+                Duration maxWait = Duration.ofMillis(poolBuilder.build().getMaxWaitTime(MILLISECONDS));
+                poolBuilder.addConnectionPoolListener(new ConcurrencyLimitingConnectionPoolListener(
+                        new DownstreamConcurrencyLimiter("mongo", taskExecutorProperties.getMongoConcurrency(), maxWait)));
+            }
+        });
     }
 
     @Bean
@@ -1,23 +1,37 @@
 package org.ricky.common.mongo;
 
+import com.mongodb.ReadPreference;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.ricky.core.common.domain.event.DomainEvent;
 import org.ricky.core.common.domain.event.DomainEventDao;
+import org.ricky.core.common.domain.event.DomainEventStatusEnum;
 import org.ricky.core.common.domain.event.DomainEventTypeEnum;
 import org.ricky.core.common.exception.MyException;
 import org.ricky.core.common.utils.MapUtils;
+import org.ricky.core.common.utils.UUIDGenerator;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 import static java.util.Objects.requireNonNull;
+import static org.ricky.core.common.constants.MyConstants.EVENT_COLLECTION;
 import static org.ricky.core.common.domain.event.DomainEventStatusEnum.*;
 import static org.ricky.core.common.exception.ErrorCodeEnum.DOMAIN_EVENT_NOT_FOUND;
 import static org.ricky.core.common.utils.ValidationUtils.isNull;
@@ -39,8 +53,34 @@ import static org.springframework.data.mongodb.core.query.Query.query;
 @RequiredArgsConstructor
 public class MongoDomainEventDao implements DomainEventDao {
 
+    /**
+     * 中继认领事件时写入的认领标识，同一批认领的事件标识相同
+     */
+    private static final String RELAY_CLAIM = "relayClaim";
+
+    /**
+     * 中继认领的租约到期时间
+     */
+    private static final String RELAY_LEASE_UNTIL = "relayLeaseUntil";
+
+    /**
+     * 认领时先查出limit的若干倍候选事件再随机挑选，多个节点同时认领时减少争抢同一批事件
+     */
+    private static final int CLAIM_CANDIDATE_FACTOR = 4;
+
     private final MongoTemplate mongoTemplate;
 
+    /**
+     * 中继按状态与产生时间查找将要发布的事件
+     */
+    @PostConstruct
+    public void ensureIndexes() {
+        mongoTemplate.indexOps(DomainEvent.class).ensureIndex(new Index()
+                .on("status", ASC)
+                .on("raisedAt", ASC)
+                .named("status_raisedAt"));
+    }
+
     @Override
     public void insert(List<DomainEvent> events) {
         Objects.requireNonNull(events, "Domain events must not be null.");
@@ -131,4 +171,111 @@ public class MongoDomainEventDao implements DomainEventDao {
         return mongoTemplate.find(query, DomainEvent.class);
     }
 
+    @Override
+    public List<DomainEvent> claimTobePublishedEvents(Instant raisedBefore, Duration lease, int limit) {
+        requireNonNull(raisedBefore, "Raised before must not be null.");
+        requireNonNull(lease, "Lease must not be null.");
+
+        Instant now = Instant.now();
+        Query candidateQuery = query(tobePublished(where("raisedAt").lt(raisedBefore), now))
+                .with(Sort.by(ASC, "raisedAt"))
+                .limit(limit * CLAIM_CANDIDATE_FACTOR);
+        candidateQuery.fields().include("_id");
+        List<String> candidateIds = new ArrayList<>();
+        mongoTemplate.find(candidateQuery, Document.class, EVENT_COLLECTION)
+                .forEach(document -> candidateIds.add(document.getString("_id")));
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+        Collections.shuffle(candidateIds);
+        List<String> ids = List.copyOf(candidateIds.subList(0, Math.min(limit, candidateIds.size())));
+
+        // 只有租约已到期的事件才会被修改，同一事件同时只会被一个节点认领成功
+        String claim = UUIDGenerator.newShortUuid();
+        Update update = new Update();
+        update.set(RELAY_CLAIM, claim).set(RELAY_LEASE_UNTIL, now.plus(lease));
+        UpdateResult result = mongoTemplate.updateMulti(query(tobePublished(where("_id").in(ids), now)),
+                update, DomainEvent.class);
+        if (result.getModifiedCount() == 0) {
+            return List.of();
+        }
+
+        // 刚写入的认领标识可能尚未同步到从节点，必须从主节点读取
+        return mongoTemplate.execute(DomainEvent.class, collection -> {
+            List<DomainEvent> events = new ArrayList<>();
+            collection.withReadPreference(ReadPreference.primary())
+                    .find(new Document("_id", new Document("$in", ids)).append(RELAY_CLAIM, claim))
+                    .sort(new Document("raisedAt", 1))
+                    .forEach(document -> events.add(mongoTemplate.getConverter().read(DomainEvent.class, document)));
+            return events;
+        });
+    }
+
+    @Override
+    public void recordPublishResults(List<DomainEvent> succeeded, List<DomainEvent> failed) {
+        requireNonNull(succeeded, "Succeeded domain events must not be null.");
+        requireNonNull(failed, "Failed domain events must not be null.");
+        if (succeeded.isEmpty() && failed.isEmpty()) {
+            return;
+        }
+
+        // 发布成功后清除租约，之后消费失败时可以立即被重新认领；发布失败的事件保留租约，到期后再重试
+        bulkUpdate(succeeded, statusUpdate(PUBLISH_SUCCEED, "publishedCount").unset(RELAY_CLAIM).unset(RELAY_LEASE_UNTIL),
+                failed, statusUpdate(PUBLISH_FAILED, "publishedCount"), "publish");
+    }
+
+    @Override
+    public void recordConsumeResults(List<DomainEvent> succeeded, List<DomainEvent> failed) {
+        requireNonNull(succeeded, "Succeeded domain events must not be null.");
+        requireNonNull(failed, "Failed domain events must not be null.");
+        if (succeeded.isEmpty() && failed.isEmpty()) {
+            return;
+        }
+
+        bulkUpdate(succeeded, statusUpdate(CONSUME_SUCCEED, "consumedCount"),
+                failed, statusUpdate(CONSUME_FAILED, "consumedCount"), "consume");
+    }
+
+    /**
+     * 一次无序批量写入，其余更新照常执行，只记录出错的事件
+     */
+    private void bulkUpdate(List<DomainEvent> succeeded, Update succeededUpdate,
+                            List<DomainEvent> failed, Update failedUpdate, String action) {
+        List<DomainEvent> events = new ArrayList<>(succeeded.size() + failed.size());
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DomainEvent.class);
+        for (DomainEvent event : succeeded) {
+            operations.updateOne(query(where("_id").is(event.getId())), succeededUpdate);
+            events.add(event);
+        }
+        for (DomainEvent event : failed) {
+            operations.updateOne(query(where("_id").is(event.getId())), failedUpdate);
+            events.add(event);
+        }
+        try {
+            operations.execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> {
+                DomainEvent event = events.get(error.getIndex());
+                log.error("Failed to record {} result of domain event[{}:{}]: {}.",
+                        action, event.getType(), event.getId(), error.getMessage());
+            });
+        }
+    }
+
+    private static Update statusUpdate(DomainEventStatusEnum status, String countField) {
+        Update update = new Update();
+        update.set("status", status.name()).inc(countField);
+        return update;
+    }
+
+    /**
+     * 将要发布且未被其它节点认领的事件，条件与{@link #tobePublishedEvents(String, int)}相同
+     */
+    private static Criteria tobePublished(Criteria criteria, Instant now) {
+        return criteria.and("status").in(CREATED, PUBLISH_FAILED, CONSUME_FAILED)
+                .and("publishedCount").lt(3)
+                .and("consumedCount").lt(3)
+                .and(RELAY_LEASE_UNTIL).not().gte(now);
+    }
+
 }
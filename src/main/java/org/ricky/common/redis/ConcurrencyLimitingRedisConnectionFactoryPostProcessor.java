@@ -0,0 +1,91 @@
+package org.ricky.common.redis;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.ricky.common.taskexecutor.DownstreamConcurrencyLimiter;
+import org.ricky.common.taskexecutor.DownstreamConcurrencyLimiter.Permit;
+import org.ricky.core.common.properties.TaskExecutorProperties;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.ricky.common.taskexecutor.TaskExecutors.virtual;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className ConcurrencyLimitingRedisConnectionFactoryPostProcessor
+ * @desc 使用虚拟线程时，包装RedisConnectionFactory限制同时访问Redis的线程数<br>
+ * 取连接时获取许可，许可记在连接上，连接第一次关闭时释放，与关闭连接的线程无关；
+ * RedisTemplate的每次操作都会取连接并在结束时关闭，流消费者阻塞读取期间也占用一个许可<br>
+ * 等待许可的时间与命令超时spring.data.redis.timeout一致，未配置时使用Lettuce的默认值60秒<br>
+ * 后置处理器先于配置项Bean创建，配置项直接从Environment绑定<br>
+ */
+public class ConcurrencyLimitingRedisConnectionFactoryPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+    private DownstreamConcurrencyLimiter limiter;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        Binder binder = Binder.get(environment);
+        TaskExecutorProperties properties = binder
+                .bind("my.task-executor", TaskExecutorProperties.class)
+                .orElseGet(TaskExecutorProperties::new);
+        if (virtual(properties.getMode())) {
+            Duration timeout = binder.bind("spring.data.redis.timeout", Duration.class).orElse(DEFAULT_TIMEOUT);
+            limiter = new DownstreamConcurrencyLimiter("redis", properties.getRedisConcurrency(), timeout);
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (limiter == null || !(bean instanceof RedisConnectionFactory)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            String name = invocation.getMethod().getName();
+            if (!"getConnection".equals(name) && !"getClusterConnection".equals(name)) {
+                return invocation.proceed();
+            }
+            Permit permit = limiter.acquire();
+            try {
+                return releaseOnClose(invocation.proceed(), permit);
+            } catch (Throwable t) {
+                permit.release();
+                throw t;
+            }
+        });
+        return proxyFactory.getProxy();
+    }
+
+    /**
+     * 包装连接，第一次关闭时释放许可
+     */
+    private Object releaseOnClose(Object connection, Permit permit) {
+        AtomicBoolean closed = new AtomicBoolean();
+        ProxyFactory proxyFactory = new ProxyFactory(connection);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            if (!"close".equals(invocation.getMethod().getName())) {
+                return invocation.proceed();
+            }
+            try {
+                return invocation.proceed();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    permit.release();
+                }
+            }
+        });
+        return proxyFactory.getProxy();
+    }
+
+}
@@ -21,6 +21,14 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @Configuration
 public class RedisConfiguration {
 
+    /**
+     * 后置处理器需要尽早注册，声明为static以免提前创建本配置类
+     */
+    @Bean
+    public static ConcurrencyLimitingRedisConnectionFactoryPostProcessor concurrencyLimitingRedisConnectionFactoryPostProcessor() {
+        return new ConcurrencyLimitingRedisConnectionFactoryPostProcessor();
+    }
+
     @Bean
     public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
         StringRedisTemplate template = new StringRedisTemplate(redisConnectionFactory);
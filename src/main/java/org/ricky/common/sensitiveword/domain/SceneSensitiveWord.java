@@ -0,0 +1,22 @@
+package org.ricky.common.sensitiveword.domain;
+
+import lombok.Data;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SceneSensitiveWord
+ * @desc 只在特定场景生效的敏感词，叠加在全局敏感词之上
+ */
+@Data
+public class SceneSensitiveWord {
+
+    /**
+     * 场景，如danmaku、username、ad
+     */
+    private String scene;
+
+    private String word;
+
+}
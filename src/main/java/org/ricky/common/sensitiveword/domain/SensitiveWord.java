@@ -3,6 +3,9 @@ package org.ricky.common.sensitiveword.domain;
 
 import lombok.Data;
 
+import static org.ricky.common.sensitiveword.domain.SensitiveWordCategoryEnum.OTHER;
+import static org.ricky.common.sensitiveword.domain.SensitiveWordSeverityEnum.MEDIUM;
+
 /**
  * @author Ricky
  * @version 1.0
@@ -13,6 +16,23 @@ import lombok.Data;
 @Data
 public class SensitiveWord {
 
+    private Long id;
+
     private String word;
 
+    /**
+     * 分类
+     */
+    private SensitiveWordCategoryEnum category = OTHER;
+
+    /**
+     * 严重程度
+     */
+    private SensitiveWordSeverityEnum severity = MEDIUM;
+
+    /**
+     * 相邻两个字之间最多允许插入的字符数，为null时取所属分类的默认值
+     */
+    private Integer maxGap;
+
 }
@@ -0,0 +1,36 @@
+package org.ricky.common.sensitiveword.domain;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordCategoryEnum
+ * @desc 敏感词分类枚举
+ */
+public enum SensitiveWordCategoryEnum {
+
+    /**
+     * 涉政
+     */
+    POLITICS,
+
+    /**
+     * 广告
+     */
+    ADVERTISEMENT,
+
+    /**
+     * 辱骂
+     */
+    ABUSE,
+
+    /**
+     * 色情
+     */
+    PORNOGRAPHY,
+
+    /**
+     * 其他
+     */
+    OTHER,
+}
@@ -0,0 +1,62 @@
+package org.ricky.common.sensitiveword.domain;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordChanges
+ * @desc 某个变更版本之后词库发生的变化<br>
+ * 同一个敏感词的多次变更已合并为最终状态：仍存在的敏感词以当前的分类、严重程度与允许间隔出现在{@link #upserted}中，
+ * 已删除的敏感词出现在{@link #removed}中，按任意顺序应用结果都相同，重复应用也不会出错<br>
+ */
+@Value
+public class SensitiveWordChanges {
+
+    /**
+     * 应用这些变化后词库对应的变更版本
+     */
+    long version;
+
+    /**
+     * 新增或修改的敏感词
+     */
+    List<SensitiveWord> upserted;
+
+    /**
+     * 删除的敏感词
+     */
+    List<String> removed;
+
+    /**
+     * 没有任何变化
+     *
+     * @param version 当前的变更版本
+     * @return 空变化
+     */
+    public static SensitiveWordChanges none(long version) {
+        return new SensitiveWordChanges(version, List.of(), List.of());
+    }
+
+    /**
+     * 是否没有任何变化
+     *
+     * @return true=没有变化 false=有变化
+     */
+    public boolean isEmpty() {
+        return upserted.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * 变化的敏感词数
+     *
+     * @return 敏感词数
+     */
+    public int size() {
+        return upserted.size() + removed.size();
+    }
+
+}
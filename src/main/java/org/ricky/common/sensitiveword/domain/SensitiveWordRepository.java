@@ -11,6 +11,11 @@ import java.util.List;
  */
 public interface SensitiveWordRepository {
 
+    /**
+     * 数据源无法提供词库版本
+     */
+    long UNKNOWN_VERSION = -1;
+
     /**
      * 返回敏感词数据
      *
@@ -18,4 +23,66 @@ public interface SensitiveWordRepository {
      */
     List<String> listAllSensitiveWord();
 
+    /**
+     * 返回带分类与严重程度的敏感词数据<br>
+     * 数据源不提供这些信息时，使用默认的分类与严重程度
+     *
+     * @return 敏感词数据
+     */
+    default List<SensitiveWord> listAllSensitiveWordDetail() {
+        return listAllSensitiveWord().stream()
+                .map(word -> {
+                    SensitiveWord sensitiveWord = new SensitiveWord();
+                    sensitiveWord.setWord(word);
+                    return sensitiveWord;
+                })
+                .toList();
+    }
+
+    /**
+     * 返回只在特定场景生效的敏感词数据
+     *
+     * @return 场景敏感词数据，数据源不提供时为空
+     */
+    default List<SceneSensitiveWord> listAllSceneSensitiveWord() {
+        return List.of();
+    }
+
+    /**
+     * 返回数据源中词库的版本，词库发生任何变化后版本随之变化<br>
+     * 用于判断本地快照是否过期，需要直接查询数据源而不经过缓存，且开销远小于读取全部敏感词
+     *
+     * @return 词库版本，无法提供时返回{@link #UNKNOWN_VERSION}
+     */
+    default long dataVersion() {
+        return UNKNOWN_VERSION;
+    }
+
+    /**
+     * 返回数据源当前的变更版本，每次增删改敏感词后单调递增<br>
+     * 在全量读取敏感词之前查询，之后用{@link #listChangesSince(long)}只拉取该版本之后的变化；
+     * 两次查询之间发生的变更会在下次同步时再次出现，重复应用不会出错
+     *
+     * @return 变更版本，不支持增量同步时返回{@link #UNKNOWN_VERSION}
+     */
+    default long changeVersion() {
+        return UNKNOWN_VERSION;
+    }
+
+    /**
+     * 返回某个变更版本之后词库发生的变化，需要直接查询数据源而不经过缓存
+     *
+     * @param version 已同步到的变更版本
+     * @return 之后的变化；不支持增量同步、或该版本之后的变更记录已被清理时返回null，调用方需全量读取
+     */
+    default SensitiveWordChanges listChangesSince(long version) {
+        return null;
+    }
+
+    /**
+     * 清除敏感词缓存，下次读取时从数据源重新加载
+     */
+    default void evictCache() {
+    }
+
 }
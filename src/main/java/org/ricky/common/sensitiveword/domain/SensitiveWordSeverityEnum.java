@@ -0,0 +1,26 @@
+package org.ricky.common.sensitiveword.domain;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordSeverityEnum
+ * @desc 敏感词严重程度枚举，按严重程度从低到高声明，可以直接比较ordinal
+ */
+public enum SensitiveWordSeverityEnum {
+
+    /**
+     * 低，建议送人工审核
+     */
+    LOW,
+
+    /**
+     * 中，建议替换后放行
+     */
+    MEDIUM,
+
+    /**
+     * 高，建议直接拦截
+     */
+    HIGH,
+}
@@ -0,0 +1,129 @@
+package org.ricky.common.sensitiveword.domain.algorithm;
+
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+
+import java.util.Collection;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className FirstCharBitmap
+ * @desc 能作为敏感词首字的字符集合，即字典树根节点的全部转移<br>
+ * 覆盖整个char范围的位图（8KB），ASCII部分另存为两个long：纯ASCII文本（数字、"666"、链接等）的预扫描只访问这两个long，
+ * 不查询根节点的HashMap。文本中没有任何字符能作为首字时一定不含敏感词，过滤时可以直接返回原文，不进入自动机<br>
+ * 实例不可变，可以被多个线程安全地共享<br>
+ */
+public final class FirstCharBitmap {
+
+    /**
+     * 空集合
+     */
+    public static final FirstCharBitmap EMPTY = new FirstCharBitmap(new long[(Character.MAX_VALUE + 1) >>> 6]);
+
+    private static final char ASCII_END = 128;
+
+    private final long[] bits;
+
+    /**
+     * 字符0~63
+     */
+    private final long asciiLow;
+
+    /**
+     * 字符64~127
+     */
+    private final long asciiHigh;
+
+    private FirstCharBitmap(long[] bits) {
+        this.bits = bits;
+        this.asciiLow = bits[0];
+        this.asciiHigh = bits[1];
+    }
+
+    /**
+     * 由根节点的转移字符构建
+     *
+     * @param firstChars 根节点的转移字符
+     * @return 首字集合
+     */
+    public static FirstCharBitmap of(Collection<Character> firstChars) {
+        if (firstChars.isEmpty()) {
+            return EMPTY;
+        }
+        long[] bits = new long[EMPTY.bits.length];
+        for (char c : firstChars) {
+            bits[c >>> 6] |= 1L << c;
+        }
+        // 被跳过的字符归一化为SKIP，不能作为首字
+        bits[0] &= ~(1L << CharNormalizer.SKIP);
+        return new FirstCharBitmap(bits);
+    }
+
+    /**
+     * 在当前集合的基础上增删字符，只复制位图并修改变化的位，不需要遍历根节点的全部转移
+     *
+     * @param added   新增的首字
+     * @param removed 删除的首字
+     * @return 新的首字集合
+     */
+    public FirstCharBitmap with(Collection<Character> added, Collection<Character> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return this;
+        }
+        long[] newBits = bits.clone();
+        for (char c : added) {
+            newBits[c >>> 6] |= 1L << c;
+        }
+        for (char c : removed) {
+            newBits[c >>> 6] &= ~(1L << c);
+        }
+        newBits[0] &= ~(1L << CharNormalizer.SKIP);
+        return new FirstCharBitmap(newBits);
+    }
+
+    /**
+     * 字符能否作为敏感词首字
+     *
+     * @param c 字符
+     * @return true=能 false=不能
+     */
+    public boolean contains(char c) {
+        if (c < ASCII_END) {
+            return ((c < 64 ? asciiLow : asciiHigh) >>> c & 1) != 0;
+        }
+        return (bits[c >>> 6] >>> c & 1) != 0;
+    }
+
+    /**
+     * 文本是否可能含有敏感词
+     *
+     * @param text 文本，需已归一化
+     * @return false=一定不含 true=可能含有
+     */
+    public boolean mayMatch(CharSequence text) {
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            if (contains(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 文本归一化后是否可能含有敏感词，逐字符查归一化表，不生成归一化后的文本
+     *
+     * @param text       原文
+     * @param normalizer 字符归一化
+     * @return false=一定不含 true=可能含有
+     */
+    public boolean mayMatch(CharSequence text, CharNormalizer normalizer) {
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            if (contains(normalizer.normalize(text.charAt(i)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -1,10 +1,14 @@
 package org.ricky.common.sensitiveword.domain.algorithm.ac;
 
 import lombok.EqualsAndHashCode;
+import org.ricky.common.sensitiveword.domain.algorithm.FirstCharBitmap;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
 
 import javax.annotation.concurrent.NotThreadSafe;
 import java.util.*;
 
+import static org.ricky.common.sensitiveword.domain.normalize.CharNormalizer.SKIP;
+
 /**
  * @author Ricky
  * @version 1.0
@@ -21,12 +25,19 @@ public class ACTrie {
      */
     private final ACTrieNode root;
 
+    /**
+     * 根节点的转移字符，在根节点上遇到其他字符时不查询HashMap
+     */
+    @EqualsAndHashCode.Exclude
+    private FirstCharBitmap firstChars;
+
     public ACTrie(List<String> words) {
         words = words.stream().distinct().toList();
         root = new ACTrieNode();
         for (String word : words) {
-            addWord(word);
+            insert(word);
         }
+        firstChars = FirstCharBitmap.of(root.getChildren().keySet());
         initFailover();
     }
 
@@ -36,6 +47,11 @@ public class ACTrie {
      * @param word 敏感词
      */
     public void addWord(String word) {
+        insert(word);
+        firstChars = FirstCharBitmap.of(root.getChildren().keySet());
+    }
+
+    private void insert(String word) {
         ACTrieNode walkNode = root;
         char[] chars = word.toCharArray();
         for (int i = 0; i < word.length(); ++i) {
@@ -46,6 +62,15 @@ public class ACTrie {
         walkNode.setLeaf(true);
     }
 
+    /**
+     * 能作为敏感词首字的字符，用于在进入自动机之前排除不可能命中的文本
+     *
+     * @return 首字集合
+     */
+    public FirstCharBitmap firstChars() {
+        return firstChars;
+    }
+
     /**
      * 初始化节点的fail指针
      */
@@ -103,6 +128,9 @@ public class ACTrie {
         ACTrieNode walkNode = root;
         for (int i = 0; i < text.length(); ++i) {
             char c = text.charAt(i);
+            if (walkNode == root && !firstChars.contains(c)) {
+                continue;
+            }
             while (!walkNode.hasChild(c) && walkNode.getFailover() != null) {
                 walkNode = walkNode.getFailover();
             }
@@ -121,4 +149,43 @@ public class ACTrie {
         return result;
     }
 
+    /**
+     * 判断句子中是否包含敏感词<br>
+     * 与{@link #matches(String)}的遍历方式相同，但命中第一个敏感词后立即返回，不收集匹配结果
+     *
+     * @param text 文本
+     * @return true=包含 false=不包含
+     */
+    public boolean containsAny(String text) {
+        return containsAny(text, CharNormalizer.identity());
+    }
+
+    /**
+     * 逐字归一化并判断句子中是否包含敏感词，跳过被归一化掉的字符<br>
+     * 不生成归一化后的文本，没有对象分配
+     *
+     * @param text       原文
+     * @param normalizer 字符归一化
+     * @return true=包含 false=不包含
+     */
+    public boolean containsAny(String text, CharNormalizer normalizer) {
+        ACTrieNode walkNode = root;
+        for (int i = 0; i < text.length(); ++i) {
+            char c = normalizer.normalize(text.charAt(i));
+            if (c == SKIP || walkNode == root && !firstChars.contains(c)) {
+                continue;
+            }
+            while (!walkNode.hasChild(c) && walkNode.getFailover() != null) {
+                walkNode = walkNode.getFailover();
+            }
+            if (walkNode.hasChild(c)) {
+                walkNode = walkNode.childOf(c);
+                if (walkNode.isLeaf()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
 }
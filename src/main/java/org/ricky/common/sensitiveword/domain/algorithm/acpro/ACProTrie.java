@@ -1,7 +1,12 @@
 package org.ricky.common.sensitiveword.domain.algorithm.acpro;
 
+import org.ricky.common.sensitiveword.domain.algorithm.FirstCharBitmap;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+
 import java.util.*;
 
+import static org.ricky.common.sensitiveword.domain.normalize.CharNormalizer.SKIP;
+
 /**
  * @author Ricky
  * @version 1.0
@@ -21,6 +26,11 @@ public class ACProTrie {
      */
     private Word root;
 
+    /**
+     * 根节点的转移字符，在根节点上遇到其他字符时不查询HashMap
+     */
+    private FirstCharBitmap firstChars = FirstCharBitmap.EMPTY;
+
     /**
      * 节点
      */
@@ -68,9 +78,19 @@ public class ACProTrie {
                 currentNode.depth = j + 1;
             }
         }
+        firstChars = FirstCharBitmap.of(root.next.keySet());
         initFailOver();
     }
 
+    /**
+     * 能作为敏感词首字的字符，用于在进入自动机之前排除不可能命中的文本
+     *
+     * @return 首字集合
+     */
+    public FirstCharBitmap firstChars() {
+        return firstChars;
+    }
+
     /**
      * 初始化匹配失败回调节点/状态
      */
@@ -106,15 +126,31 @@ public class ACProTrie {
      * @return 替换后的文本
      */
     public String match(String matchWord) {
-        Word walkNode = root;
         char[] wordArray = matchWord.toCharArray();
-        for (int i = 0; i < wordArray.length; i++) {
+        match(matchWord, (start, end) -> Arrays.fill(wordArray, start, end, MASK_CHAR));
+        return new String(wordArray);
+    }
+
+    /**
+     * 匹配敏感词并报告需要替换的区间，与{@link #match(String)}替换的区间相同<br>
+     * 区间按结束下标递增的顺序报告
+     *
+     * @param matchWord 待匹配文本
+     * @param listener  替换区间的回调
+     */
+    public void match(String matchWord, SpanListener listener) {
+        Word walkNode = root;
+        for (int i = 0; i < matchWord.length(); i++) {
+            char c = matchWord.charAt(i);
+            if (walkNode == root && !firstChars.contains(c)) {
+                continue;
+            }
             // 失败"回溯"
-            while (!walkNode.hasChild(wordArray[i]) && walkNode.failOver != null) {
+            while (!walkNode.hasChild(c) && walkNode.failOver != null) {
                 walkNode = walkNode.failOver;
             }
-            if (walkNode.hasChild(wordArray[i])) {
-                walkNode = walkNode.next.get(wordArray[i]);
+            if (walkNode.hasChild(c)) {
+                walkNode = walkNode.next.get(c);
                 if (walkNode.end) {
                     // sentinelA和sentinelB作为哨兵节点，去后面探测是否仍存在end
                     Word sentinelA = walkNode; // 记录当前节点
@@ -122,22 +158,17 @@ public class ACProTrie {
                     int k = i + 1;
                     boolean flag = false;
                     // 判断end是不是最终end即敏感词是否存在包含关系(abc,abcd)
-                    while (k < wordArray.length && sentinelA.hasChild(wordArray[k])) {
-                        sentinelA = sentinelA.next.get(wordArray[k]);
+                    while (k < matchWord.length() && sentinelA.hasChild(matchWord.charAt(k))) {
+                        sentinelA = sentinelA.next.get(matchWord.charAt(k));
                         k++;
                         if (sentinelA.end) {
                             sentinelB = sentinelA;
                             flag = true;
                         }
                     }
-                    // 根据结果去替换*
-                    // 计算替换长度
-                    int len = flag ? sentinelB.depth : walkNode.depth;
-                    while (len > 0) {
-                        len--;
-                        int index = flag ? i - walkNode.depth + 1 + len : i - len;
-                        wordArray[index] = MASK_CHAR;
-                    }
+                    // 根据结果报告替换区间
+                    int start = i - walkNode.depth + 1;
+                    listener.onMatch(start, start + (flag ? sentinelB.depth : walkNode.depth));
                     // 更新i
                     i += flag ? sentinelB.depth : 0;
                     // 更新node
@@ -145,7 +176,62 @@ public class ACProTrie {
                 }
             }
         }
-        return new String(wordArray);
+    }
+
+    /**
+     * 替换区间的回调
+     */
+    @FunctionalInterface
+    public interface SpanListener {
+
+        /**
+         * 需要替换的区间
+         *
+         * @param start 起始下标（包含）
+         * @param end   结束下标（不包含）
+         */
+        void onMatch(int start, int end);
+
+    }
+
+    /**
+     * 判断文本中是否包含敏感词<br>
+     * 与{@link #match(String)}的遍历方式相同，但命中第一个敏感词后立即返回，不复制文本
+     *
+     * @param matchWord 待匹配文本
+     * @return true=包含 false=不包含
+     */
+    public boolean contains(String matchWord) {
+        return contains(matchWord, CharNormalizer.identity());
+    }
+
+    /**
+     * 逐字归一化并判断文本中是否包含敏感词，跳过被归一化掉的字符<br>
+     * 不生成归一化后的文本，没有对象分配
+     *
+     * @param matchWord  原文
+     * @param normalizer 字符归一化
+     * @return true=包含 false=不包含
+     */
+    public boolean contains(String matchWord, CharNormalizer normalizer) {
+        Word walkNode = root;
+        for (int i = 0; i < matchWord.length(); i++) {
+            char c = normalizer.normalize(matchWord.charAt(i));
+            if (c == SKIP || walkNode == root && !firstChars.contains(c)) {
+                continue;
+            }
+            // 失败"回溯"
+            while (!walkNode.hasChild(c) && walkNode.failOver != null) {
+                walkNode = walkNode.failOver;
+            }
+            if (walkNode.hasChild(c)) {
+                walkNode = walkNode.next.get(c);
+                if (walkNode.end) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
 }
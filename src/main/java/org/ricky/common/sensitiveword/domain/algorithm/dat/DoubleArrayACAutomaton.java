@@ -0,0 +1,295 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.ricky.common.sensitiveword.domain.algorithm.dat.DoubleArrayACTrie.ROOT;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DoubleArrayACAutomaton
+ * @desc 词库中基础自动机的只读视图<br>
+ * 双数组可以保存在堆内（{@link DoubleArrayACTrie}），也可以保存在堆外（{@link OffHeapDoubleArrayACTrie}），
+ * 两者的状态编号与序列化格式完全相同，墓碑与增量自动机可以原样沿用<br>
+ * 实现只提供对字符编码表与各数组的访问，状态转移、扫描与替换都在这里基于这些访问实现，两种存储共用同一份逻辑<br>
+ */
+sealed interface DoubleArrayACAutomaton permits DoubleArrayACTrie, OffHeapDoubleArrayACTrie {
+
+    /**
+     * 获取字符的编码
+     *
+     * @param c 字符
+     * @return 字符编码，0表示该字符不会出现在任何敏感词中
+     */
+    int codeOf(char c);
+
+    /**
+     * base数组，子状态 = base[s] + code
+     */
+    int base(int state);
+
+    /**
+     * check数组，check[t]记录状态t的父状态
+     */
+    int check(int state);
+
+    /**
+     * fail指针
+     */
+    int fail(int state);
+
+    /**
+     * 沿fail链能到达的最近一个终止状态（不包含自身），0表示不存在
+     */
+    int outLink(int state);
+
+    /**
+     * 获取以该终止状态结尾的敏感词长度
+     *
+     * @param state 终止状态
+     * @return 敏感词长度，0表示不是终止状态
+     */
+    int wordLength(int state);
+
+    /**
+     * 获取终止状态上的附加数据
+     *
+     * @param state 终止状态
+     * @return 附加数据，构建时未提供附加数据时为0
+     */
+    long payload(int state);
+
+    /**
+     * 双数组的长度
+     *
+     * @return 双数组的长度
+     */
+    int capacity();
+
+    int wordCount();
+
+    int maxWordLength();
+
+    long memoryEstimate();
+
+    long serializedSize();
+
+    void writeTo(ByteBuffer buffer);
+
+    /**
+     * 沿goto边转移，不使用fail指针
+     *
+     * @param state 当前状态
+     * @param code  字符编码
+     * @return 子状态，0表示不存在
+     */
+    default int child(int state, int code) {
+        if (code == 0) {
+            return 0;
+        }
+        int t = base(state) + code;
+        return t < capacity() && check(t) == state ? t : 0;
+    }
+
+    /**
+     * 状态转移，匹配失败时沿fail指针回退
+     *
+     * @param state 当前状态
+     * @param code  字符编码
+     * @return 下一个状态
+     */
+    default int next(int state, int code) {
+        if (code == 0) {
+            return ROOT;
+        }
+        int s = state;
+        while (true) {
+            int t = base(s) + code;
+            if (t < capacity() && check(t) == s) {
+                return t;
+            }
+            if (s == ROOT) {
+                return ROOT;
+            }
+            s = fail(s);
+        }
+    }
+
+    /**
+     * 状态转移
+     *
+     * @param state 当前状态
+     * @param c     字符
+     * @return 下一个状态
+     */
+    default int next(int state, char c) {
+        return next(state, codeOf(c));
+    }
+
+    /**
+     * 字符能否作为敏感词首字，即根节点上是否有该字符的转移<br>
+     * 字符编码表与双数组都是稠密数组，判断只需三次数组访问
+     *
+     * @param c 字符
+     * @return true=能 false=不能
+     */
+    default boolean startsWord(char c) {
+        return child(ROOT, codeOf(c)) != 0;
+    }
+
+    /**
+     * 父状态
+     *
+     * @param state 非根状态
+     * @return 父状态
+     */
+    default int parent(int state) {
+        return check(state);
+    }
+
+    /**
+     * 状态的深度，即从根状态到该状态经过的字符数
+     *
+     * @param state 状态
+     * @return 深度，根状态为0
+     */
+    default int depth(int state) {
+        int depth = 0;
+        for (int s = state; s != ROOT; s = check(s)) {
+            ++depth;
+        }
+        return depth;
+    }
+
+    /**
+     * 获取在该状态结束的最长敏感词对应的终止状态
+     *
+     * @param state 状态
+     * @return 终止状态，0表示没有敏感词在此结束
+     */
+    default int longestOutput(int state) {
+        return wordLength(state) > 0 ? state : outLink(state);
+    }
+
+    /**
+     * 获取沿fail链的下一个终止状态，用于枚举同一位置结束的所有敏感词
+     *
+     * @param state 终止状态
+     * @return 下一个终止状态，0表示不存在
+     */
+    default int nextOutput(int state) {
+        return outLink(state);
+    }
+
+    /**
+     * 精确查找敏感词，只沿goto边转移，不使用fail指针
+     *
+     * @param word 敏感词
+     * @return 敏感词对应的终止状态，0表示不存在
+     */
+    default int exactMatch(CharSequence word) {
+        int state = ROOT;
+        for (int i = 0, len = word.length(); i < len; ++i) {
+            state = child(state, codeOf(word.charAt(i)));
+            if (state == 0) {
+                return 0;
+            }
+        }
+        return wordLength(state) > 0 ? state : 0;
+    }
+
+    /**
+     * 还原所有敏感词<br>
+     * 从每个终止状态沿check数组回溯到根状态，按base差值反查字符
+     *
+     * @return 敏感词列表
+     */
+    default List<String> words() {
+        int alphabetSize = 0;
+        for (int c = 0; c <= Character.MAX_VALUE; ++c) {
+            alphabetSize = Math.max(alphabetSize, codeOf((char) c));
+        }
+        char[] chars = new char[alphabetSize + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; ++c) {
+            int code = codeOf((char) c);
+            if (code != 0) {
+                chars[code] = (char) c;
+            }
+        }
+        List<String> words = new ArrayList<>(wordCount());
+        for (int state = 1, capacity = capacity(); state < capacity; ++state) {
+            int len = wordLength(state);
+            if (len == 0) {
+                continue;
+            }
+            char[] word = new char[len];
+            for (int s = state, k = len - 1; k >= 0; --k) {
+                int parent = check(s);
+                word[k] = chars[s - base(parent)];
+                s = parent;
+            }
+            words.add(new String(word));
+        }
+        return words;
+    }
+
+    /**
+     * 判断文本中是否含有敏感词，命中第一个敏感词后立即返回
+     *
+     * @param text 文本
+     * @return true=有 false=没有
+     */
+    default boolean containsAny(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            state = next(state, text.charAt(i));
+            if (longestOutput(state) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 替换文本中所有的敏感词，匹配区间可以重叠
+     *
+     * @param text     文本
+     * @param maskChar 替换字符
+     * @return 替换后的文本，未命中时返回原文本
+     */
+    default String mask(String text, char maskChar) {
+        char[] masked = null;
+        // 最近一段已被替换的连续区间[maskedStart, maskedEnd)
+        int maskedStart = 0;
+        int maskedEnd = 0;
+        int state = ROOT;
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            state = next(state, text.charAt(i));
+            int output = longestOutput(state);
+            if (output != 0) {
+                if (masked == null) {
+                    masked = text.toCharArray();
+                }
+                int start = i - wordLength(output) + 1;
+                if (start < maskedEnd) {
+                    // 与上一段区间重叠，只替换尚未被替换的部分
+                    if (start < maskedStart) {
+                        Arrays.fill(masked, start, maskedStart, maskChar);
+                        maskedStart = start;
+                    }
+                    Arrays.fill(masked, maskedEnd, i + 1, maskChar);
+                } else {
+                    Arrays.fill(masked, start, i + 1, maskChar);
+                    maskedStart = start;
+                }
+                maskedEnd = i + 1;
+            }
+        }
+        return masked == null ? text : new String(masked);
+    }
+
+}
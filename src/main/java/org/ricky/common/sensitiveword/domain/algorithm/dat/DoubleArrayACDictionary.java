@@ -0,0 +1,661 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+
+import java.util.*;
+
+import static org.ricky.common.sensitiveword.domain.algorithm.dat.DoubleArrayACTrie.ROOT;
+import static org.ricky.common.sensitiveword.domain.normalize.CharNormalizer.SKIP;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DoubleArrayACDictionary
+ * @desc 支持增量变更的双数组AC自动机词库<br>
+ * 由三部分组成：全量构建的基础自动机、新增词构建的增量自动机、基础自动机中被删除词的终止状态（墓碑）<br>
+ * 增删词时只重建增量自动机或调整墓碑，开销与变更规模成正比，与词库规模无关；
+ * 增量自动机每次新增都整体重建，词数超过{@value #MAX_DELTA_WORDS}或变更积累到一定规模后，
+ * 再通过{@link #compact()}合并为新的基础自动机<br>
+ * 每个敏感词可以带一个long类型的附加数据，由调用方定义含义，命中时原样返回<br>
+ * 基础自动机可以保存在堆外，见{@link #toOffHeap()}，增量自动机规模很小，始终保存在堆内<br>
+ * 实例不可变，每次变更都返回新的实例，可以被多个线程安全地共享<br>
+ */
+public final class DoubleArrayACDictionary {
+
+    private static final int[] NO_STATES = new int[0];
+
+    private static final DoubleArrayACOverlay[] NO_OVERLAYS = new DoubleArrayACOverlay[0];
+
+    /**
+     * 变更数超过该值后才考虑合并
+     */
+    private static final int MIN_COMPACTION_CHANGES = 1024;
+
+    /**
+     * 增量自动机的词数超过该值后需要合并，保证每次新增重建增量自动机的开销很小
+     */
+    private static final int MAX_DELTA_WORDS = 256;
+
+    /**
+     * 基础自动机
+     */
+    private final DoubleArrayACAutomaton base;
+
+    /**
+     * 增量自动机，包含所有新增且不在基础自动机中的词
+     */
+    private final DoubleArrayACTrie delta;
+
+    /**
+     * 增量自动机中的词 -> 附加数据
+     */
+    private final Map<String, Long> addedWords;
+
+    /**
+     * 基础自动机中已被删除的词对应的终止状态，升序排列
+     */
+    private final int[] removedStates;
+
+    private DoubleArrayACDictionary(DoubleArrayACAutomaton base, DoubleArrayACTrie delta,
+                                    Map<String, Long> addedWords, int[] removedStates) {
+        this.base = base;
+        this.delta = delta;
+        this.addedWords = addedWords;
+        this.removedStates = removedStates;
+    }
+
+    /**
+     * 全量构建词库
+     *
+     * @param words 敏感词
+     * @return 词库
+     */
+    public static DoubleArrayACDictionary of(Collection<String> words) {
+        return new DoubleArrayACDictionary(DoubleArrayACTrie.build(words), null, Map.of(), NO_STATES);
+    }
+
+    /**
+     * 全量构建带附加数据的词库
+     *
+     * @param words    敏感词
+     * @param payloads 与敏感词一一对应的附加数据
+     * @return 词库
+     */
+    public static DoubleArrayACDictionary of(List<String> words, long[] payloads) {
+        return new DoubleArrayACDictionary(DoubleArrayACTrie.build(words, payloads), null, Map.of(), NO_STATES);
+    }
+
+    /**
+     * 由已构建好的自动机创建词库
+     *
+     * @param base 基础自动机
+     * @return 词库
+     */
+    static DoubleArrayACDictionary of(DoubleArrayACAutomaton base) {
+        return new DoubleArrayACDictionary(base, null, Map.of(), NO_STATES);
+    }
+
+    /**
+     * 将基础自动机复制到直接内存，增量自动机与墓碑保持不变
+     *
+     * @return 新的词库，基础自动机已在堆外时返回自身
+     */
+    public DoubleArrayACDictionary toOffHeap() {
+        if (!(base instanceof DoubleArrayACTrie trie)) {
+            return this;
+        }
+        return new DoubleArrayACDictionary(OffHeapDoubleArrayACTrie.copyOf(trie), delta, addedWords, removedStates);
+    }
+
+    /**
+     * 基础自动机是否保存在堆外
+     *
+     * @return true=堆外 false=堆内
+     */
+    public boolean isOffHeap() {
+        return base instanceof OffHeapDoubleArrayACTrie;
+    }
+
+    /**
+     * 新增敏感词，已存在的词保留原有的附加数据，新词的附加数据为0
+     *
+     * @param words 敏感词
+     * @return 新的词库
+     */
+    public DoubleArrayACDictionary withAdded(Collection<String> words) {
+        return withAdded(new ArrayList<>(words), null);
+    }
+
+    /**
+     * 新增或更新带附加数据的敏感词
+     *
+     * @param words    敏感词
+     * @param payloads 与敏感词一一对应的附加数据，为null时已存在的词保留原有的附加数据，新词的附加数据为0
+     * @return 新的词库
+     */
+    public DoubleArrayACDictionary withAdded(List<String> words, long[] payloads) {
+        Map<String, Long> added = new HashMap<>(addedWords);
+        int[] removed = removedStates;
+        for (int i = 0; i < words.size(); ++i) {
+            String word = words.get(i);
+            if (word == null || word.isBlank() || (payloads == null && added.containsKey(word))) {
+                continue;
+            }
+            int state = base.exactMatch(word);
+            long payload = payloads == null ? 0L : payloads[i];
+            if (state == 0) {
+                added.put(word, payload);
+            } else if (base.payload(state) == payload || (payloads == null && !isRemoved(removed, state))) {
+                added.remove(word);
+                if (isRemoved(removed, state)) {
+                    removed = without(removed, state);
+                }
+            } else {
+                // 附加数据不同，删除基础自动机中的词，由增量自动机中的词代替
+                added.put(word, payload);
+                if (!isRemoved(removed, state)) {
+                    removed = with(removed, state);
+                }
+            }
+        }
+        return withChanges(added, removed);
+    }
+
+    /**
+     * 删除敏感词
+     *
+     * @param words 敏感词
+     * @return 新的词库
+     */
+    public DoubleArrayACDictionary withRemoved(Collection<String> words) {
+        Map<String, Long> added = new HashMap<>(addedWords);
+        int[] removed = removedStates;
+        for (String word : words) {
+            if (word == null || word.isBlank()) {
+                continue;
+            }
+            added.remove(word);
+            int state = base.exactMatch(word);
+            if (state != 0 && !isRemoved(removed, state)) {
+                removed = with(removed, state);
+            }
+        }
+        return withChanges(added, removed);
+    }
+
+    private DoubleArrayACDictionary withChanges(Map<String, Long> added, int[] removed) {
+        DoubleArrayACTrie newDelta = delta;
+        if (!added.equals(addedWords)) {
+            newDelta = added.isEmpty() ? null : buildDelta(added);
+        }
+        return new DoubleArrayACDictionary(base, newDelta, Map.copyOf(added), removed);
+    }
+
+    private static DoubleArrayACTrie buildDelta(Map<String, Long> added) {
+        List<String> words = new ArrayList<>(added.size());
+        long[] payloads = new long[added.size()];
+        for (Map.Entry<String, Long> entry : added.entrySet()) {
+            payloads[words.size()] = entry.getValue();
+            words.add(entry.getKey());
+        }
+        return DoubleArrayACTrie.build(words, payloads);
+    }
+
+    /**
+     * 将增量自动机与墓碑合并为新的基础自动机
+     *
+     * @return 新的词库
+     */
+    public DoubleArrayACDictionary compact() {
+        List<String> words = new ArrayList<>(wordCount());
+        long[] payloads = new long[wordCount()];
+        boolean hasPayload = false;
+        for (String word : base.words()) {
+            int state = base.exactMatch(word);
+            if (!isRemoved(removedStates, state)) {
+                payloads[words.size()] = base.payload(state);
+                hasPayload |= payloads[words.size()] != 0;
+                words.add(word);
+            }
+        }
+        for (Map.Entry<String, Long> entry : addedWords.entrySet()) {
+            payloads[words.size()] = entry.getValue();
+            hasPayload |= entry.getValue() != 0;
+            words.add(entry.getKey());
+        }
+        return hasPayload ? of(words, payloads) : of(words);
+    }
+
+    /**
+     * 合并后的基础自动机，没有尚未合并的变更时直接返回当前的基础自动机
+     *
+     * @return 基础自动机
+     */
+    DoubleArrayACAutomaton compacted() {
+        return pendingChanges() == 0 ? base : compact().base;
+    }
+
+    /**
+     * 是否需要合并<br>
+     * 增量自动机的词数超过{@value #MAX_DELTA_WORDS}时，每次新增重建增量自动机的开销已经不可忽略；
+     * 变更数超过基础词库的1/16（且不少于{@value #MIN_COMPACTION_CHANGES}）时，扫描时额外的开销已经不可忽略
+     *
+     * @return true=需要 false=不需要
+     */
+    public boolean needsCompaction() {
+        return addedWords.size() > MAX_DELTA_WORDS
+                || pendingChanges() > Math.max(MIN_COMPACTION_CHANGES, base.wordCount() >> 4);
+    }
+
+    /**
+     * 尚未合并的变更数
+     *
+     * @return 变更数
+     */
+    public int pendingChanges() {
+        return addedWords.size() + removedStates.length;
+    }
+
+    /**
+     * 当前有效的敏感词数
+     *
+     * @return 敏感词数
+     */
+    public int wordCount() {
+        return base.wordCount() - removedStates.length + addedWords.size();
+    }
+
+    /**
+     * 估算占用的堆内存，增量词表按每个条目约64字节估算，堆外的基础自动机不计入
+     *
+     * @return 字节数
+     */
+    public long memoryEstimate() {
+        long size = base.memoryEstimate() + (long) Integer.BYTES * removedStates.length + 64L * addedWords.size();
+        return delta == null ? size : size + delta.memoryEstimate();
+    }
+
+    /**
+     * 堆外占用的字节数
+     *
+     * @return 字节数，基础自动机在堆内时为0
+     */
+    public long offHeapSize() {
+        return base instanceof OffHeapDoubleArrayACTrie offHeap ? offHeap.offHeapSize() : 0;
+    }
+
+    /**
+     * 当前有效的敏感词
+     *
+     * @return 敏感词列表
+     */
+    public List<String> words() {
+        List<String> words = new ArrayList<>(wordCount());
+        for (String word : base.words()) {
+            if (!isRemoved(removedStates, base.exactMatch(word))) {
+                words.add(word);
+            }
+        }
+        words.addAll(addedWords.keySet());
+        return words;
+    }
+
+    /**
+     * 字符能否作为词库或任意叠加层中敏感词的首字，用于在进入自动机之前排除不可能命中的文本<br>
+     * 墓碑不参与判断，结果可能偏多但不会遗漏
+     *
+     * @param c        字符，需已归一化
+     * @param overlays 叠加层
+     * @return true=能 false=不能
+     */
+    public boolean startsWord(char c, DoubleArrayACOverlay... overlays) {
+        if (base.startsWord(c) || delta != null && delta.startsWord(c)) {
+            return true;
+        }
+        for (DoubleArrayACOverlay overlay : overlays) {
+            if (!overlay.isEmpty() && overlay.trie().startsWord(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断文本中是否含有敏感词，命中第一个敏感词后立即返回
+     *
+     * @param text 文本
+     * @return true=有 false=没有
+     */
+    public boolean containsAny(CharSequence text) {
+        return containsAny(text, NO_OVERLAYS);
+    }
+
+    /**
+     * 判断文本中是否含有词库或任意叠加层中的敏感词，命中第一个敏感词后立即返回
+     *
+     * @param text     文本
+     * @param overlays 叠加层
+     * @return true=有 false=没有
+     */
+    public boolean containsAny(CharSequence text, DoubleArrayACOverlay... overlays) {
+        if (delta == null && removedStates.length == 0 && overlays.length == 0) {
+            return base.containsAny(text);
+        }
+        Cursor cursor = cursor(overlays);
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            if (cursor.next(text.charAt(i)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 逐字归一化并判断文本中是否含有词库或任意叠加层中的敏感词，跳过被归一化掉的字符<br>
+     * 不生成归一化后的文本，没有叠加层与未合并的变更时没有对象分配
+     *
+     * @param text       原文
+     * @param normalizer 字符归一化
+     * @param overlays   叠加层
+     * @return true=有 false=没有
+     */
+    public boolean containsAny(CharSequence text, CharNormalizer normalizer, DoubleArrayACOverlay... overlays) {
+        if (delta == null && removedStates.length == 0 && overlays.length == 0) {
+            int state = ROOT;
+            for (int i = 0, len = text.length(); i < len; ++i) {
+                char c = normalizer.normalize(text.charAt(i));
+                if (c != SKIP && base.longestOutput(state = base.next(state, c)) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        Cursor cursor = cursor(overlays);
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            char c = normalizer.normalize(text.charAt(i));
+            if (c != SKIP && cursor.next(c) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 替换文本中所有的敏感词，匹配区间可以重叠
+     *
+     * @param text     文本
+     * @param maskChar 替换字符
+     * @return 替换后的文本，未命中时返回原文本
+     */
+    public String mask(String text, char maskChar) {
+        return mask(text, maskChar, NO_OVERLAYS);
+    }
+
+    /**
+     * 替换文本中词库与所有叠加层中的敏感词，匹配区间可以重叠
+     *
+     * @param text     文本
+     * @param maskChar 替换字符
+     * @param overlays 叠加层
+     * @return 替换后的文本，未命中时返回原文本
+     */
+    public String mask(String text, char maskChar, DoubleArrayACOverlay... overlays) {
+        if (delta == null && removedStates.length == 0 && overlays.length == 0) {
+            return base.mask(text, maskChar);
+        }
+        char[] masked = null;
+        // 最近一段已被替换的连续区间[maskedStart, maskedEnd)
+        int maskedStart = 0;
+        int maskedEnd = 0;
+        Cursor cursor = cursor(overlays);
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            int matchLength = cursor.next(text.charAt(i));
+            if (matchLength == 0) {
+                continue;
+            }
+            if (masked == null) {
+                masked = text.toCharArray();
+            }
+            int start = i - matchLength + 1;
+            if (start < maskedEnd) {
+                // 与上一段区间重叠，只替换尚未被替换的部分
+                if (start < maskedStart) {
+                    Arrays.fill(masked, start, maskedStart, maskChar);
+                    maskedStart = start;
+                }
+                Arrays.fill(masked, maskedEnd, i + 1, maskChar);
+            } else {
+                Arrays.fill(masked, start, i + 1, maskChar);
+                maskedStart = start;
+            }
+            maskedEnd = i + 1;
+        }
+        return masked == null ? text : new String(masked);
+    }
+
+    /**
+     * 报告文本中命中的所有敏感词及其附加数据，同一位置结束的多个敏感词按长度从长到短依次报告
+     *
+     * @param text     文本
+     * @param listener 命中回调
+     * @return 命中次数
+     */
+    public int matchAll(CharSequence text, PayloadMatchListener listener) {
+        int count = 0;
+        int state = ROOT;
+        int deltaState = ROOT;
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            char c = text.charAt(i);
+            state = base.next(state, c);
+            for (int output = base.longestOutput(state); output != 0; output = base.nextOutput(output)) {
+                if (!isRemoved(removedStates, output)) {
+                    listener.onMatch(base.payload(output), i + 1 - base.wordLength(output), i + 1);
+                    ++count;
+                }
+            }
+            if (delta != null) {
+                deltaState = delta.next(deltaState, c);
+                for (int output = delta.longestOutput(deltaState); output != 0; output = delta.nextOutput(output)) {
+                    listener.onMatch(delta.payload(output), i + 1 - delta.wordLength(output), i + 1);
+                    ++count;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 最长敏感词的长度，可能包含已删除的词，只作为上界使用
+     *
+     * @return 最长敏感词的长度
+     */
+    public int maxWordLength() {
+        return delta == null ? base.maxWordLength() : Math.max(base.maxWordLength(), delta.maxWordLength());
+    }
+
+    /**
+     * 创建游标，逐个字符推进自动机
+     *
+     * @return 游标
+     */
+    public Cursor cursor() {
+        return new Cursor(NO_OVERLAYS);
+    }
+
+    /**
+     * 创建同时推进词库与叠加层的游标
+     *
+     * @param overlays 叠加层
+     * @return 游标
+     */
+    public Cursor cursor(DoubleArrayACOverlay... overlays) {
+        return new Cursor(overlays);
+    }
+
+    /**
+     * 游标<br>
+     * 同时在基础自动机、增量自动机与叠加层上推进，保存跨越多次调用的匹配状态，非线程安全
+     */
+    public final class Cursor {
+
+        private int state = ROOT;
+        private int deltaState = ROOT;
+
+        /**
+         * 已读入的字符数
+         */
+        private int position;
+
+        /**
+         * 非空叠加层的自动机及其当前状态
+         */
+        private final DoubleArrayACTrie[] overlayTries;
+        private final int[] overlayStates;
+
+        private Cursor(DoubleArrayACOverlay[] overlays) {
+            int count = 0;
+            for (DoubleArrayACOverlay overlay : overlays) {
+                if (overlay != null && !overlay.isEmpty()) {
+                    ++count;
+                }
+            }
+            overlayTries = new DoubleArrayACTrie[count];
+            for (int i = 0, k = 0; i < overlays.length; ++i) {
+                if (overlays[i] != null && !overlays[i].isEmpty()) {
+                    overlayTries[k++] = overlays[i].trie();
+                }
+            }
+            overlayStates = new int[count];
+        }
+
+        /**
+         * 推进一个字符
+         *
+         * @param c 字符
+         * @return 在该字符结束的最长有效敏感词的长度，0表示没有命中
+         */
+        public int next(char c) {
+            ++position;
+            state = base.next(state, c);
+            int output = longestLiveOutput(state);
+            int matchLength = output == 0 ? 0 : base.wordLength(output);
+            if (delta != null) {
+                deltaState = delta.next(deltaState, c);
+                int deltaOutput = delta.longestOutput(deltaState);
+                if (deltaOutput != 0) {
+                    matchLength = Math.max(matchLength, delta.wordLength(deltaOutput));
+                }
+            }
+            for (int i = 0; i < overlayTries.length; ++i) {
+                DoubleArrayACTrie overlay = overlayTries[i];
+                overlayStates[i] = overlay.next(overlayStates[i], c);
+                int overlayOutput = overlay.longestOutput(overlayStates[i]);
+                if (overlayOutput != 0) {
+                    matchLength = Math.max(matchLength, overlay.wordLength(overlayOutput));
+                }
+            }
+            return matchLength;
+        }
+
+        /**
+         * 推进一个字符，并报告在该字符结束的所有有效敏感词，
+         * 基础自动机、增量自动机与各叠加层依次报告，每个自动机内按长度从长到短报告
+         *
+         * @param c        字符
+         * @param listener 命中回调，区间下标从游标创建或回到初始状态后读入的第一个字符开始计
+         * @return 命中次数
+         */
+        public int next(char c, PayloadMatchListener listener) {
+            int end = ++position;
+            int count = 0;
+            state = base.next(state, c);
+            for (int output = base.longestOutput(state); output != 0; output = base.nextOutput(output)) {
+                if (!isRemoved(removedStates, output)) {
+                    listener.onMatch(base.payload(output), end - base.wordLength(output), end);
+                    ++count;
+                }
+            }
+            if (delta != null) {
+                deltaState = delta.next(deltaState, c);
+                for (int output = delta.longestOutput(deltaState); output != 0; output = delta.nextOutput(output)) {
+                    listener.onMatch(delta.payload(output), end - delta.wordLength(output), end);
+                    ++count;
+                }
+            }
+            for (int i = 0; i < overlayTries.length; ++i) {
+                DoubleArrayACTrie overlay = overlayTries[i];
+                overlayStates[i] = overlay.next(overlayStates[i], c);
+                for (int output = overlay.longestOutput(overlayStates[i]); output != 0;
+                     output = overlay.nextOutput(output)) {
+                    listener.onMatch(overlay.payload(output), end - overlay.wordLength(output), end);
+                    ++count;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * 当前状态的深度，即最近输入的字符中仍可能成为某个敏感词开头的最长后缀长度<br>
+         * 之后命中的敏感词都不会早于这个后缀开始，更早的字符已经确定
+         *
+         * @return 深度，0表示处于初始状态
+         */
+        public int depth() {
+            int depth = base.depth(state);
+            if (delta != null) {
+                depth = Math.max(depth, delta.depth(deltaState));
+            }
+            for (int i = 0; i < overlayTries.length; ++i) {
+                depth = Math.max(depth, overlayTries[i].depth(overlayStates[i]));
+            }
+            return depth;
+        }
+
+        /**
+         * 回到初始状态
+         */
+        public void reset() {
+            state = ROOT;
+            deltaState = ROOT;
+            position = 0;
+            Arrays.fill(overlayStates, ROOT);
+        }
+    }
+
+    /**
+     * 获取基础自动机在该状态结束的、未被删除的最长敏感词
+     *
+     * @param state 基础自动机状态
+     * @return 终止状态，0表示不存在
+     */
+    private int longestLiveOutput(int state) {
+        int output = base.longestOutput(state);
+        while (output != 0 && isRemoved(removedStates, output)) {
+            output = base.nextOutput(output);
+        }
+        return output;
+    }
+
+    private static boolean isRemoved(int[] removed, int state) {
+        return removed.length > 0 && Arrays.binarySearch(removed, state) >= 0;
+    }
+
+    private static int[] with(int[] states, int state) {
+        int index = -Arrays.binarySearch(states, state) - 1;
+        int[] result = new int[states.length + 1];
+        System.arraycopy(states, 0, result, 0, index);
+        result[index] = state;
+        System.arraycopy(states, index, result, index + 1, states.length - index);
+        return result;
+    }
+
+    private static int[] without(int[] states, int state) {
+        int index = Arrays.binarySearch(states, state);
+        int[] result = new int[states.length - 1];
+        System.arraycopy(states, 0, result, 0, index);
+        System.arraycopy(states, index + 1, result, index, states.length - index - 1);
+        return result;
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DoubleArrayACOverlay
+ * @desc 叠加在共享词库之上的小词库<br>
+ * 只包含场景或用户自己的敏感词，扫描时与共享词库同步推进，命中任意一层即视为命中；
+ * 共享词库只有一份，每个场景或用户额外占用的内存只与自己的词数成正比<br>
+ * 实例不可变，可以被多个线程安全地共享<br>
+ */
+public final class DoubleArrayACOverlay {
+
+    /**
+     * 空叠加层
+     */
+    public static final DoubleArrayACOverlay EMPTY = new DoubleArrayACOverlay(null);
+
+    /**
+     * 叠加层的自动机，没有敏感词时为null
+     */
+    private final DoubleArrayACTrie trie;
+
+    private DoubleArrayACOverlay(DoubleArrayACTrie trie) {
+        this.trie = trie;
+    }
+
+    /**
+     * 构建叠加层
+     *
+     * @param words 敏感词，空白词与重复词会被忽略
+     * @return 叠加层
+     */
+    public static DoubleArrayACOverlay of(Collection<String> words) {
+        if (words == null || words.stream().allMatch(word -> word == null || word.isBlank())) {
+            return EMPTY;
+        }
+        return new DoubleArrayACOverlay(DoubleArrayACTrie.build(words));
+    }
+
+    /**
+     * 是否为空
+     *
+     * @return true=空 false=非空
+     */
+    public boolean isEmpty() {
+        return trie == null;
+    }
+
+    /**
+     * 敏感词数
+     *
+     * @return 敏感词数
+     */
+    public int wordCount() {
+        return trie == null ? 0 : trie.wordCount();
+    }
+
+    /**
+     * 叠加层中的敏感词
+     *
+     * @return 敏感词列表
+     */
+    public List<String> words() {
+        return trie == null ? List.of() : trie.words();
+    }
+
+    DoubleArrayACTrie trie() {
+        return trie;
+    }
+
+}
@@ -0,0 +1,192 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.zip.CRC32;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DoubleArrayACSnapshot
+ * @desc 双数组AC自动机词库的二进制快照<br>
+ * 将编译好的双数组直接写入本地文件，启动时通过内存映射读回，既不用查询数据库也不用重新构建自动机<br>
+ * 文件格式（大端序）：<br>
+ * <pre>
+ * magic(int) formatVersion(int) dataVersion(long) fingerprint(long) bodyLength(long) crc32(long) body
+ * body = trie hasGapMatcher(byte) [gapMatcher]
+ * </pre>
+ * dataVersion为数据源中词库的版本，fingerprint为构建时使用的归一化规则的指纹，二者任意一个不一致时快照视为过期；
+ * crc32覆盖整个body，用于发现写入不完整或被损坏的文件<br>
+ */
+public final class DoubleArrayACSnapshot {
+
+    /**
+     * 文件魔数，"SWDA"
+     */
+    private static final int MAGIC = 0x53574441;
+
+    /**
+     * 文件格式版本，格式变化时递增，旧格式的快照视为过期
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + 4 * Long.BYTES;
+
+    private final DoubleArrayACDictionary dictionary;
+
+    private final DoubleArrayGapMatcher gapMatcher;
+
+    private DoubleArrayACSnapshot(DoubleArrayACDictionary dictionary, DoubleArrayGapMatcher gapMatcher) {
+        this.dictionary = dictionary;
+        this.gapMatcher = gapMatcher;
+    }
+
+    /**
+     * 词库
+     *
+     * @return 词库
+     */
+    public DoubleArrayACDictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * 允许字间插入字符的匹配器
+     *
+     * @return 匹配器，保存时没有则为null
+     */
+    public DoubleArrayGapMatcher gapMatcher() {
+        return gapMatcher;
+    }
+
+    /**
+     * 写入快照<br>
+     * 先写入同目录下的临时文件再原子地替换目标文件，读取方不会看到写了一半的快照
+     *
+     * @param file        快照文件
+     * @param dictionary  词库，有尚未合并的变更时先合并
+     * @param gapMatcher  允许字间插入字符的匹配器，可以为null
+     * @param dataVersion 数据源中词库的版本
+     * @param fingerprint 归一化规则的指纹
+     * @throws IOException IO异常
+     */
+    public static void write(Path file, DoubleArrayACDictionary dictionary, DoubleArrayGapMatcher gapMatcher,
+                             long dataVersion, long fingerprint) throws IOException {
+        DoubleArrayACAutomaton trie = dictionary.compacted();
+        long bodyLength = trie.serializedSize() + 1 + (gapMatcher == null ? 0 : gapMatcher.serializedSize());
+        if (HEADER_SIZE + bodyLength > Integer.MAX_VALUE) {
+            throw new IOException("Sensitive word snapshot is too large: " + bodyLength + " bytes.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) (HEADER_SIZE + bodyLength));
+        buffer.position(HEADER_SIZE);
+        trie.writeTo(buffer);
+        buffer.put((byte) (gapMatcher == null ? 0 : 1));
+        if (gapMatcher != null) {
+            gapMatcher.writeTo(buffer);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.flip().position(HEADER_SIZE));
+        buffer.clear();
+        buffer.putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(dataVersion)
+                .putLong(fingerprint)
+                .putLong(bodyLength)
+                .putLong(crc.getValue());
+        buffer.clear();
+
+        Path absolute = file.toAbsolutePath();
+        Path dir = absolute.getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 读取快照，词库读入堆内
+     *
+     * @param file        快照文件
+     * @param dataVersion 数据源中词库的当前版本
+     * @param fingerprint 当前归一化规则的指纹
+     * @return 快照，快照不存在或已过期时返回null
+     * @throws IOException IO异常，或快照已损坏
+     */
+    public static DoubleArrayACSnapshot read(Path file, long dataVersion, long fingerprint) throws IOException {
+        return read(file, dataVersion, fingerprint, false);
+    }
+
+    /**
+     * 读取快照<br>
+     * 先只检查文件头，版本或指纹不一致时不会读取文件的其余部分<br>
+     * 映射模式下基础自动机直接使用文件的内存映射，不复制到堆内，映射在词库不再被引用后随GC释放；
+     * 快照文件总是整体替换，已映射的旧文件不会被修改
+     *
+     * @param file        快照文件
+     * @param dataVersion 数据源中词库的当前版本
+     * @param fingerprint 当前归一化规则的指纹
+     * @param mapped      true=映射 false=读入堆内
+     * @return 快照，快照不存在或已过期时返回null
+     * @throws IOException IO异常，或快照已损坏
+     */
+    public static DoubleArrayACSnapshot read(Path file, long dataVersion, long fingerprint,
+                                             boolean mapped) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Sensitive word snapshot is truncated: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a sensitive word snapshot: " + file);
+            }
+            if (buffer.getInt() != FORMAT_VERSION
+                    || buffer.getLong() != dataVersion
+                    || buffer.getLong() != fingerprint) {
+                return null;
+            }
+            long bodyLength = buffer.getLong();
+            long expectedCrc = buffer.getLong();
+            if (bodyLength != size - HEADER_SIZE) {
+                throw new IOException("Sensitive word snapshot is truncated: " + file);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice());
+            if (crc.getValue() != expectedCrc) {
+                throw new IOException("Sensitive word snapshot checksum mismatch: " + file);
+            }
+            DoubleArrayACAutomaton trie = mapped
+                    ? OffHeapDoubleArrayACTrie.view(buffer)
+                    : DoubleArrayACTrie.readFrom(buffer);
+            DoubleArrayGapMatcher gapMatcher = buffer.get() == 0 ? null : DoubleArrayGapMatcher.readFrom(buffer);
+            if (buffer.hasRemaining()) {
+                throw new IOException("Sensitive word snapshot is corrupted: " + file);
+            }
+            return new DoubleArrayACSnapshot(DoubleArrayACDictionary.of(trie), gapMatcher);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Sensitive word snapshot is corrupted: " + file, e);
+        }
+    }
+
+}
@@ -0,0 +1,632 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DoubleArrayACTrie
+ * @desc 基于双数组（base/check）的AC自动机<br>
+ * 所有状态都保存在若干个int数组中，没有节点对象，也没有{@code HashMap<Character, ...>}，
+ * 扫描时每个字符只需要若干次数组访问，不会产生任何对象分配<br>
+ * 状态转移、扫描与替换见{@link DoubleArrayACAutomaton}<br>
+ * 构建完成后不可变，可以被多个线程安全地共享<br>
+ */
+public final class DoubleArrayACTrie implements DoubleArrayACAutomaton {
+
+    /**
+     * 根状态
+     */
+    public static final int ROOT = 0;
+
+    /**
+     * 空闲槽位在check数组中的标记
+     */
+    private static final int FREE = -1;
+
+    /**
+     * 字符 -> 字符编码，0表示该字符不在字母表中
+     */
+    private final char[] charCodes;
+
+    /**
+     * base数组，子状态 = base[s] + code
+     */
+    private final int[] base;
+
+    /**
+     * check数组，check[t]记录状态t的父状态
+     */
+    private final int[] check;
+
+    /**
+     * fail指针
+     */
+    private final int[] fail;
+
+    /**
+     * 沿fail链能到达的最近一个终止状态（不包含自身），0表示不存在
+     */
+    private final int[] outLink;
+
+    /**
+     * 以该状态结尾的敏感词长度，0表示不是终止状态
+     */
+    private final int[] wordLength;
+
+    /**
+     * 终止状态上的附加数据，由调用方定义含义，未提供附加数据时为null
+     */
+    private final long[] payload;
+
+    /**
+     * 状态数
+     */
+    private final int stateCount;
+
+    /**
+     * 敏感词数
+     */
+    private final int wordCount;
+
+    /**
+     * 最长敏感词的长度
+     */
+    private final int maxWordLength;
+
+    private DoubleArrayACTrie(char[] charCodes, int[] base, int[] check, int[] fail,
+                              int[] outLink, int[] wordLength, long[] payload,
+                              int stateCount, int wordCount, int maxWordLength) {
+        this.charCodes = charCodes;
+        this.base = base;
+        this.check = check;
+        this.fail = fail;
+        this.outLink = outLink;
+        this.wordLength = wordLength;
+        this.payload = payload;
+        this.stateCount = stateCount;
+        this.wordCount = wordCount;
+        this.maxWordLength = maxWordLength;
+    }
+
+    /**
+     * 构建双数组AC自动机
+     *
+     * @param words 敏感词列表，空白词与重复词会被忽略
+     * @return 双数组AC自动机
+     */
+    public static DoubleArrayACTrie build(Collection<String> words) {
+        return new Builder(new ArrayList<>(words), null).build();
+    }
+
+    /**
+     * 构建带附加数据的双数组AC自动机
+     *
+     * @param words    敏感词列表，空白词会被忽略，重复词以第一次出现的为准
+     * @param payloads 与敏感词一一对应的附加数据
+     * @return 双数组AC自动机
+     */
+    public static DoubleArrayACTrie build(List<String> words, long[] payloads) {
+        if (payloads.length != words.size()) {
+            throw new IllegalArgumentException("payloads must correspond to words one by one");
+        }
+        return new Builder(words, payloads).build();
+    }
+
+    @Override
+    public int codeOf(char c) {
+        return charCodes[c];
+    }
+
+    @Override
+    public int base(int state) {
+        return base[state];
+    }
+
+    @Override
+    public int check(int state) {
+        return check[state];
+    }
+
+    @Override
+    public int fail(int state) {
+        return fail[state];
+    }
+
+    @Override
+    public int outLink(int state) {
+        return outLink[state];
+    }
+
+    @Override
+    public int wordLength(int state) {
+        return wordLength[state];
+    }
+
+    @Override
+    public long payload(int state) {
+        return payload == null ? 0 : payload[state];
+    }
+
+    /**
+     * 状态数
+     *
+     * @return 状态数
+     */
+    public int stateCount() {
+        return stateCount;
+    }
+
+    /**
+     * 敏感词数
+     *
+     * @return 敏感词数
+     */
+    public int wordCount() {
+        return wordCount;
+    }
+
+    /**
+     * 最长敏感词的长度
+     *
+     * @return 最长敏感词的长度
+     */
+    public int maxWordLength() {
+        return maxWordLength;
+    }
+
+    @Override
+    public int capacity() {
+        return check.length;
+    }
+
+    /**
+     * 估算占用的堆内存，只计算数组本身
+     *
+     * @return 字节数
+     */
+    public long memoryEstimate() {
+        long size = (long) Character.BYTES * charCodes.length + 5L * Integer.BYTES * check.length;
+        return payload == null ? size : size + (long) Long.BYTES * payload.length;
+    }
+
+    /**
+     * 序列化后的字节数
+     *
+     * @return 字节数
+     */
+    @Override
+    public long serializedSize() {
+        long size = 5L * Integer.BYTES + 4L * alphabetSize();
+        size += 5L * Integer.BYTES * check.length + 1;
+        if (payload != null) {
+            size += (long) Long.BYTES * payload.length;
+        }
+        return size;
+    }
+
+    /**
+     * 序列化到缓冲区<br>
+     * 字符编码表只写入字母表中的字符，其余数组按原样写入
+     *
+     * @param buffer 缓冲区，剩余空间不少于{@link #serializedSize()}
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(check.length);
+        buffer.putInt(stateCount);
+        buffer.putInt(wordCount);
+        buffer.putInt(maxWordLength);
+        buffer.putInt(alphabetSize());
+        for (int c = 0; c < charCodes.length; ++c) {
+            if (charCodes[c] != 0) {
+                buffer.putChar((char) c);
+                buffer.putChar(charCodes[c]);
+            }
+        }
+        for (int[] array : new int[][]{base, check, fail, outLink, wordLength}) {
+            buffer.asIntBuffer().put(array);
+            buffer.position(buffer.position() + Integer.BYTES * array.length);
+        }
+        buffer.put((byte) (payload == null ? 0 : 1));
+        if (payload != null) {
+            buffer.asLongBuffer().put(payload);
+            buffer.position(buffer.position() + Long.BYTES * payload.length);
+        }
+    }
+
+    /**
+     * 从缓冲区反序列化
+     *
+     * @param buffer 缓冲区，内容由{@link #writeTo(ByteBuffer)}写入
+     * @return 双数组AC自动机
+     */
+    static DoubleArrayACTrie readFrom(ByteBuffer buffer) {
+        int capacity = buffer.getInt();
+        int stateCount = buffer.getInt();
+        int wordCount = buffer.getInt();
+        int maxWordLength = buffer.getInt();
+        int alphabetSize = buffer.getInt();
+        if (capacity <= 0 || alphabetSize < 0 || alphabetSize > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Corrupted double array trie.");
+        }
+        char[] charCodes = new char[Character.MAX_VALUE + 1];
+        for (int i = 0; i < alphabetSize; ++i) {
+            char c = buffer.getChar();
+            charCodes[c] = buffer.getChar();
+        }
+        int[][] arrays = new int[5][capacity];
+        for (int[] array : arrays) {
+            buffer.asIntBuffer().get(array);
+            buffer.position(buffer.position() + Integer.BYTES * capacity);
+        }
+        long[] payload = null;
+        if (buffer.get() != 0) {
+            payload = new long[capacity];
+            buffer.asLongBuffer().get(payload);
+            buffer.position(buffer.position() + Long.BYTES * capacity);
+        }
+        return new DoubleArrayACTrie(charCodes, arrays[0], arrays[1], arrays[2], arrays[3], arrays[4], payload,
+                stateCount, wordCount, maxWordLength);
+    }
+
+    private int alphabetSize() {
+        int size = 0;
+        for (char code : charCodes) {
+            if (code != 0) {
+                ++size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 双数组构建器<br>
+     * 先将敏感词按字符编码排序，再按层序依次为每个状态寻找能放下所有子状态的base，
+     * 最后按层序计算fail指针
+     */
+    private static final class Builder {
+
+        /**
+         * 编码后的敏感词，按字典序排列
+         */
+        private final int[][] keys;
+
+        /**
+         * 与keys一一对应的附加数据，未提供时为null
+         */
+        private final long[] keyPayloads;
+
+        private final char[] charCodes = new char[Character.MAX_VALUE + 1];
+
+        private int[] base;
+        private int[] check;
+        private int[] wordLength;
+        private long[] payload;
+
+        /**
+         * 层序遍历得到的状态序列
+         */
+        private int[] order;
+        private int orderSize;
+
+        /**
+         * 一个空闲槽位作为第一个子状态的候选位置，连续失败超过该次数后不再参与搜索
+         */
+        private static final int MAX_TRIALS = 8;
+
+        /**
+         * 空闲槽位组成的双向链表，按下标递增，0作为链表结束标记（根状态永远不会空闲）
+         */
+        private int[] nextFree;
+        private int[] prevFree;
+        private int freeHead;
+        private int freeTail;
+
+        /**
+         * 空闲槽位作为候选位置失败的次数，-1表示已经不在空闲链表中
+         */
+        private int[] trials;
+
+        /**
+         * 已使用的最大下标
+         */
+        private int maxIndex;
+
+        Builder(List<String> words, long[] payloads) {
+            Map<String, Long> distinct = new LinkedHashMap<>();
+            for (int i = 0; i < words.size(); ++i) {
+                String word = words.get(i);
+                if (word != null && !word.isBlank()) {
+                    distinct.putIfAbsent(word, payloads == null ? 0L : payloads[i]);
+                }
+            }
+            assignCharCodes(distinct.keySet());
+            int[][] encoded = new int[distinct.size()][];
+            long[] encodedPayloads = new long[distinct.size()];
+            int k = 0;
+            for (Map.Entry<String, Long> entry : distinct.entrySet()) {
+                String word = entry.getKey();
+                int[] key = new int[word.length()];
+                for (int i = 0; i < key.length; ++i) {
+                    key[i] = charCodes[word.charAt(i)];
+                }
+                encodedPayloads[k] = entry.getValue();
+                encoded[k++] = key;
+            }
+            Integer[] sorted = new Integer[encoded.length];
+            for (int i = 0; i < sorted.length; ++i) {
+                sorted[i] = i;
+            }
+            Arrays.sort(sorted, (a, b) -> Arrays.compare(encoded[a], encoded[b]));
+            keys = new int[sorted.length][];
+            keyPayloads = payloads == null ? null : new long[sorted.length];
+            for (int i = 0; i < sorted.length; ++i) {
+                keys[i] = encoded[sorted[i]];
+                if (keyPayloads != null) {
+                    keyPayloads[i] = encodedPayloads[sorted[i]];
+                }
+            }
+
+            int capacity = Math.max(1024, keys.length * 4);
+            base = new int[capacity];
+            check = new int[capacity];
+            wordLength = new int[capacity];
+            payload = keyPayloads == null ? null : new long[capacity];
+            Arrays.fill(check, FREE);
+            order = new int[capacity];
+            nextFree = new int[capacity];
+            prevFree = new int[capacity];
+            trials = new int[capacity];
+            linkFree(1, capacity);
+        }
+
+        /**
+         * 按出现频率为字符分配编码，越常用的字符编码越小，使双数组更加紧凑
+         *
+         * @param words 敏感词
+         */
+        private void assignCharCodes(Set<String> words) {
+            int[] frequency = new int[Character.MAX_VALUE + 1];
+            int alphabetSize = 0;
+            for (String word : words) {
+                for (int i = 0; i < word.length(); ++i) {
+                    if (frequency[word.charAt(i)]++ == 0) {
+                        ++alphabetSize;
+                    }
+                }
+            }
+            if (alphabetSize > Character.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many distinct characters in sensitive words.");
+            }
+            Integer[] alphabet = new Integer[alphabetSize];
+            for (int c = 0, k = 0; c <= Character.MAX_VALUE; ++c) {
+                if (frequency[c] > 0) {
+                    alphabet[k++] = c;
+                }
+            }
+            Arrays.sort(alphabet, (a, b) -> Integer.compare(frequency[b], frequency[a]));
+            for (int i = 0; i < alphabet.length; ++i) {
+                charCodes[alphabet[i]] = (char) (i + 1);
+            }
+        }
+
+        DoubleArrayACTrie build() {
+            check[ROOT] = ROOT;
+            appendOrder(ROOT);
+            insertChildren();
+            int[] fail = new int[maxIndex + 1];
+            int[] outLink = new int[maxIndex + 1];
+            initFailover(fail, outLink);
+            return new DoubleArrayACTrie(charCodes,
+                    Arrays.copyOf(base, maxIndex + 1),
+                    Arrays.copyOf(check, maxIndex + 1),
+                    fail,
+                    outLink,
+                    Arrays.copyOf(wordLength, maxIndex + 1),
+                    payload == null ? null : Arrays.copyOf(payload, maxIndex + 1),
+                    orderSize,
+                    keys.length,
+                    Arrays.stream(keys).mapToInt(key -> key.length).max().orElse(0));
+        }
+
+        /**
+         * 按层序放置所有状态
+         */
+        private void insertChildren() {
+            // 队列元素：状态、敏感词区间[lo, hi)、深度
+            Deque<int[]> queue = new ArrayDeque<>();
+            queue.offer(new int[]{ROOT, 0, keys.length, 0});
+            List<int[]> siblings = new ArrayList<>();
+            while (!queue.isEmpty()) {
+                int[] node = queue.poll();
+                int parent = node[0];
+                int depth = node[3];
+                siblings.clear();
+                fetch(node[1], node[2], depth, siblings);
+                if (siblings.isEmpty()) {
+                    continue;
+                }
+                int begin = findBase(siblings);
+                base[parent] = begin;
+                for (int[] sibling : siblings) {
+                    int child = begin + sibling[0];
+                    occupy(child);
+                    check[child] = parent;
+                    appendOrder(child);
+                    maxIndex = Math.max(maxIndex, child);
+                    if (keys[sibling[1]].length == depth + 1) {
+                        wordLength[child] = depth + 1;
+                        if (payload != null) {
+                            payload[child] = keyPayloads[sibling[1]];
+                        }
+                    }
+                    queue.offer(new int[]{child, sibling[1], sibling[2], depth + 1});
+                }
+            }
+        }
+
+        /**
+         * 收集区间内敏感词在给定深度的不同字符，每个元素为{编码, lo, hi}
+         */
+        private void fetch(int lo, int hi, int depth, List<int[]> siblings) {
+            int[] current = null;
+            for (int i = lo; i < hi; ++i) {
+                int[] key = keys[i];
+                if (key.length <= depth) {
+                    // 前缀词本身，排序后一定在区间最前面
+                    continue;
+                }
+                int code = key[depth];
+                if (current == null || current[0] != code) {
+                    current = new int[]{code, i, i + 1};
+                    siblings.add(current);
+                } else {
+                    current[2] = i + 1;
+                }
+            }
+        }
+
+        /**
+         * 寻找能放下所有子状态的base值<br>
+         * 只在空闲槽位上尝试放置第一个子状态，已被占用的槽位不会被重复扫描
+         */
+        private int findBase(List<int[]> siblings) {
+            int firstCode = siblings.get(0)[0];
+            int lastCode = siblings.get(siblings.size() - 1)[0];
+            int pos = freeHead;
+            while (true) {
+                if (pos == 0) {
+                    pos = ensureCapacity(check.length + 1);
+                }
+                int begin = pos - firstCode;
+                if (begin > 0) {
+                    ensureCapacity(begin + lastCode + 1);
+                    boolean fits = true;
+                    for (int i = 1; i < siblings.size(); ++i) {
+                        if (check[begin + siblings.get(i)[0]] != FREE) {
+                            fits = false;
+                            break;
+                        }
+                    }
+                    if (fits) {
+                        return begin;
+                    }
+                }
+                int next = nextFree[pos];
+                if (++trials[pos] >= MAX_TRIALS) {
+                    // 槽位仍然空闲，只是不再作为候选位置，之后依然可以放置非第一个子状态
+                    unlink(pos);
+                }
+                pos = next;
+            }
+        }
+
+        /**
+         * 占用槽位
+         */
+        private void occupy(int index) {
+            if (trials[index] >= 0) {
+                unlink(index);
+            }
+        }
+
+        /**
+         * 将槽位从空闲链表中摘除
+         */
+        private void unlink(int index) {
+            trials[index] = -1;
+            int prev = prevFree[index];
+            int next = nextFree[index];
+            if (prev == 0) {
+                freeHead = next;
+            } else {
+                nextFree[prev] = next;
+            }
+            if (next == 0) {
+                freeTail = prev;
+            } else {
+                prevFree[next] = prev;
+            }
+        }
+
+        /**
+         * 将[from, to)追加到空闲链表末尾
+         */
+        private void linkFree(int from, int to) {
+            for (int i = from; i < to; ++i) {
+                prevFree[i] = freeTail;
+                nextFree[i] = 0;
+                if (freeTail == 0) {
+                    freeHead = i;
+                } else {
+                    nextFree[freeTail] = i;
+                }
+                freeTail = i;
+            }
+        }
+
+        private void appendOrder(int state) {
+            if (orderSize == order.length) {
+                order = Arrays.copyOf(order, order.length * 2);
+            }
+            order[orderSize++] = state;
+        }
+
+        /**
+         * 扩容
+         *
+         * @return 扩容前的容量，即新增的第一个空闲槽位，未扩容时返回0
+         */
+        private int ensureCapacity(int size) {
+            if (size <= check.length) {
+                return 0;
+            }
+            int newCapacity = Math.max(size, check.length + (check.length >> 1));
+            int oldCapacity = check.length;
+            base = Arrays.copyOf(base, newCapacity);
+            wordLength = Arrays.copyOf(wordLength, newCapacity);
+            if (payload != null) {
+                payload = Arrays.copyOf(payload, newCapacity);
+            }
+            check = Arrays.copyOf(check, newCapacity);
+            Arrays.fill(check, oldCapacity, newCapacity, FREE);
+            nextFree = Arrays.copyOf(nextFree, newCapacity);
+            prevFree = Arrays.copyOf(prevFree, newCapacity);
+            trials = Arrays.copyOf(trials, newCapacity);
+            linkFree(oldCapacity, newCapacity);
+            return oldCapacity;
+        }
+
+        /**
+         * 按层序计算fail指针与输出链
+         */
+        private void initFailover(int[] fail, int[] outLink) {
+            for (int i = 1; i < orderSize; ++i) {
+                int state = order[i];
+                int parent = check[state];
+                int code = state - base[parent];
+                int failover = ROOT;
+                if (parent != ROOT) {
+                    int f = fail[parent];
+                    while (true) {
+                        int t = base[f] + code;
+                        if (t <= maxIndex && check[t] == f) {
+                            failover = t;
+                            break;
+                        }
+                        if (f == ROOT) {
+                            break;
+                        }
+                        f = fail[f];
+                    }
+                }
+                fail[state] = failover;
+                outLink[state] = wordLength[failover] > 0 ? failover : outLink[failover];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,550 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DoubleArrayGapMatcher
+ * @desc 允许字间插入字符的敏感词匹配<br>
+ * "敏x感x词"这类在字间插入无关字符的变体无法被精确匹配发现，这里允许每个敏感词相邻两个字之间最多插入k个任意字符，
+ * k按敏感词分别指定（{@link #MAX_GAP}以内），k为0的敏感词不会进入本匹配器<br>
+ * 实现为状态集合模拟：扫描时维护一组活跃的部分匹配（自动机状态、起始位置、当前已连续跳过的字符数、已用过的最大间隔），
+ * 每读入一个字符，每个部分匹配要么沿goto边前进，要么把该字符当作插入字符跳过；
+ * 每个状态预先计算其后续敏感词允许的最大间隔，不可能再匹配的部分匹配立即丢弃，相同的部分匹配只保留起始位置最早的一个，
+ * 活跃集合的大小只与k和敏感词长度有关，与文本长度无关<br>
+ * 只报告至少跳过了一个字符的命中，未插入字符的命中由精确匹配负责，两者合并时不会重复<br>
+ * 实例不可变，可以被多个线程安全地共享<br>
+ */
+public final class DoubleArrayGapMatcher {
+
+    /**
+     * 单个敏感词允许的最大间隔
+     */
+    public static final int MAX_GAP = 8;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * 只包含允许间隔的敏感词的自动机，只使用goto边
+     */
+    private final DoubleArrayACTrie trie;
+
+    /**
+     * 终止状态 -> 该敏感词允许的间隔
+     */
+    private final int[] gaps;
+
+    /**
+     * 状态 -> 经过该状态且比它更长的敏感词允许的最大间隔，-1表示没有更长的敏感词
+     */
+    private final int[] reach;
+
+    private DoubleArrayGapMatcher(DoubleArrayACTrie trie, int[] gaps) {
+        this.trie = trie;
+        this.gaps = gaps;
+        this.reach = new int[gaps.length];
+        Arrays.fill(reach, -1);
+        for (int state = 1; state < gaps.length; ++state) {
+            if (trie.wordLength(state) == 0) {
+                continue;
+            }
+            for (int s = state; s != DoubleArrayACTrie.ROOT; ) {
+                s = trie.parent(s);
+                if (reach[s] >= gaps[state]) {
+                    break;
+                }
+                reach[s] = gaps[state];
+            }
+        }
+    }
+
+    /**
+     * 构建匹配器
+     *
+     * @param words    敏感词列表，需已归一化，空白词会被忽略，重复词以第一次出现的为准
+     * @param payloads 与敏感词一一对应的附加数据
+     * @param gaps     与敏感词一一对应的允许间隔，0表示不允许
+     * @return 匹配器，没有允许间隔的敏感词时返回null
+     */
+    public static DoubleArrayGapMatcher of(List<String> words, long[] payloads, int[] gaps) {
+        if (payloads.length != words.size() || gaps.length != words.size()) {
+            throw new IllegalArgumentException("payloads and gaps must correspond to words one by one");
+        }
+        Map<String, Integer> indexes = new LinkedHashMap<>();
+        for (int i = 0; i < words.size(); ++i) {
+            String word = words.get(i);
+            if (gaps[i] < 0 || gaps[i] > MAX_GAP) {
+                throw new IllegalArgumentException("Gap of sensitive word out of range: " + gaps[i]);
+            }
+            if (gaps[i] > 0 && word != null && !word.isBlank()) {
+                indexes.putIfAbsent(word, i);
+            }
+        }
+        if (indexes.isEmpty()) {
+            return null;
+        }
+        List<String> gapWords = new ArrayList<>(indexes.keySet());
+        long[] gapPayloads = new long[gapWords.size()];
+        for (int i = 0; i < gapWords.size(); ++i) {
+            gapPayloads[i] = payloads[indexes.get(gapWords.get(i))];
+        }
+        DoubleArrayACTrie trie = DoubleArrayACTrie.build(gapWords, gapPayloads);
+        int[] stateGaps = new int[trie.capacity()];
+        for (Map.Entry<String, Integer> entry : indexes.entrySet()) {
+            stateGaps[trie.exactMatch(entry.getKey())] = gaps[entry.getValue()];
+        }
+        return new DoubleArrayGapMatcher(trie, stateGaps);
+    }
+
+    /**
+     * 新增或更新敏感词后的匹配器，重新构建，开销与允许间隔的敏感词数成正比<br>
+     * 已有的敏感词以新的间隔为准，间隔变为0的敏感词会被移除
+     *
+     * @param words    敏感词列表，需已归一化
+     * @param payloads 与敏感词一一对应的附加数据
+     * @param gaps     与敏感词一一对应的允许间隔，0表示不允许
+     * @return 新的匹配器，没有允许间隔的敏感词时返回null
+     */
+    public DoubleArrayGapMatcher withAdded(List<String> words, long[] payloads, int[] gaps) {
+        if (payloads.length != words.size() || gaps.length != words.size()) {
+            throw new IllegalArgumentException("payloads and gaps must correspond to words one by one");
+        }
+        Set<String> updated = new HashSet<>(words);
+        List<String> merged = new ArrayList<>(words);
+        List<String> remaining = new ArrayList<>(trie.wordCount());
+        for (String word : trie.words()) {
+            if (!updated.contains(word)) {
+                remaining.add(word);
+            }
+        }
+        merged.addAll(remaining);
+        long[] mergedPayloads = Arrays.copyOf(payloads, merged.size());
+        int[] mergedGaps = Arrays.copyOf(gaps, merged.size());
+        for (int i = 0; i < remaining.size(); ++i) {
+            int state = trie.exactMatch(remaining.get(i));
+            mergedPayloads[words.size() + i] = trie.payload(state);
+            mergedGaps[words.size() + i] = this.gaps[state];
+        }
+        return of(merged, mergedPayloads, mergedGaps);
+    }
+
+    /**
+     * 删除敏感词后的匹配器
+     *
+     * @param words 待删除的敏感词，需已归一化
+     * @return 新的匹配器，删除后没有敏感词时返回null；没有需要删除的敏感词时返回自身
+     */
+    public DoubleArrayGapMatcher withRemoved(Collection<String> words) {
+        Set<String> removed = new HashSet<>();
+        for (String word : words) {
+            if (word != null && trie.exactMatch(word) != 0) {
+                removed.add(word);
+            }
+        }
+        if (removed.isEmpty()) {
+            return this;
+        }
+        List<String> remaining = new ArrayList<>(trie.wordCount());
+        for (String word : trie.words()) {
+            if (!removed.contains(word)) {
+                remaining.add(word);
+            }
+        }
+        long[] payloads = new long[remaining.size()];
+        int[] remainingGaps = new int[remaining.size()];
+        for (int i = 0; i < remaining.size(); ++i) {
+            int state = trie.exactMatch(remaining.get(i));
+            payloads[i] = trie.payload(state);
+            remainingGaps[i] = gaps[state];
+        }
+        return of(remaining, payloads, remainingGaps);
+    }
+
+    /**
+     * 敏感词数
+     *
+     * @return 敏感词数
+     */
+    public int wordCount() {
+        return trie.wordCount();
+    }
+
+    /**
+     * 估算占用的堆内存
+     *
+     * @return 字节数
+     */
+    public long memoryEstimate() {
+        return trie.memoryEstimate() + 2L * Integer.BYTES * gaps.length;
+    }
+
+    /**
+     * 判断文本中是否含有插入了字符的敏感词，命中第一个后立即返回
+     *
+     * @param text 文本
+     * @return true=有 false=没有
+     */
+    public boolean containsAny(CharSequence text) {
+        Cursor cursor = cursor();
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            if (cursor.next(text.charAt(i)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 逐字归一化并判断文本中是否含有插入了字符的敏感词，跳过被归一化掉的字符，不生成归一化后的文本
+     *
+     * @param text       原文
+     * @param normalizer 字符归一化
+     * @return true=有 false=没有
+     */
+    public boolean containsAny(CharSequence text, CharNormalizer normalizer) {
+        Cursor cursor = cursor();
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            char c = normalizer.normalize(text.charAt(i));
+            if (c != CharNormalizer.SKIP && cursor.next(c) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 报告文本中所有插入了字符的敏感词<br>
+     * 同一敏感词在同一位置结束的多种匹配方式只报告起始位置最早的一个
+     *
+     * @param text     文本
+     * @param listener 命中回调
+     * @return 命中次数
+     */
+    public int matchAll(CharSequence text, PayloadMatchListener listener) {
+        Cursor cursor = cursor();
+        int count = 0;
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            count += cursor.step(text.charAt(i), listener);
+        }
+        return count;
+    }
+
+    /**
+     * 创建扫描游标
+     *
+     * @return 游标
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * 扫描游标，逐字符推进，非线程安全
+     */
+    public final class Cursor {
+
+        private int[] states = new int[INITIAL_CAPACITY];
+        private int[] starts = new int[INITIAL_CAPACITY];
+        private int[] runs = new int[INITIAL_CAPACITY];
+        private int[] useds = new int[INITIAL_CAPACITY];
+        private int size;
+
+        private int[] nextStates = new int[INITIAL_CAPACITY];
+        private int[] nextStarts = new int[INITIAL_CAPACITY];
+        private int[] nextRuns = new int[INITIAL_CAPACITY];
+        private int[] nextUseds = new int[INITIAL_CAPACITY];
+        private int nextSize;
+
+        /**
+         * 本次推进中已加入的部分匹配，按（状态、连续跳过的字符数、已用过的最大间隔）去重
+         */
+        private final StampedSet added = new StampedSet();
+
+        /**
+         * 本次推进中已报告的终止状态
+         */
+        private final StampedSet reported = new StampedSet();
+        private int reportedSize;
+
+        private int bestStart;
+
+        /**
+         * 已读入的字符数
+         */
+        private int position;
+
+        private Cursor() {
+        }
+
+        /**
+         * 读入下一个字符
+         *
+         * @param c 字符
+         * @return 在该字符结束的最长的插入了字符的敏感词的长度（含插入字符），0表示没有
+         */
+        public int next(char c) {
+            step(c, null);
+            return bestStart < 0 ? 0 : position - bestStart;
+        }
+
+        /**
+         * 读入下一个字符，并报告在该字符结束的所有插入了字符的敏感词，每个敏感词只报告起始位置最早的一个
+         *
+         * @param c        字符
+         * @param listener 命中回调，区间下标从游标创建后读入的第一个字符开始计
+         * @return 命中次数
+         */
+        public int next(char c, PayloadMatchListener listener) {
+            return step(c, listener);
+        }
+
+        private int step(char c, PayloadMatchListener listener) {
+            int code = trie.codeOf(c);
+            nextSize = 0;
+            added.clear();
+            reported.clear();
+            reportedSize = 0;
+            bestStart = -1;
+            for (int e = 0; e < size; ++e) {
+                int state = states[e];
+                int run = runs[e];
+                int used = useds[e];
+                int t = trie.child(state, code);
+                if (t != 0) {
+                    int u = Math.max(used, run);
+                    if (u > 0 && trie.wordLength(t) > 0 && u <= gaps[t]) {
+                        report(t, starts[e], listener);
+                    }
+                    if (reach[t] >= u) {
+                        add(t, starts[e], 0, u);
+                    }
+                }
+                // 把当前字符视为插入字符
+                if (run < reach[state]) {
+                    add(state, starts[e], run + 1, used);
+                }
+            }
+            int t = trie.child(DoubleArrayACTrie.ROOT, code);
+            if (t != 0 && reach[t] >= 0) {
+                add(t, position, 0, 0);
+            }
+            swap();
+            ++position;
+            return reportedSize;
+        }
+
+        private void report(int terminal, int start, PayloadMatchListener listener) {
+            if (!reported.add(terminal)) {
+                return;
+            }
+            ++reportedSize;
+            // 部分匹配按起始位置排列，第一个命中的起始位置最早
+            if (bestStart < 0) {
+                bestStart = start;
+            }
+            if (listener != null) {
+                listener.onMatch(trie.payload(terminal), start, position + 1);
+            }
+        }
+
+        private void add(int state, int start, int run, int used) {
+            // run与used都不超过MAX_GAP，各占4位
+            if (!added.add((long) state << 8 | run << 4 | used)) {
+                return;
+            }
+            if (nextSize == nextStates.length) {
+                int capacity = nextSize * 2;
+                nextStates = Arrays.copyOf(nextStates, capacity);
+                nextStarts = Arrays.copyOf(nextStarts, capacity);
+                nextRuns = Arrays.copyOf(nextRuns, capacity);
+                nextUseds = Arrays.copyOf(nextUseds, capacity);
+            }
+            nextStates[nextSize] = state;
+            nextStarts[nextSize] = start;
+            nextRuns[nextSize] = run;
+            nextUseds[nextSize] = used;
+            ++nextSize;
+        }
+
+        private void swap() {
+            int[] tmp = states;
+            states = nextStates;
+            nextStates = tmp;
+            tmp = starts;
+            starts = nextStarts;
+            nextStarts = tmp;
+            tmp = runs;
+            runs = nextRuns;
+            nextRuns = tmp;
+            tmp = useds;
+            useds = nextUseds;
+            nextUseds = tmp;
+            size = nextSize;
+        }
+    }
+
+    /**
+     * 每读入一个字符清空一次的long集合，用于对部分匹配与已报告的终止状态去重<br>
+     * 活跃集合通常只有几个到十几个元素，元素不多时线性查找最快；
+     * 超过{@value #LINEAR_LIMIT}个后改用开放寻址的散列表，对抗性输入下去重的开销也与活跃集合的大小无关<br>
+     * 散列表按代次清空：{@link #clear()}只把代次加一，不需要清空数组
+     */
+    private static final class StampedSet {
+
+        /**
+         * 线性查找的元素数上限
+         */
+        private static final int LINEAR_LIMIT = 16;
+
+        private final long[] items = new long[LINEAR_LIMIT];
+
+        /**
+         * 是否已改用散列表
+         */
+        private boolean indexed;
+
+        /**
+         * 散列表，第一次超过线性查找的上限时才分配，大多数游标用不到
+         */
+        private long[] keys;
+
+        /**
+         * 槽位被占用时的代次，与当前代次相同表示槽位在本代中已被占用
+         */
+        private int[] stamps;
+
+        private int generation = 1;
+
+        private int size;
+
+        void clear() {
+            size = 0;
+            if (!indexed) {
+                return;
+            }
+            indexed = false;
+            if (++generation == 0) {
+                Arrays.fill(stamps, 0);
+                generation = 1;
+            }
+        }
+
+        /**
+         * 加入元素
+         *
+         * @param key 元素
+         * @return true=新加入 false=已存在
+         */
+        boolean add(long key) {
+            if (!indexed) {
+                for (int i = 0; i < size; ++i) {
+                    if (items[i] == key) {
+                        return false;
+                    }
+                }
+                if (size < LINEAR_LIMIT) {
+                    items[size++] = key;
+                    return true;
+                }
+                indexed = true;
+                if (keys == null) {
+                    keys = new long[LINEAR_LIMIT * 4];
+                    stamps = new int[LINEAR_LIMIT * 4];
+                }
+                for (long item : items) {
+                    insert(item);
+                }
+            }
+            if (!insert(key)) {
+                return false;
+            }
+            ++size;
+            return true;
+        }
+
+        private boolean insert(long key) {
+            if (size << 1 >= keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            for (int i = indexOf(key, mask); ; i = (i + 1) & mask) {
+                if (stamps[i] != generation) {
+                    stamps[i] = generation;
+                    keys[i] = key;
+                    return true;
+                }
+                if (keys[i] == key) {
+                    return false;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldStamps = stamps;
+            keys = new long[oldKeys.length << 1];
+            stamps = new int[keys.length];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; ++j) {
+                if (oldStamps[j] != generation) {
+                    continue;
+                }
+                int i = indexOf(oldKeys[j], mask);
+                while (stamps[i] == generation) {
+                    i = (i + 1) & mask;
+                }
+                stamps[i] = generation;
+                keys[i] = oldKeys[j];
+            }
+        }
+
+        private static int indexOf(long key, int mask) {
+            return (int) (key * 0x9E3779B97F4A7C15L >>> 32) & mask;
+        }
+    }
+
+    /**
+     * 序列化后的字节数
+     *
+     * @return 字节数
+     */
+    long serializedSize() {
+        return trie.serializedSize() + (long) Integer.BYTES * gaps.length;
+    }
+
+    /**
+     * 序列化到缓冲区
+     *
+     * @param buffer 缓冲区，剩余空间不少于{@link #serializedSize()}
+     */
+    void writeTo(ByteBuffer buffer) {
+        trie.writeTo(buffer);
+        buffer.asIntBuffer().put(gaps);
+        buffer.position(buffer.position() + Integer.BYTES * gaps.length);
+    }
+
+    /**
+     * 从缓冲区反序列化
+     *
+     * @param buffer 缓冲区，内容由{@link #writeTo(ByteBuffer)}写入
+     * @return 匹配器
+     */
+    static DoubleArrayGapMatcher readFrom(ByteBuffer buffer) {
+        DoubleArrayACTrie trie = DoubleArrayACTrie.readFrom(buffer);
+        int[] gaps = new int[trie.capacity()];
+        buffer.asIntBuffer().get(gaps);
+        buffer.position(buffer.position() + Integer.BYTES * gaps.length);
+        for (int gap : gaps) {
+            if (gap < 0 || gap > MAX_GAP) {
+                throw new IllegalArgumentException("Corrupted gap matcher.");
+            }
+        }
+        return new DoubleArrayGapMatcher(trie, gaps);
+    }
+
+}
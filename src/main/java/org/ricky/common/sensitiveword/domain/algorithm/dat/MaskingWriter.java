@@ -0,0 +1,239 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className MaskingWriter
+ * @desc 边写边替换敏感词的Writer<br>
+ * 之后命中的敏感词不会早于自动机当前状态对应的后缀开始（见{@link DoubleArrayACDictionary.Cursor#depth()}），
+ * 因此只需在环形窗口中暂存这段后缀，更早的字符已经确定，可以写出到下游<br>
+ * 输入逐字符经过{@link CharNormalizer}归一化，被跳过的字符不参与匹配，夹在敏感词中间时一并替换，
+ * 结果与把整段文本读入内存后归一化、替换相同<br>
+ * 窗口初始为最长敏感词长度的{@value #WINDOW_FACTOR}倍，仍可能被替换的字符占满半个窗口时翻倍，
+ * 内存占用与最长敏感词及其中夹杂的被跳过字符的长度有关，与输入长度无关；
+ * {@link #flush()}只写出已经确定的字符，{@link #finish()}与{@link #close()}写出剩余的全部字符<br>
+ * 绑定创建时的词库，非线程安全
+ */
+public final class MaskingWriter extends Writer {
+
+    /**
+     * 输出缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 初始窗口长度与最长敏感词长度的比值
+     */
+    private static final int WINDOW_FACTOR = 4;
+
+    private final DoubleArrayACDictionary.Cursor cursor;
+
+    private final CharNormalizer normalizer;
+
+    private final Writer out;
+
+    private final char maskChar;
+
+    /**
+     * 尚未确定的字符，按偏移对窗口长度取模存放
+     */
+    private char[] window;
+
+    /**
+     * 窗口中的字符是否被跳过
+     */
+    private boolean[] skipped;
+
+    /**
+     * 已确定、等待写出到下游的字符
+     */
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int buffered;
+
+    /**
+     * 下一个字符在整个输入中的偏移
+     */
+    private long position;
+
+    /**
+     * 已移出窗口的字符数
+     */
+    private long settled;
+
+    private boolean closed;
+
+    public MaskingWriter(DoubleArrayACDictionary dictionary, CharNormalizer normalizer, Writer out, char maskChar) {
+        this.cursor = dictionary.cursor();
+        this.normalizer = normalizer;
+        this.out = out;
+        this.maskChar = maskChar;
+        this.window = new char[Math.max(1, dictionary.maxWordLength()) * WINDOW_FACTOR];
+        this.skipped = new boolean[window.length];
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        step((char) c);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        ensureOpen();
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            step(chars[i]);
+        }
+    }
+
+    @Override
+    public void write(String str, int offset, int length) throws IOException {
+        ensureOpen();
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            step(str.charAt(i));
+        }
+    }
+
+    /**
+     * 已写入的字符数
+     *
+     * @return 已写入的字符数
+     */
+    public long position() {
+        return position;
+    }
+
+    private void step(char c) throws IOException {
+        if (position - settled == window.length) {
+            makeRoom();
+        }
+        int index = (int) (position % window.length);
+        char normalized = normalizer.normalize(c);
+        window[index] = c;
+        skipped[index] = normalized == CharNormalizer.SKIP;
+        ++position;
+        if (skipped[index]) {
+            return;
+        }
+        int matchLength = cursor.next(normalized);
+        // 从命中位置向前替换，直到覆盖matchLength个参与匹配的字符或到达窗口起点
+        for (long i = position - 1; matchLength > 0 && i >= settled; --i) {
+            int k = (int) (i % window.length);
+            if (!skipped[k]) {
+                --matchLength;
+            }
+            window[k] = maskChar;
+        }
+    }
+
+    /**
+     * 窗口已满时写出已经确定的字符，仍可能被替换的字符超过半个窗口时扩大窗口
+     */
+    private void makeRoom() throws IOException {
+        long pendingStart = pendingStart();
+        while (settled < pendingStart) {
+            settle();
+        }
+        if (position - settled > window.length / 2) {
+            grow();
+        }
+    }
+
+    /**
+     * 之后命中的敏感词最早的起点：从末尾向前数自动机深度个参与匹配的字符
+     *
+     * @return 在整个输入中的偏移
+     */
+    private long pendingStart() {
+        long start = position;
+        for (int depth = cursor.depth(); depth > 0 && start > settled; ) {
+            --start;
+            if (!skipped[(int) (start % window.length)]) {
+                --depth;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * 窗口翻倍，按偏移重新放置尚未确定的字符
+     */
+    private void grow() {
+        char[] grownWindow = new char[window.length << 1];
+        boolean[] grownSkipped = new boolean[grownWindow.length];
+        for (long i = settled; i < position; ++i) {
+            int from = (int) (i % window.length);
+            int to = (int) (i % grownWindow.length);
+            grownWindow[to] = window[from];
+            grownSkipped[to] = skipped[from];
+        }
+        window = grownWindow;
+        skipped = grownSkipped;
+    }
+
+    /**
+     * 将窗口中最早的字符移到输出缓冲区
+     */
+    private void settle() throws IOException {
+        if (buffered == buffer.length) {
+            out.write(buffer, 0, buffered);
+            buffered = 0;
+        }
+        buffer[buffered++] = window[(int) (settled % window.length)];
+        ++settled;
+    }
+
+    /**
+     * 写出已经确定的字符，窗口中的字符仍可能被后续输入替换，暂不写出
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.write(buffer, 0, buffered);
+        buffered = 0;
+        out.flush();
+    }
+
+    /**
+     * 写出剩余的全部字符并刷新下游，但不关闭下游，之后不能再写入
+     *
+     * @throws IOException IO异常
+     */
+    public void finish() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        while (settled < position) {
+            settle();
+        }
+        out.write(buffer, 0, buffered);
+        buffered = 0;
+        out.flush();
+    }
+
+    /**
+     * 写出剩余的全部字符并关闭下游
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className MatchListener
+ * @desc 流式扫描时的命中回调
+ */
+@FunctionalInterface
+public interface MatchListener {
+
+    /**
+     * 命中敏感词
+     *
+     * @param start 命中区间在整个输入中的起始偏移（包含）
+     * @param end   命中区间在整个输入中的结束偏移（不包含）
+     */
+    void onMatch(long start, long end);
+
+}
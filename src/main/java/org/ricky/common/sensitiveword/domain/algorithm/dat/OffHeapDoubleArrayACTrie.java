@@ -0,0 +1,190 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className OffHeapDoubleArrayACTrie
+ * @desc 保存在堆外的双数组AC自动机<br>
+ * 直接在{@link DoubleArrayACTrie#writeTo(ByteBuffer)}写出的字节上读取，不反序列化为int数组：
+ * 缓冲区可以是直接内存，也可以是快照文件的内存映射。堆上只保留固定大小的字符编码表（128KB），
+ * 堆大小与GC开销不再随词库规模增长；多个JVM映射同一个快照文件时共享操作系统的页缓存<br>
+ * 状态编号与{@link DoubleArrayACTrie}完全相同，扫描逻辑由{@link DoubleArrayACAutomaton}共用<br>
+ * 构建完成后不可变，可以被多个线程安全地共享<br>
+ */
+public final class OffHeapDoubleArrayACTrie implements DoubleArrayACAutomaton {
+
+    /**
+     * 字符 -> 字符编码，0表示该字符不在字母表中
+     */
+    private final char[] charCodes;
+
+    private final IntBuffer base;
+    private final IntBuffer check;
+    private final IntBuffer fail;
+    private final IntBuffer outLink;
+    private final IntBuffer wordLength;
+
+    /**
+     * 终止状态上的附加数据，未提供附加数据时为null
+     */
+    private final LongBuffer payload;
+
+    /**
+     * 序列化后的完整字节，用于再次写出
+     */
+    private final ByteBuffer bytes;
+
+    private final int capacity;
+    private final int wordCount;
+    private final int maxWordLength;
+
+    private OffHeapDoubleArrayACTrie(char[] charCodes, IntBuffer[] arrays, LongBuffer payload, ByteBuffer bytes,
+                                     int capacity, int wordCount, int maxWordLength) {
+        this.charCodes = charCodes;
+        this.base = arrays[0];
+        this.check = arrays[1];
+        this.fail = arrays[2];
+        this.outLink = arrays[3];
+        this.wordLength = arrays[4];
+        this.payload = payload;
+        this.bytes = bytes;
+        this.capacity = capacity;
+        this.wordCount = wordCount;
+        this.maxWordLength = maxWordLength;
+    }
+
+    /**
+     * 将堆内的自动机复制到直接内存
+     *
+     * @param trie 自动机
+     * @return 堆外自动机
+     */
+    public static OffHeapDoubleArrayACTrie copyOf(DoubleArrayACTrie trie) {
+        long size = trie.serializedSize();
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Double array trie is too large: " + size + " bytes.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+        trie.writeTo(buffer);
+        return view(buffer.flip());
+    }
+
+    /**
+     * 在缓冲区上创建自动机，不复制双数组<br>
+     * 读取完成后缓冲区的position移动到自动机之后
+     *
+     * @param buffer 缓冲区，内容由{@link DoubleArrayACTrie#writeTo(ByteBuffer)}写入
+     * @return 堆外自动机
+     */
+    static OffHeapDoubleArrayACTrie view(ByteBuffer buffer) {
+        int start = buffer.position();
+        int capacity = buffer.getInt();
+        buffer.getInt();
+        int wordCount = buffer.getInt();
+        int maxWordLength = buffer.getInt();
+        int alphabetSize = buffer.getInt();
+        if (capacity <= 0 || alphabetSize < 0 || alphabetSize > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Corrupted double array trie.");
+        }
+        char[] charCodes = new char[Character.MAX_VALUE + 1];
+        for (int i = 0; i < alphabetSize; ++i) {
+            char c = buffer.getChar();
+            charCodes[c] = buffer.getChar();
+        }
+        IntBuffer[] arrays = new IntBuffer[5];
+        for (int i = 0; i < arrays.length; ++i) {
+            arrays[i] = buffer.slice(buffer.position(), Integer.BYTES * capacity).order(buffer.order()).asIntBuffer();
+            buffer.position(buffer.position() + Integer.BYTES * capacity);
+        }
+        LongBuffer payload = null;
+        if (buffer.get() != 0) {
+            payload = buffer.slice(buffer.position(), Long.BYTES * capacity).order(buffer.order()).asLongBuffer();
+            buffer.position(buffer.position() + Long.BYTES * capacity);
+        }
+        ByteBuffer bytes = buffer.slice(start, buffer.position() - start);
+        return new OffHeapDoubleArrayACTrie(charCodes, arrays, payload, bytes, capacity, wordCount, maxWordLength);
+    }
+
+    @Override
+    public int codeOf(char c) {
+        return charCodes[c];
+    }
+
+    @Override
+    public int base(int state) {
+        return base.get(state);
+    }
+
+    @Override
+    public int check(int state) {
+        return check.get(state);
+    }
+
+    @Override
+    public int fail(int state) {
+        return fail.get(state);
+    }
+
+    @Override
+    public int outLink(int state) {
+        return outLink.get(state);
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public int wordLength(int state) {
+        return wordLength.get(state);
+    }
+
+    @Override
+    public long payload(int state) {
+        return payload == null ? 0 : payload.get(state);
+    }
+
+    @Override
+    public int wordCount() {
+        return wordCount;
+    }
+
+    @Override
+    public int maxWordLength() {
+        return maxWordLength;
+    }
+
+    /**
+     * 堆上只有字符编码表，双数组不计入
+     */
+    @Override
+    public long memoryEstimate() {
+        return (long) Character.BYTES * charCodes.length;
+    }
+
+    /**
+     * 堆外占用的字节数
+     *
+     * @return 字节数
+     */
+    public long offHeapSize() {
+        return bytes.capacity();
+    }
+
+    @Override
+    public long serializedSize() {
+        return bytes.capacity();
+    }
+
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put(bytes.duplicate());
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className PayloadMatchListener
+ * @desc 带附加数据的命中回调
+ */
+@FunctionalInterface
+public interface PayloadMatchListener {
+
+    /**
+     * 命中敏感词
+     *
+     * @param payload 敏感词的附加数据
+     * @param start   命中区间的起始下标（包含）
+     * @param end     命中区间的结束下标（不包含）
+     */
+    void onMatch(long payload, int start, int end);
+
+}
@@ -0,0 +1,165 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className StreamScanner
+ * @desc 流式敏感词扫描器<br>
+ * 输入可以分成任意多块依次喂入，自动机状态跨块保留，跨越块边界的敏感词同样能被命中，
+ * 命中位置以整个输入中的绝对偏移报告；扫描器本身不缓存输入，内存占用与输入长度无关<br>
+ * 每个位置只报告在此结束的最长有效敏感词，与{@link DoubleArrayACDictionary#mask(String, char)}的语义一致<br>
+ * 输入逐字符经过{@link CharNormalizer}归一化，被跳过的字符不参与匹配，但仍计入偏移，命中区间会包含夹在中间的被跳过字符<br>
+ * 扫描器绑定创建时的词库，扫描过程中发生的词库替换不会影响本次扫描，非线程安全
+ */
+public final class StreamScanner {
+
+    /**
+     * 从Reader读取时的缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    private final DoubleArrayACDictionary.Cursor cursor;
+
+    private final CharNormalizer normalizer;
+
+    private final MatchListener listener;
+
+    /**
+     * 最近若干个参与匹配的字符的偏移，按参与匹配的字符数对长度取模存放，用于计算命中区间的起点
+     */
+    private final long[] offsets;
+
+    /**
+     * 参与匹配的字符数
+     */
+    private long matched;
+
+    /**
+     * 下一个字符在整个输入中的偏移
+     */
+    private long position;
+
+    public StreamScanner(DoubleArrayACDictionary dictionary, CharNormalizer normalizer, MatchListener listener) {
+        this.cursor = dictionary.cursor();
+        this.normalizer = normalizer;
+        this.listener = listener;
+        this.offsets = new long[Math.max(1, dictionary.maxWordLength())];
+    }
+
+    /**
+     * 扫描整个Reader，不关闭Reader
+     *
+     * @param dictionary 词库
+     * @param normalizer 字符归一化
+     * @param reader     输入
+     * @param listener   命中回调
+     * @return 读取的字符数
+     * @throws IOException IO异常
+     */
+    public static long scan(DoubleArrayACDictionary dictionary, CharNormalizer normalizer,
+                            Reader reader, MatchListener listener) throws IOException {
+        StreamScanner scanner = new StreamScanner(dictionary, normalizer, listener);
+        char[] buffer = new char[BUFFER_SIZE];
+        int n;
+        while ((n = reader.read(buffer)) != -1) {
+            scanner.feed(buffer, 0, n);
+        }
+        return scanner.position();
+    }
+
+    /**
+     * 判断Reader中是否含有敏感词，命中第一个敏感词后立即返回，不再读取剩余输入，不关闭Reader
+     *
+     * @param dictionary 词库
+     * @param normalizer 字符归一化
+     * @param reader     输入
+     * @return true=有 false=没有
+     * @throws IOException IO异常
+     */
+    public static boolean containsAny(DoubleArrayACDictionary dictionary, CharNormalizer normalizer,
+                                      Reader reader) throws IOException {
+        DoubleArrayACDictionary.Cursor cursor = dictionary.cursor();
+        char[] buffer = new char[BUFFER_SIZE];
+        int n;
+        while ((n = reader.read(buffer)) != -1) {
+            for (int i = 0; i < n; ++i) {
+                char c = normalizer.normalize(buffer[i]);
+                if (c != CharNormalizer.SKIP && cursor.next(c) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 喂入一块输入
+     *
+     * @param chars  字符数组
+     * @param offset 起始下标
+     * @param length 长度
+     */
+    public void feed(char[] chars, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            step(chars[i]);
+        }
+    }
+
+    /**
+     * 喂入一块输入，读取缓冲区中剩余的全部字符，完成后缓冲区的position等于limit
+     *
+     * @param buffer 字符缓冲区
+     */
+    public void feed(CharBuffer buffer) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset() + buffer.position();
+            feed(buffer.array(), offset, buffer.remaining());
+            buffer.position(buffer.limit());
+            return;
+        }
+        while (buffer.hasRemaining()) {
+            step(buffer.get());
+        }
+    }
+
+    /**
+     * 喂入一块输入
+     *
+     * @param chars 字符序列
+     */
+    public void feed(CharSequence chars) {
+        for (int i = 0, len = chars.length(); i < len; ++i) {
+            step(chars.charAt(i));
+        }
+    }
+
+    /**
+     * 已扫描的字符数，即下一个字符在整个输入中的偏移
+     *
+     * @return 已扫描的字符数
+     */
+    public long position() {
+        return position;
+    }
+
+    private void step(char c) {
+        char normalized = normalizer.normalize(c);
+        ++position;
+        if (normalized == CharNormalizer.SKIP) {
+            return;
+        }
+        offsets[(int) (matched++ % offsets.length)] = position - 1;
+        int matchLength = cursor.next(normalized);
+        if (matchLength != 0) {
+            listener.onMatch(offsets[(int) ((matched - matchLength) % offsets.length)], position);
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+import org.ricky.common.sensitiveword.domain.SensitiveWordCategoryEnum;
+
+import java.util.Map;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className FuzzySensitiveWordFilter
+ * @desc 支持匹配字间插入了字符的敏感词的过滤，如"敏x感x词"<br>
+ * 每个敏感词允许的间隔优先取{@link org.ricky.common.sensitiveword.domain.SensitiveWord#getMaxGap()}，
+ * 未指定时取所属分类的默认间隔；只作用于字符串输入，流式输入与叠加层只做精确匹配<br>
+ */
+public interface FuzzySensitiveWordFilter extends SensitiveWordFilter {
+
+    /**
+     * 设置各分类默认允许的间隔，即相邻两个字之间最多插入的字符数，对之后加载的词库生效
+     *
+     * @param gaps 分类 -> 允许的间隔，未列出的分类不允许插入字符
+     */
+    void categoryGaps(Map<SensitiveWordCategoryEnum, Integer> gaps);
+
+}
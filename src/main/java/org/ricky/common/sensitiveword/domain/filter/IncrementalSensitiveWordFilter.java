@@ -0,0 +1,56 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+import org.ricky.common.sensitiveword.domain.SensitiveWord;
+
+import java.util.List;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className IncrementalSensitiveWordFilter
+ * @desc 支持增量变更的敏感词过滤<br>
+ * 增删少量敏感词时只修改受影响的部分，不重新构建整个词库<br>
+ */
+public interface IncrementalSensitiveWordFilter extends SensitiveWordFilter {
+
+    /**
+     * 新增敏感词
+     *
+     * @param words 敏感词数组
+     */
+    void addWord(List<String> words);
+
+    /**
+     * 新增或更新带分类与严重程度的敏感词<br>
+     * 默认只新增敏感词本身，已存在的敏感词保持不变
+     *
+     * @param words 敏感词数组
+     */
+    default void addSensitiveWord(List<SensitiveWord> words) {
+        addWord(words.stream().map(SensitiveWord::getWord).toList());
+    }
+
+    /**
+     * 删除敏感词
+     *
+     * @param words 敏感词数组
+     */
+    void removeWord(List<String> words);
+
+    /**
+     * 增量变更是否已经积累到需要合并的程度
+     *
+     * @return true=需要 false=不需要
+     */
+    default boolean needsCompaction() {
+        return false;
+    }
+
+    /**
+     * 合并增量变更，开销与全量构建相当，应在后台线程中调用
+     */
+    default void compact() {
+    }
+
+}
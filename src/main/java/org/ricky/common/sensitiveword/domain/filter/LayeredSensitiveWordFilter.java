@@ -0,0 +1,35 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+import org.ricky.common.sensitiveword.domain.algorithm.dat.DoubleArrayACOverlay;
+
+import java.util.List;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className LayeredSensitiveWordFilter
+ * @desc 支持在共享词库之上叠加小词库的敏感词过滤<br>
+ * 不同场景（弹幕、用户名、广告位等）与不同用户（UP主自定义屏蔽词）共用同一份编译好的词库，
+ * 只为各自额外的敏感词构建叠加层，内存随叠加层的规模增长，而不是随场景数增长<br>
+ */
+public interface LayeredSensitiveWordFilter extends SensitiveWordFilter {
+
+    /**
+     * 构建叠加层，敏感词按当前的归一化规则归一化
+     *
+     * @param words 敏感词列表
+     * @return 叠加层
+     */
+    DoubleArrayACOverlay overlay(List<String> words);
+
+    /**
+     * 获取绑定当前词库与给定叠加层的只读快照<br>
+     * 命中词库或任意一个叠加层中的敏感词即视为命中
+     *
+     * @param overlays 叠加层
+     * @return 快照
+     */
+    SensitiveWordSnapshot snapshot(DoubleArrayACOverlay... overlays);
+
+}
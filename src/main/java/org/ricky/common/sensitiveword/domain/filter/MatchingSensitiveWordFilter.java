@@ -0,0 +1,33 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+import org.ricky.common.sensitiveword.domain.SensitiveWord;
+
+import java.util.List;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className MatchingSensitiveWordFilter
+ * @desc 支持报告命中详情的敏感词过滤<br>
+ * 一次扫描即可得到命中的敏感词ID、分类、严重程度与位置，调用方据此决定拦截、替换还是送审<br>
+ */
+public interface MatchingSensitiveWordFilter extends SensitiveWordFilter {
+
+    /**
+     * 加载带分类与严重程度的敏感词列表
+     *
+     * @param words 敏感词列表
+     */
+    void loadSensitiveWord(List<SensitiveWord> words);
+
+    /**
+     * 单次扫描文本，报告命中的所有敏感词，命中区间可以重叠
+     *
+     * @param text 文本
+     * @param sink 命中结果的接收方
+     * @return 命中次数
+     */
+    int match(String text, SensitiveWordMatchSink sink);
+
+}
@@ -0,0 +1,34 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className MeasurableSensitiveWordFilter
+ * @desc 能报告当前词库规模与内存占用的敏感词过滤，用于监控<br>
+ * 实现应只读取已有的统计值，不遍历词库<br>
+ */
+public interface MeasurableSensitiveWordFilter extends SensitiveWordFilter {
+
+    /**
+     * 当前词库中的敏感词数
+     *
+     * @return 敏感词数
+     */
+    int wordCount();
+
+    /**
+     * 估算当前词库占用的堆内存
+     *
+     * @return 字节数
+     */
+    long memoryEstimate();
+
+    /**
+     * 当前词库占用的堆外内存（直接内存或映射的快照文件）
+     *
+     * @return 字节数，词库全部在堆内时为0
+     */
+    long offHeapSize();
+
+}
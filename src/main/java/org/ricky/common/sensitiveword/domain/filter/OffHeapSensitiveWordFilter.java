@@ -0,0 +1,21 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className OffHeapSensitiveWordFilter
+ * @desc 支持把词库保存在堆外的敏感词过滤<br>
+ * 适合百万级以上的词库：堆大小与GC停顿不随词库规模增长；从快照加载时直接映射快照文件，
+ * 同一台机器上的多个JVM共享同一份页缓存<br>
+ */
+public interface OffHeapSensitiveWordFilter extends SensitiveWordFilter {
+
+    /**
+     * 设置是否把词库保存在堆外，对之后加载的词库生效
+     *
+     * @param offHeap true=堆外 false=堆内
+     */
+    void offHeap(boolean offHeap);
+
+}
@@ -0,0 +1,35 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className PersistentSensitiveWordFilter
+ * @desc 支持将编译好的词库保存为本地快照的敏感词过滤<br>
+ * 启动时快照未过期则直接加载快照，跳过查询数据库与构建词库<br>
+ */
+public interface PersistentSensitiveWordFilter extends SensitiveWordFilter {
+
+    /**
+     * 将当前词库保存为快照
+     *
+     * @param file        快照文件
+     * @param dataVersion 构建当前词库时数据源中词库的版本
+     * @throws IOException IO异常
+     */
+    void saveSnapshot(Path file, long dataVersion) throws IOException;
+
+    /**
+     * 从快照加载词库
+     *
+     * @param file        快照文件
+     * @param dataVersion 数据源中词库的当前版本
+     * @return true=已加载 false=快照不存在或已过期
+     * @throws IOException IO异常，或快照已损坏
+     */
+    boolean loadSnapshot(Path file, long dataVersion) throws IOException;
+
+}
@@ -1,5 +1,7 @@
 package org.ricky.common.sensitiveword.domain.filter;
 
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+
 import java.util.List;
 
 /**
@@ -12,7 +14,8 @@ import java.util.List;
 public interface SensitiveWordFilter {
 
     /**
-     * 判断文本中是否含有敏感词
+     * 判断文本中是否含有敏感词<br>
+     * 实现应在命中第一个敏感词后立即返回，且不构造替换后的文本
      *
      * @param text 文本
      * @return true=有 false=没有
@@ -35,4 +38,20 @@ public interface SensitiveWordFilter {
      */
     void loadWord(List<String> words);
 
+    /**
+     * 设置字符归一化规则，默认为{@link CharNormalizer#defaults()}<br>
+     * 敏感词在加载时按同样的规则归一化，因此需在加载敏感词之前设置，之后修改需要重新加载敏感词
+     *
+     * @param normalizer 字符归一化
+     */
+    void normalizer(CharNormalizer normalizer);
+
+    /**
+     * 获取绑定当前词库的只读快照<br>
+     * 批量过滤时所有文本共用同一个快照，保证使用同一版本的词库
+     *
+     * @return 快照
+     */
+    SensitiveWordSnapshot snapshot();
+
 }
@@ -0,0 +1,38 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+import lombok.AllArgsConstructor;
+import org.ricky.common.sensitiveword.domain.filter.impl.ACFilter;
+import org.ricky.common.sensitiveword.domain.filter.impl.ACProFilter;
+import org.ricky.common.sensitiveword.domain.filter.impl.DATFilter;
+import org.ricky.common.sensitiveword.domain.filter.impl.DFAFilter;
+
+import java.util.function.Supplier;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordFilterStrategyEnum
+ * @desc 敏感词过滤策略
+ */
+@AllArgsConstructor
+public enum SensitiveWordFilterStrategyEnum {
+
+    DFA(DFAFilter::getInstance),
+    AC(ACFilter::getInstance),
+    AC_PRO(ACProFilter::getInstance),
+    DAT(DATFilter::getInstance),
+    ;
+
+    private final Supplier<SensitiveWordFilter> filter;
+
+    /**
+     * 获取该策略对应的过滤器
+     *
+     * @return 过滤器
+     */
+    public SensitiveWordFilter filter() {
+        return filter.get();
+    }
+
+}
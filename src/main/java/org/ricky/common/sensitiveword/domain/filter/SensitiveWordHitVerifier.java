@@ -0,0 +1,24 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordHitVerifier
+ * @desc 敏感词命中的二次确认<br>
+ * 自动机只按字符匹配，无辜的词恰好包含敏感词时也会命中，确认后的命中才会被替换或报告<br>
+ */
+@FunctionalInterface
+public interface SensitiveWordHitVerifier {
+
+    /**
+     * 确认命中，只对自动机的命中调用，不影响未命中文本的开销
+     *
+     * @param text  归一化后的文本
+     * @param start 命中区间的起始位置（包含）
+     * @param end   命中区间的结束位置（不包含）
+     * @return true=确认命中 false=误报
+     */
+    boolean verify(CharSequence text, int start, int end);
+
+}
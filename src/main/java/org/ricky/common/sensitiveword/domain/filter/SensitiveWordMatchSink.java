@@ -0,0 +1,28 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+import org.ricky.common.sensitiveword.domain.SensitiveWordCategoryEnum;
+import org.ricky.common.sensitiveword.domain.SensitiveWordSeverityEnum;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordMatchSink
+ * @desc 敏感词命中结果的接收方<br>
+ * 每次命中回调一次，不为命中结果创建对象，调用方可以按需汇总或直接做出处置<br>
+ */
+@FunctionalInterface
+public interface SensitiveWordMatchSink {
+
+    /**
+     * 命中敏感词
+     *
+     * @param wordId   敏感词ID，数据源不提供ID时为0
+     * @param category 分类
+     * @param severity 严重程度
+     * @param start    命中区间的起始下标（包含）
+     * @param end      命中区间的结束下标（不包含）
+     */
+    void onMatch(long wordId, SensitiveWordCategoryEnum category, SensitiveWordSeverityEnum severity, int start, int end);
+
+}
@@ -0,0 +1,168 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+import org.ricky.common.sensitiveword.domain.SensitiveWordCategoryEnum;
+import org.ricky.common.sensitiveword.domain.SensitiveWordSeverityEnum;
+
+import java.util.Arrays;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordMatches
+ * @desc 可复用的敏感词命中结果<br>
+ * 命中结果按列保存在基本类型数组中，调用{@link #clear()}后可以用于下一段文本，数组只在容量不足时扩容<br>
+ * 非线程安全，通常每个线程持有一个实例<br>
+ */
+public final class SensitiveWordMatches implements SensitiveWordMatchSink {
+
+    private static final SensitiveWordCategoryEnum[] CATEGORIES = SensitiveWordCategoryEnum.values();
+
+    private static final SensitiveWordSeverityEnum[] SEVERITIES = SensitiveWordSeverityEnum.values();
+
+    private long[] wordIds;
+    private byte[] categories;
+    private byte[] severities;
+    private int[] starts;
+    private int[] ends;
+
+    private int size;
+
+    /**
+     * 已命中的最高严重程度的ordinal，-1表示没有命中
+     */
+    private int maxSeverity = -1;
+
+    public SensitiveWordMatches() {
+        this(16);
+    }
+
+    public SensitiveWordMatches(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        wordIds = new long[capacity];
+        categories = new byte[capacity];
+        severities = new byte[capacity];
+        starts = new int[capacity];
+        ends = new int[capacity];
+    }
+
+    @Override
+    public void onMatch(long wordId, SensitiveWordCategoryEnum category, SensitiveWordSeverityEnum severity, int start, int end) {
+        if (size == wordIds.length) {
+            grow();
+        }
+        wordIds[size] = wordId;
+        categories[size] = (byte) category.ordinal();
+        severities[size] = (byte) severity.ordinal();
+        starts[size] = start;
+        ends[size] = end;
+        maxSeverity = Math.max(maxSeverity, severity.ordinal());
+        ++size;
+    }
+
+    /**
+     * 清空命中结果，保留已分配的数组
+     */
+    public void clear() {
+        size = 0;
+        maxSeverity = -1;
+    }
+
+    /**
+     * 命中次数
+     *
+     * @return 命中次数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 是否没有命中
+     *
+     * @return true=没有命中 false=有命中
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 已命中的最高严重程度
+     *
+     * @return 最高严重程度，没有命中时为null
+     */
+    public SensitiveWordSeverityEnum maxSeverity() {
+        return maxSeverity < 0 ? null : SEVERITIES[maxSeverity];
+    }
+
+    /**
+     * 第index次命中的敏感词ID
+     *
+     * @param index 下标
+     * @return 敏感词ID
+     */
+    public long wordId(int index) {
+        checkIndex(index);
+        return wordIds[index];
+    }
+
+    /**
+     * 第index次命中的分类
+     *
+     * @param index 下标
+     * @return 分类
+     */
+    public SensitiveWordCategoryEnum category(int index) {
+        checkIndex(index);
+        return CATEGORIES[categories[index]];
+    }
+
+    /**
+     * 第index次命中的严重程度
+     *
+     * @param index 下标
+     * @return 严重程度
+     */
+    public SensitiveWordSeverityEnum severity(int index) {
+        checkIndex(index);
+        return SEVERITIES[severities[index]];
+    }
+
+    /**
+     * 第index次命中的命中区间的起始下标（包含）
+     *
+     * @param index 下标
+     * @return 命中区间的起始下标（包含）
+     */
+    public int start(int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    /**
+     * 第index次命中的命中区间的结束下标（不包含）
+     *
+     * @param index 下标
+     * @return 命中区间的结束下标（不包含）
+     */
+    public int end(int index) {
+        checkIndex(index);
+        return ends[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    private void grow() {
+        int capacity = wordIds.length << 1;
+        wordIds = Arrays.copyOf(wordIds, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        severities = Arrays.copyOf(severities, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordSnapshot
+ * @desc 敏感词过滤快照<br>
+ * 绑定创建时刻的词库，之后的重新加载或增量变更不会影响快照，可以被多个线程共享<br>
+ */
+public interface SensitiveWordSnapshot {
+
+    /**
+     * 判断文本中是否含有敏感词
+     *
+     * @param text 文本
+     * @return true=有 false=没有
+     */
+    boolean hasSensitiveWord(String text);
+
+    /**
+     * 过滤文本中的敏感词
+     *
+     * @param text 待替换文本
+     * @return 替换后的文本
+     */
+    String filter(String text);
+
+    /**
+     * 创建快照
+     *
+     * @param detector 敏感词检测
+     * @param masker   敏感词替换
+     * @return 快照
+     */
+    static SensitiveWordSnapshot of(Predicate<String> detector, UnaryOperator<String> masker) {
+        return new SensitiveWordSnapshot() {
+            @Override
+            public boolean hasSensitiveWord(String text) {
+                return detector.test(text);
+            }
+
+            @Override
+            public String filter(String text) {
+                return masker.apply(text);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+import org.ricky.common.sensitiveword.domain.algorithm.dat.MatchListener;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className StreamingSensitiveWordFilter
+ * @desc 支持流式输入的敏感词过滤<br>
+ * 按块读取输入，自动机状态跨块保留，不需要把整个输入读入内存，适合长文、字幕文件、批量导出等大文本<br>
+ * 所有方法都不关闭传入的Reader与Writer<br>
+ */
+public interface StreamingSensitiveWordFilter extends SensitiveWordFilter {
+
+    /**
+     * 判断输入中是否含有敏感词，命中第一个敏感词后立即返回
+     *
+     * @param reader 输入
+     * @return true=有 false=没有
+     * @throws IOException IO异常
+     */
+    boolean hasSensitiveWord(Reader reader) throws IOException;
+
+    /**
+     * 扫描输入，报告所有命中的敏感词在整个输入中的绝对偏移
+     *
+     * @param reader   输入
+     * @param listener 命中回调
+     * @return 读取的字符数
+     * @throws IOException IO异常
+     */
+    long scan(Reader reader, MatchListener listener) throws IOException;
+
+    /**
+     * 过滤输入中的敏感词，并将过滤后的文本写入输出，内存占用与输入长度无关
+     *
+     * @param reader 输入
+     * @param writer 输出
+     * @return 读取的字符数
+     * @throws IOException IO异常
+     */
+    long filter(Reader reader, Writer writer) throws IOException;
+
+}
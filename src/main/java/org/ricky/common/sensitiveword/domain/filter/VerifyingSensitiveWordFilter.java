@@ -0,0 +1,20 @@
+package org.ricky.common.sensitiveword.domain.filter;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className VerifyingSensitiveWordFilter
+ * @desc 支持对自动机的命中做二次确认的敏感词过滤<br>
+ * 只作用于字符串输入（过滤、判断、命中详情与快照），流式输入不做二次确认<br>
+ */
+public interface VerifyingSensitiveWordFilter extends SensitiveWordFilter {
+
+    /**
+     * 设置命中的二次确认
+     *
+     * @param verifier 二次确认，为null时不做二次确认
+     */
+    void hitVerifier(SensitiveWordHitVerifier verifier);
+
+}
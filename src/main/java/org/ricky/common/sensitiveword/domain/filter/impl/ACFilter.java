@@ -3,10 +3,13 @@ package org.ricky.common.sensitiveword.domain.filter.impl;
 import org.ricky.common.sensitiveword.domain.algorithm.ac.ACTrie;
 import org.ricky.common.sensitiveword.domain.algorithm.ac.MatchResult;
 import org.ricky.common.sensitiveword.domain.filter.SensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordSnapshot;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+import org.ricky.common.sensitiveword.domain.normalize.NormalizedText;
+import org.ricky.common.sensitiveword.domain.normalize.TextMasker;
 import org.ricky.common.sensitiveword.infrastructure.utils.StrUtils;
 
 import java.util.List;
-import java.util.Objects;
 
 /**
  * @author Ricky
@@ -25,9 +28,15 @@ public final class ACFilter implements SensitiveWordFilter {
     private final static char MASK_CHAR = '*';
 
     /**
-     * AC自动机
+     * AC自动机<br>
+     * 构建完成后整体替换，每次过滤只读取一次，过滤过程中发生的替换不会影响本次过滤
      */
-    private static ACTrie acTrie = null;
+    private volatile ACTrie acTrie = new ACTrie(List.of());
+
+    /**
+     * 字符归一化，在归一化后的文本上匹配，再把命中区间对应回原文
+     */
+    private volatile CharNormalizer normalizer = CharNormalizer.defaults();
 
     private ACFilter() {
     }
@@ -38,40 +47,50 @@ public final class ACFilter implements SensitiveWordFilter {
 
     @Override
     public boolean hasSensitiveWord(String text) {
-        if (StrUtils.isBlank(text)) {
-            return false;
-        }
-        return !Objects.equals(filter(text), text);
+        return hasSensitiveWord(acTrie, normalizer, text);
     }
 
     @Override
     public String filter(String text) {
-        if (StrUtils.isBlank(text)) {
-            return text;
+        return filter(acTrie, normalizer, text);
+    }
+
+    @Override
+    public SensitiveWordSnapshot snapshot() {
+        ACTrie current = acTrie;
+        CharNormalizer currentNormalizer = normalizer;
+        return SensitiveWordSnapshot.of(text -> hasSensitiveWord(current, currentNormalizer, text),
+                text -> filter(current, currentNormalizer, text));
+    }
+
+    @Override
+    public void normalizer(CharNormalizer normalizer) {
+        if (normalizer == null) {
+            throw new IllegalArgumentException("normalizer can not be null");
         }
-        List<MatchResult> matchResults = acTrie.matches(text);
-        StringBuffer result = new StringBuffer(text);
-        // matchResults是按照startIndex排序的，因此可以通过不断更新endIndex最大值的方式算出尚未被替代的部分
-        int endIndex = 0;
-        for (MatchResult matchResult : matchResults) {
-            endIndex = Math.max(endIndex, matchResult.getEndIndex());
-            replaceBetween(result, matchResult.getStartIndex(), endIndex);
+        this.normalizer = normalizer;
+    }
+
+    private static boolean hasSensitiveWord(ACTrie acTrie, CharNormalizer normalizer, String text) {
+        // 没有任何字符能作为敏感词首字时不归一化，也不进入自动机
+        if (StrUtils.isBlank(text) || !acTrie.firstChars().mayMatch(text, normalizer)) {
+            return false;
         }
-        return result.toString();
+        return acTrie.containsAny(text, normalizer);
     }
 
-    /**
-     * 替换字符串的给定区间
-     * 区间左闭右开[startIndex, endIndex)
-     *
-     * @param buffer     字符串
-     * @param startIndex 起始索引
-     * @param endIndex   结束索引
-     */
-    private static void replaceBetween(StringBuffer buffer, int startIndex, int endIndex) {
-        for (int i = startIndex; i < endIndex; ++i) {
-            buffer.setCharAt(i, MASK_CHAR);
+    private static String filter(ACTrie acTrie, CharNormalizer normalizer, String text) {
+        if (StrUtils.isBlank(text) || !acTrie.firstChars().mayMatch(text, normalizer)) {
+            return text;
+        }
+        NormalizedText normalized = normalizer.normalize(text);
+        // matchResults是按照endIndex排序的，TextMasker据此只替换尚未被替代的部分
+        List<MatchResult> matchResults = acTrie.matches(normalized.text());
+        TextMasker masker = new TextMasker(text, normalized, MASK_CHAR);
+        for (MatchResult matchResult : matchResults) {
+            masker.mask(matchResult.getStartIndex(), matchResult.getEndIndex());
         }
+        return masker.result();
     }
 
     @Override
@@ -79,7 +98,7 @@ public final class ACFilter implements SensitiveWordFilter {
         if (words == null) {
             return;
         }
-        acTrie = new ACTrie(words);
+        acTrie = new ACTrie(normalizer.normalizeWords(words));
     }
 
     private static class Holder {
@@ -2,10 +2,13 @@ package org.ricky.common.sensitiveword.domain.filter.impl;
 
 import org.ricky.common.sensitiveword.domain.algorithm.acpro.ACProTrie;
 import org.ricky.common.sensitiveword.domain.filter.SensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordSnapshot;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+import org.ricky.common.sensitiveword.domain.normalize.NormalizedText;
+import org.ricky.common.sensitiveword.domain.normalize.TextMasker;
 import org.ricky.common.sensitiveword.infrastructure.utils.StrUtils;
 
 import java.util.List;
-import java.util.Objects;
 
 /**
  * @author Ricky
@@ -17,9 +20,20 @@ import java.util.Objects;
 public final class ACProFilter implements SensitiveWordFilter {
 
     /**
-     * AC自动机
+     * AC自动机<br>
+     * 构建完成后整体替换，每次过滤只读取一次，过滤过程中发生的替换不会影响本次过滤
      */
-    private ACProTrie acProTrie;
+    private volatile ACProTrie acProTrie = newACProTrie(List.of());
+
+    /**
+     * 字符归一化，在归一化后的文本上匹配，再把替换的位置对应回原文
+     */
+    private volatile CharNormalizer normalizer = CharNormalizer.defaults();
+
+    /**
+     * 替换字符，与{@link ACProTrie}一致
+     */
+    private final static char MASK_CHAR = '*';
 
     private ACProFilter() {
     }
@@ -30,15 +44,50 @@ public final class ACProFilter implements SensitiveWordFilter {
 
     @Override
     public boolean hasSensitiveWord(String text) {
-        if (StrUtils.isBlank(text)) {
-            return false;
-        }
-        return !Objects.equals(filter(text), text);
+        return hasSensitiveWord(acProTrie, normalizer, text);
     }
 
     @Override
     public String filter(String text) {
-        return acProTrie.match(text);
+        return filter(acProTrie, normalizer, text);
+    }
+
+    @Override
+    public SensitiveWordSnapshot snapshot() {
+        ACProTrie current = acProTrie;
+        CharNormalizer currentNormalizer = normalizer;
+        return SensitiveWordSnapshot.of(text -> hasSensitiveWord(current, currentNormalizer, text),
+                text -> filter(current, currentNormalizer, text));
+    }
+
+    @Override
+    public void normalizer(CharNormalizer normalizer) {
+        if (normalizer == null) {
+            throw new IllegalArgumentException("normalizer can not be null");
+        }
+        this.normalizer = normalizer;
+    }
+
+    private static boolean hasSensitiveWord(ACProTrie acProTrie, CharNormalizer normalizer, String text) {
+        // 没有任何字符能作为敏感词首字时不归一化，也不进入自动机
+        if (StrUtils.isBlank(text) || !acProTrie.firstChars().mayMatch(text, normalizer)) {
+            return false;
+        }
+        return acProTrie.contains(text, normalizer);
+    }
+
+    private static String filter(ACProTrie acProTrie, CharNormalizer normalizer, String text) {
+        if (StrUtils.isBlank(text) || !acProTrie.firstChars().mayMatch(text, normalizer)) {
+            return text;
+        }
+        NormalizedText normalized = normalizer.normalize(text);
+        if (normalized.isIdentity()) {
+            return acProTrie.match(text);
+        }
+        // 按自动机报告的替换区间对应回原文，不比较替换前后的文本，原文中的替换字符不影响区间
+        TextMasker masker = new TextMasker(text, normalized, MASK_CHAR);
+        acProTrie.match(normalized.text(), masker::mask);
+        return masker.result();
     }
 
     @Override
@@ -46,8 +95,19 @@ public final class ACProFilter implements SensitiveWordFilter {
         if (words == null) {
             return;
         }
-        acProTrie = new ACProTrie();
-        acProTrie.createACTrie(words);
+        acProTrie = newACProTrie(normalizer.normalizeWords(words));
+    }
+
+    /**
+     * 构建AC自动机，构建完成前不会被其他线程看到
+     *
+     * @param words 敏感词数组
+     * @return AC自动机
+     */
+    private static ACProTrie newACProTrie(List<String> words) {
+        ACProTrie trie = new ACProTrie();
+        trie.createACTrie(words);
+        return trie;
     }
 
     private static class Holder {
@@ -0,0 +1,606 @@
+package org.ricky.common.sensitiveword.domain.filter.impl;
+
+import org.ricky.common.sensitiveword.domain.SensitiveWord;
+import org.ricky.common.sensitiveword.domain.SensitiveWordCategoryEnum;
+import org.ricky.common.sensitiveword.domain.SensitiveWordSeverityEnum;
+import org.ricky.common.sensitiveword.domain.algorithm.dat.DoubleArrayACDictionary;
+import org.ricky.common.sensitiveword.domain.algorithm.dat.DoubleArrayACOverlay;
+import org.ricky.common.sensitiveword.domain.algorithm.dat.DoubleArrayACSnapshot;
+import org.ricky.common.sensitiveword.domain.algorithm.dat.DoubleArrayGapMatcher;
+import org.ricky.common.sensitiveword.domain.algorithm.dat.MaskingWriter;
+import org.ricky.common.sensitiveword.domain.algorithm.dat.MatchListener;
+import org.ricky.common.sensitiveword.domain.algorithm.dat.OffHeapDoubleArrayACTrie;
+import org.ricky.common.sensitiveword.domain.algorithm.dat.PayloadMatchListener;
+import org.ricky.common.sensitiveword.domain.algorithm.dat.StreamScanner;
+import org.ricky.common.sensitiveword.domain.filter.FuzzySensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.IncrementalSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.LayeredSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.MatchingSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.MeasurableSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.OffHeapSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.PersistentSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordHitVerifier;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordMatchSink;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordSnapshot;
+import org.ricky.common.sensitiveword.domain.filter.StreamingSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.VerifyingSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+import org.ricky.common.sensitiveword.domain.normalize.NormalizedText;
+import org.ricky.common.sensitiveword.domain.normalize.TextMasker;
+import org.ricky.common.sensitiveword.infrastructure.utils.StrUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.ricky.common.sensitiveword.domain.normalize.CharNormalizer.SKIP;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DATFilter
+ * @desc 基于双数组AC自动机实现的敏感词过滤<br>
+ * 与{@link ACFilter}的匹配语义相同（替换所有命中区间，区间可以重叠），
+ * 但自动机保存在int数组中，内存占用更小，扫描时不产生对象分配<br>
+ * 支持增量增删敏感词，见{@link DoubleArrayACDictionary}<br>
+ * 支持流式输入，见{@link StreamScanner}与{@link MaskingWriter}<br>
+ * 敏感词的ID、分类与严重程度编码为一个long保存在自动机的终止状态上，命中时无需额外查表<br>
+ * 支持将编译好的词库保存为本地快照，见{@link DoubleArrayACSnapshot}<br>
+ * 支持按场景或用户在共享词库之上叠加小词库，见{@link DoubleArrayACOverlay}<br>
+ * 支持对命中做二次确认，见{@link SensitiveWordHitVerifier}<br>
+ * 支持匹配字间插入了字符的敏感词，见{@link DoubleArrayGapMatcher}<br>
+ * 支持把基础自动机保存在堆外或直接映射快照文件，见{@link OffHeapDoubleArrayACTrie}<br>
+ */
+public final class DATFilter implements IncrementalSensitiveWordFilter, StreamingSensitiveWordFilter,
+        MatchingSensitiveWordFilter, PersistentSensitiveWordFilter, LayeredSensitiveWordFilter,
+        VerifyingSensitiveWordFilter, FuzzySensitiveWordFilter, MeasurableSensitiveWordFilter,
+        OffHeapSensitiveWordFilter {
+
+    private static final DoubleArrayACOverlay[] NO_OVERLAYS = new DoubleArrayACOverlay[0];
+
+    /**
+     * 替换字符
+     */
+    private final static char MASK_CHAR = '*';
+
+    /**
+     * 附加数据中敏感词ID所占的位数，高16位依次保存分类与严重程度的ordinal + 1，0表示未知
+     */
+    private static final int ID_BITS = 48;
+
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+
+    private static final SensitiveWordCategoryEnum[] CATEGORIES = SensitiveWordCategoryEnum.values();
+
+    private static final SensitiveWordSeverityEnum[] SEVERITIES = SensitiveWordSeverityEnum.values();
+
+    /**
+     * 词库、插入字符匹配器与归一化<br>
+     * 三者放在一个不可变的状态中整体替换，每次过滤只读取一次，不会把新词库与旧匹配器搭配使用，
+     * 过滤过程中发生的替换也不会影响本次过滤；变更在该对象的锁内进行，合并通过CAS提交
+     */
+    private final AtomicReference<State> state =
+            new AtomicReference<>(new State(DoubleArrayACDictionary.of(List.of()), null, CharNormalizer.defaults()));
+
+    /**
+     * 分类的ordinal -> 该分类默认允许的间隔
+     */
+    private volatile int[] categoryGaps = new int[CATEGORIES.length];
+
+    /**
+     * 是否把基础自动机保存在堆外
+     */
+    private volatile boolean offHeap;
+
+    /**
+     * 命中的二次确认，为null时不做二次确认
+     */
+    private volatile SensitiveWordHitVerifier hitVerifier;
+
+    private DATFilter() {
+    }
+
+    public static DATFilter getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    @Override
+    public boolean hasSensitiveWord(String text) {
+        return hasSensitiveWord(state.get(), NO_OVERLAYS, hitVerifier, text);
+    }
+
+    @Override
+    public String filter(String text) {
+        return filter(state.get(), NO_OVERLAYS, hitVerifier, text);
+    }
+
+    /**
+     * 字符归一化，在归一化后的文本上匹配，再把命中区间对应回原文<br>
+     * 已加载的敏感词不会按新规则重新归一化，应在加载前设置
+     */
+    @Override
+    public void normalizer(CharNormalizer normalizer) {
+        if (normalizer == null) {
+            throw new IllegalArgumentException("normalizer can not be null");
+        }
+        synchronized (state) {
+            State current = state.get();
+            state.set(new State(current.dictionary(), current.gapMatcher(), normalizer));
+        }
+    }
+
+    @Override
+    public void offHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    @Override
+    public void hitVerifier(SensitiveWordHitVerifier verifier) {
+        this.hitVerifier = verifier;
+    }
+
+    @Override
+    public void categoryGaps(Map<SensitiveWordCategoryEnum, Integer> gaps) {
+        if (gaps == null) {
+            throw new IllegalArgumentException("gaps can not be null");
+        }
+        int[] categoryGaps = new int[CATEGORIES.length];
+        gaps.forEach((category, gap) -> categoryGaps[category.ordinal()] = checkGap(gap));
+        this.categoryGaps = categoryGaps;
+    }
+
+    private static int checkGap(int gap) {
+        if (gap < 0 || gap > DoubleArrayGapMatcher.MAX_GAP) {
+            throw new IllegalArgumentException("gap must be between 0 and " + DoubleArrayGapMatcher.MAX_GAP);
+        }
+        return gap;
+    }
+
+    @Override
+    public int match(String text, SensitiveWordMatchSink sink) {
+        State current = state.get();
+        if (StrUtils.isBlank(text) || !mayMatch(current, NO_OVERLAYS, text)) {
+            return 0;
+        }
+        NormalizedText normalized = current.normalizer().normalize(text);
+        SensitiveWordHitVerifier verifier = hitVerifier;
+        DoubleArrayGapMatcher currentGapMatcher = current.gapMatcher();
+        if (verifier == null) {
+            PayloadMatchListener listener = (payload, start, end) ->
+                    sink.onMatch(payload & ID_MASK, categoryOf(payload), severityOf(payload),
+                            normalized.originalStart(start), normalized.originalEnd(end));
+            int count = current.dictionary().matchAll(normalized.text(), listener);
+            return currentGapMatcher == null ? count : count + currentGapMatcher.matchAll(normalized.text(), listener);
+        }
+        String source = normalized.text();
+        int[] confirmed = new int[1];
+        PayloadMatchListener listener = (payload, start, end) -> {
+            if (verifier.verify(source, start, end)) {
+                ++confirmed[0];
+                sink.onMatch(payload & ID_MASK, categoryOf(payload), severityOf(payload),
+                        normalized.originalStart(start), normalized.originalEnd(end));
+            }
+        };
+        current.dictionary().matchAll(source, listener);
+        if (currentGapMatcher != null) {
+            currentGapMatcher.matchAll(source, listener);
+        }
+        return confirmed[0];
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * 只使用共享词库：不叠加场景或用户词库，不做二次确认（命中即视为有敏感词）；
+     * 加载了带间隔的敏感词时，流式扫描无法匹配这些敏感词，直接抛出异常
+     *
+     * @throws IllegalStateException 加载了带间隔的敏感词
+     */
+    @Override
+    public boolean hasSensitiveWord(Reader reader) throws IOException {
+        State current = streamingState();
+        return StreamScanner.containsAny(current.dictionary(), current.normalizer(), reader);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * 只使用共享词库：不叠加场景或用户词库，不做二次确认，报告的命中可能包含二次确认会排除的误判；
+     * 加载了带间隔的敏感词时，流式扫描无法匹配这些敏感词，直接抛出异常
+     *
+     * @throws IllegalStateException 加载了带间隔的敏感词
+     */
+    @Override
+    public long scan(Reader reader, MatchListener listener) throws IOException {
+        State current = streamingState();
+        return StreamScanner.scan(current.dictionary(), current.normalizer(), reader, listener);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * 只使用共享词库：不叠加场景或用户词库，不做二次确认，二次确认会放行的命中同样被替换；
+     * 加载了带间隔的敏感词时，流式替换无法覆盖这些敏感词，直接抛出异常，避免漏过
+     *
+     * @throws IllegalStateException 加载了带间隔的敏感词
+     */
+    @Override
+    public long filter(Reader reader, Writer writer) throws IOException {
+        State current = streamingState();
+        MaskingWriter maskingWriter = new MaskingWriter(current.dictionary(), current.normalizer(), writer, MASK_CHAR);
+        reader.transferTo(maskingWriter);
+        maskingWriter.finish();
+        return maskingWriter.position();
+    }
+
+    /**
+     * 流式方法只支持共享词库，带间隔的敏感词需要整段文本才能匹配
+     */
+    private State streamingState() {
+        State current = state.get();
+        if (current.gapMatcher() != null) {
+            throw new IllegalStateException("Streaming does not support sensitive words with gaps");
+        }
+        return current;
+    }
+
+    @Override
+    public SensitiveWordSnapshot snapshot() {
+        return snapshot(NO_OVERLAYS);
+    }
+
+    @Override
+    public SensitiveWordSnapshot snapshot(DoubleArrayACOverlay... overlays) {
+        State current = state.get();
+        DoubleArrayACOverlay[] layers = overlays.clone();
+        SensitiveWordHitVerifier verifier = hitVerifier;
+        return SensitiveWordSnapshot.of(text -> hasSensitiveWord(current, layers, verifier, text),
+                text -> filter(current, layers, verifier, text));
+    }
+
+    @Override
+    public DoubleArrayACOverlay overlay(List<String> words) {
+        return words == null
+                ? DoubleArrayACOverlay.EMPTY
+                : DoubleArrayACOverlay.of(state.get().normalizer().normalizeWords(words));
+    }
+
+    /**
+     * 预扫描：文本中没有任何字符能作为敏感词首字时一定不会命中，不归一化文本，也不进入自动机<br>
+     * 插入了字符的敏感词与精确匹配的敏感词首字相同，不需要单独判断
+     */
+    private static boolean mayMatch(State state, DoubleArrayACOverlay[] overlays, String text) {
+        CharNormalizer normalizer = state.normalizer();
+        DoubleArrayACDictionary dictionary = state.dictionary();
+        for (int i = 0, len = text.length(); i < len; ++i) {
+            char c = normalizer.normalize(text.charAt(i));
+            if (c != SKIP && dictionary.startsWord(c, overlays)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasSensitiveWord(State state, DoubleArrayACOverlay[] overlays,
+                                            SensitiveWordHitVerifier verifier, String text) {
+        if (StrUtils.isBlank(text) || !mayMatch(state, overlays, text)) {
+            return false;
+        }
+        DoubleArrayACDictionary dictionary = state.dictionary();
+        DoubleArrayGapMatcher gapMatcher = state.gapMatcher();
+        CharNormalizer normalizer = state.normalizer();
+        if (verifier == null) {
+            // 逐字归一化后推进自动机，不生成归一化后的文本
+            return dictionary.containsAny(text, normalizer, overlays)
+                    || gapMatcher != null && gapMatcher.containsAny(text, normalizer);
+        }
+        // 二次确认需要归一化后的文本与命中区间
+        String source = normalizer.normalize(text).text();
+        ConfirmingListener confirming = new ConfirmingListener(verifier, source);
+        DoubleArrayACDictionary.Cursor cursor = dictionary.cursor(overlays);
+        DoubleArrayGapMatcher.Cursor gapCursor = gapMatcher == null ? null : gapMatcher.cursor();
+        for (int i = 0; i < source.length(); ++i) {
+            char c = source.charAt(i);
+            cursor.next(c, confirming);
+            if (gapCursor != null) {
+                gapCursor.next(c, confirming);
+            }
+            if (confirming.take() != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String filter(State state, DoubleArrayACOverlay[] overlays,
+                                 SensitiveWordHitVerifier verifier, String text) {
+        if (StrUtils.isBlank(text) || !mayMatch(state, overlays, text)) {
+            return text;
+        }
+        DoubleArrayACDictionary dictionary = state.dictionary();
+        DoubleArrayGapMatcher gapMatcher = state.gapMatcher();
+        NormalizedText normalized = state.normalizer().normalize(text);
+        if (normalized.isIdentity() && verifier == null && gapMatcher == null) {
+            return dictionary.mask(text, MASK_CHAR, overlays);
+        }
+        String source = normalized.text();
+        TextMasker masker = new TextMasker(text, normalized, MASK_CHAR);
+        DoubleArrayACDictionary.Cursor cursor = dictionary.cursor(overlays);
+        DoubleArrayGapMatcher.Cursor gapCursor = gapMatcher == null ? null : gapMatcher.cursor();
+        ConfirmingListener confirming = verifier == null ? null : new ConfirmingListener(verifier, source);
+        for (int i = 0; i < source.length(); ++i) {
+            char c = source.charAt(i);
+            // 同一位置结束的多个敏感词只替换最长的一个（较短的是它的后缀），插入的字符一并替换
+            int matchLength;
+            if (confirming == null) {
+                matchLength = cursor.next(c);
+                if (gapCursor != null) {
+                    matchLength = Math.max(matchLength, gapCursor.next(c));
+                }
+            } else {
+                cursor.next(c, confirming);
+                if (gapCursor != null) {
+                    gapCursor.next(c, confirming);
+                }
+                matchLength = confirming.take();
+            }
+            if (matchLength != 0) {
+                masker.mask(i + 1 - matchLength, i + 1);
+            }
+        }
+        return masker.result();
+    }
+
+    /**
+     * 逐位置二次确认同一位置结束的所有命中，与{@link #match(String, SensitiveWordMatchSink)}确认的命中一致：
+     * 最长的命中未通过确认时，继续确认更短的命中<br>
+     * 只记录通过确认的最长命中，不长于它的命中是它的后缀，不再确认
+     */
+    private static final class ConfirmingListener implements PayloadMatchListener {
+
+        private final SensitiveWordHitVerifier verifier;
+
+        private final String source;
+
+        /**
+         * 当前位置通过确认的最长命中长度
+         */
+        private int longest;
+
+        private ConfirmingListener(SensitiveWordHitVerifier verifier, String source) {
+            this.verifier = verifier;
+            this.source = source;
+        }
+
+        @Override
+        public void onMatch(long payload, int start, int end) {
+            if (end - start > longest && verifier.verify(source, start, end)) {
+                longest = end - start;
+            }
+        }
+
+        /**
+         * 取出当前位置通过确认的最长命中长度，并为下一个位置清零
+         *
+         * @return 命中长度，0表示没有通过确认的命中
+         */
+        int take() {
+            int matchLength = longest;
+            longest = 0;
+            return matchLength;
+        }
+    }
+
+    @Override
+    public void loadWord(List<String> words) {
+        if (words == null) {
+            return;
+        }
+        CharNormalizer normalizer = state.get().normalizer();
+        DoubleArrayACDictionary loaded = storage(DoubleArrayACDictionary.of(normalizer.normalizeWords(words)));
+        synchronized (state) {
+            state.set(new State(loaded, null, normalizer));
+        }
+    }
+
+    @Override
+    public void loadSensitiveWord(List<SensitiveWord> words) {
+        if (words == null) {
+            return;
+        }
+        CharNormalizer normalizer = state.get().normalizer();
+        Entries entries = entriesOf(words, normalizer);
+        DoubleArrayACDictionary loaded = storage(DoubleArrayACDictionary.of(entries.words(), entries.payloads()));
+        DoubleArrayGapMatcher loadedGapMatcher =
+                DoubleArrayGapMatcher.of(entries.words(), entries.payloads(), entries.gaps());
+        synchronized (state) {
+            state.set(new State(loaded, loadedGapMatcher, normalizer));
+        }
+    }
+
+    /**
+     * 归一化敏感词，并计算与之一一对应的附加数据与允许间隔
+     */
+    private Entries entriesOf(List<SensitiveWord> words, CharNormalizer normalizer) {
+        List<String> wordList = new ArrayList<>(words.size());
+        long[] payloads = new long[words.size()];
+        int[] gaps = new int[words.size()];
+        int[] currentCategoryGaps = categoryGaps;
+        for (SensitiveWord word : words) {
+            payloads[wordList.size()] = payloadOf(word);
+            gaps[wordList.size()] = gapOf(word, currentCategoryGaps);
+            wordList.add(normalizer.normalizeWord(word.getWord()));
+        }
+        return new Entries(wordList, payloads, gaps);
+    }
+
+    /**
+     * 按配置把全量构建的词库移到堆外，构建过程本身仍在堆内进行
+     */
+    private DoubleArrayACDictionary storage(DoubleArrayACDictionary built) {
+        return offHeap ? built.toOffHeap() : built;
+    }
+
+    /**
+     * 敏感词允许的间隔，未单独指定时取所属分类的默认值
+     */
+    private static int gapOf(SensitiveWord word, int[] categoryGaps) {
+        if (word.getMaxGap() != null) {
+            return checkGap(word.getMaxGap());
+        }
+        return word.getCategory() == null ? 0 : categoryGaps[word.getCategory().ordinal()];
+    }
+
+    /**
+     * 将敏感词的ID、分类与严重程度编码为附加数据
+     */
+    private static long payloadOf(SensitiveWord word) {
+        long id = word.getId() == null ? 0 : word.getId();
+        if (id < 0 || id > ID_MASK) {
+            throw new IllegalArgumentException("Sensitive word id out of range: " + id);
+        }
+        long category = word.getCategory() == null ? 0 : word.getCategory().ordinal() + 1;
+        long severity = word.getSeverity() == null ? 0 : word.getSeverity().ordinal() + 1;
+        return severity << (ID_BITS + 8) | category << ID_BITS | id;
+    }
+
+    private static SensitiveWordCategoryEnum categoryOf(long payload) {
+        int category = (int) (payload >>> ID_BITS & 0xFF);
+        return category == 0 ? SensitiveWordCategoryEnum.OTHER : CATEGORIES[category - 1];
+    }
+
+    private static SensitiveWordSeverityEnum severityOf(long payload) {
+        int severity = (int) (payload >>> (ID_BITS + 8) & 0xFF);
+        return severity == 0 ? SensitiveWordSeverityEnum.MEDIUM : SEVERITIES[severity - 1];
+    }
+
+    @Override
+    public void addWord(List<String> words) {
+        synchronized (state) {
+            State current = state.get();
+            state.set(current.withDictionary(
+                    current.dictionary().withAdded(current.normalizer().normalizeWords(words))));
+        }
+    }
+
+    /**
+     * 新增或更新带分类与严重程度的敏感词，已存在的敏感词以新的附加数据与允许间隔为准
+     *
+     * @param words 敏感词数组
+     */
+    @Override
+    public void addSensitiveWord(List<SensitiveWord> words) {
+        synchronized (state) {
+            State current = state.get();
+            Entries entries = entriesOf(words, current.normalizer());
+            DoubleArrayGapMatcher gapMatcher = current.gapMatcher();
+            state.set(new State(current.dictionary().withAdded(entries.words(), entries.payloads()),
+                    gapMatcher == null
+                            ? DoubleArrayGapMatcher.of(entries.words(), entries.payloads(), entries.gaps())
+                            : gapMatcher.withAdded(entries.words(), entries.payloads(), entries.gaps()),
+                    current.normalizer()));
+        }
+    }
+
+    @Override
+    public void removeWord(List<String> words) {
+        synchronized (state) {
+            State current = state.get();
+            List<String> normalized = current.normalizer().normalizeWords(words);
+            DoubleArrayGapMatcher gapMatcher = current.gapMatcher();
+            state.set(new State(current.dictionary().withRemoved(normalized),
+                    gapMatcher == null ? null : gapMatcher.withRemoved(normalized),
+                    current.normalizer()));
+        }
+    }
+
+    @Override
+    public void saveSnapshot(Path file, long dataVersion) throws IOException {
+        State current = state.get();
+        DoubleArrayACSnapshot.write(file, current.dictionary(), current.gapMatcher(), dataVersion,
+                fingerprint(current.normalizer()));
+    }
+
+    @Override
+    public boolean loadSnapshot(Path file, long dataVersion) throws IOException {
+        // 敏感词在加载时已按当前规则归一化，规则变化后快照同样视为过期
+        CharNormalizer normalizer = state.get().normalizer();
+        DoubleArrayACSnapshot loaded = DoubleArrayACSnapshot.read(file, dataVersion, fingerprint(normalizer), offHeap);
+        if (loaded == null) {
+            return false;
+        }
+        synchronized (state) {
+            state.set(new State(loaded.dictionary(), loaded.gapMatcher(), normalizer));
+        }
+        return true;
+    }
+
+    /**
+     * 构建规则的指纹，包含归一化规则与各分类默认允许的间隔
+     */
+    private long fingerprint(CharNormalizer normalizer) {
+        long fingerprint = normalizer.fingerprint();
+        for (int gap : categoryGaps) {
+            fingerprint = fingerprint * 31 + gap;
+        }
+        return fingerprint;
+    }
+
+    @Override
+    public int wordCount() {
+        return state.get().dictionary().wordCount();
+    }
+
+    @Override
+    public long memoryEstimate() {
+        State current = state.get();
+        long size = current.dictionary().memoryEstimate();
+        return current.gapMatcher() == null ? size : size + current.gapMatcher().memoryEstimate();
+    }
+
+    @Override
+    public long offHeapSize() {
+        return state.get().dictionary().offHeapSize();
+    }
+
+    @Override
+    public boolean needsCompaction() {
+        return state.get().dictionary().needsCompaction();
+    }
+
+    @Override
+    public void compact() {
+        State current = state.get();
+        DoubleArrayACDictionary compacted = storage(current.dictionary().compact());
+        // 合并期间如果发生了新的变更，放弃本次合并，等待下一次
+        state.compareAndSet(current, current.withDictionary(compacted));
+    }
+
+    /**
+     * 归一化后的敏感词及与之一一对应的附加数据与允许间隔
+     */
+    private record Entries(List<String> words, long[] payloads, int[] gaps) {
+    }
+
+    /**
+     * 过滤器的状态，不可变
+     *
+     * @param dictionary 词库
+     * @param gapMatcher 允许字间插入字符的敏感词，为null时只做精确匹配
+     * @param normalizer 字符归一化，词库中的敏感词已按该规则归一化
+     */
+    private record State(DoubleArrayACDictionary dictionary, DoubleArrayGapMatcher gapMatcher,
+                         CharNormalizer normalizer) {
+
+        State withDictionary(DoubleArrayACDictionary dictionary) {
+            return new State(dictionary, gapMatcher, normalizer);
+        }
+    }
+
+    private static class Holder {
+        private static final DATFilter INSTANCE = new DATFilter();
+    }
+}
@@ -1,6 +1,9 @@
 package org.ricky.common.sensitiveword.domain.filter.impl;
 
-import org.ricky.common.sensitiveword.domain.filter.SensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.algorithm.FirstCharBitmap;
+import org.ricky.common.sensitiveword.domain.filter.IncrementalSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordSnapshot;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
 import org.ricky.common.sensitiveword.infrastructure.utils.StrUtils;
 import org.springframework.util.CollectionUtils;
 
@@ -13,40 +16,35 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
 
+import static org.ricky.common.sensitiveword.domain.normalize.CharNormalizer.SKIP;
+
 /**
  * @author Ricky
  * @version 1.0
  * @date 2024/8/21
  * @className DFAFilter
- * @desc DFA敏感词算法
+ * @desc DFA敏感词算法<br>
+ * 增删敏感词时采用路径复制，只复制从根节点到目标节点路径上的节点，未受影响的子树新旧字典共用<br>
+ * 根节点的转移按字符分页保存，路径复制时只复制页表与受影响的页，开销与根节点的转移数无关<br>
+ * 根节点的转移另存为首字位图：文本中没有字符能作为首字时直接返回，扫描时也只从能作为首字的位置开始查询字典<br>
  */
-public final class DFAFilter implements SensitiveWordFilter {
-
-    /**
-     * 敏感词字典的根节点
-     */
-    private static Word root = new Word();
+public final class DFAFilter implements IncrementalSensitiveWordFilter {
 
     /**
-     * 替代字符
+     * 敏感词字典<br>
+     * 构建完成后整体替换，每次过滤只读取一次，过滤过程中发生的替换不会影响本次过滤
      */
-    private final static char MASK_CHAR = '*';
+    private volatile Dictionary dictionary = Dictionary.EMPTY;
 
     /**
-     * 遇到这些字符就会跳过
+     * 字符归一化，遇到被跳过的字符时继续向后匹配
      */
-    private final static String skipChars = " !*-+_=,，.@;:；：。、？?（）()【】[]《》<>“”\"‘’";
+    private volatile CharNormalizer normalizer = CharNormalizer.defaults();
 
     /**
-     * 遇到这些字符就会跳过
+     * 替代字符
      */
-    private final static Set<Character> skipSet = new HashSet<>();
-
-    static {
-        for (char c : skipChars.toCharArray()) {
-            skipSet.add(c);
-        }
-    }
+    private final static char MASK_CHAR = '*';
 
     private DFAFilter() {
     }
@@ -57,34 +55,81 @@ public final class DFAFilter implements SensitiveWordFilter {
 
     @Override
     public boolean hasSensitiveWord(String text) {
+        return hasSensitiveWord(dictionary, normalizer, text);
+    }
+
+    @Override
+    public String filter(String text) {
+        return filter(dictionary, normalizer, text);
+    }
+
+    @Override
+    public SensitiveWordSnapshot snapshot() {
+        Dictionary current = dictionary;
+        CharNormalizer currentNormalizer = normalizer;
+        return SensitiveWordSnapshot.of(text -> hasSensitiveWord(current, currentNormalizer, text),
+                text -> filter(current, currentNormalizer, text));
+    }
+
+    @Override
+    public void normalizer(CharNormalizer normalizer) {
+        if (normalizer == null) {
+            throw new IllegalArgumentException("normalizer can not be null");
+        }
+        this.normalizer = normalizer;
+    }
+
+    private static boolean hasSensitiveWord(Dictionary dictionary, CharNormalizer normalizer, String text) {
         if (StrUtils.isBlank(text)) {
             return false;
         }
-        return !Objects.equals(filter(text), text);
+        FirstCharBitmap firstChars = dictionary.firstChars();
+        // 与filter的遍历方式相同，但只读不写，命中第一个敏感词后立即返回
+        for (int index = 0; index < text.length(); index++) {
+            // 被跳过的字符归一化为SKIP，同样不在首字位图中
+            if (!firstChars.contains(normalizer.normalize(text.charAt(index)))) {
+                continue;
+            }
+            Word word = null;
+            for (int i = index; i < text.length(); i++) {
+                char c = normalizer.normalize(text.charAt(i));
+                if (c == SKIP) {
+                    continue;
+                }
+                word = dictionary.next(word, c);
+                if (word == null) {
+                    break;
+                }
+                if (word.end) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
-    @Override
-    public String filter(String text) {
+    private static String filter(Dictionary dictionary, CharNormalizer normalizer, String text) {
+        FirstCharBitmap firstChars = dictionary.firstChars();
+        if (StrUtils.isBlank(text) || !firstChars.mayMatch(text, normalizer)) {
+            return text;
+        }
         StringBuilder result = new StringBuilder(text);
         int index = 0;
         while (index < result.length()) {
             char c = result.charAt(index);
-            if (skip(c)) {
+            if (!firstChars.contains(normalizer.normalize(c))) {
                 index++;
                 continue;
             }
-            Word word = root;
+            Word word = null;
             int start = index;
             boolean found = false;
             for (int i = index; i < result.length(); i++) {
-                c = result.charAt(i);
-                if (skip(c)) {
+                c = normalizer.normalize(result.charAt(i));
+                if (c == SKIP) {
                     continue;
                 }
-                if (c >= 'A' && c <= 'Z') {
-                    c += 32;
-                }
-                word = word.next.get(c);
+                word = dictionary.next(word, c);
                 if (word == null) {
                     break;
                 }
@@ -106,34 +151,194 @@ public final class DFAFilter implements SensitiveWordFilter {
     @Override
     public void loadWord(List<String> words) {
         if (!CollectionUtils.isEmpty(words)) {
-            Word newRoot = new Word();
-            words.forEach(word -> loadWord(word, newRoot));
-            root = newRoot;
+            Root newRoot = new Root();
+            CharNormalizer currentNormalizer = normalizer;
+            words.forEach(word -> loadWord(word, currentNormalizer, newRoot));
+            synchronized (this) {
+                dictionary = new Dictionary(newRoot, FirstCharBitmap.of(newRoot.chars()));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void addWord(List<String> words) {
+        if (CollectionUtils.isEmpty(words)) {
+            return;
+        }
+        Dictionary current = dictionary;
+        Set<Word> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+        Root newRoot = current.root().copy();
+        List<Character> addedFirstChars = new ArrayList<>();
+        for (String word : words) {
+            if (StrUtils.isBlank(word)) {
+                continue;
+            }
+            Word node = null;
+            for (int i = 0; i < word.length(); i++) {
+                char c = normalizer.normalize(word.charAt(i));
+                if (c == SKIP) {
+                    continue;
+                }
+                if (node == null) {
+                    node = copyFirst(newRoot, c, copied, true);
+                    addedFirstChars.add(c);
+                } else {
+                    node = copyChild(node, c, copied, true);
+                }
+            }
+            if (node != null) {
+                node.end = true;
+            }
+        }
+        dictionary = new Dictionary(newRoot, current.firstChars().with(addedFirstChars, List.of()));
+    }
+
+    @Override
+    public synchronized void removeWord(List<String> words) {
+        if (CollectionUtils.isEmpty(words)) {
+            return;
+        }
+        Dictionary current = dictionary;
+        Set<Word> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+        Root newRoot = current.root().copy();
+        List<Character> removedFirstChars = new ArrayList<>();
+        // path.get(i)经由pathChars.get(i)到达，path.get(0)是根节点的子节点
+        List<Word> path = new ArrayList<>();
+        List<Character> pathChars = new ArrayList<>();
+        for (String word : words) {
+            if (StrUtils.isBlank(word)) {
+                continue;
+            }
+            path.clear();
+            pathChars.clear();
+            Word node = null;
+            for (int i = 0; i < word.length(); i++) {
+                char c = normalizer.normalize(word.charAt(i));
+                if (c == SKIP) {
+                    continue;
+                }
+                node = node == null ? copyFirst(newRoot, c, copied, false) : copyChild(node, c, copied, false);
+                if (node == null) {
+                    break;
+                }
+                path.add(node);
+                pathChars.add(c);
+            }
+            if (node == null) {
+                continue;
+            }
+            node.end = false;
+            // 剪掉不再通向任何敏感词的分支
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Word pruned = path.get(i);
+                if (pruned.end || !pruned.next.isEmpty()) {
+                    break;
+                }
+                if (i == 0) {
+                    newRoot.remove(pathChars.get(0));
+                    removedFirstChars.add(pathChars.get(0));
+                } else {
+                    path.get(i - 1).next.remove(pathChars.get(i));
+                }
+            }
+        }
+        dictionary = new Dictionary(newRoot, current.firstChars().with(List.of(), removedFirstChars));
+    }
+
+    /**
+     * 复制子节点并挂到（已复制的）父节点上，同一批变更中每个节点最多复制一次
+     *
+     * @param parent         已复制的父节点
+     * @param c              字符
+     * @param copied         本批变更中已复制或新建的节点
+     * @param createIfAbsent 子节点不存在时是否新建
+     * @return 子节点副本，不存在且不新建时返回null
+     */
+    private static Word copyChild(Word parent, char c, Set<Word> copied, boolean createIfAbsent) {
+        Word child = parent.next.get(c);
+        if (child == null) {
+            if (!createIfAbsent) {
+                return null;
+            }
+            child = new Word();
+            copied.add(child);
+        } else if (!copied.contains(child)) {
+            child = copyOf(child, copied);
+        } else {
+            return child;
         }
+        parent.next.put(c, child);
+        return child;
+    }
+
+    /**
+     * 复制根节点的子节点并挂到（已复制的）根节点上，同一批变更中每个节点最多复制一次
+     *
+     * @param root           已复制的根节点
+     * @param c              字符
+     * @param copied         本批变更中已复制或新建的节点
+     * @param createIfAbsent 子节点不存在时是否新建
+     * @return 子节点副本，不存在且不新建时返回null
+     */
+    private static Word copyFirst(Root root, char c, Set<Word> copied, boolean createIfAbsent) {
+        Word child = root.get(c);
+        if (child == null) {
+            if (!createIfAbsent) {
+                return null;
+            }
+            child = new Word();
+            copied.add(child);
+        } else if (!copied.contains(child)) {
+            child = copyOf(child, copied);
+        } else {
+            return child;
+        }
+        root.put(c, child);
+        return child;
+    }
+
+    /**
+     * 浅复制节点，子节点仍与原节点共用
+     */
+    private static Word copyOf(Word word, Set<Word> copied) {
+        Word copy = new Word();
+        copy.end = word.end;
+        copy.next.putAll(word.next);
+        copied.add(copy);
+        return copy;
     }
 
     /**
      * 加载敏感词
      *
-     * @param word 词
+     * @param word       词
+     * @param normalizer 字符归一化
+     * @param root       正在构建的字典根节点
      */
-    private void loadWord(String word, Word root) {
+    private static void loadWord(String word, CharNormalizer normalizer, Root root) {
         if (StrUtils.isBlank(word)) {
             return;
         }
-        Word current = root;
+        Word current = null;
         for (int i = 0; i < word.length(); i++) {
-            char c = word.charAt(i);
-            // 如果是大写字母, 转换为小写
-            if (c >= 'A' && c <= 'Z') {
-                c += 32;
-            }
-            if (skip(c)) {
+            // 与扫描时使用同样的归一化规则
+            char c = normalizer.normalize(word.charAt(i));
+            if (c == SKIP) {
                 continue;
             }
-            current = current.next.computeIfAbsent(c, k -> new Word());
+            if (current == null) {
+                current = root.get(c);
+                if (current == null) {
+                    current = new Word();
+                    root.put(c, current);
+                }
+            } else {
+                current = current.next.computeIfAbsent(c, k -> new Word());
+            }
+        }
+        if (current != null) {
+            current.end = true;
         }
-        current.end = true;
     }
 
 
@@ -168,13 +373,102 @@ public final class DFAFilter implements SensitiveWordFilter {
     }
 
     /**
-     * 判断是否需要跳过当前字符
+     * 敏感词字典
      *
-     * @param c 待检测字符
-     * @return true: 需要跳过, false: 不需要跳过
+     * @param root       根节点
+     * @param firstChars 根节点的转移字符
      */
-    private boolean skip(char c) {
-        return skipSet.contains(c);
+    private record Dictionary(Root root, FirstCharBitmap firstChars) {
+
+        private static final Dictionary EMPTY = new Dictionary(new Root(), FirstCharBitmap.EMPTY);
+
+        /**
+         * 状态转移
+         *
+         * @param word 当前节点，null表示根节点
+         * @param c    字符
+         * @return 子节点，不存在时返回null
+         */
+        private Word next(Word word, char c) {
+            return word == null ? root.get(c) : word.next.get(c);
+        }
+    }
+
+    /**
+     * 根节点<br>
+     * 根节点的转移数与首字数相同，可达数千个，按字符的高8位分页保存，
+     * 复制时只复制页表，页在本批变更中第一次写入时才复制
+     */
+    private static final class Root {
+
+        private static final int PAGE_BITS = 8;
+
+        private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+        private final Word[][] pages;
+
+        /**
+         * 本实例独占、可以直接写入的页
+         */
+        private final boolean[] owned;
+
+        private Root() {
+            this(new Word[(Character.MAX_VALUE + 1) >>> PAGE_BITS][]);
+        }
+
+        private Root(Word[][] pages) {
+            this.pages = pages;
+            this.owned = new boolean[pages.length];
+        }
+
+        /**
+         * 复制页表，页仍与原节点共用
+         */
+        private Root copy() {
+            return new Root(pages.clone());
+        }
+
+        private Word get(char c) {
+            Word[] page = pages[c >>> PAGE_BITS];
+            return page == null ? null : page[c & PAGE_MASK];
+        }
+
+        private void put(char c, Word word) {
+            int index = c >>> PAGE_BITS;
+            Word[] page = pages[index];
+            if (page == null) {
+                page = pages[index] = new Word[PAGE_MASK + 1];
+            } else if (!owned[index]) {
+                page = pages[index] = page.clone();
+            }
+            owned[index] = true;
+            page[c & PAGE_MASK] = word;
+        }
+
+        private void remove(char c) {
+            if (get(c) != null) {
+                put(c, null);
+            }
+        }
+
+        /**
+         * 所有转移字符
+         */
+        private List<Character> chars() {
+            List<Character> chars = new ArrayList<>();
+            for (int index = 0; index < pages.length; index++) {
+                Word[] page = pages[index];
+                if (page == null) {
+                    continue;
+                }
+                for (int i = 0; i < page.length; i++) {
+                    if (page[i] != null) {
+                        chars.add((char) (index << PAGE_BITS | i));
+                    }
+                }
+            }
+            return chars;
+        }
     }
 
     /**
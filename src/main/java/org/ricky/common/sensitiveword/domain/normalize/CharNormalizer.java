@@ -0,0 +1,328 @@
+package org.ricky.common.sensitiveword.domain.normalize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className CharNormalizer
+ * @desc 基于查表的字符归一化<br>
+ * 构建时把全角转半角、大小写、繁简转换、跳过字符等规则合成为一张{@code char[65536]}的表，
+ * 归一化时每个字符只需一次数组访问，不会产生任何对象分配<br>
+ * 每个字符要么映射为一个字符，要么被跳过（{@link #SKIP}），不会一对多，因此归一化后的下标总能对应回原文<br>
+ * 加载敏感词与扫描文本必须使用同一个实例；实例不可变，可以被多个线程安全地共享<br>
+ */
+public final class CharNormalizer {
+
+    /**
+     * 被跳过的字符在表中的值
+     */
+    public static final char SKIP = '\0';
+
+    /**
+     * 内置的繁简对照表
+     */
+    private static final String TRADITIONAL_SIMPLIFIED_TABLE = "sensitiveword/traditional-simplified.txt";
+
+    /**
+     * 默认跳过的字符，常被用于在敏感词中间插入以规避检测
+     */
+    public static final String DEFAULT_SKIP_CHARS = " !*-+_=,，.@;:；：。、？?（）()【】[]《》<>“”\"‘’";
+
+    /**
+     * 零宽字符与软连字符
+     */
+    private static final String ZERO_WIDTH_CHARS = "\u200B\u200C\u200D\u200E\u200F\u2060\uFEFF\u00AD";
+
+    private final char[] table;
+
+    /**
+     * 归一化规则的指纹
+     */
+    private final long fingerprint;
+
+    private CharNormalizer(char[] table) {
+        this.table = table;
+        CRC32 crc = new CRC32();
+        for (char c : table) {
+            crc.update(c >>> 8);
+            crc.update(c);
+        }
+        this.fingerprint = crc.getValue();
+    }
+
+    /**
+     * 不做任何归一化
+     *
+     * @return 归一化
+     */
+    public static CharNormalizer identity() {
+        return IdentityHolder.INSTANCE;
+    }
+
+    /**
+     * 默认的归一化：全角转半角、转小写、繁体转简体、跳过零宽字符与{@link #DEFAULT_SKIP_CHARS}
+     *
+     * @return 归一化
+     */
+    public static CharNormalizer defaults() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 归一化规则的指纹，规则相同的归一化指纹相同<br>
+     * 敏感词在加载时已按规则归一化，规则变化后按旧规则构建的字典需要重建
+     *
+     * @return 指纹
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 归一化单个字符
+     *
+     * @param c 字符
+     * @return 归一化后的字符，被跳过时为{@link #SKIP}
+     */
+    public char normalize(char c) {
+        return table[c];
+    }
+
+    /**
+     * 该字符是否被跳过
+     *
+     * @param c 字符
+     * @return true=跳过 false=不跳过
+     */
+    public boolean isSkipped(char c) {
+        return table[c] == SKIP;
+    }
+
+    /**
+     * 归一化敏感词，去掉被跳过的字符
+     *
+     * @param word 敏感词
+     * @return 归一化后的敏感词，可能为空串
+     */
+    public String normalizeWord(String word) {
+        if (word == null) {
+            return null;
+        }
+        return normalize(word).text();
+    }
+
+    /**
+     * 归一化敏感词列表，去掉归一化后为空的词
+     *
+     * @param words 敏感词列表
+     * @return 归一化后的敏感词列表
+     */
+    public List<String> normalizeWords(Collection<String> words) {
+        List<String> result = new ArrayList<>(words.size());
+        for (String word : words) {
+            String normalized = normalizeWord(word);
+            if (normalized != null && !normalized.isEmpty()) {
+                result.add(normalized);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 归一化文本，去掉被跳过的字符并记录每个字符在原文中的下标
+     *
+     * @param text 文本
+     * @return 归一化后的文本，没有任何字符发生变化时直接使用原文，不分配数组
+     */
+    public NormalizedText normalize(String text) {
+        int len = text.length();
+        int i = 0;
+        while (i < len && table[text.charAt(i)] == text.charAt(i) && text.charAt(i) != SKIP) {
+            ++i;
+        }
+        if (i == len) {
+            return new NormalizedText(text, null);
+        }
+        char[] chars = new char[len];
+        int[] offsets = new int[len];
+        text.getChars(0, i, chars, 0);
+        for (int k = 0; k < i; ++k) {
+            offsets[k] = k;
+        }
+        int size = i;
+        for (; i < len; ++i) {
+            char c = table[text.charAt(i)];
+            if (c != SKIP) {
+                chars[size] = c;
+                offsets[size++] = i;
+            }
+        }
+        return new NormalizedText(new String(chars, 0, size), offsets);
+    }
+
+    /**
+     * 归一化规则构建器<br>
+     * 规则按以下顺序合成：字符映射（如繁简转换） -> 全角转半角 -> 转小写 -> 跳过字符，
+     * 映射后的字符是跳过字符时，原字符同样被跳过
+     */
+    public static final class Builder {
+
+        private final Map<Character, Character> mappings = new HashMap<>();
+
+        private boolean fullWidthToHalfWidth;
+
+        private boolean lowercase;
+
+        private boolean skipZeroWidth;
+
+        private String skipChars = "";
+
+        private Builder() {
+        }
+
+        /**
+         * 全角字符转为半角字符，全角空格转为半角空格
+         */
+        public Builder fullWidthToHalfWidth() {
+            this.fullWidthToHalfWidth = true;
+            return this;
+        }
+
+        /**
+         * 转为小写
+         */
+        public Builder lowercase() {
+            this.lowercase = true;
+            return this;
+        }
+
+        /**
+         * 跳过零宽字符
+         */
+        public Builder skipZeroWidth() {
+            this.skipZeroWidth = true;
+            return this;
+        }
+
+        /**
+         * 跳过给定的字符
+         *
+         * @param skipChars 跳过的字符
+         */
+        public Builder skipChars(String skipChars) {
+            this.skipChars = skipChars == null ? "" : skipChars;
+            return this;
+        }
+
+        /**
+         * 添加单个字符映射
+         *
+         * @param from 原字符
+         * @param to   映射后的字符
+         */
+        public Builder mapping(char from, char to) {
+            mappings.put(from, to);
+            return this;
+        }
+
+        /**
+         * 使用内置的繁简对照表将繁体字转为简体字
+         */
+        public Builder traditionalToSimplified() {
+            InputStream inputStream = CharNormalizer.class.getClassLoader().getResourceAsStream(TRADITIONAL_SIMPLIFIED_TABLE);
+            if (inputStream == null) {
+                throw new IllegalStateException("Missing resource: " + TRADITIONAL_SIMPLIFIED_TABLE);
+            }
+            return mappings(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        }
+
+        /**
+         * 从对照表读取字符映射并关闭Reader<br>
+         * 每行为“原字符 制表符 映射后的字符”，多个候选以空格分隔时取第一个，#开头的行为注释，
+         * 与OpenCC的TSCharacters.txt格式相同，可以直接使用完整的繁简对照表
+         *
+         * @param reader 对照表
+         */
+        public Builder mappings(Reader reader) {
+            try (BufferedReader bufferedReader = new BufferedReader(reader)) {
+                String line;
+                while ((line = bufferedReader.readLine()) != null) {
+                    if (line.isEmpty() || line.charAt(0) == '#') {
+                        continue;
+                    }
+                    int tab = line.indexOf('\t');
+                    // 只接受单字符到单字符的映射，词组映射会改变长度
+                    if (tab != 1 || line.length() < 3 || Character.isWhitespace(line.charAt(2))) {
+                        continue;
+                    }
+                    mappings.put(line.charAt(0), line.charAt(2));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+
+        public CharNormalizer build() {
+            char[] table = new char[Character.MAX_VALUE + 1];
+            boolean[] skipped = new boolean[Character.MAX_VALUE + 1];
+            for (char c : skipChars.toCharArray()) {
+                skipped[c] = true;
+            }
+            if (skipZeroWidth) {
+                for (char c : ZERO_WIDTH_CHARS.toCharArray()) {
+                    skipped[c] = true;
+                }
+            }
+            skipped[SKIP] = true;
+            for (int i = 0; i <= Character.MAX_VALUE; ++i) {
+                char c = mappings.getOrDefault((char) i, (char) i);
+                if (fullWidthToHalfWidth) {
+                    if (c >= '\uFF01' && c <= '\uFF5E') {
+                        c -= 0xFEE0;
+                    } else if (c == '\u3000') {
+                        c = ' ';
+                    }
+                }
+                if (lowercase) {
+                    c = Character.toLowerCase(c);
+                }
+                table[i] = skipped[i] || skipped[c] ? SKIP : c;
+            }
+            return new CharNormalizer(table);
+        }
+    }
+
+    private static class IdentityHolder {
+        private static final CharNormalizer INSTANCE = builder().build();
+    }
+
+    private static class DefaultHolder {
+        private static final CharNormalizer INSTANCE = builder()
+                .traditionalToSimplified()
+                .fullWidthToHalfWidth()
+                .lowercase()
+                .skipZeroWidth()
+                .skipChars(DEFAULT_SKIP_CHARS)
+                .build();
+    }
+
+}
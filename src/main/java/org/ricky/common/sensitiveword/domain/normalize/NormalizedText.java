@@ -0,0 +1,63 @@
+package org.ricky.common.sensitiveword.domain.normalize;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className NormalizedText
+ * @desc 归一化后的文本<br>
+ * 记录归一化后每个字符在原文中的下标，用于把命中区间对应回原文<br>
+ */
+public final class NormalizedText {
+
+    private final String text;
+
+    /**
+     * 归一化后第i个字符在原文中的下标，为null表示与原文完全相同
+     */
+    private final int[] offsets;
+
+    NormalizedText(String text, int[] offsets) {
+        this.text = text;
+        this.offsets = offsets;
+    }
+
+    /**
+     * 归一化后的文本
+     *
+     * @return 文本
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * 归一化后的文本是否与原文完全相同
+     *
+     * @return true=相同 false=不同
+     */
+    public boolean isIdentity() {
+        return offsets == null;
+    }
+
+    /**
+     * 区间起点对应的原文下标
+     *
+     * @param start 归一化后的下标（包含）
+     * @return 原文下标（包含）
+     */
+    public int originalStart(int start) {
+        return offsets == null ? start : offsets[start];
+    }
+
+    /**
+     * 区间终点对应的原文下标
+     *
+     * @param end 归一化后的下标（不包含）
+     * @return 原文下标（不包含）
+     */
+    public int originalEnd(int end) {
+        return offsets == null || end == 0 ? end : offsets[end - 1] + 1;
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.ricky.common.sensitiveword.domain.normalize;
+
+import java.util.Arrays;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className TextMasker
+ * @desc 按归一化后的命中区间替换原文<br>
+ * 区间两端对应回原文后整体替换，夹在敏感词中间被跳过的字符也会被替换；只在第一次命中时复制原文<br>
+ * 区间需按结束下标非递减的顺序给出，AC自动机的输出天然满足这一点<br>
+ */
+public final class TextMasker {
+
+    private final String original;
+
+    private final NormalizedText normalized;
+
+    private final char maskChar;
+
+    private char[] masked;
+
+    /**
+     * 最近一段已被替换的连续区间[maskedStart, maskedEnd)，原文下标
+     */
+    private int maskedStart;
+    private int maskedEnd;
+
+    public TextMasker(String original, NormalizedText normalized, char maskChar) {
+        this.original = original;
+        this.normalized = normalized;
+        this.maskChar = maskChar;
+    }
+
+    /**
+     * 替换命中区间
+     *
+     * @param start 归一化后的起始下标（包含）
+     * @param end   归一化后的结束下标（不包含）
+     */
+    public void mask(int start, int end) {
+        int from = normalized.originalStart(start);
+        int to = normalized.originalEnd(end);
+        if (masked == null) {
+            masked = original.toCharArray();
+        }
+        if (from < maskedEnd) {
+            // 与上一段区间重叠，只替换尚未被替换的部分
+            if (from < maskedStart) {
+                Arrays.fill(masked, from, maskedStart, maskChar);
+                maskedStart = from;
+            }
+            if (to > maskedEnd) {
+                Arrays.fill(masked, maskedEnd, to, maskChar);
+                maskedEnd = to;
+            }
+        } else {
+            Arrays.fill(masked, from, to, maskChar);
+            maskedStart = from;
+            maskedEnd = to;
+        }
+    }
+
+    /**
+     * 替换后的文本
+     *
+     * @return 替换后的文本，没有任何命中时返回原文
+     */
+    public String result() {
+        return masked == null ? original : new String(masked);
+    }
+
+}
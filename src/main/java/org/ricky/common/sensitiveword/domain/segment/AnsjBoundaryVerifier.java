@@ -0,0 +1,98 @@
+package org.ricky.common.sensitiveword.domain.segment;
+
+import org.ansj.domain.Term;
+import org.ansj.splitWord.analysis.ToAnalysis;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordHitVerifier;
+
+import java.util.BitSet;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className AnsjBoundaryVerifier
+ * @desc 基于ansj分词边界的命中确认<br>
+ * 命中区间的两端都落在分词边界上时才确认命中，例如“最近平时”会被切分为“最近/平时”，其中的“近平”不会被确认<br>
+ * 只对命中位置前后的一小段窗口分词，分词器与最近一次的分词结果按线程缓存，
+ * 同一文本中相邻的多个命中共用一次分词，短文本（如弹幕）整段只分词一次；缓存按引用比较文本，因此文本须不可变<br>
+ */
+public final class AnsjBoundaryVerifier implements SensitiveWordHitVerifier {
+
+    /**
+     * 默认的上下文窗口大小
+     */
+    public static final int DEFAULT_WINDOW = 8;
+
+    /**
+     * 命中区间前后各取多少个字符作为分词的上下文
+     */
+    private final int window;
+
+    private final ThreadLocal<Segmentation> segmentations = ThreadLocal.withInitial(Segmentation::new);
+
+    public AnsjBoundaryVerifier() {
+        this(DEFAULT_WINDOW);
+    }
+
+    public AnsjBoundaryVerifier(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.window = window;
+    }
+
+    @Override
+    public boolean verify(CharSequence text, int start, int end) {
+        int from = Math.max(0, start - window);
+        int to = Math.min(text.length(), end + window);
+        Segmentation segmentation = segmentations.get();
+        if (!segmentation.covers(text, from, to)) {
+            segmentation.segment(text, from, to);
+        }
+        return segmentation.isBoundary(start) && segmentation.isBoundary(end);
+    }
+
+    /**
+     * 线程私有的分词器与最近一次的分词结果
+     */
+    private static final class Segmentation {
+
+        private final ToAnalysis analysis = new ToAnalysis();
+
+        /**
+         * 最近一次分词的文本与窗口[from, to)
+         */
+        private CharSequence text;
+        private int from;
+        private int to;
+
+        /**
+         * 窗口内的分词边界，下标相对于from
+         */
+        private final BitSet boundaries = new BitSet();
+
+        boolean covers(CharSequence text, int from, int to) {
+            return this.text == text && this.from <= from && this.to >= to;
+        }
+
+        void segment(CharSequence text, int from, int to) {
+            this.text = text;
+            this.from = from;
+            this.to = to;
+            boundaries.clear();
+            for (Term term : analysis.parseStr(text.subSequence(from, to).toString()).getTerms()) {
+                boundaries.set(term.getOffe());
+                boundaries.set(term.getOffe() + term.getName().length());
+            }
+        }
+
+        boolean isBoundary(int position) {
+            // 文本两端总是边界，命中区间之外至少保留了window个字符的上下文，不会落在窗口被截断的一端
+            if (position == 0 || position == text.length()) {
+                return true;
+            }
+            return boundaries.get(position - from);
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.ricky.common.sensitiveword.infrastructure;
+
+import org.ricky.common.sensitiveword.domain.SensitiveWord;
+import org.ricky.common.sensitiveword.domain.SensitiveWordChanges;
+import org.ricky.common.sensitiveword.domain.SensitiveWordRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className FileSensitiveWordRepository
+ * @desc 从本地文本文件读取敏感词的仓储，用于本地调试与测试<br>
+ * 文件为UTF-8编码，每行一个敏感词，空行会被忽略；修改文件后下次读取时生效<br>
+ * 文件的修改时间或大小变化时重新读取并与上次的内容比较，内容变化后推进变更版本；
+ * 只记住上一个版本的内容，因此只能从上一个版本或当前版本增量同步，更早的版本需要全量读取<br>
+ * 所有方法都是线程安全的<br>
+ */
+public class FileSensitiveWordRepository implements SensitiveWordRepository {
+
+    private final Path file;
+
+    private long changeVersion;
+
+    private Set<String> words = Set.of();
+
+    private long previousVersion = UNKNOWN_VERSION;
+
+    private Set<String> previousWords;
+
+    private FileTime lastModified;
+
+    private long lastSize = -1;
+
+    public FileSensitiveWordRepository(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("file can not be null");
+        }
+        this.file = file;
+    }
+
+    @Override
+    public synchronized List<String> listAllSensitiveWord() {
+        refresh();
+        return List.copyOf(words);
+    }
+
+    @Override
+    public synchronized long changeVersion() {
+        refresh();
+        return changeVersion;
+    }
+
+    @Override
+    public synchronized SensitiveWordChanges listChangesSince(long version) {
+        refresh();
+        if (version == changeVersion) {
+            return SensitiveWordChanges.none(changeVersion);
+        }
+        if (version != previousVersion) {
+            return null;
+        }
+        List<SensitiveWord> upserted = new ArrayList<>();
+        for (String word : words) {
+            if (!previousWords.contains(word)) {
+                SensitiveWord sensitiveWord = new SensitiveWord();
+                sensitiveWord.setWord(word);
+                upserted.add(sensitiveWord);
+            }
+        }
+        List<String> removed = previousWords.stream().filter(word -> !words.contains(word)).toList();
+        return new SensitiveWordChanges(changeVersion, upserted, removed);
+    }
+
+    /**
+     * 文件的修改时间或大小变化时重新读取
+     */
+    private void refresh() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            long size = Files.size(file);
+            if (modified.equals(lastModified) && size == lastSize) {
+                return;
+            }
+            Set<String> current = new LinkedHashSet<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    current.add(line.strip());
+                }
+            }
+            if (!current.equals(words)) {
+                previousVersion = changeVersion;
+                previousWords = words;
+                words = current;
+                ++changeVersion;
+            }
+            lastModified = modified;
+            lastSize = size;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read sensitive words from " + file, e);
+        }
+    }
+
+}
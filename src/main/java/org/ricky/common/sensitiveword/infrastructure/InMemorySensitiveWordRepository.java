@@ -0,0 +1,157 @@
+package org.ricky.common.sensitiveword.infrastructure;
+
+import org.ricky.common.sensitiveword.domain.SceneSensitiveWord;
+import org.ricky.common.sensitiveword.domain.SensitiveWord;
+import org.ricky.common.sensitiveword.domain.SensitiveWordChanges;
+import org.ricky.common.sensitiveword.domain.SensitiveWordRepository;
+
+import java.util.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className InMemorySensitiveWordRepository
+ * @desc 保存在内存中的敏感词仓储，用于本地调试与测试<br>
+ * 每次增删改都会推进变更版本并记录发生变化的敏感词，支持增量同步；
+ * 只保留最近{@link #MAX_CHANGES}条变更记录，更早的版本只能全量读取<br>
+ * 所有方法都是线程安全的<br>
+ */
+public class InMemorySensitiveWordRepository implements SensitiveWordRepository {
+
+    /**
+     * 保留的变更记录数
+     */
+    public static final int MAX_CHANGES = 100000;
+
+    private final Map<String, SensitiveWord> words = new LinkedHashMap<>();
+
+    private final List<SceneSensitiveWord> sceneWords = new ArrayList<>();
+
+    /**
+     * 变更版本 -> 发生变化的敏感词
+     */
+    private final NavigableMap<Long, String> changes = new TreeMap<>();
+
+    private long changeVersion;
+
+    private long nextId = 1;
+
+    /**
+     * 新增敏感词，已存在时保持不变
+     *
+     * @param word 敏感词
+     */
+    public synchronized void save(String word) {
+        if (words.containsKey(word)) {
+            return;
+        }
+        SensitiveWord sensitiveWord = new SensitiveWord();
+        sensitiveWord.setWord(word);
+        save(sensitiveWord);
+    }
+
+    /**
+     * 新增或更新敏感词，按敏感词本身去重，未指定ID时自动分配
+     *
+     * @param word 敏感词
+     */
+    public synchronized void save(SensitiveWord word) {
+        if (word == null || word.getWord() == null) {
+            throw new IllegalArgumentException("word can not be null");
+        }
+        SensitiveWord saved = copyOf(word);
+        SensitiveWord existing = words.get(saved.getWord());
+        if (saved.getId() == null) {
+            saved.setId(existing == null ? nextId++ : existing.getId());
+        } else {
+            nextId = Math.max(nextId, saved.getId() + 1);
+        }
+        if (saved.equals(existing)) {
+            return;
+        }
+        words.put(saved.getWord(), saved);
+        recordChange(saved.getWord());
+    }
+
+    /**
+     * 删除敏感词
+     *
+     * @param word 敏感词
+     */
+    public synchronized void remove(String word) {
+        if (words.remove(word) != null) {
+            recordChange(word);
+        }
+    }
+
+    /**
+     * 新增场景敏感词，场景敏感词不参与增量同步
+     *
+     * @param scene 场景
+     * @param word  敏感词
+     */
+    public synchronized void saveSceneWord(String scene, String word) {
+        SceneSensitiveWord sceneWord = new SceneSensitiveWord();
+        sceneWord.setScene(scene);
+        sceneWord.setWord(word);
+        sceneWords.add(sceneWord);
+    }
+
+    private void recordChange(String word) {
+        changes.put(++changeVersion, word);
+        if (changes.size() > MAX_CHANGES) {
+            changes.pollFirstEntry();
+        }
+    }
+
+    @Override
+    public synchronized List<String> listAllSensitiveWord() {
+        return List.copyOf(words.keySet());
+    }
+
+    @Override
+    public synchronized List<SensitiveWord> listAllSensitiveWordDetail() {
+        return words.values().stream().map(InMemorySensitiveWordRepository::copyOf).toList();
+    }
+
+    @Override
+    public synchronized List<SceneSensitiveWord> listAllSceneSensitiveWord() {
+        return List.copyOf(sceneWords);
+    }
+
+    @Override
+    public synchronized long changeVersion() {
+        return changeVersion;
+    }
+
+    @Override
+    public synchronized SensitiveWordChanges listChangesSince(long version) {
+        if (version < 0 || version > changeVersion
+                || version < changeVersion && changes.firstKey() > version + 1) {
+            return null;
+        }
+        List<SensitiveWord> upserted = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (String word : new LinkedHashSet<>(changes.tailMap(version, false).values())) {
+            SensitiveWord current = words.get(word);
+            if (current == null) {
+                removed.add(word);
+            } else {
+                upserted.add(copyOf(current));
+            }
+        }
+        return new SensitiveWordChanges(changeVersion, upserted, removed);
+    }
+
+    private static SensitiveWord copyOf(SensitiveWord word) {
+        SensitiveWord copy = new SensitiveWord();
+        copy.setId(word.getId());
+        copy.setWord(word.getWord());
+        copy.setCategory(word.getCategory());
+        copy.setSeverity(word.getSeverity());
+        copy.setMaxGap(word.getMaxGap());
+        return copy;
+    }
+
+}
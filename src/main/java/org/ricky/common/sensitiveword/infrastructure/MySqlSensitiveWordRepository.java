@@ -1,12 +1,16 @@
 package org.ricky.common.sensitiveword.infrastructure;
 
 import lombok.RequiredArgsConstructor;
+import org.ricky.common.sensitiveword.domain.SceneSensitiveWord;
 import org.ricky.common.sensitiveword.domain.SensitiveWord;
+import org.ricky.common.sensitiveword.domain.SensitiveWordChanges;
 import org.ricky.common.sensitiveword.domain.SensitiveWordRepository;
 import org.ricky.common.sensitiveword.infrastructure.mapper.SensitiveWordMapper;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,7 +18,11 @@ import java.util.List;
  * @version 1.0
  * @date 2024/8/21
  * @className MySqlSensitiveWordRepository
- * @desc
+ * @desc 敏感词仓储的MySQL实现<br>
+ * 全量数据缓存在{@code SENSITIVE_WORD}等缓存中；增量同步读取由触发器维护的变更记录表，不经过缓存，
+ * 只传输变更版本之后发生过变化的敏感词<br>
+ * 变更记录的ID在插入时分配，事务提交顺序可能与ID顺序不一致，因此返回的版本只推进到已稳定的记录，
+ * 尚未稳定的记录在下次同步时会再次返回，重复应用不会出错<br>
  */
 @Repository
 @RequiredArgsConstructor
@@ -30,4 +38,54 @@ public class MySqlSensitiveWordRepository implements SensitiveWordRepository {
                 .map(SensitiveWord::getWord)
                 .toList();
     }
+
+    @Override
+    @Cacheable(value = "SENSITIVE_WORD_DETAIL")
+    public List<SensitiveWord> listAllSensitiveWordDetail() {
+        return sensitiveWordMapper.listAllSensitiveWordDetail();
+    }
+
+    @Override
+    @Cacheable(value = "SCENE_SENSITIVE_WORD")
+    public List<SceneSensitiveWord> listAllSceneSensitiveWord() {
+        return sensitiveWordMapper.listAllSceneSensitiveWord();
+    }
+
+    @Override
+    public long dataVersion() {
+        return sensitiveWordMapper.dataVersion();
+    }
+
+    @Override
+    public long changeVersion() {
+        return sensitiveWordMapper.settledChangeVersion();
+    }
+
+    @Override
+    public SensitiveWordChanges listChangesSince(long version) {
+        long current = sensitiveWordMapper.changeVersion();
+        if (version == current) {
+            return SensitiveWordChanges.none(current);
+        }
+        // 版本号异常或之后的变更记录已被清理，只能全量读取
+        if (version < 0 || version > current || sensitiveWordMapper.oldestChangeVersion() > version + 1) {
+            return null;
+        }
+        List<SensitiveWord> upserted = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (SensitiveWord word : sensitiveWordMapper.listChangedWords(version, current)) {
+            if (word.getId() == null) {
+                removed.add(word.getWord());
+            } else {
+                upserted.add(word);
+            }
+        }
+        long settled = Math.max(version, sensitiveWordMapper.settledChangeVersion());
+        return new SensitiveWordChanges(Math.min(settled, current), upserted, removed);
+    }
+
+    @Override
+    @CacheEvict(value = {"SENSITIVE_WORD", "SENSITIVE_WORD_DETAIL", "SCENE_SENSITIVE_WORD"}, allEntries = true)
+    public void evictCache() {
+    }
 }
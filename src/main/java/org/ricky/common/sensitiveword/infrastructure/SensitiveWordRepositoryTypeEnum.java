@@ -0,0 +1,28 @@
+package org.ricky.common.sensitiveword.infrastructure;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordRepositoryTypeEnum
+ * @desc 敏感词仓储的实现
+ */
+public enum SensitiveWordRepositoryTypeEnum {
+
+    /**
+     * MySQL，见{@link MySqlSensitiveWordRepository}
+     */
+    MYSQL,
+
+    /**
+     * 本地文本文件，见{@link FileSensitiveWordRepository}
+     */
+    FILE,
+
+    /**
+     * 内存，启动时为空，见{@link InMemorySensitiveWordRepository}
+     */
+    MEMORY,
+    ;
+
+}
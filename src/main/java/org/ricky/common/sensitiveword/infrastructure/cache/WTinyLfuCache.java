@@ -0,0 +1,371 @@
+package org.ricky.common.sensitiveword.infrastructure.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className WTinyLfuCache
+ * @desc 分段加锁、按W-TinyLFU策略淘汰的有界缓存<br>
+ * 键按哈希值分到若干段，每段有独立的锁、容量与访问频率统计，不同段之间互不阻塞<br>
+ * 每段由窗口区（约1%）与主区组成，主区再分为试用区（约20%）与保护区（约80%）：
+ * 新条目先进入窗口区，被挤出窗口区时与试用区中最久未访问的条目比较近期访问频率，频率更高者留下；
+ * 试用区中的条目再次被访问后晋升到保护区。大量只出现一次的键只会在窗口区中短暂停留，不会挤走高频条目<br>
+ * 访问频率用4位计数的Count-Min Sketch估计，记录次数达到容量的10倍时所有计数减半，使频率随时间衰减<br>
+ * 每个条目附带版本号，读取时版本号不一致视为未命中，数据源变化后旧条目自然失效<br>
+ *
+ * @param <V> 值类型
+ */
+public final class WTinyLfuCache<V> {
+
+    private final Stripe<V>[] stripes;
+
+    private final int stripeShift;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * 创建缓存
+     *
+     * @param maximumSize 最大条目数
+     * @param stripeCount 分段数，向上取整为2的幂
+     */
+    @SuppressWarnings("unchecked")
+    public WTinyLfuCache(int maximumSize, int stripeCount) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("stripeCount must be positive");
+        }
+        int stripeBits = 32 - Integer.numberOfLeadingZeros(Math.min(stripeCount, maximumSize) - 1);
+        int count = 1 << stripeBits;
+        stripeShift = 32 - stripeBits;
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; ++i) {
+            stripes[i] = new Stripe<>(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * 读取缓存
+     *
+     * @param key     键
+     * @param version 当前版本
+     * @return 值，不存在或版本不一致时返回null
+     */
+    public V get(String key, long version) {
+        int hash = spread(key.hashCode());
+        V value = stripeOf(hash).get(key, hash, version);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 写入缓存，是否保留由淘汰策略决定
+     *
+     * @param key     键
+     * @param version 值对应的版本
+     * @param value   值
+     */
+    public void put(String key, long version, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value can not be null");
+        }
+        stripeOf(spread(key.hashCode())).put(key, version, value, this);
+    }
+
+    /**
+     * 清空缓存，访问频率统计保留
+     */
+    public void clear() {
+        for (Stripe<V> stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * 当前条目数
+     *
+     * @return 条目数
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe<V> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * 命中率等统计数据
+     *
+     * @return 统计数据
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), rejections.sum());
+    }
+
+    private Stripe<V> stripeOf(int hash) {
+        return stripes.length == 1 ? stripes[0] : stripes[hash >>> stripeShift];
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 缓存统计数据
+     *
+     * @param hitCount       命中次数
+     * @param missCount      未命中次数
+     * @param evictionCount  被淘汰的条目数
+     * @param rejectionCount 因访问频率不够而未被接纳的条目数
+     */
+    public record CacheStats(long hitCount, long missCount, long evictionCount, long rejectionCount) {
+
+        /**
+         * 命中率
+         *
+         * @return 命中率，没有请求时为0
+         */
+        public double hitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 0 : (double) hitCount / requests;
+        }
+
+        /**
+         * 合计两份统计数据
+         *
+         * @param other 另一份统计数据
+         * @return 合计后的统计数据
+         */
+        public CacheStats plus(CacheStats other) {
+            return new CacheStats(hitCount + other.hitCount, missCount + other.missCount,
+                    evictionCount + other.evictionCount, rejectionCount + other.rejectionCount);
+        }
+
+    }
+
+    private static final class Entry<V> {
+
+        private final long version;
+
+        private final V value;
+
+        private Entry(long version, V value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 缓存分段，所有操作都在段锁内完成
+     */
+    private static final class Stripe<V> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final int windowCapacity;
+        private final int protectedCapacity;
+        private final int mainCapacity;
+
+        /**
+         * 以下三个区按访问顺序排列，最久未访问的在前
+         */
+        private final LinkedHashMap<String, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<String, Entry<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<String, Entry<V>> protect = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final FrequencySketch sketch;
+
+        private Stripe(int capacity) {
+            windowCapacity = Math.max(1, capacity / 100);
+            mainCapacity = Math.max(0, capacity - windowCapacity);
+            protectedCapacity = mainCapacity * 4 / 5;
+            sketch = new FrequencySketch(capacity);
+        }
+
+        private V get(String key, int hash, long version) {
+            lock.lock();
+            try {
+                sketch.increment(hash);
+                Entry<V> entry = window.get(key);
+                if (entry == null) {
+                    entry = protect.get(key);
+                }
+                if (entry == null) {
+                    entry = probation.remove(key);
+                    if (entry != null) {
+                        promote(key, entry);
+                    }
+                }
+                return entry == null || entry.version != version ? null : entry.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(String key, long version, V value, WTinyLfuCache<V> cache) {
+            Entry<V> entry = new Entry<>(version, value);
+            lock.lock();
+            try {
+                if (window.containsKey(key)) {
+                    window.put(key, entry);
+                } else if (protect.containsKey(key)) {
+                    protect.put(key, entry);
+                } else if (probation.containsKey(key)) {
+                    probation.put(key, entry);
+                } else {
+                    window.put(key, entry);
+                    if (window.size() > windowCapacity) {
+                        evictFromWindow(cache);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 试用区中的条目晋升到保护区，保护区超出容量时最久未访问的条目降回试用区
+         */
+        private void promote(String key, Entry<V> entry) {
+            protect.put(key, entry);
+            if (protect.size() > protectedCapacity) {
+                Map.Entry<String, Entry<V>> demoted = removeEldest(protect);
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+
+        /**
+         * 窗口区中最久未访问的条目尝试进入主区
+         */
+        private void evictFromWindow(WTinyLfuCache<V> cache) {
+            Map.Entry<String, Entry<V>> candidate = removeEldest(window);
+            if (probation.size() + protect.size() < mainCapacity) {
+                probation.put(candidate.getKey(), candidate.getValue());
+                return;
+            }
+            LinkedHashMap<String, Entry<V>> victims = probation.isEmpty() ? protect : probation;
+            if (victims.isEmpty()) {
+                cache.evictions.increment();
+                return;
+            }
+            String victim = victims.keySet().iterator().next();
+            if (sketch.frequency(spread(candidate.getKey().hashCode())) > sketch.frequency(spread(victim.hashCode()))) {
+                victims.remove(victim);
+                probation.put(candidate.getKey(), candidate.getValue());
+                cache.evictions.increment();
+            } else {
+                cache.rejections.increment();
+            }
+        }
+
+        private static <V> Map.Entry<String, Entry<V>> removeEldest(LinkedHashMap<String, Entry<V>> map) {
+            Iterator<Map.Entry<String, Entry<V>>> iterator = map.entrySet().iterator();
+            Map.Entry<String, Entry<V>> eldest = iterator.next();
+            iterator.remove();
+            return Map.entry(eldest.getKey(), eldest.getValue());
+        }
+
+        private void clear() {
+            lock.lock();
+            try {
+                window.clear();
+                probation.clear();
+                protect.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return window.size() + probation.size() + protect.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 4行4位计数的Count-Min Sketch，每个long保存16个计数
+     */
+    private static final class FrequencySketch {
+
+        private static final int[] SEEDS = {0x97CB3127, 0xB3F0A2D1, 0xE5A1C87B, 0x7F4A7C15};
+
+        private static final long HALF_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+
+        private final int tableMask;
+
+        private final int sampleSize;
+
+        private int additions;
+
+        private FrequencySketch(int capacity) {
+            int length = Integer.highestOneBit(Math.max(8, capacity - 1) << 1);
+            table = new long[length];
+            tableMask = length - 1;
+            sampleSize = 10 * Math.max(1, capacity);
+        }
+
+        private int frequency(int hash) {
+            int frequency = 15;
+            for (int i = 0; i < SEEDS.length; ++i) {
+                int h = rehash(hash, i);
+                frequency = Math.min(frequency, (int) (table[h & tableMask] >>> offsetOf(h)) & 0xF);
+            }
+            return frequency;
+        }
+
+        private void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; ++i) {
+                int h = rehash(hash, i);
+                int index = h & tableMask;
+                int offset = offsetOf(h);
+                if ((table[index] >>> offset & 0xF) != 0xF) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions == sampleSize) {
+                for (int i = 0; i < table.length; ++i) {
+                    table[i] = table[i] >>> 1 & HALF_MASK;
+                }
+                additions /= 2;
+            }
+        }
+
+        private static int rehash(int hash, int i) {
+            int h = (hash + SEEDS[i]) * SEEDS[i];
+            return h ^ (h >>> 17);
+        }
+
+        /**
+         * 取哈希值的高4位选择long中的计数
+         */
+        private static int offsetOf(int h) {
+            return (h >>> 28) << 2;
+        }
+    }
+
+}
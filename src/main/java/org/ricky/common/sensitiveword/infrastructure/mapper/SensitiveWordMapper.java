@@ -1,7 +1,9 @@
 package org.ricky.common.sensitiveword.infrastructure.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.ricky.common.sensitiveword.domain.SceneSensitiveWord;
 import org.ricky.common.sensitiveword.domain.SensitiveWord;
 
 import java.util.List;
@@ -19,4 +21,45 @@ public interface SensitiveWordMapper {
     @Select("select `word` from my_sensitive_word.sensitive_word")
     List<SensitiveWord> listAllSensitiveWord();
 
+    @Select("select `id`, `word`, `category`, `severity`, `max_gap` as `maxGap` from my_sensitive_word.sensitive_word")
+    List<SensitiveWord> listAllSensitiveWordDetail();
+
+    @Select("select `scene`, `word` from my_sensitive_word.sensitive_word_scene")
+    List<SceneSensitiveWord> listAllSceneSensitiveWord();
+
+    /**
+     * 词库版本，由行数与最后修改时间计算：新增与修改会推进最后修改时间，删除会改变行数
+     */
+    @Select("select crc32(concat(count(*), ',', ifnull(max(`update_time`), ''))) from my_sensitive_word.sensitive_word")
+    long dataVersion();
+
+    /**
+     * 最新的变更版本，即变更记录的最大ID，没有变更记录时为0
+     */
+    @Select("select ifnull(max(`id`), 0) from my_sensitive_word.sensitive_word_change")
+    long changeVersion();
+
+    /**
+     * 已稳定的变更版本：写入超过10秒的变更记录的最大ID<br>
+     * 自增ID在插入时分配，提交顺序可能与ID顺序不一致，较新的记录之前可能还有未提交的记录
+     */
+    @Select("select ifnull(max(`id`), 0) from my_sensitive_word.sensitive_word_change " +
+            "where `create_time` < now(3) - interval 10 second")
+    long settledChangeVersion();
+
+    /**
+     * 尚未被清理的最早的变更版本，没有变更记录时为0
+     */
+    @Select("select ifnull(min(`id`), 0) from my_sensitive_word.sensitive_word_change")
+    long oldestChangeVersion();
+
+    /**
+     * 变更版本在(since, until]之间发生过变化的敏感词及其当前状态，已删除的敏感词只有word，id为null
+     */
+    @Select("select c.`word`, w.`id`, w.`category`, w.`severity`, w.`max_gap` as `maxGap` " +
+            "from (select distinct `word` from my_sensitive_word.sensitive_word_change " +
+            "where `id` > #{since} and `id` <= #{until}) c " +
+            "left join my_sensitive_word.sensitive_word w on w.`word` = c.`word`")
+    List<SensitiveWord> listChangedWords(@Param("since") long since, @Param("until") long until);
+
 }
@@ -1,10 +1,25 @@
 package org.ricky.common.sensitiveword.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.Resource;
 import org.ricky.common.sensitiveword.domain.SensitiveWordRepository;
-import org.ricky.common.sensitiveword.domain.filter.impl.DFAFilter;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+import org.ricky.common.sensitiveword.domain.segment.AnsjBoundaryVerifier;
+import org.ricky.common.sensitiveword.infrastructure.FileSensitiveWordRepository;
+import org.ricky.common.sensitiveword.infrastructure.InMemorySensitiveWordRepository;
+import org.ricky.core.common.properties.SensitiveWordProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 
 /**
@@ -20,12 +35,89 @@ public class SensitiveWordAutoConfiguration {
     @Resource
     private SensitiveWordRepository sensitiveWordRepository;
 
+    @Resource
+    private SensitiveWordProperties sensitiveWordProperties;
+
+    @Bean
+    public SensitiveWordService sensitiveWordService(ObjectProvider<MeterRegistry> meterRegistry) {
+        SensitiveWordService sensitiveWordService = SensitiveWordService.newInstance()
+                .filterStrategy(sensitiveWordProperties.getStrategy().filter())
+                .normalizer(charNormalizer(sensitiveWordProperties.getNormalization()))
+                .sensitiveWord(sensitiveWordRepository())
+                .fullReloadInterval(sensitiveWordProperties.getFullReloadInterval());
+        if (sensitiveWordProperties.isSegmentVerification()) {
+            sensitiveWordService.hitVerifier(new AnsjBoundaryVerifier(sensitiveWordProperties.getSegmentWindow()));
+        }
+        if (!sensitiveWordProperties.getCategoryGaps().isEmpty()) {
+            sensitiveWordService.categoryGaps(sensitiveWordProperties.getCategoryGaps());
+        }
+        if (sensitiveWordProperties.isOffHeap()) {
+            sensitiveWordService.offHeap(true);
+        }
+        SensitiveWordProperties.ResultCache resultCache = sensitiveWordProperties.getResultCache();
+        if (resultCache.isEnabled()) {
+            sensitiveWordService.resultCache(resultCache.getMaximumSize(), resultCache.getMaxTextLength());
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (sensitiveWordProperties.getMetrics().isEnabled() && registry != null) {
+            SensitiveWordProperties.Metrics metrics = sensitiveWordProperties.getMetrics();
+            sensitiveWordService.metrics(registry, metrics.getScenes(), metrics.getDisabledScenes());
+        }
+        String snapshotFile = sensitiveWordProperties.getSnapshotFile();
+        if (snapshotFile != null && !snapshotFile.isBlank()) {
+            sensitiveWordService.snapshotFile(Paths.get(snapshotFile));
+        }
+        return sensitiveWordService.init();
+    }
+
+    private SensitiveWordRepository sensitiveWordRepository() {
+        return switch (sensitiveWordProperties.getRepository()) {
+            case MYSQL -> sensitiveWordRepository;
+            case FILE -> {
+                String repositoryFile = sensitiveWordProperties.getRepositoryFile();
+                if (repositoryFile == null || repositoryFile.isBlank()) {
+                    throw new IllegalArgumentException("repositoryFile can not be blank when repository is FILE");
+                }
+                yield new FileSensitiveWordRepository(Paths.get(repositoryFile));
+            }
+            case MEMORY -> new InMemorySensitiveWordRepository();
+        };
+    }
+
+    private static CharNormalizer charNormalizer(SensitiveWordProperties.Normalization normalization) {
+        CharNormalizer.Builder builder = CharNormalizer.builder();
+        if (normalization.isTraditionalToSimplified()) {
+            String table = normalization.getTraditionalSimplifiedTable();
+            if (table == null || table.isBlank()) {
+                builder.traditionalToSimplified();
+            } else {
+                try {
+                    builder.mappings(Files.newBufferedReader(Paths.get(table), StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        if (normalization.isFullWidthToHalfWidth()) {
+            builder.fullWidthToHalfWidth();
+        }
+        if (normalization.isLowercase()) {
+            builder.lowercase();
+        }
+        if (normalization.isSkipZeroWidth()) {
+            builder.skipZeroWidth();
+        }
+        String skipChars = normalization.getSkipChars();
+        return builder.skipChars(skipChars == null ? CharNormalizer.DEFAULT_SKIP_CHARS : skipChars).build();
+    }
+
     @Bean
-    public SensitiveWordService sensitiveWordService() {
-        return SensitiveWordService.newInstance()
-                .filterStrategy(DFAFilter.getInstance())
-                .sensitiveWord(sensitiveWordRepository)
-                .init();
+    public RedisMessageListenerContainer sensitiveWordReloadListenerContainer(RedisConnectionFactory factory,
+                                                                              SensitiveWordReloader sensitiveWordReloader) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(sensitiveWordReloader, new ChannelTopic(sensitiveWordProperties.getReloadChannel()));
+        return container;
     }
 
 }
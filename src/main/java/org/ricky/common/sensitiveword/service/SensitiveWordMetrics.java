@@ -0,0 +1,319 @@
+package org.ricky.common.sensitiveword.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.ricky.common.sensitiveword.domain.SensitiveWordCategoryEnum;
+import org.ricky.common.sensitiveword.domain.SensitiveWordSeverityEnum;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordMatchSink;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordSnapshot;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordMetrics
+ * @desc 敏感词过滤的Micrometer指标<br>
+ * <ul>
+ *     <li>sensitive.word.filter：过滤与判断的耗时，按场景、操作与文本长度区间分组，发布直方图</li>
+ *     <li>sensitive.word.hit.texts：含有敏感词的文本数，与上面的调用次数相除即为命中率</li>
+ *     <li>sensitive.word.hits：按分类统计的命中次数，来自{@link SensitiveWordService#match}</li>
+ *     <li>sensitive.word.dictionary.size/version/memory/offheap：词库规模、版本、估算的堆内存与堆外内存占用</li>
+ *     <li>sensitive.word.reload：全量重新加载与增量变更的耗时</li>
+ * </ul>
+ * 所有计量器在首次使用某个场景时一次性注册，记录时只按下标取出计量器，热路径上不创建标签与对象<br>
+ * 场景名来自调用方，只有全局场景与场景集合中的场景单独统计，其余场景统一记在{@value #OTHER_SCENE}下，时间序列数有上限<br>
+ * 在{@code disabledScenes}中的场景不记录过滤耗时与命中率，按指标中的场景名判断，可以包含{@value #OTHER_SCENE}<br>
+ */
+public final class SensitiveWordMetrics {
+
+    /**
+     * 不区分场景的全局过滤使用的场景名
+     */
+    public static final String GLOBAL_SCENE = "global";
+
+    /**
+     * 不在场景集合中的场景统一使用的场景名
+     */
+    public static final String OTHER_SCENE = "other";
+
+    private static final String PREFIX = "sensitive.word";
+
+    /**
+     * 文本长度区间的上界（不包含），最后一个区间没有上界
+     */
+    private static final int[] LENGTH_BOUNDS = {16, 64, 256, 1024};
+
+    private static final String[] LENGTH_TAGS = {"0-15", "16-63", "64-255", "256-1023", "1024+"};
+
+    private static final SensitiveWordCategoryEnum[] CATEGORIES = SensitiveWordCategoryEnum.values();
+
+    private final MeterRegistry registry;
+
+    /**
+     * 单独统计的场景，为空时使用{@link #knownScenes}
+     */
+    private final Set<String> scenes;
+
+    /**
+     * 仓储中有场景敏感词的场景，重新加载场景敏感词时整体替换
+     */
+    private volatile Set<String> knownScenes = Set.of();
+
+    private final Set<String> disabledScenes;
+
+    private final ConcurrentMap<String, SceneMeters> sceneMeters = new ConcurrentHashMap<>();
+
+    private final Counter[] categoryHits = new Counter[CATEGORIES.length];
+
+    private final Timer fullReloadTimer;
+
+    private final Timer incrementalReloadTimer;
+
+    /**
+     * 统计命中分类的接收方，每个线程复用一个
+     */
+    private final ThreadLocal<CountingSink> countingSinks = ThreadLocal.withInitial(CountingSink::new);
+
+    /**
+     * 创建指标
+     *
+     * @param registry       计量器注册表
+     * @param scenes         单独统计的场景，为空时为仓储中有场景敏感词的场景
+     * @param disabledScenes 不记录过滤指标的场景
+     */
+    public SensitiveWordMetrics(MeterRegistry registry, Set<String> scenes, Set<String> disabledScenes) {
+        if (registry == null) {
+            throw new IllegalArgumentException("registry can not be null");
+        }
+        this.registry = registry;
+        this.scenes = scenes == null ? Set.of() : Set.copyOf(scenes);
+        this.disabledScenes = disabledScenes == null ? Set.of() : Set.copyOf(disabledScenes);
+        for (SensitiveWordCategoryEnum category : CATEGORIES) {
+            categoryHits[category.ordinal()] = Counter.builder(PREFIX + ".hits")
+                    .description("Sensitive words hit, by category")
+                    .tag("category", category.name())
+                    .register(registry);
+        }
+        fullReloadTimer = reloadTimer("full");
+        incrementalReloadTimer = reloadTimer("incremental");
+    }
+
+    private Timer reloadTimer(String type) {
+        return Timer.builder(PREFIX + ".reload")
+                .description("Time spent reloading or changing the sensitive word dictionary")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    /**
+     * 注册词库的规模、版本与内存占用
+     *
+     * @param service    敏感词服务
+     * @param wordCount  敏感词数
+     * @param version    词库版本
+     * @param memory     估算的内存占用，单位字节，无法估算时为NaN
+     * @param offHeap    堆外内存占用，单位字节，无法统计时为NaN
+     */
+    void bindDictionary(SensitiveWordService service, ToDoubleFunction<SensitiveWordService> wordCount,
+                        ToDoubleFunction<SensitiveWordService> version, ToDoubleFunction<SensitiveWordService> memory,
+                        ToDoubleFunction<SensitiveWordService> offHeap) {
+        Gauge.builder(PREFIX + ".dictionary.size", service, wordCount)
+                .description("Sensitive words in the dictionary")
+                .register(registry);
+        Gauge.builder(PREFIX + ".dictionary.version", service, version)
+                .description("Version of the sensitive word dictionary, increased on every change")
+                .register(registry);
+        Gauge.builder(PREFIX + ".dictionary.memory", service, memory)
+                .description("Estimated heap used by the compiled dictionary")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(PREFIX + ".dictionary.offheap", service, offHeap)
+                .description("Off-heap memory used by the compiled dictionary")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * 获取场景的计量器
+     *
+     * @param scene 场景
+     * @return 计量器，场景已关闭指标时返回null
+     */
+    SceneMeters scene(String scene) {
+        String tag = sceneTag(scene);
+        if (disabledScenes.contains(tag)) {
+            return null;
+        }
+        SceneMeters meters = sceneMeters.get(tag);
+        return meters != null ? meters : sceneMeters.computeIfAbsent(tag, name -> new SceneMeters(registry, name));
+    }
+
+    /**
+     * 指标中使用的场景名
+     *
+     * @param scene 场景
+     * @return 全局场景与场景集合中的场景原样返回，其余返回{@value #OTHER_SCENE}
+     */
+    String sceneTag(String scene) {
+        if (GLOBAL_SCENE.equals(scene)) {
+            return scene;
+        }
+        return (scenes.isEmpty() ? knownScenes : scenes).contains(scene) ? scene : OTHER_SCENE;
+    }
+
+    /**
+     * 更新仓储中有场景敏感词的场景，未配置场景集合时按此单独统计
+     *
+     * @param scenes 场景
+     */
+    void knownScenes(Set<String> scenes) {
+        knownScenes = Set.copyOf(scenes);
+    }
+
+    /**
+     * 记录一次全量重新加载
+     *
+     * @param nanos 耗时，单位纳秒
+     */
+    void recordReload(long nanos) {
+        fullReloadTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次增量变更
+     *
+     * @param nanos 耗时，单位纳秒
+     */
+    void recordChange(long nanos) {
+        incrementalReloadTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 包装命中结果的接收方，按分类统计命中次数<br>
+     * 返回的接收方属于当前线程，只能在本次调用内使用
+     *
+     * @param sink 原接收方
+     * @return 统计命中分类的接收方
+     */
+    SensitiveWordMatchSink counting(SensitiveWordMatchSink sink) {
+        CountingSink countingSink = countingSinks.get();
+        countingSink.delegate = sink;
+        return countingSink;
+    }
+
+    private static int lengthBucket(int length) {
+        int bucket = 0;
+        while (bucket < LENGTH_BOUNDS.length && length >= LENGTH_BOUNDS[bucket]) {
+            ++bucket;
+        }
+        return bucket;
+    }
+
+    private final class CountingSink implements SensitiveWordMatchSink {
+
+        private SensitiveWordMatchSink delegate;
+
+        @Override
+        public void onMatch(long id, SensitiveWordCategoryEnum category, SensitiveWordSeverityEnum severity,
+                            int start, int end) {
+            categoryHits[category.ordinal()].increment();
+            delegate.onMatch(id, category, severity, start, end);
+        }
+    }
+
+    /**
+     * 单个场景的计量器
+     */
+    static final class SceneMeters {
+
+        private final Timer[] filterTimers = new Timer[LENGTH_TAGS.length];
+
+        private final Timer[] detectTimers = new Timer[LENGTH_TAGS.length];
+
+        private final Counter filterHits;
+
+        private final Counter detectHits;
+
+        private SceneMeters(MeterRegistry registry, String scene) {
+            for (int i = 0; i < LENGTH_TAGS.length; ++i) {
+                filterTimers[i] = filterTimer(registry, scene, "filter", LENGTH_TAGS[i]);
+                detectTimers[i] = filterTimer(registry, scene, "detect", LENGTH_TAGS[i]);
+            }
+            filterHits = hitCounter(registry, scene, "filter");
+            detectHits = hitCounter(registry, scene, "detect");
+        }
+
+        private static Timer filterTimer(MeterRegistry registry, String scene, String operation, String length) {
+            return Timer.builder(PREFIX + ".filter")
+                    .description("Time spent filtering or detecting sensitive words, by text length")
+                    .tags("scene", scene, "operation", operation, "length", length)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        private static Counter hitCounter(MeterRegistry registry, String scene, String operation) {
+            return Counter.builder(PREFIX + ".hit.texts")
+                    .description("Texts containing sensitive words")
+                    .tags("scene", scene, "operation", operation)
+                    .register(registry);
+        }
+
+        /**
+         * 记录一次过滤
+         *
+         * @param length 文本长度
+         * @param nanos  耗时，单位纳秒
+         * @param hit    是否含有敏感词
+         */
+        void recordFilter(int length, long nanos, boolean hit) {
+            filterTimers[lengthBucket(length)].record(nanos, TimeUnit.NANOSECONDS);
+            if (hit) {
+                filterHits.increment();
+            }
+        }
+
+        /**
+         * 记录一次判断
+         *
+         * @param length 文本长度
+         * @param nanos  耗时，单位纳秒
+         * @param hit    是否含有敏感词
+         */
+        void recordDetect(int length, long nanos, boolean hit) {
+            detectTimers[lengthBucket(length)].record(nanos, TimeUnit.NANOSECONDS);
+            if (hit) {
+                detectHits.increment();
+            }
+        }
+
+        /**
+         * 包装快照，记录快照上的每次过滤与判断
+         *
+         * @param snapshot 快照
+         * @return 记录指标的快照
+         */
+        SensitiveWordSnapshot wrap(SensitiveWordSnapshot snapshot) {
+            return SensitiveWordSnapshot.of(text -> {
+                long start = System.nanoTime();
+                boolean hit = snapshot.hasSensitiveWord(text);
+                recordDetect(text == null ? 0 : text.length(), System.nanoTime() - start, hit);
+                return hit;
+            }, text -> {
+                long start = System.nanoTime();
+                String filtered = snapshot.filter(text);
+                recordFilter(text == null ? 0 : text.length(), System.nanoTime() - start,
+                        text != null && !text.equals(filtered));
+                return filtered;
+            });
+        }
+    }
+
+}
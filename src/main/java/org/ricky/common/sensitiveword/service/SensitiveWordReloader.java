@@ -0,0 +1,53 @@
+package org.ricky.common.sensitiveword.service;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ricky.core.common.properties.SensitiveWordProperties;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordReloader
+ * @desc 敏感词重新加载触发器<br>
+ * 定时重新加载作为兜底，词库变更后通过Redis频道通知所有节点立即重新加载<br>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SensitiveWordReloader implements MessageListener {
+
+    private final SensitiveWordService sensitiveWordService;
+    private final SensitiveWordProperties sensitiveWordProperties;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 定时重新加载
+     */
+    @Scheduled(initialDelayString = "#{@sensitiveWordProperties.reloadInterval.toMillis()}",
+            fixedDelayString = "#{@sensitiveWordProperties.reloadInterval.toMillis()}")
+    public void scheduledReload() {
+        sensitiveWordService.reload();
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        log.info("Received sensitive word reload notification[{}].", new String(message.getBody()));
+        sensitiveWordService.reload();
+    }
+
+    /**
+     * 通知所有节点（包括当前节点）重新加载敏感词
+     */
+    public void notifyReload() {
+        stringRedisTemplate.convertAndSend(sensitiveWordProperties.getReloadChannel(),
+                String.valueOf(System.currentTimeMillis()));
+    }
+
+}
@@ -1,10 +1,45 @@
 package org.ricky.common.sensitiveword.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.ricky.common.sensitiveword.domain.SceneSensitiveWord;
+import org.ricky.common.sensitiveword.domain.SensitiveWord;
+import org.ricky.common.sensitiveword.domain.SensitiveWordCategoryEnum;
+import org.ricky.common.sensitiveword.domain.SensitiveWordChanges;
 import org.ricky.common.sensitiveword.domain.SensitiveWordRepository;
+import org.ricky.common.sensitiveword.domain.algorithm.dat.DoubleArrayACOverlay;
+import org.ricky.common.sensitiveword.domain.filter.FuzzySensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.IncrementalSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.LayeredSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.MatchingSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.MeasurableSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.OffHeapSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.PersistentSensitiveWordFilter;
 import org.ricky.common.sensitiveword.domain.filter.SensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordHitVerifier;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordMatchSink;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordSnapshot;
+import org.ricky.common.sensitiveword.domain.filter.StreamingSensitiveWordFilter;
+import org.ricky.common.sensitiveword.domain.filter.VerifyingSensitiveWordFilter;
 import org.ricky.common.sensitiveword.domain.filter.impl.DFAFilter;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+import org.ricky.common.sensitiveword.infrastructure.cache.WTinyLfuCache;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.ricky.common.sensitiveword.domain.SensitiveWordRepository.UNKNOWN_VERSION;
 
 /**
  * @author Ricky
@@ -13,6 +48,7 @@ import java.util.List;
  * @className SensitiveWordService
  * @desc 敏感词引导类
  */
+@Slf4j
 public class SensitiveWordService {
 
     /**
@@ -25,6 +61,146 @@ public class SensitiveWordService {
      */
     private SensitiveWordRepository sensitiveWordRepository;
 
+    /**
+     * 字符归一化，为null时使用过滤器的默认规则
+     */
+    private CharNormalizer normalizer;
+
+    /**
+     * 命中的二次确认，为null时不做二次确认
+     */
+    private SensitiveWordHitVerifier hitVerifier;
+
+    /**
+     * 各分类默认允许的字间插入字符数，为null时只做精确匹配
+     */
+    private Map<SensitiveWordCategoryEnum, Integer> categoryGaps;
+
+    /**
+     * 是否把词库保存在堆外
+     */
+    private boolean offHeap;
+
+    /**
+     * 本地快照文件，为null时不使用快照
+     */
+    private Path snapshotFile;
+
+    /**
+     * 场景 -> 场景敏感词的叠加层，重新加载时整体替换
+     */
+    private volatile Map<String, DoubleArrayACOverlay> sceneOverlays = Map.of();
+
+    /**
+     * 用户ID -> 用户自定义屏蔽词的叠加层
+     */
+    private final ConcurrentMap<Long, DoubleArrayACOverlay> userOverlays = new ConcurrentHashMap<>();
+
+    /**
+     * 有场景敏感词的场景 -> 该场景记录指标的快照，代次落后时重新创建
+     */
+    private final ConcurrentMap<String, SceneSnapshot> sceneSnapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 指标中的场景名 -> 没有场景敏感词的场景共用的快照，只使用全局词库<br>
+     * 场景名来自调用方，按指标中的场景名共用后条目数有上限
+     */
+    private final ConcurrentMap<String, SceneSnapshot> sharedSceneSnapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 快照代次，词库、场景敏感词变化或合并后加一，旧代次的场景快照不再使用
+     */
+    private final AtomicLong snapshotGeneration = new AtomicLong();
+
+    /**
+     * 短文本的过滤结果缓存，为null时不缓存
+     */
+    private WTinyLfuCache<String> filterCache;
+
+    /**
+     * 短文本的判断结果缓存，为null时不缓存
+     */
+    private WTinyLfuCache<Boolean> hitCache;
+
+    /**
+     * 只缓存长度不超过该值的文本
+     */
+    private int cacheMaxTextLength;
+
+    /**
+     * 结果缓存的分段数
+     */
+    private static final int CACHE_STRIPES = Runtime.getRuntime().availableProcessors() * 4;
+
+    /**
+     * 指标，为null时不记录
+     */
+    private SensitiveWordMetrics metrics;
+
+    /**
+     * 全局过滤的计量器，未开启指标或全局场景已关闭指标时为null
+     */
+    private SensitiveWordMetrics.SceneMeters globalMeters;
+
+    /**
+     * 最近一次从仓储加载的敏感词数，过滤器无法报告词库规模时使用
+     */
+    private volatile int loadedWordCount;
+
+    /**
+     * 已同步到的仓储变更版本，为{@link SensitiveWordRepository#UNKNOWN_VERSION}时下次重新加载只能全量读取<br>
+     * 只在重新加载线程中读写
+     */
+    private long syncedChangeVersion = UNKNOWN_VERSION;
+
+    /**
+     * 上次全量加载的时间，单位纳秒
+     */
+    private long lastFullLoadNanos;
+
+    /**
+     * 增量同步时，距上次全量加载超过该间隔后仍全量加载一次，兜底修正任何遗漏的变更
+     */
+    private Duration fullReloadInterval = Duration.ofHours(1);
+
+    /**
+     * 词库版本，每次加载成功后加一
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 已提交但尚未开始执行的重新加载任务，用于合并短时间内的多次重新加载请求
+     */
+    private final AtomicReference<CompletableFuture<Long>> queuedReload = new AtomicReference<>();
+
+    /**
+     * 重新加载线程，单线程保证新词库按提交顺序发布，旧的构建结果不会覆盖新的
+     */
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sensitive-word-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 批量过滤时，文本数达到该值才并行执行
+     */
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    /**
+     * 并行执行时每个子任务至少处理的文本数
+     */
+    private static final int MIN_CHUNK_SIZE = 16;
+
+    /**
+     * 批量过滤线程池，与公共ForkJoinPool隔离，避免与其他并行流互相影响
+     */
+    private final ForkJoinPool batchPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("sensitive-word-batch-" + thread.getPoolIndex());
+        return thread;
+    }, null, false);
+
     private SensitiveWordService() {
     }
 
@@ -34,23 +210,309 @@ public class SensitiveWordService {
 
     /**
      * 初始化<br>
-     * 根据配置，初始化对应的 map。比较消耗性能。
+     * 根据配置，初始化对应的 map。比较消耗性能。<br>
+     * 配置了本地快照且快照未过期时直接加载快照，否则从仓储加载并重新写入快照
      *
      * @return 返回自身，便于链式编程
      */
     public SensitiveWordService init() {
-        List<String> wordList = sensitiveWordRepository.listAllSensitiveWord();
-        loadWords(wordList);
+        long dataVersion = dataVersion();
+        if (!loadSnapshot(dataVersion)) {
+            loadWords();
+            saveSnapshot(dataVersion);
+        }
+        loadScenes();
         return this;
     }
 
     /**
-     * 加载敏感词列表
+     * 从仓储加载场景敏感词，为每个场景构建叠加层<br>
+     * 过滤器不支持叠加层时不加载
+     */
+    private void loadScenes() {
+        if (!(sensitiveWordFilter instanceof LayeredSensitiveWordFilter filter)) {
+            return;
+        }
+        Map<String, List<String>> sceneWords = sensitiveWordRepository.listAllSceneSensitiveWord().stream()
+                .collect(Collectors.groupingBy(SceneSensitiveWord::getScene,
+                        Collectors.mapping(SceneSensitiveWord::getWord, Collectors.toList())));
+        Map<String, DoubleArrayACOverlay> overlays = new HashMap<>(sceneWords.size() * 2);
+        sceneWords.forEach((scene, words) -> overlays.put(scene, filter.overlay(words)));
+        sceneOverlays = Map.copyOf(overlays);
+        snapshotGeneration.incrementAndGet();
+        sceneSnapshots.keySet().retainAll(overlays.keySet());
+        if (metrics != null) {
+            metrics.knownScenes(overlays.keySet());
+        }
+    }
+
+    /**
+     * 查询数据源中词库的版本，未启用快照时不查询
+     *
+     * @return 词库版本
+     */
+    private long dataVersion() {
+        if (snapshotFile == null || !(sensitiveWordFilter instanceof PersistentSensitiveWordFilter)) {
+            return UNKNOWN_VERSION;
+        }
+        return sensitiveWordRepository.dataVersion();
+    }
+
+    /**
+     * 从本地快照加载词库，快照损坏时视为不存在
+     *
+     * @param dataVersion 数据源中词库的当前版本
+     * @return true=已加载 false=快照不可用
+     */
+    private boolean loadSnapshot(long dataVersion) {
+        if (dataVersion == UNKNOWN_VERSION) {
+            return false;
+        }
+        PersistentSensitiveWordFilter filter = (PersistentSensitiveWordFilter) sensitiveWordFilter;
+        try {
+            long start = System.currentTimeMillis();
+            if (!filter.loadSnapshot(snapshotFile, dataVersion)) {
+                log.info("Sensitive word snapshot[{}] is missing or stale, load from repository.", snapshotFile);
+                return false;
+            }
+            version.incrementAndGet();
+            snapshotGeneration.incrementAndGet();
+            log.info("Loaded sensitive words from snapshot[{}] of data version[{}] in {}ms.",
+                    snapshotFile, dataVersion, System.currentTimeMillis() - start);
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to load sensitive word snapshot[{}], load from repository.", snapshotFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * 将当前词库写入本地快照，写入失败不影响使用
+     *
+     * @param dataVersion 加载词库之前查询到的数据源中词库的版本，
+     *                    加载期间发生的变更只会使快照被误判为过期，不会使过期的快照被误用
+     */
+    private void saveSnapshot(long dataVersion) {
+        if (dataVersion == UNKNOWN_VERSION) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            ((PersistentSensitiveWordFilter) sensitiveWordFilter).saveSnapshot(snapshotFile, dataVersion);
+            log.info("Saved sensitive word snapshot[{}] of data version[{}] in {}ms.",
+                    snapshotFile, dataVersion, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.warn("Failed to save sensitive word snapshot[{}].", snapshotFile, e);
+        }
+    }
+
+    /**
+     * 从仓储加载敏感词列表<br>
+     * 过滤器支持报告命中详情时一并加载分类与严重程度
      *
-     * @param wordList 敏感词数组
+     * @return 加载的敏感词数
      */
-    private void loadWords(List<String> wordList) {
-        sensitiveWordFilter.loadWord(wordList);
+    private int loadWords() {
+        int size;
+        if (sensitiveWordFilter instanceof MatchingSensitiveWordFilter filter) {
+            List<SensitiveWord> words = sensitiveWordRepository.listAllSensitiveWordDetail();
+            filter.loadSensitiveWord(words);
+            size = words.size();
+        } else {
+            List<String> wordList = sensitiveWordRepository.listAllSensitiveWord();
+            sensitiveWordFilter.loadWord(wordList);
+            size = wordList.size();
+        }
+        version.incrementAndGet();
+        invalidateResultCache();
+        loadedWordCount = size;
+        return size;
+    }
+
+    /**
+     * 词库变化后清空结果缓存，并使场景快照过期<br>
+     * 缓存按词库版本读取，旧版本的结果本来也不会再命中，这里只是尽早释放内存
+     */
+    private void invalidateResultCache() {
+        snapshotGeneration.incrementAndGet();
+        if (filterCache != null) {
+            filterCache.clear();
+            hitCache.clear();
+        }
+    }
+
+    /**
+     * 重新加载敏感词<br>
+     * 在后台线程中从仓储读取敏感词并构建新的自动机，构建完成后由过滤器一次性替换，
+     * 读取方全程无锁，也不会看到构建到一半的自动机，正在进行的过滤仍使用旧的自动机完成<br>
+     * 过滤器支持增量变更且仓储支持增量同步时，只拉取上次同步之后发生变化的敏感词并增量应用，见{@link #sync()}<br>
+     * 尚未开始执行的重新加载请求会被合并
+     *
+     * @return 重新加载完成后的词库版本
+     */
+    public CompletableFuture<Long> reload() {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        CompletableFuture<Long> queued = queuedReload.compareAndExchange(null, future);
+        if (queued != null) {
+            return queued;
+        }
+        reloadExecutor.execute(() -> {
+            // 开始执行后，新的请求需要重新排队，以免漏掉执行期间发生的变更
+            queuedReload.set(null);
+            try {
+                if (sync()) {
+                    future.complete(version.get());
+                    return;
+                }
+                long start = System.nanoTime();
+                long dataVersion = dataVersion();
+                // 先查询变更版本再读取全量数据，两者之间发生的变更会在下次同步时重复应用
+                long changeVersion = sensitiveWordRepository.changeVersion();
+                sensitiveWordRepository.evictCache();
+                int size = loadWords();
+                loadScenes();
+                syncedChangeVersion = changeVersion;
+                lastFullLoadNanos = start;
+                long elapsed = System.nanoTime() - start;
+                if (metrics != null) {
+                    metrics.recordReload(elapsed);
+                }
+                log.info("Reloaded {} sensitive words as version[{}] in {}ms.",
+                        size, version.get(), elapsed / 1000000);
+                future.complete(version.get());
+                saveSnapshot(dataVersion);
+            } catch (Throwable t) {
+                log.error("Failed to reload sensitive words, keep using version[{}].", version.get(), t);
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 增量同步：拉取上次同步之后仓储中发生变化的敏感词，先删除再新增或更新<br>
+     * 场景敏感词不参与增量同步，在全量加载时更新
+     *
+     * @return true=已同步 false=无法增量同步，需要全量加载
+     */
+    private boolean sync() {
+        if (syncedChangeVersion == UNKNOWN_VERSION
+                || !(sensitiveWordFilter instanceof IncrementalSensitiveWordFilter filter)
+                || System.nanoTime() - lastFullLoadNanos > fullReloadInterval.toNanos()) {
+            return false;
+        }
+        long start = System.nanoTime();
+        long dataVersion = dataVersion();
+        SensitiveWordChanges changes = sensitiveWordRepository.listChangesSince(syncedChangeVersion);
+        if (changes == null) {
+            log.info("Sensitive word changes since version[{}] are unavailable, reload all.", syncedChangeVersion);
+            return false;
+        }
+        if (!changes.isEmpty()) {
+            if (!changes.getRemoved().isEmpty()) {
+                filter.removeWord(changes.getRemoved());
+            }
+            if (!changes.getUpserted().isEmpty()) {
+                filter.addSensitiveWord(changes.getUpserted());
+            }
+            version.incrementAndGet();
+            invalidateResultCache();
+            // 全量数据的缓存已过期，其他节点全量加载时需要重新读取
+            sensitiveWordRepository.evictCache();
+            long elapsed = System.nanoTime() - start;
+            if (metrics != null) {
+                metrics.recordChange(elapsed);
+            }
+            log.info("Synced {} upserted and {} removed sensitive words as version[{}] in {}ms.",
+                    changes.getUpserted().size(), changes.getRemoved().size(), version.get(), elapsed / 1000000);
+            saveSnapshot(dataVersion);
+            if (filter.needsCompaction()) {
+                compact(filter);
+            }
+        }
+        syncedChangeVersion = changes.getVersion();
+        return true;
+    }
+
+    /**
+     * 增量新增敏感词<br>
+     * 过滤器支持增量变更时只修改受影响的部分，否则退化为全量重新加载（此时调用方需先将变更写入仓储）<br>
+     * 变更与重新加载在同一个后台线程中按提交顺序执行
+     *
+     * @param words 敏感词数组
+     * @return 变更完成后的词库版本
+     */
+    public CompletableFuture<Long> addWords(List<String> words) {
+        return applyChange(words, "Added", IncrementalSensitiveWordFilter::addWord);
+    }
+
+    /**
+     * 增量删除敏感词<br>
+     * 过滤器支持增量变更时只修改受影响的部分，否则退化为全量重新加载（此时调用方需先将变更写入仓储）<br>
+     * 变更与重新加载在同一个后台线程中按提交顺序执行
+     *
+     * @param words 敏感词数组
+     * @return 变更完成后的词库版本
+     */
+    public CompletableFuture<Long> removeWords(List<String> words) {
+        return applyChange(words, "Removed", IncrementalSensitiveWordFilter::removeWord);
+    }
+
+    private CompletableFuture<Long> applyChange(List<String> words, String action,
+                                                BiConsumer<IncrementalSensitiveWordFilter, List<String>> change) {
+        if (!(sensitiveWordFilter instanceof IncrementalSensitiveWordFilter filter)) {
+            return reload();
+        }
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        reloadExecutor.execute(() -> {
+            try {
+                long start = System.nanoTime();
+                change.accept(filter, words);
+                long newVersion = version.incrementAndGet();
+                invalidateResultCache();
+                long elapsed = System.nanoTime() - start;
+                if (metrics != null) {
+                    metrics.recordChange(elapsed);
+                }
+                log.info("{} {} sensitive words as version[{}] in {}us.",
+                        action, words.size(), newVersion, elapsed / 1000);
+                future.complete(newVersion);
+            } catch (Throwable t) {
+                log.error("Failed to apply sensitive word change, keep using version[{}].", version.get(), t);
+                future.completeExceptionally(t);
+                return;
+            }
+            if (filter.needsCompaction()) {
+                reloadExecutor.execute(() -> compact(filter));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 合并过滤器中积累的增量变更
+     *
+     * @param filter 过滤器
+     */
+    private void compact(IncrementalSensitiveWordFilter filter) {
+        try {
+            long start = System.currentTimeMillis();
+            filter.compact();
+            // 旧快照仍然正确，但会一直持有合并前的词库
+            snapshotGeneration.incrementAndGet();
+            log.info("Compacted sensitive words in {}ms.", System.currentTimeMillis() - start);
+        } catch (Throwable t) {
+            log.error("Failed to compact sensitive words.", t);
+        }
+    }
+
+    /**
+     * 获取当前词库版本
+     *
+     * @return 词库版本
+     */
+    public long version() {
+        return version.get();
     }
 
     /**
@@ -64,6 +526,200 @@ public class SensitiveWordService {
             throw new IllegalArgumentException("filter can not be null");
         }
         this.sensitiveWordFilter = filter;
+        if (normalizer != null) {
+            filter.normalizer(normalizer);
+        }
+        if (hitVerifier != null) {
+            verifyingFilter(filter).hitVerifier(hitVerifier);
+        }
+        if (categoryGaps != null) {
+            fuzzyFilter(filter).categoryGaps(categoryGaps);
+        }
+        if (offHeap) {
+            offHeapFilter(filter).offHeap(true);
+        }
+        return this;
+    }
+
+    /**
+     * 设置字符归一化规则，需在{@link #init()}之前设置
+     *
+     * @param normalizer 字符归一化
+     * @return 返回自身，便于链式编程
+     */
+    public SensitiveWordService normalizer(CharNormalizer normalizer) {
+        if (normalizer == null) {
+            throw new IllegalArgumentException("normalizer can not be null");
+        }
+        this.normalizer = normalizer;
+        sensitiveWordFilter.normalizer(normalizer);
+        return this;
+    }
+
+    /**
+     * 设置命中的二次确认，如{@link org.ricky.common.sensitiveword.domain.segment.AnsjBoundaryVerifier}，
+     * 只对字符串输入生效
+     *
+     * @param hitVerifier 二次确认
+     * @return 返回自身，便于链式编程
+     */
+    public SensitiveWordService hitVerifier(SensitiveWordHitVerifier hitVerifier) {
+        if (hitVerifier == null) {
+            throw new IllegalArgumentException("hitVerifier can not be null");
+        }
+        verifyingFilter(sensitiveWordFilter).hitVerifier(hitVerifier);
+        this.hitVerifier = hitVerifier;
+        return this;
+    }
+
+    private static VerifyingSensitiveWordFilter verifyingFilter(SensitiveWordFilter filter) {
+        if (!(filter instanceof VerifyingSensitiveWordFilter verifyingFilter)) {
+            throw new UnsupportedOperationException(filter.getClass().getSimpleName()
+                    + " does not support hit verification");
+        }
+        return verifyingFilter;
+    }
+
+    /**
+     * 设置各分类默认允许的字间插入字符数，需在{@link #init()}之前设置<br>
+     * 单个敏感词可以通过{@link SensitiveWord#getMaxGap()}单独指定
+     *
+     * @param categoryGaps 分类 -> 允许的间隔
+     * @return 返回自身，便于链式编程
+     */
+    public SensitiveWordService categoryGaps(Map<SensitiveWordCategoryEnum, Integer> categoryGaps) {
+        if (categoryGaps == null) {
+            throw new IllegalArgumentException("categoryGaps can not be null");
+        }
+        fuzzyFilter(sensitiveWordFilter).categoryGaps(categoryGaps);
+        this.categoryGaps = Map.copyOf(categoryGaps);
+        return this;
+    }
+
+    /**
+     * 设置是否把词库保存在堆外，需在{@link #init()}之前设置<br>
+     * 开启后全量加载的词库复制到直接内存，从快照加载时直接映射快照文件；增量变更仍在堆内，合并后移到堆外
+     *
+     * @param offHeap true=堆外 false=堆内
+     * @return 返回自身，便于链式编程
+     */
+    public SensitiveWordService offHeap(boolean offHeap) {
+        offHeapFilter(sensitiveWordFilter).offHeap(offHeap);
+        this.offHeap = offHeap;
+        return this;
+    }
+
+    private static OffHeapSensitiveWordFilter offHeapFilter(SensitiveWordFilter filter) {
+        if (!(filter instanceof OffHeapSensitiveWordFilter offHeapFilter)) {
+            throw new UnsupportedOperationException(filter.getClass().getSimpleName()
+                    + " does not support off-heap storage");
+        }
+        return offHeapFilter;
+    }
+
+    private static FuzzySensitiveWordFilter fuzzyFilter(SensitiveWordFilter filter) {
+        if (!(filter instanceof FuzzySensitiveWordFilter fuzzyFilter)) {
+            throw new UnsupportedOperationException(filter.getClass().getSimpleName()
+                    + " does not support fuzzy matching");
+        }
+        return fuzzyFilter;
+    }
+
+    /**
+     * 开启短文本的结果缓存，需在{@link #init()}之前设置<br>
+     * 弹幕等短文本重复率很高，相同的文本直接返回上次的结果；缓存按词库版本读取，词库变化后自动失效<br>
+     * 只作用于单条文本的{@link #filter(String)}与{@link #hasSensitiveWord(String)}
+     *
+     * @param maximumSize   每种结果最多缓存的条目数
+     * @param maxTextLength 只缓存长度不超过该值的文本
+     * @return 返回自身，便于链式编程
+     */
+    public SensitiveWordService resultCache(int maximumSize, int maxTextLength) {
+        if (maxTextLength <= 0) {
+            throw new IllegalArgumentException("maxTextLength must be positive");
+        }
+        this.filterCache = new WTinyLfuCache<>(maximumSize, CACHE_STRIPES);
+        this.hitCache = new WTinyLfuCache<>(maximumSize, CACHE_STRIPES);
+        this.cacheMaxTextLength = maxTextLength;
+        return this;
+    }
+
+    /**
+     * 获取结果缓存的统计数据，过滤与判断两种结果合计
+     *
+     * @return 统计数据，未开启缓存时为null
+     */
+    public WTinyLfuCache.CacheStats resultCacheStats() {
+        return filterCache == null ? null : filterCache.stats().plus(hitCache.stats());
+    }
+
+    /**
+     * 开启Micrometer指标，见{@link SensitiveWordMetrics}
+     *
+     * @param registry       计量器注册表
+     * @param scenes         单独统计的场景，其余场景记在{@link SensitiveWordMetrics#OTHER_SCENE}下，
+     *                       为空时为仓储中有场景敏感词的场景
+     * @param disabledScenes 不记录过滤耗时与命中率的场景，{@link SensitiveWordMetrics#GLOBAL_SCENE}表示不区分场景的过滤
+     * @return 返回自身，便于链式编程
+     */
+    public SensitiveWordService metrics(MeterRegistry registry, Set<String> scenes, Set<String> disabledScenes) {
+        SensitiveWordMetrics sensitiveWordMetrics = new SensitiveWordMetrics(registry, scenes, disabledScenes);
+        sensitiveWordMetrics.knownScenes(sceneOverlays.keySet());
+        sensitiveWordMetrics.bindDictionary(this, SensitiveWordService::wordCount,
+                service -> service.version.get(), SensitiveWordService::memoryEstimate,
+                SensitiveWordService::offHeapSize);
+        this.metrics = sensitiveWordMetrics;
+        this.globalMeters = sensitiveWordMetrics.scene(SensitiveWordMetrics.GLOBAL_SCENE);
+        return this;
+    }
+
+    private double wordCount() {
+        if (sensitiveWordFilter instanceof MeasurableSensitiveWordFilter filter) {
+            return filter.wordCount();
+        }
+        return loadedWordCount;
+    }
+
+    private double memoryEstimate() {
+        if (sensitiveWordFilter instanceof MeasurableSensitiveWordFilter filter) {
+            return filter.memoryEstimate();
+        }
+        return Double.NaN;
+    }
+
+    private double offHeapSize() {
+        if (sensitiveWordFilter instanceof MeasurableSensitiveWordFilter filter) {
+            return filter.offHeapSize();
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * 设置本地快照文件，需在{@link #init()}之前设置<br>
+     * 只有过滤器支持快照且仓储能提供词库版本时才会使用
+     *
+     * @param snapshotFile 快照文件
+     * @return 返回自身，便于链式编程
+     */
+    public SensitiveWordService snapshotFile(Path snapshotFile) {
+        if (snapshotFile == null) {
+            throw new IllegalArgumentException("snapshotFile can not be null");
+        }
+        this.snapshotFile = snapshotFile;
+        return this;
+    }
+
+    /**
+     * 设置增量同步时全量加载的兜底间隔，需在{@link #init()}之前设置
+     *
+     * @param fullReloadInterval 间隔
+     * @return 返回自身，便于链式编程
+     */
+    public SensitiveWordService fullReloadInterval(Duration fullReloadInterval) {
+        if (fullReloadInterval == null) {
+            throw new IllegalArgumentException("fullReloadInterval can not be null");
+        }
+        this.fullReloadInterval = fullReloadInterval;
         return this;
     }
 
@@ -88,7 +744,29 @@ public class SensitiveWordService {
      * @return true=有 false=没有
      */
     public boolean hasSensitiveWord(String text) {
-        return sensitiveWordFilter.hasSensitiveWord(text);
+        SensitiveWordMetrics.SceneMeters meters = globalMeters;
+        if (meters == null) {
+            return cachedHasSensitiveWord(text);
+        }
+        long start = System.nanoTime();
+        boolean hit = cachedHasSensitiveWord(text);
+        meters.recordDetect(text == null ? 0 : text.length(), System.nanoTime() - start, hit);
+        return hit;
+    }
+
+    private boolean cachedHasSensitiveWord(String text) {
+        if (hitCache == null || text == null || text.length() > cacheMaxTextLength) {
+            return sensitiveWordFilter.hasSensitiveWord(text);
+        }
+        // 先读取版本再过滤，过滤期间词库发生变化时结果记在旧版本下，不会被新版本读到
+        long currentVersion = version.get();
+        Boolean cached = hitCache.get(text, currentVersion);
+        if (cached != null) {
+            return cached;
+        }
+        boolean hit = sensitiveWordFilter.hasSensitiveWord(text);
+        hitCache.put(text, currentVersion, hit);
+        return hit;
     }
 
     /**
@@ -98,7 +776,263 @@ public class SensitiveWordService {
      * @return 返回过滤后的文本
      */
     public String filter(String text) {
-        return sensitiveWordFilter.filter(text);
+        SensitiveWordMetrics.SceneMeters meters = globalMeters;
+        if (meters == null) {
+            return cachedFilter(text);
+        }
+        long start = System.nanoTime();
+        String filtered = cachedFilter(text);
+        meters.recordFilter(text == null ? 0 : text.length(), System.nanoTime() - start,
+                text != null && !text.equals(filtered));
+        return filtered;
+    }
+
+    private String cachedFilter(String text) {
+        if (filterCache == null || text == null || text.length() > cacheMaxTextLength) {
+            return sensitiveWordFilter.filter(text);
+        }
+        long currentVersion = version.get();
+        String cached = filterCache.get(text, currentVersion);
+        if (cached != null) {
+            return cached;
+        }
+        String filtered = sensitiveWordFilter.filter(text);
+        filterCache.put(text, currentVersion, filtered);
+        return filtered;
+    }
+
+    /**
+     * 单次扫描文本，报告命中的所有敏感词的ID、分类、严重程度与位置
+     *
+     * @param text 文本
+     * @param sink 命中结果的接收方，可以使用可复用的{@link org.ricky.common.sensitiveword.domain.filter.SensitiveWordMatches}
+     * @return 命中次数
+     */
+    public int match(String text, SensitiveWordMatchSink sink) {
+        if (!(sensitiveWordFilter instanceof MatchingSensitiveWordFilter filter)) {
+            throw new UnsupportedOperationException(sensitiveWordFilter.getClass().getSimpleName()
+                    + " does not support reporting matches");
+        }
+        return filter.match(text, metrics == null ? sink : metrics.counting(sink));
+    }
+
+    /**
+     * 获取场景的只读快照，在全局词库之上叠加该场景的敏感词
+     *
+     * @param scene 场景，没有该场景的敏感词时只使用全局词库
+     * @return 快照
+     */
+    public SensitiveWordSnapshot scene(String scene) {
+        LayeredSensitiveWordFilter filter = layeredFilter();
+        // 先读代次再读叠加层与词库，创建期间发生的变化会使缓存的快照被视为过期
+        long generation = snapshotGeneration.get();
+        DoubleArrayACOverlay overlay = scene == null ? null : sceneOverlays.get(scene);
+        if (overlay != null) {
+            SceneSnapshot cached = sceneSnapshots.get(scene);
+            if (cached == null || cached.generation() != generation) {
+                cached = new SceneSnapshot(generation, metered(scene, filter.snapshot(overlay)));
+                sceneSnapshots.put(scene, cached);
+            }
+            return cached.snapshot();
+        }
+        // 没有场景敏感词的场景只使用全局词库，按指标中的场景名共用快照
+        String tag = metrics == null || scene == null ? SensitiveWordMetrics.OTHER_SCENE : metrics.sceneTag(scene);
+        SceneSnapshot cached = sharedSceneSnapshots.get(tag);
+        if (cached == null || cached.generation() != generation) {
+            cached = new SceneSnapshot(generation, metered(tag, filter.snapshot(DoubleArrayACOverlay.EMPTY)));
+            sharedSceneSnapshots.put(tag, cached);
+        }
+        return cached.snapshot();
+    }
+
+    /**
+     * 获取场景与用户的只读快照，在全局词库之上叠加该场景的敏感词与该用户的自定义屏蔽词
+     *
+     * @param scene  场景，没有该场景的敏感词时只使用全局词库
+     * @param userId 用户ID，如UP主ID，没有自定义屏蔽词时忽略
+     * @return 快照
+     */
+    public SensitiveWordSnapshot scene(String scene, Long userId) {
+        DoubleArrayACOverlay userOverlay = userId == null
+                ? DoubleArrayACOverlay.EMPTY
+                : userOverlays.getOrDefault(userId, DoubleArrayACOverlay.EMPTY);
+        return metered(scene,
+                layeredFilter().snapshot(sceneOverlays.getOrDefault(scene, DoubleArrayACOverlay.EMPTY), userOverlay));
+    }
+
+    /**
+     * 场景开启了指标时，记录快照上的每次过滤与判断
+     */
+    private SensitiveWordSnapshot metered(String scene, SensitiveWordSnapshot snapshot) {
+        SensitiveWordMetrics.SceneMeters meters = metrics == null || scene == null ? null : metrics.scene(scene);
+        return meters == null ? snapshot : meters.wrap(snapshot);
+    }
+
+    /**
+     * 设置用户自定义屏蔽词，替换该用户原有的屏蔽词
+     *
+     * @param userId 用户ID
+     * @param words  屏蔽词，为空时删除该用户的屏蔽词
+     */
+    public void userWords(Long userId, List<String> words) {
+        if (userId == null) {
+            throw new IllegalArgumentException("userId can not be null");
+        }
+        DoubleArrayACOverlay overlay = layeredFilter().overlay(words);
+        if (overlay.isEmpty()) {
+            userOverlays.remove(userId);
+        } else {
+            userOverlays.put(userId, overlay);
+        }
+    }
+
+    private LayeredSensitiveWordFilter layeredFilter() {
+        if (!(sensitiveWordFilter instanceof LayeredSensitiveWordFilter filter)) {
+            throw new UnsupportedOperationException(sensitiveWordFilter.getClass().getSimpleName()
+                    + " does not support scene or user dictionaries");
+        }
+        return filter;
+    }
+
+    /**
+     * 判断输入中是否含有敏感词，不关闭Reader<br>
+     * 过滤器支持流式输入时按块扫描，命中后不再读取剩余输入；否则退化为读入整个输入后再判断
+     *
+     * @param reader 输入
+     * @return true=有 false=没有
+     * @throws IOException IO异常
+     */
+    public boolean hasSensitiveWord(Reader reader) throws IOException {
+        if (sensitiveWordFilter instanceof StreamingSensitiveWordFilter filter) {
+            return filter.hasSensitiveWord(reader);
+        }
+        return sensitiveWordFilter.hasSensitiveWord(readFully(reader));
+    }
+
+    /**
+     * 过滤输入中的敏感词，并将过滤后的文本写入输出，不关闭Reader与Writer<br>
+     * 过滤器支持流式输入时内存占用与输入长度无关；否则退化为读入整个输入后再过滤
+     *
+     * @param reader 输入
+     * @param writer 输出
+     * @return 读取的字符数
+     * @throws IOException IO异常
+     */
+    public long filter(Reader reader, Writer writer) throws IOException {
+        if (sensitiveWordFilter instanceof StreamingSensitiveWordFilter filter) {
+            return filter.filter(reader, writer);
+        }
+        String text = readFully(reader);
+        writer.write(sensitiveWordFilter.filter(text));
+        writer.flush();
+        return text.length();
+    }
+
+    private static String readFully(Reader reader) throws IOException {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[8192];
+        int n;
+        while ((n = reader.read(buffer)) != -1) {
+            text.append(buffer, 0, n);
+        }
+        return text.toString();
+    }
+
+    /**
+     * 批量判断文本中是否含有敏感词<br>
+     * 所有文本使用同一版本的词库，文本数较多时并行执行
+     *
+     * @param texts 文本列表
+     * @return 与文本一一对应的结果，true=有 false=没有
+     */
+    public List<Boolean> hasSensitiveWord(List<String> texts) {
+        return batch(texts, SensitiveWordSnapshot::hasSensitiveWord);
+    }
+
+    /**
+     * 批量过滤文本中的敏感词<br>
+     * 所有文本使用同一版本的词库，文本数较多时并行执行
+     *
+     * @param texts 文本列表
+     * @return 与文本一一对应的过滤后的文本
+     */
+    public List<String> filter(List<String> texts) {
+        return batch(texts, SensitiveWordSnapshot::filter);
+    }
+
+    /**
+     * 流式过滤文本中的敏感词，适合逐批读取的大量数据<br>
+     * 流中所有文本使用调用时刻的词库，是否并行由调用方决定
+     *
+     * @param texts 文本流
+     * @return 过滤后的文本流
+     */
+    public Stream<String> filter(Stream<String> texts) {
+        SensitiveWordSnapshot snapshot = sensitiveWordFilter.snapshot();
+        return texts.map(snapshot::filter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> List<R> batch(List<String> texts, BiFunction<SensitiveWordSnapshot, String, R> action) {
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+        SensitiveWordSnapshot snapshot = sensitiveWordFilter.snapshot();
+        List<String> source = texts instanceof RandomAccess ? texts : new ArrayList<>(texts);
+        Object[] results = new Object[source.size()];
+        if (source.size() < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = action.apply(snapshot, source.get(i));
+            }
+        } else {
+            batchPool.invoke(new BatchTask<>(snapshot, source, results, action, 0, results.length));
+        }
+        return Collections.unmodifiableList((List<R>) Arrays.asList(results));
+    }
+
+    /**
+     * 缓存的场景快照
+     *
+     * @param generation 创建时的快照代次
+     * @param snapshot   快照
+     */
+    private record SceneSnapshot(long generation, SensitiveWordSnapshot snapshot) {
+    }
+
+    /**
+     * 批量过滤任务，按区间二分直到子任务足够小
+     */
+    private static final class BatchTask<R> extends RecursiveAction {
+
+        private final SensitiveWordSnapshot snapshot;
+        private final List<String> texts;
+        private final Object[] results;
+        private final BiFunction<SensitiveWordSnapshot, String, R> action;
+        private final int from;
+        private final int to;
+
+        BatchTask(SensitiveWordSnapshot snapshot, List<String> texts, Object[] results,
+                  BiFunction<SensitiveWordSnapshot, String, R> action, int from, int to) {
+            this.snapshot = snapshot;
+            this.texts = texts;
+            this.results = results;
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MIN_CHUNK_SIZE) {
+                for (int i = from; i < to; i++) {
+                    results[i] = action.apply(snapshot, texts.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask<>(snapshot, texts, results, action, from, mid),
+                    new BatchTask<>(snapshot, texts, results, action, mid, to));
+        }
     }
 
 }
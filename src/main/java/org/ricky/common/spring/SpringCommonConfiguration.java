@@ -10,6 +10,7 @@ import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.TransactionManager;
 import org.springframework.web.client.RestTemplate;
 
@@ -25,6 +26,7 @@ import java.time.Duration;
 @EnableCaching
 @EnableAsync
 @EnableRetry
+@EnableScheduling
 @Configuration
 public class SpringCommonConfiguration {
 
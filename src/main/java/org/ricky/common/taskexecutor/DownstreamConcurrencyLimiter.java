@@ -0,0 +1,138 @@
+package org.ricky.common.taskexecutor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DownstreamConcurrencyLimiter
+ * @desc 对单个下游（MongoDB、Redis）的并发访问数限制<br>
+ * 线程数不再受限时，用信号量代替线程池大小保护下游：许可用完后访问方阻塞等待，
+ * 虚拟线程阻塞时不占用平台线程；等待时间不超过驱动自身取连接的超时时间，超时抛出异常而不是无限排队<br>
+ * 同一线程嵌套访问同一下游时共用一个许可，避免自己等待自己；许可由访问方持有，可以在其他线程归还<br>
+ */
+public final class DownstreamConcurrencyLimiter {
+
+    private final String name;
+
+    private final int maxConcurrency;
+
+    private final Duration maxWait;
+
+    private final Semaphore permits;
+
+    /**
+     * 当前线程最外层访问取得的许可
+     */
+    private final ThreadLocal<Permit> held = new ThreadLocal<>();
+
+    /**
+     * 创建限制
+     *
+     * @param name           下游名称
+     * @param maxConcurrency 最大并发访问数
+     * @param maxWait        等待许可的最长时间，应与驱动取连接的超时时间一致
+     */
+    public DownstreamConcurrencyLimiter(String name, int maxConcurrency, Duration maxWait) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("maxWait must not be negative");
+        }
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * 开始访问下游，许可用完时最多等待maxWait<br>
+     * 当前线程已持有未归还的许可时共用该许可，只增加引用数
+     *
+     * @return 许可，访问结束时调用{@link Permit#release()}归还
+     * @throws IllegalStateException 等待超时或被中断
+     */
+    public Permit acquire() {
+        Permit permit = held.get();
+        if (permit != null && permit.retain()) {
+            return permit;
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name + ".", e);
+        }
+        if (!acquired) {
+            throw new IllegalStateException("Timed out after " + maxWait.toMillis() + "ms waiting for " + name + ".");
+        }
+        permit = new Permit();
+        held.set(permit);
+        return permit;
+    }
+
+    /**
+     * 下游名称
+     *
+     * @return 名称
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 正在访问下游的数量
+     *
+     * @return 数量
+     */
+    public int inUse() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * 一次访问持有的许可，嵌套访问共用同一个许可，最后一次归还时才释放信号量
+     */
+    public final class Permit {
+
+        private final AtomicInteger refs = new AtomicInteger(1);
+
+        private Permit() {
+        }
+
+        /**
+         * 增加引用数，许可已归还时失败
+         */
+        private boolean retain() {
+            int current;
+            do {
+                current = refs.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!refs.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        /**
+         * 归还许可，可以在任意线程调用；引用数归零后再调用时忽略
+         */
+        public void release() {
+            if (refs.getAndUpdate(current -> current > 0 ? current - 1 : 0) != 1) {
+                return;
+            }
+            if (held.get() == this) {
+                held.remove();
+            }
+            permits.release();
+        }
+
+    }
+
+}
@@ -1,42 +1,47 @@
 package org.ricky.common.taskexecutor;
 
+import org.ricky.core.common.properties.TaskExecutorProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.task.TaskExecutor;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * @author Ricky
  * @version 1.0
  * @date 2024/9/11
  * @className TaskExecutorConfiguration
- * @desc
+ * @desc 任务执行器配置，执行模式见{@link TaskExecutorProperties#getMode()}<br>
+ * VIRTUAL模式下每个任务一个虚拟线程，不再有线程数与队列的限制，
+ * 对MongoDB与Redis的并发访问改由{@link DownstreamConcurrencyLimiter}限制
  */
 @Configuration
 public class TaskExecutorConfiguration {
 
+    private final TaskExecutorProperties taskExecutorProperties;
+
+    public TaskExecutorConfiguration(TaskExecutorProperties taskExecutorProperties) {
+        this.taskExecutorProperties = taskExecutorProperties;
+    }
+
     @Bean
     @Primary
     public TaskExecutor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);
-        executor.setMaxPoolSize(100);
-        executor.setQueueCapacity(500);
-        executor.initialize();
-        executor.setThreadNamePrefix("my-common-");
-        return executor;
+        return TaskExecutors.create(taskExecutorProperties.getMode(), "my-common-", 500);
     }
 
+    /**
+     * 每个领域事件流消费者的拉取循环长期占用一个线程，任务排队就意味着消费者一直不会启动，
+     * 因此不设队列，消费者数由AdaptiveDomainEventConsumerController控制在最大线程数以内
+     */
     @Bean
     public TaskExecutor consumeDomainEventTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);
-        executor.setMaxPoolSize(100);
-        executor.setQueueCapacity(500);
-        executor.initialize();
-        executor.setThreadNamePrefix("my-event-");
-        return executor;
+        return TaskExecutors.create(taskExecutorProperties.getMode(), "my-event-", 0);
+    }
+
+    @Bean
+    public TaskExecutor handleDomainEventTaskExecutor() {
+        return TaskExecutors.create(taskExecutorProperties.getMode(), "my-handler-", 500);
     }
 
 }
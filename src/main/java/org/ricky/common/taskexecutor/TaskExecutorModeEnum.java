@@ -0,0 +1,22 @@
+package org.ricky.common.taskexecutor;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className TaskExecutorModeEnum
+ * @desc 任务执行器模式枚举
+ */
+public enum TaskExecutorModeEnum {
+
+    /**
+     * 固定大小的平台线程池，并发数受线程数限制，队列排满后拒绝任务
+     */
+    PLATFORM,
+
+    /**
+     * 每个任务一个虚拟线程，不限制线程数，对MongoDB与Redis的并发访问由信号量限制<br>
+     * 需要在JDK 21及以上运行，低版本JDK上退回PLATFORM
+     */
+    VIRTUAL,
+}
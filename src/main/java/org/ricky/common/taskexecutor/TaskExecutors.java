@@ -0,0 +1,92 @@
+package org.ricky.common.taskexecutor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className TaskExecutors
+ * @desc 按模式创建任务执行器<br>
+ * 项目以Java 17编译，虚拟线程通过反射创建：运行在JDK 21及以上时生效，否则退回平台线程池<br>
+ */
+@Slf4j
+public final class TaskExecutors {
+
+    private TaskExecutors() {
+    }
+
+    /**
+     * 创建任务执行器
+     *
+     * @param mode          模式
+     * @param prefix        线程名前缀
+     * @param queueCapacity 平台线程池的队列容量
+     * @return 任务执行器
+     */
+    public static TaskExecutor create(TaskExecutorModeEnum mode, String prefix, int queueCapacity) {
+        if (mode == TaskExecutorModeEnum.VIRTUAL) {
+            ThreadFactory threadFactory = virtualThreadFactory(prefix);
+            if (threadFactory != null) {
+                return new SimpleAsyncTaskExecutor(threadFactory);
+            }
+            log.warn("Virtual threads are not available on Java {}, use platform threads for [{}].",
+                    Runtime.version().feature(), prefix);
+        }
+        return platform(prefix, queueCapacity);
+    }
+
+    /**
+     * 固定大小的平台线程池，核心10线程，最大100线程
+     *
+     * @param prefix        线程名前缀
+     * @param queueCapacity 队列容量
+     * @return 任务执行器
+     */
+    public static TaskExecutor platform(String prefix, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(10);
+        executor.setMaxPoolSize(100);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        executor.setThreadNamePrefix(prefix);
+        return executor;
+    }
+
+    /**
+     * 是否实际使用虚拟线程，即配置为VIRTUAL且当前JDK支持虚拟线程<br>
+     * 只有使用虚拟线程时才需要限制对下游的并发访问
+     *
+     * @param mode 模式
+     * @return true=使用 false=不使用
+     */
+    public static boolean virtual(TaskExecutorModeEnum mode) {
+        return mode == TaskExecutorModeEnum.VIRTUAL && virtualThreadFactory("probe-") != null;
+    }
+
+    /**
+     * 通过反射调用{@code Thread.ofVirtual().name(prefix, 0).factory()}
+     *
+     * @param prefix 线程名前缀
+     * @return 虚拟线程工厂，不支持时返回null
+     */
+    private static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 19/20未开启预览特性时ofVirtual抛出UnsupportedOperationException
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.ricky.core.common.domain.event;
+
+import jakarta.annotation.PreDestroy;
+import org.ricky.core.common.properties.DomainEventProperties;
+import org.ricky.core.common.utils.WriteBehindBuffer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DomainEventConsumeStatusRecorder
+ * @desc 领域事件消费状态记录器<br>
+ * 消费成功的事件先放入有界缓冲区，在一个时间窗口内或攒够一批后一次批量写入；
+ * 缓冲区已满时在调用线程中直接写入，不丢弃也不无限堆积<br>
+ * 消费失败的事件总是立即写入：兜底机制只重新发送状态为消费失败的事件，
+ * 失败状态丢失会使事件不再被重试；成功状态即使因宕机未写入，事件保持发送成功状态，也不会被重复发送<br>
+ * 关闭时先写完缓冲区中的事件，之后的记录在调用线程中直接写入<br>
+ */
+@Component
+public class DomainEventConsumeStatusRecorder {
+
+    private final DomainEventDao domainEventDao;
+
+    /**
+     * 未开启延迟写入时为null
+     */
+    private final WriteBehindBuffer<DomainEvent> succeeded;
+
+    public DomainEventConsumeStatusRecorder(DomainEventDao domainEventDao, DomainEventProperties domainEventProperties) {
+        this.domainEventDao = domainEventDao;
+        this.succeeded = domainEventProperties.isConsumeStatusWriteBehind()
+                ? new WriteBehindBuffer<>("my-event-status-flusher",
+                domainEventProperties.getConsumeStatusBufferCapacity(),
+                domainEventProperties.getConsumeStatusBatchSize(),
+                domainEventProperties.getConsumeStatusFlushInterval(),
+                events -> domainEventDao.recordConsumeResults(events, List.of()))
+                : null;
+    }
+
+    /**
+     * 记录消费成功
+     *
+     * @param event 领域事件
+     */
+    public void successConsume(DomainEvent event) {
+        if (succeeded == null || !succeeded.offer(event)) {
+            domainEventDao.successConsume(event);
+        }
+    }
+
+    /**
+     * 记录消费失败，立即写入
+     *
+     * @param event 领域事件
+     */
+    public void failConsume(DomainEvent event) {
+        domainEventDao.failConsume(event);
+    }
+
+    /**
+     * 写完缓冲区中剩余的事件
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (succeeded != null) {
+            succeeded.shutdown();
+        }
+    }
+
+}
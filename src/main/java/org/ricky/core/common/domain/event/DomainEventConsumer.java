@@ -2,10 +2,15 @@ package org.ricky.core.common.domain.event;
 
 import lombok.extern.slf4j.Slf4j;
 import org.ricky.core.common.utils.TaskRunner;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @author Ricky
@@ -19,18 +24,34 @@ import java.util.List;
 public class DomainEventConsumer {
 
     private final List<DomainEventHandler> handlers;
-    private final DomainEventDao domainEventDao;
+    private final DomainEventConsumeStatusRecorder domainEventConsumeStatusRecorder;
+    private final TaskExecutor handleDomainEventTaskExecutor;
 
-    public DomainEventConsumer(List<DomainEventHandler> handlers, DomainEventDao domainEventDao) {
+    /**
+     * 按优先级分组的处理器，同一组内优先级相同
+     */
+    private final List<List<DomainEventHandler>> tiers = new ArrayList<>();
+
+    public DomainEventConsumer(List<DomainEventHandler> handlers,
+                               DomainEventConsumeStatusRecorder domainEventConsumeStatusRecorder,
+                               @Qualifier("handleDomainEventTaskExecutor") TaskExecutor handleDomainEventTaskExecutor) {
         this.handlers = handlers;
         // 按优先级排序，最优先在最前面
         this.handlers.sort(Comparator.comparingInt(DomainEventHandler::priority));
-        this.domainEventDao = domainEventDao;
+        this.domainEventConsumeStatusRecorder = domainEventConsumeStatusRecorder;
+        this.handleDomainEventTaskExecutor = handleDomainEventTaskExecutor;
+        for (DomainEventHandler handler : this.handlers) {
+            if (tiers.isEmpty() || tiers.get(tiers.size() - 1).get(0).priority() != handler.priority()) {
+                tiers.add(new ArrayList<>());
+            }
+            tiers.get(tiers.size() - 1).add(handler);
+        }
     }
 
     /**
      * 消费事件<br>
-     * 所有能处理事件的handler依次处理，全部处理成功记录消费成功，否则记录为消费失败；<br>
+     * 所有能处理事件的handler按优先级依次处理，同一优先级中声明为可并发的handler同时处理，
+     * 全部处理完成后才进入下一优先级；全部处理成功记录消费成功，否则记录为消费失败；<br>
      * 消费失败后，兜底机制将重新发送事件，重新发送最多不超过3次<br>
      *
      * @param domainEvent 领域事件
@@ -41,15 +62,24 @@ public class DomainEventConsumer {
         boolean hasError = false;
         TaskRunner taskRunner = TaskRunner.newTaskRunner();
 
-        for (DomainEventHandler handler : handlers) {
-            try {
-                if (handler.canHandle(domainEvent)) {
-                    handler.handle(domainEvent, taskRunner);
+        for (List<DomainEventHandler> tier : tiers) {
+            List<DomainEventHandler> concurrentHandlers = new ArrayList<>();
+            for (DomainEventHandler handler : tier) {
+                try {
+                    if (handler.canHandle(domainEvent)) {
+                        if (handler.concurrent()) {
+                            concurrentHandlers.add(handler);
+                        } else {
+                            handler.handle(domainEvent, taskRunner);
+                        }
+                    }
+                } catch (Throwable t) {
+                    hasError = true;
+                    logHandleError(domainEvent, handler, t);
                 }
-            } catch (Throwable t) {
+            }
+            if (!handleConcurrently(domainEvent, concurrentHandlers, taskRunner)) {
                 hasError = true;
-                log.error("MyError while handle domain event[{}:{}] by [{}].",
-                        domainEvent.getType(), domainEvent.getId(), handler.getClass().getSimpleName(), t);
             }
         }
 
@@ -58,10 +88,56 @@ public class DomainEventConsumer {
         }
 
         if (hasError) {
-            domainEventDao.failConsume(domainEvent);
+            domainEventConsumeStatusRecorder.failConsume(domainEvent);
         } else {
-            domainEventDao.successConsume(domainEvent);
+            domainEventConsumeStatusRecorder.successConsume(domainEvent);
         }
     }
 
+    /**
+     * 同时处理，只有一个handler或线程池已满时在当前线程中处理
+     *
+     * @return 是否全部处理成功
+     */
+    private boolean handleConcurrently(DomainEvent domainEvent, List<DomainEventHandler> concurrentHandlers,
+                                       TaskRunner taskRunner) {
+        if (concurrentHandlers.size() == 1) {
+            return handle(domainEvent, concurrentHandlers.get(0), taskRunner);
+        }
+        List<CompletableFuture<Boolean>> results = new ArrayList<>(concurrentHandlers.size());
+        for (DomainEventHandler handler : concurrentHandlers) {
+            // TaskRunner不是线程安全的，每个handler使用自己的TaskRunner
+            TaskRunner handlerTaskRunner = TaskRunner.newTaskRunner();
+            try {
+                results.add(CompletableFuture.supplyAsync(
+                        () -> handle(domainEvent, handler, handlerTaskRunner) && !handlerTaskRunner.hasError(),
+                        handleDomainEventTaskExecutor));
+            } catch (RejectedExecutionException e) {
+                results.add(CompletableFuture.completedFuture(handle(domainEvent, handler, taskRunner)));
+            }
+        }
+        boolean succeeded = true;
+        for (CompletableFuture<Boolean> result : results) {
+            if (!result.join()) {
+                succeeded = false;
+            }
+        }
+        return succeeded;
+    }
+
+    private boolean handle(DomainEvent domainEvent, DomainEventHandler handler, TaskRunner taskRunner) {
+        try {
+            handler.handle(domainEvent, taskRunner);
+            return true;
+        } catch (Throwable t) {
+            logHandleError(domainEvent, handler, t);
+            return false;
+        }
+    }
+
+    private static void logHandleError(DomainEvent domainEvent, DomainEventHandler handler, Throwable t) {
+        log.error("MyError while handle domain event[{}:{}] by [{}].",
+                domainEvent.getType(), domainEvent.getId(), handler.getClass().getSimpleName(), t);
+    }
+
 }
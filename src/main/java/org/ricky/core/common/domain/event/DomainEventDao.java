@@ -1,5 +1,7 @@
 package org.ricky.core.common.domain.event;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -80,4 +82,32 @@ public interface DomainEventDao {
      * @return 将要发布的事件列表
      */
     List<DomainEvent> tobePublishedEvents(String startId, int limit);
+
+    /**
+     * 认领将要发布的事件<br>
+     * 认领时为事件设置租约，租约到期前其它节点不会再认领同一事件，多个节点可以同时认领而互不重复<br>
+     * 发布失败的事件在租约到期后才会被再次认领
+     *
+     * @param raisedBefore 只认领在该时间之前产生的事件
+     * @param lease        租约时长
+     * @param limit        事件数限制
+     * @return 本次认领到的事件，按产生时间排序
+     */
+    List<DomainEvent> claimTobePublishedEvents(Instant raisedBefore, Duration lease, int limit);
+
+    /**
+     * 批量记录发布结果，一次写入
+     *
+     * @param succeeded 发布成功的事件
+     * @param failed    发布失败的事件
+     */
+    void recordPublishResults(List<DomainEvent> succeeded, List<DomainEvent> failed);
+
+    /**
+     * 批量记录消费结果，一次写入
+     *
+     * @param succeeded 消费成功的事件
+     * @param failed    消费失败的事件
+     */
+    void recordConsumeResults(List<DomainEvent> succeeded, List<DomainEvent> failed);
 }
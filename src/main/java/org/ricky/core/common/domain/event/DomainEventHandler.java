@@ -36,4 +36,14 @@ public interface DomainEventHandler {
         return 0;
     }
 
+    /**
+     * 是否可以与同一优先级的其它可并发处理器同时处理同一事件<br>
+     * 只有与同优先级的处理器互不依赖时才应返回true，不同优先级之间仍按优先级依次处理
+     *
+     * @return true=可以 false=不可以
+     */
+    default boolean concurrent() {
+        return false;
+    }
+
 }
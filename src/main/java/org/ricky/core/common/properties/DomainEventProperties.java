@@ -0,0 +1,212 @@
+package org.ricky.core.common.properties;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.ricky.common.event.consume.DomainEventConsumeModeEnum;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DomainEventProperties
+ * @desc 领域事件配置项
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties("my.domain-event")
+public class DomainEventProperties {
+
+    /**
+     * 是否启用发件箱中继，定时重新发布发送失败、消费失败或未能及时发布的事件
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * 中继的执行间隔
+     */
+    @NotNull
+    private Duration relayInterval = Duration.ofSeconds(10);
+
+    /**
+     * 事件产生后超过该时长仍未发布成功才由中继发布，避免与请求结束时的异步发布重复
+     */
+    @NotNull
+    private Duration relayDelay = Duration.ofMinutes(1);
+
+    /**
+     * 中继认领事件的租约时长，租约到期前其它节点不会再认领同一事件
+     */
+    @NotNull
+    private Duration relayLease = Duration.ofMinutes(2);
+
+    /**
+     * 中继每批认领的事件数
+     */
+    @Positive
+    private int relayBatchSize = 100;
+
+    /**
+     * 中继每次执行最多处理的批数，剩余的事件留到下次执行
+     */
+    @Positive
+    private int relayMaxBatches = 50;
+
+    /**
+     * 消费模式
+     */
+    @NotNull
+    private DomainEventConsumeModeEnum consumeMode = DomainEventConsumeModeEnum.CONCURRENT;
+
+    /**
+     * consumeMode为PARTITIONED时的通道数，同一聚合根的事件总是进入同一通道按顺序处理
+     */
+    @Positive
+    private int consumeLanes = 16;
+
+    /**
+     * 每个通道最多排队的事件数，排满后拉取事件的线程阻塞等待
+     */
+    @Positive
+    private int laneQueueCapacity = 200;
+
+    /**
+     * 是否延迟批量写入消费成功的状态，消费失败的状态总是立即写入<br>
+     * 开启后状态可能在事件确认之后才写入，进程崩溃时会丢失尚未写入的状态，由中继重新发布
+     */
+    private boolean consumeStatusWriteBehind = false;
+
+    /**
+     * 消费状态批量写入的时间窗口，从窗口内第一个事件开始计时
+     */
+    @NotNull
+    private Duration consumeStatusFlushInterval = Duration.ofMillis(100);
+
+    /**
+     * 消费状态每批最多写入的事件数
+     */
+    @Positive
+    private int consumeStatusBatchSize = 500;
+
+    /**
+     * 等待写入的消费状态缓冲区容量，已满时在消费线程中直接写入
+     */
+    @Positive
+    private int consumeStatusBufferCapacity = 10000;
+
+    /**
+     * 是否在事件消费完成后才确认，否则读取后立即确认
+     */
+    private boolean explicitAck = false;
+
+    /**
+     * 批量确认的时间窗口
+     */
+    @NotNull
+    private Duration ackFlushInterval = Duration.ofMillis(50);
+
+    /**
+     * 每条XACK最多确认的事件数
+     */
+    @Positive
+    private int ackBatchSize = 200;
+
+    /**
+     * 等待确认的事件缓冲区容量，已满时直接确认
+     */
+    @Positive
+    private int ackBufferCapacity = 10000;
+
+    /**
+     * 回收待确认事件的执行间隔
+     */
+    @NotNull
+    private Duration reclaimInterval = Duration.ofSeconds(30);
+
+    /**
+     * 待确认事件空闲超过该时长才会被回收，应大于事件的最长处理时间
+     */
+    @NotNull
+    private Duration reclaimMinIdle = Duration.ofMinutes(5);
+
+    /**
+     * 每次XPENDING扫描的事件数
+     */
+    @Positive
+    private int reclaimBatchSize = 100;
+
+    /**
+     * 单个事件最多投递的次数，达到后不再回收
+     */
+    @Positive
+    private int maxDeliveries = 5;
+
+    /**
+     * 每个消费者单次从流中拉取的事件数
+     */
+    @Positive
+    private int consumeBatchSize = 10;
+
+    /**
+     * 是否根据积压、吞吐与处理耗时自动增减CONCURRENT模式下的消费者数
+     */
+    private boolean adaptiveConsumers = false;
+
+    /**
+     * 未开启自适应时CONCURRENT模式下的消费者数
+     */
+    @Positive
+    private int consumers = 25;
+
+    /**
+     * 自适应时的最少消费者数
+     */
+    @Positive
+    private int minConsumers = 2;
+
+    /**
+     * 自适应时的最多消费者数，同时不超过consumeDomainEventTaskExecutor的最大线程数
+     */
+    @Positive
+    private int maxConsumers = 50;
+
+    /**
+     * 自适应调整的间隔
+     */
+    @NotNull
+    private Duration consumerAdjustInterval = Duration.ofSeconds(5);
+
+    /**
+     * 有积压时期望在该时长内消化完，决定为积压额外增加的消费者数
+     */
+    @NotNull
+    private Duration lagDrainTime = Duration.ofSeconds(10);
+
+    /**
+     * 本节点同时处理的事件数上限，达到后拉取线程阻塞等待
+     */
+    @Positive
+    private int maxInFlight = 200;
+
+    /**
+     * 批量写入的时间窗口为0或负数时，后台线程会不停地空转
+     */
+    @AssertTrue(message = "consumeStatusFlushInterval must be positive")
+    public boolean isConsumeStatusFlushIntervalPositive() {
+        return consumeStatusFlushInterval == null
+                || !consumeStatusFlushInterval.isNegative() && !consumeStatusFlushInterval.isZero();
+    }
+
+    @AssertTrue(message = "ackFlushInterval must be positive")
+    public boolean isAckFlushIntervalPositive() {
+        return ackFlushInterval == null || !ackFlushInterval.isNegative() && !ackFlushInterval.isZero();
+    }
+
+}
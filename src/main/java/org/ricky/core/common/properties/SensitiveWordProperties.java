@@ -0,0 +1,204 @@
+package org.ricky.core.common.properties;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.ricky.common.sensitiveword.domain.SensitiveWordCategoryEnum;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordFilterStrategyEnum;
+import org.ricky.common.sensitiveword.domain.segment.AnsjBoundaryVerifier;
+import org.ricky.common.sensitiveword.infrastructure.SensitiveWordRepositoryTypeEnum;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className SensitiveWordProperties
+ * @desc 敏感词配置项
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties("my.sensitive-word")
+public class SensitiveWordProperties {
+
+    /**
+     * 定时重新加载敏感词的间隔
+     */
+    @NotNull
+    private Duration reloadInterval = Duration.ofMinutes(5);
+
+    /**
+     * 通知各节点重新加载敏感词的Redis频道
+     */
+    @NotBlank
+    private String reloadChannel = "SensitiveWord.Reload";
+
+    /**
+     * 增量同步时，距上次全量加载超过该间隔后仍全量加载一次<br>
+     * 过滤策略支持增量变更（DFA、DAT）且仓储支持增量同步时，定时与通知触发的重新加载只拉取发生变化的敏感词
+     */
+    @NotNull
+    private Duration fullReloadInterval = Duration.ofHours(1);
+
+    /**
+     * 敏感词仓储，FILE与MEMORY用于本地调试
+     */
+    @NotNull
+    private SensitiveWordRepositoryTypeEnum repository = SensitiveWordRepositoryTypeEnum.MYSQL;
+
+    /**
+     * repository为FILE时读取的文本文件，每行一个敏感词
+     */
+    private String repositoryFile;
+
+    /**
+     * 过滤策略
+     */
+    @NotNull
+    private SensitiveWordFilterStrategyEnum strategy = SensitiveWordFilterStrategyEnum.DFA;
+
+    /**
+     * 编译好的词库的本地快照文件，为空时不使用快照<br>
+     * 启动时快照未过期则直接加载，跳过查询数据库与构建词库，只有支持快照的过滤策略（DAT）才会使用
+     */
+    private String snapshotFile;
+
+    /**
+     * 用ansj分词边界确认命中，命中区间两端都落在分词边界上才算命中，减少无辜词被误判<br>
+     * 只有支持二次确认的过滤策略（DAT）才能开启
+     */
+    private boolean segmentVerification = false;
+
+    /**
+     * 分词确认时命中区间前后各取多少个字符作为上下文
+     */
+    @Positive
+    private int segmentWindow = AnsjBoundaryVerifier.DEFAULT_WINDOW;
+
+    /**
+     * 各分类默认允许的字间插入字符数（0~8），如POLITICS: 2，用于识别"敏x感x词"这类变体；
+     * 未列出的分类只做精确匹配，单个敏感词可以通过max_gap字段单独指定<br>
+     * 只有支持模糊匹配的过滤策略（DAT）才能配置
+     */
+    @NotNull
+    private Map<SensitiveWordCategoryEnum, Integer> categoryGaps = new EnumMap<>(SensitiveWordCategoryEnum.class);
+
+    /**
+     * 把编译后的词库保存在堆外：全量加载的词库复制到直接内存，从快照加载时直接映射快照文件，
+     * 多个实例映射同一个快照文件时共享页缓存；适合百万级以上的词库<br>
+     * 只有支持堆外存储的过滤策略（DAT）才能开启
+     */
+    private boolean offHeap = false;
+
+    /**
+     * 字符归一化
+     */
+    @Valid
+    @NotNull
+    private Normalization normalization = new Normalization();
+
+    /**
+     * 短文本的结果缓存
+     */
+    @Valid
+    @NotNull
+    private ResultCache resultCache = new ResultCache();
+
+    /**
+     * Micrometer指标
+     */
+    @Valid
+    @NotNull
+    private Metrics metrics = new Metrics();
+
+    @Data
+    public static class Metrics {
+
+        /**
+         * 是否开启
+         */
+        private boolean enabled = true;
+
+        /**
+         * 单独统计的场景，其余场景记在other下，避免调用方传入的场景名使时间序列无限增长；
+         * 为空时为仓储中有场景敏感词的场景
+         */
+        @NotNull
+        private Set<String> scenes = Set.of();
+
+        /**
+         * 不记录过滤耗时与命中率的场景，global表示不区分场景的过滤，other表示不在上面集合中的场景
+         */
+        @NotNull
+        private Set<String> disabledScenes = Set.of();
+
+    }
+
+    @Data
+    public static class ResultCache {
+
+        /**
+         * 是否开启
+         */
+        private boolean enabled = false;
+
+        /**
+         * 过滤与判断结果各自最多缓存的条目数
+         */
+        @Positive
+        private int maximumSize = 100000;
+
+        /**
+         * 只缓存长度不超过该值的文本，弹幕通常在30字以内
+         */
+        @Positive
+        private int maxTextLength = 32;
+
+    }
+
+    @Data
+    public static class Normalization {
+
+        /**
+         * 全角字符转为半角字符
+         */
+        private boolean fullWidthToHalfWidth = true;
+
+        /**
+         * 转为小写
+         */
+        private boolean lowercase = true;
+
+        /**
+         * 繁体字转为简体字
+         */
+        private boolean traditionalToSimplified = true;
+
+        /**
+         * 繁简对照表文件路径，格式与OpenCC的TSCharacters.txt相同，为空时使用内置的常用字对照表
+         */
+        private String traditionalSimplifiedTable;
+
+        /**
+         * 跳过零宽字符
+         */
+        private boolean skipZeroWidth = true;
+
+        /**
+         * 跳过的字符，为空时使用默认的标点符号集合
+         */
+        private String skipChars;
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.ricky.core.common.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.ricky.common.taskexecutor.TaskExecutorModeEnum;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className TaskExecutorProperties
+ * @desc 任务执行器配置项
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties("my.task-executor")
+public class TaskExecutorProperties {
+
+    /**
+     * taskExecutor、consumeDomainEventTaskExecutor与handleDomainEventTaskExecutor的执行模式
+     */
+    @NotNull
+    private TaskExecutorModeEnum mode = TaskExecutorModeEnum.PLATFORM;
+
+    /**
+     * VIRTUAL模式下同时访问MongoDB的最大数量，应不超过MongoDB连接池大小
+     */
+    @Positive
+    private int mongoConcurrency = 200;
+
+    /**
+     * VIRTUAL模式下同时访问Redis的最大数量，流消费者阻塞读取时也占用许可，应大于消费者数
+     */
+    @Positive
+    private int redisConcurrency = 256;
+
+}
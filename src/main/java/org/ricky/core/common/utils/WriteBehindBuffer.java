@@ -0,0 +1,149 @@
+package org.ricky.core.common.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className WriteBehindBuffer
+ * @desc 有界的延迟批量写入缓冲区<br>
+ * 元素先放入有界队列，由后台线程在一个时间窗口内（从窗口内第一个元素开始计时）或攒够一批后一次写入；
+ * 队列已满或已关闭时{@link #offer(Object)}返回false，由调用方自行直接写入<br>
+ * 关闭时写完队列中剩余的元素<br>
+ *
+ * @param <T> 元素类型
+ */
+@Slf4j
+public class WriteBehindBuffer<T> {
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final String name;
+    private final int batchSize;
+    private final long windowNanos;
+    private final Consumer<List<T>> writer;
+
+    private final BlockingQueue<T> queue;
+
+    private final Thread flusher;
+
+    private volatile boolean running;
+
+    /**
+     * 创建并启动缓冲区
+     *
+     * @param name      名称，用作后台线程名
+     * @param capacity  队列容量
+     * @param batchSize 每批最多写入的元素数
+     * @param window    时间窗口，需大于0
+     * @param writer    批量写入，抛出的异常只记录日志
+     */
+    public WriteBehindBuffer(String name, int capacity, int batchSize, Duration window, Consumer<List<T>> writer) {
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("capacity and batchSize must be positive");
+        }
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.name = name;
+        this.batchSize = batchSize;
+        this.windowNanos = window.toNanos();
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.running = true;
+        this.flusher = new Thread(this::flushLoop, name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * 放入元素
+     *
+     * @param element 元素
+     * @return 是否放入成功，队列已满或已关闭时返回false
+     */
+    public boolean offer(T element) {
+        if (!running || !queue.offer(element)) {
+            return false;
+        }
+        // 放入时恰好开始关闭，队列可能已经写完，交还调用方
+        return running || !queue.remove(element);
+    }
+
+    /**
+     * 队列中等待写入的元素数
+     *
+     * @return 元素数
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    private void flushLoop() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                T first = queue.poll(windowNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 关闭时被中断，已取出的元素照常写入
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<T> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writer.accept(batch);
+        } catch (Throwable t) {
+            log.error("Failed to write {} elements of [{}].", batch.size(), name, t);
+        }
+    }
+
+    /**
+     * 停止后台写入，写完队列中剩余的元素
+     */
+    public void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        flusher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        List<T> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.ricky.common.event.consume;
+
+import org.junit.jupiter.api.Test;
+import org.ricky.core.common.properties.DomainEventProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className PartitionedDomainEventDispatcherTest
+ * @desc 同一分区键的任务按提交顺序执行；通道队列已满时提交方阻塞，直到有空位；关闭后等待已提交的任务执行完成并拒绝新任务
+ */
+class PartitionedDomainEventDispatcherTest {
+
+    private static final int TASKS_PER_KEY = 500;
+
+    @Test
+    void should_run_tasks_of_same_key_in_order() throws Exception {
+        PartitionedDomainEventDispatcher dispatcher = new PartitionedDomainEventDispatcher(properties(4, 2));
+        Map<String, List<Integer>> executed = new ConcurrentHashMap<>();
+        List<String> keys = IntStream.range(0, 20).mapToObj(i -> "ar-" + i).toList();
+        try {
+            for (int i = 0; i < TASKS_PER_KEY; ++i) {
+                for (String key : keys) {
+                    int sequence = i;
+                    // 每个分区键只在一个通道线程中执行，列表不需要同步
+                    dispatcher.dispatch(key, () -> executed.computeIfAbsent(key, k -> new ArrayList<>()).add(sequence));
+                }
+            }
+        } finally {
+            dispatcher.shutdown();
+        }
+        List<Integer> expected = IntStream.range(0, TASKS_PER_KEY).boxed().toList();
+        for (String key : keys) {
+            assertEquals(expected, executed.get(key), key);
+        }
+        assertEquals(0, dispatcher.queuedTasks());
+    }
+
+    @Test
+    void should_block_dispatcher_when_lane_is_full() throws Exception {
+        PartitionedDomainEventDispatcher dispatcher = new PartitionedDomainEventDispatcher(properties(1, 1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch executed = new CountDownLatch(3);
+        try {
+            dispatcher.dispatch("ar-1", () -> {
+                started.countDown();
+                await(blocker);
+                executed.countDown();
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            dispatcher.dispatch("ar-2", executed::countDown);
+            assertEquals(1, dispatcher.queuedTasks());
+
+            CountDownLatch dispatched = new CountDownLatch(1);
+            Thread producer = new Thread(() -> {
+                dispatcher.dispatch(null, executed::countDown);
+                dispatched.countDown();
+            });
+            producer.start();
+            assertFalse(dispatched.await(100, TimeUnit.MILLISECONDS));
+
+            blocker.countDown();
+            assertTrue(dispatched.await(5, TimeUnit.SECONDS));
+            assertTrue(executed.await(5, TimeUnit.SECONDS));
+            producer.join();
+        } finally {
+            blocker.countDown();
+            dispatcher.shutdown();
+        }
+        assertThrows(RejectedExecutionException.class, () -> dispatcher.dispatch("ar-1", () -> {
+        }));
+    }
+
+    private static DomainEventProperties properties(int lanes, int laneQueueCapacity) {
+        DomainEventProperties properties = new DomainEventProperties();
+        properties.setConsumeLanes(lanes);
+        properties.setLaneQueueCapacity(laneQueueCapacity);
+        return properties;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
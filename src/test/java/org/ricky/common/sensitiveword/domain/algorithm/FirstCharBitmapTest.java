@@ -0,0 +1,70 @@
+package org.ricky.common.sensitiveword.domain.algorithm;
+
+import org.junit.jupiter.api.Test;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className FirstCharBitmapTest
+ * @desc 位图与首字集合一致，包括ASCII快速路径与位图边界上的字符；跳过字符不能作为首字；增删后得到新的集合而不修改原集合
+ */
+class FirstCharBitmapTest {
+
+    @Test
+    void should_contain_exactly_first_chars() {
+        Random random = new Random(20261017);
+        Set<Character> chars = new HashSet<>(List.of('0', '?', '@', 'a', '\u007F', '\u0080', '\uFFFF'));
+        for (int i = 0; i < 1000; ++i) {
+            chars.add((char) random.nextInt(Character.MAX_VALUE + 1));
+        }
+        chars.remove(CharNormalizer.SKIP);
+        FirstCharBitmap bitmap = FirstCharBitmap.of(chars);
+        for (int i = 0; i <= Character.MAX_VALUE; ++i) {
+            char c = (char) i;
+            assertEquals(chars.contains(c), bitmap.contains(c), () -> "char " + (int) c);
+        }
+    }
+
+    @Test
+    void should_never_contain_skip_char() {
+        assertFalse(FirstCharBitmap.of(List.of(CharNormalizer.SKIP, 'a')).contains(CharNormalizer.SKIP));
+        assertFalse(FirstCharBitmap.EMPTY.with(List.of(CharNormalizer.SKIP), List.of()).contains(CharNormalizer.SKIP));
+        assertSame(FirstCharBitmap.EMPTY, FirstCharBitmap.of(List.of()));
+    }
+
+    @Test
+    void should_add_and_remove_without_changing_original() {
+        FirstCharBitmap original = FirstCharBitmap.of(List.of('a', '敏'));
+        FirstCharBitmap changed = original.with(List.of('b', '感'), List.of('a'));
+        assertTrue(original.contains('a'));
+        assertFalse(original.contains('感'));
+        assertFalse(changed.contains('a'));
+        assertTrue(changed.contains('b'));
+        assertTrue(changed.contains('敏'));
+        assertTrue(changed.contains('感'));
+        assertSame(original, original.with(List.of(), List.of()));
+    }
+
+    @Test
+    void should_prescan_text() {
+        FirstCharBitmap bitmap = FirstCharBitmap.of(List.of('a', '万'));
+        assertTrue(bitmap.mayMatch("xyza"));
+        assertFalse(bitmap.mayMatch("xyzA萬"));
+        assertFalse(bitmap.mayMatch(""));
+        // 归一化后才能作为首字的字符
+        CharNormalizer normalizer = CharNormalizer.defaults();
+        assertTrue(bitmap.mayMatch("xyzＡ", normalizer));
+        assertTrue(bitmap.mayMatch("萬", normalizer));
+        assertFalse(bitmap.mayMatch("xyz", normalizer));
+    }
+
+}
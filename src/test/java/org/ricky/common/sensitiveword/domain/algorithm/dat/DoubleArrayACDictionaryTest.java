@@ -0,0 +1,154 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DoubleArrayACDictionaryTest
+ * @desc 词库经过随机的增删与合并后，与逐词查找的暴力匹配结果一致
+ */
+class DoubleArrayACDictionaryTest {
+
+    private static final String ALPHABET = "abcde";
+
+    private static final char MASK_CHAR = '*';
+
+    @Test
+    void should_match_like_brute_force_after_random_changes() {
+        Random random = new Random(20261017);
+        for (int round = 0; round < 200; ++round) {
+            Map<String, Long> live = new HashMap<>();
+            for (int i = 0, n = random.nextInt(20); i < n; ++i) {
+                live.put(randomWord(random), random.nextLong(1000));
+            }
+            List<String> words = new ArrayList<>(live.keySet());
+            long[] payloads = new long[words.size()];
+            for (int i = 0; i < words.size(); ++i) {
+                payloads[i] = live.get(words.get(i));
+            }
+            DoubleArrayACDictionary dictionary = DoubleArrayACDictionary.of(words, payloads);
+            assertMatchesBruteForce(dictionary, live, random);
+
+            for (int step = 0; step < 30; ++step) {
+                int op = random.nextInt(10);
+                if (op < 5) {
+                    List<String> added = new ArrayList<>();
+                    long[] addedPayloads = new long[1 + random.nextInt(5)];
+                    for (int i = 0; i < addedPayloads.length; ++i) {
+                        // 一部分是已存在的词，更新其附加数据
+                        String word = !live.isEmpty() && random.nextInt(3) == 0
+                                ? pick(live.keySet(), random)
+                                : randomWord(random);
+                        added.add(word);
+                        addedPayloads[i] = random.nextLong(1000);
+                    }
+                    dictionary = dictionary.withAdded(added, addedPayloads);
+                    for (int i = 0; i < added.size(); ++i) {
+                        live.put(added.get(i), addedPayloads[i]);
+                    }
+                } else if (op < 9) {
+                    List<String> removed = new ArrayList<>();
+                    for (int i = 0, n = 1 + random.nextInt(4); i < n; ++i) {
+                        removed.add(!live.isEmpty() && random.nextBoolean()
+                                ? pick(live.keySet(), random)
+                                : randomWord(random));
+                    }
+                    dictionary = dictionary.withRemoved(removed);
+                    removed.forEach(live::remove);
+                } else {
+                    dictionary = dictionary.compact();
+                }
+                assertMatchesBruteForce(dictionary, live, random);
+            }
+            assertMatchesBruteForce(dictionary.toOffHeap(), live, random);
+        }
+    }
+
+    @Test
+    void should_keep_payloads_when_added_without_payloads() {
+        DoubleArrayACDictionary dictionary = DoubleArrayACDictionary.of(List.of("ab", "bc"), new long[]{1, 2})
+                .withAdded(List.of("ab", "cd"));
+        assertEquals(List.of(List.of(1L, 0, 2), List.of(2L, 1, 3), List.of(0L, 2, 4)), matches(dictionary, "abcd"));
+
+        // 删除后再加入的词是新词，附加数据为0
+        dictionary = dictionary.withRemoved(List.of("ab")).withAdded(List.of("ab"));
+        assertEquals(List.of(List.of(0L, 0, 2), List.of(2L, 1, 3), List.of(0L, 2, 4)), matches(dictionary, "abcd"));
+        assertEquals(matches(dictionary, "abcd"), matches(dictionary.compact(), "abcd"));
+    }
+
+    private static void assertMatchesBruteForce(DoubleArrayACDictionary dictionary, Map<String, Long> live,
+                                                Random random) {
+        assertEquals(new TreeSet<>(live.keySet()), new TreeSet<>(dictionary.words()));
+        assertEquals(live.size(), dictionary.wordCount());
+        for (int i = 0; i < 10; ++i) {
+            String text = randomText(random, 40);
+            List<List<Object>> expected = bruteForceMatches(live, text);
+            List<List<Object>> actual = matches(dictionary, text);
+            assertEquals(expected, actual, () -> live + " in " + text);
+            assertEquals(!expected.isEmpty(), dictionary.containsAny(text), () -> live + " in " + text);
+            assertEquals(bruteForceMask(live.keySet(), text), dictionary.mask(text, MASK_CHAR), () -> live + " in " + text);
+        }
+    }
+
+    private static List<List<Object>> matches(DoubleArrayACDictionary dictionary, String text) {
+        List<List<Object>> matches = new ArrayList<>();
+        int count = dictionary.matchAll(text, (payload, start, end) -> matches.add(List.of(payload, start, end)));
+        assertEquals(matches.size(), count);
+        matches.sort(MATCH_ORDER);
+        return matches;
+    }
+
+    private static List<List<Object>> bruteForceMatches(Map<String, Long> words, String text) {
+        List<List<Object>> matches = new ArrayList<>();
+        words.forEach((word, payload) -> {
+            for (int p = text.indexOf(word); p >= 0; p = text.indexOf(word, p + 1)) {
+                matches.add(List.of(payload, p, p + word.length()));
+            }
+        });
+        matches.sort(MATCH_ORDER);
+        return matches;
+    }
+
+    private static String bruteForceMask(Collection<String> words, String text) {
+        char[] masked = text.toCharArray();
+        for (String word : words) {
+            for (int p = text.indexOf(word); p >= 0; p = text.indexOf(word, p + 1)) {
+                Arrays.fill(masked, p, p + word.length(), MASK_CHAR);
+            }
+        }
+        return new String(masked);
+    }
+
+    private static final Comparator<List<Object>> MATCH_ORDER = Comparator
+            .<List<Object>>comparingInt(match -> (Integer) match.get(2))
+            .thenComparingInt(match -> (Integer) match.get(1))
+            .thenComparingLong(match -> (Long) match.get(0));
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, len = 1 + random.nextInt(4); i < len; ++i) {
+            word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return word.toString();
+    }
+
+    private static String randomText(Random random, int maxLength) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0, len = random.nextInt(maxLength); i < len; ++i) {
+            // 混入不在任何敏感词中的字符
+            text.append(random.nextInt(8) == 0 ? 'x' : ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    private static String pick(Collection<String> words, Random random) {
+        return words.stream().sorted().skip(random.nextInt(words.size())).findFirst().orElseThrow();
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DoubleArrayACSnapshotTest
+ * @desc 快照写入后读回（堆内与映射）的匹配结果与写入前相同；过期的快照返回null，损坏的快照被拒绝
+ */
+class DoubleArrayACSnapshotTest {
+
+    private static final long DATA_VERSION = 7;
+
+    private static final long FINGERPRINT = 11;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void should_round_trip_dictionary_and_gap_matcher() throws IOException {
+        Random random = new Random(20261017);
+        for (int round = 0; round < 20; ++round) {
+            List<String> words = randomWords(random, 50);
+            long[] payloads = random.longs(words.size(), 0, 1000).toArray();
+            int[] gaps = random.ints(words.size(), 0, 3).toArray();
+            // 带有未合并的增删，写入时先合并
+            DoubleArrayACDictionary dictionary = DoubleArrayACDictionary.of(words, payloads)
+                    .withAdded(randomWords(random, 5))
+                    .withRemoved(words.subList(0, words.size() / 4));
+            DoubleArrayGapMatcher gapMatcher = DoubleArrayGapMatcher.of(words, payloads, gaps);
+            Path file = dir.resolve("snapshot-" + round + ".dat");
+            DoubleArrayACSnapshot.write(file, dictionary, gapMatcher, DATA_VERSION, FINGERPRINT);
+
+            for (boolean mapped : new boolean[]{false, true}) {
+                DoubleArrayACSnapshot snapshot = DoubleArrayACSnapshot.read(file, DATA_VERSION, FINGERPRINT, mapped);
+                assertNotNull(snapshot);
+                assertEquals(new TreeSet<>(dictionary.words()), new TreeSet<>(snapshot.dictionary().words()));
+                assertEquals(gapMatcher == null, snapshot.gapMatcher() == null);
+                for (int i = 0; i < 20; ++i) {
+                    String text = randomText(random);
+                    assertEquals(matches(dictionary::matchAll, text), matches(snapshot.dictionary()::matchAll, text));
+                    assertEquals(dictionary.mask(text, '*'), snapshot.dictionary().mask(text, '*'));
+                    if (gapMatcher != null) {
+                        assertEquals(matches(gapMatcher::matchAll, text), matches(snapshot.gapMatcher()::matchAll, text));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void should_return_null_for_stale_or_missing_snapshot() throws IOException {
+        Path file = dir.resolve("snapshot.dat");
+        assertNull(DoubleArrayACSnapshot.read(file, DATA_VERSION, FINGERPRINT));
+        DoubleArrayACSnapshot.write(file, DoubleArrayACDictionary.of(List.of("abc")), null, DATA_VERSION, FINGERPRINT);
+        assertNull(DoubleArrayACSnapshot.read(file, DATA_VERSION + 1, FINGERPRINT));
+        assertNull(DoubleArrayACSnapshot.read(file, DATA_VERSION, FINGERPRINT + 1));
+        assertNotNull(DoubleArrayACSnapshot.read(file, DATA_VERSION, FINGERPRINT));
+    }
+
+    @Test
+    void should_reject_corrupted_snapshot() throws IOException {
+        Path file = dir.resolve("snapshot.dat");
+        DoubleArrayACSnapshot.write(file, DoubleArrayACDictionary.of(List.of("abc", "bcd")), null,
+                DATA_VERSION, FINGERPRINT);
+        byte[] bytes = Files.readAllBytes(file);
+
+        byte[] corrupted = bytes.clone();
+        corrupted[corrupted.length - 2] ^= 0x5A;
+        Files.write(file, corrupted);
+        IOException checksum = assertThrows(IOException.class,
+                () -> DoubleArrayACSnapshot.read(file, DATA_VERSION, FINGERPRINT));
+        assertTrue(checksum.getMessage().contains("checksum"), checksum.getMessage());
+        assertThrows(IOException.class, () -> DoubleArrayACSnapshot.read(file, DATA_VERSION, FINGERPRINT, true));
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> DoubleArrayACSnapshot.read(file, DATA_VERSION, FINGERPRINT));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> DoubleArrayACSnapshot.read(file, DATA_VERSION, FINGERPRINT));
+    }
+
+    private static List<List<Object>> matches(Matcher matcher, String text) {
+        List<List<Object>> matches = new ArrayList<>();
+        matcher.matchAll(text, (payload, start, end) -> matches.add(List.of(payload, start, end)));
+        matches.sort(Comparator.<List<Object>>comparingInt(match -> (Integer) match.get(2))
+                .thenComparingInt(match -> (Integer) match.get(1))
+                .thenComparingLong(match -> (Long) match.get(0)));
+        return matches;
+    }
+
+    private static List<String> randomWords(Random random, int count) {
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < count) {
+            StringBuilder word = new StringBuilder();
+            for (int i = 0, len = 1 + random.nextInt(5); i < len; ++i) {
+                word.append((char) ('a' + random.nextInt(6)));
+            }
+            words.add(word.toString());
+        }
+        return new ArrayList<>(words);
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0, len = random.nextInt(40); i < len; ++i) {
+            text.append((char) ('a' + random.nextInt(7)));
+        }
+        return text.toString();
+    }
+
+    @FunctionalInterface
+    private interface Matcher {
+        int matchAll(CharSequence text, PayloadMatchListener listener);
+    }
+
+}
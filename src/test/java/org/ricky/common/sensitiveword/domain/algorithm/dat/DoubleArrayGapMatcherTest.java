@@ -0,0 +1,167 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DoubleArrayGapMatcherTest
+ * @desc 插入字符的匹配与枚举所有嵌入方式的暴力匹配结果一致：
+ * 每个敏感词在每个结束位置最多报告一次，起始位置为至少插入了一个字符、且每处插入不超过允许间隔的嵌入中最早的
+ */
+class DoubleArrayGapMatcherTest {
+
+    private static final String ALPHABET = "abc";
+
+    @Test
+    void should_match_like_brute_force() {
+        Random random = new Random(20261017);
+        for (int round = 0; round < 300; ++round) {
+            Map<String, long[]> live = new HashMap<>();
+            for (int i = 0, n = 1 + random.nextInt(8); i < n; ++i) {
+                live.put(randomWord(random), new long[]{random.nextLong(1000), random.nextInt(4)});
+            }
+            DoubleArrayGapMatcher matcher = build(live);
+
+            for (int step = 0; step < 5 && matcher != null; ++step) {
+                assertMatchesBruteForce(matcher, live, random);
+                if (random.nextBoolean()) {
+                    // 新增或更新，间隔为0的词会被移除
+                    List<String> words = new ArrayList<>();
+                    long[] payloads = new long[1 + random.nextInt(3)];
+                    int[] gaps = new int[payloads.length];
+                    for (int i = 0; i < payloads.length; ++i) {
+                        String word = randomWord(random);
+                        while (words.contains(word)) {
+                            word = randomWord(random);
+                        }
+                        words.add(word);
+                        payloads[i] = random.nextLong(1000);
+                        gaps[i] = random.nextInt(4);
+                    }
+                    matcher = matcher.withAdded(words, payloads, gaps);
+                    for (int i = 0; i < words.size(); ++i) {
+                        live.put(words.get(i), new long[]{payloads[i], gaps[i]});
+                    }
+                } else {
+                    List<String> removed = List.of(randomWord(random), randomWord(random));
+                    matcher = matcher.withRemoved(removed);
+                    removed.forEach(live::remove);
+                }
+                live.values().removeIf(entry -> entry[1] == 0);
+                assertEquals(live.isEmpty(), matcher == null, live::toString);
+            }
+        }
+    }
+
+    @Test
+    void should_report_earliest_start_once_per_end() {
+        DoubleArrayGapMatcher matcher = DoubleArrayGapMatcher.of(List.of("ab"), new long[]{7}, new int[]{2});
+        List<List<Object>> matches = new ArrayList<>();
+        matcher.matchAll("aaxb", (payload, start, end) -> matches.add(List.of(payload, start, end)));
+        assertEquals(List.of(List.of(7L, 0, 4)), matches);
+        assertFalse(matcher.containsAny("ab"));
+        assertTrue(matcher.containsAny("a-b"));
+        assertFalse(matcher.containsAny("a---b"));
+    }
+
+    @Test
+    void should_ignore_words_without_gap() {
+        assertNull(DoubleArrayGapMatcher.of(List.of("ab"), new long[]{1}, new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> DoubleArrayGapMatcher.of(
+                List.of("ab"), new long[]{1}, new int[]{DoubleArrayGapMatcher.MAX_GAP + 1}));
+    }
+
+    private static DoubleArrayGapMatcher build(Map<String, long[]> live) {
+        List<String> words = new ArrayList<>(live.keySet());
+        long[] payloads = new long[words.size()];
+        int[] gaps = new int[words.size()];
+        for (int i = 0; i < words.size(); ++i) {
+            payloads[i] = live.get(words.get(i))[0];
+            gaps[i] = (int) live.get(words.get(i))[1];
+        }
+        DoubleArrayGapMatcher matcher = DoubleArrayGapMatcher.of(words, payloads, gaps);
+        live.values().removeIf(entry -> entry[1] == 0);
+        assertEquals(live.isEmpty(), matcher == null);
+        return matcher;
+    }
+
+    private static void assertMatchesBruteForce(DoubleArrayGapMatcher matcher, Map<String, long[]> live,
+                                                Random random) {
+        assertEquals(live.size(), matcher.wordCount());
+        for (int i = 0; i < 20; ++i) {
+            String text = randomText(random);
+            List<List<Object>> expected = bruteForceMatches(live, text);
+            List<List<Object>> actual = new ArrayList<>();
+            int count = matcher.matchAll(text, (payload, start, end) -> actual.add(List.of(payload, start, end)));
+            assertEquals(actual.size(), count);
+            actual.sort(MATCH_ORDER);
+            assertEquals(expected, actual, () -> describe(live) + " in " + text);
+            assertEquals(!expected.isEmpty(), matcher.containsAny(text), () -> describe(live) + " in " + text);
+        }
+    }
+
+    private static List<List<Object>> bruteForceMatches(Map<String, long[]> live, String text) {
+        List<List<Object>> matches = new ArrayList<>();
+        live.forEach((word, entry) -> {
+            for (int end = 0; end < text.length(); ++end) {
+                int start = earliestStart(text, word, (int) entry[1], word.length() - 1, end, false);
+                if (start != Integer.MAX_VALUE) {
+                    matches.add(List.of(entry[0], start, end + 1));
+                }
+            }
+        });
+        matches.sort(MATCH_ORDER);
+        return matches;
+    }
+
+    /**
+     * 敏感词的第index个字出现在pos时，所有合法嵌入中最早的起始位置
+     */
+    private static int earliestStart(String text, String word, int gap, int index, int pos, boolean skipped) {
+        if (text.charAt(pos) != word.charAt(index)) {
+            return Integer.MAX_VALUE;
+        }
+        if (index == 0) {
+            return skipped ? pos : Integer.MAX_VALUE;
+        }
+        int best = Integer.MAX_VALUE;
+        for (int prev = pos - 1; prev >= Math.max(0, pos - 1 - gap); --prev) {
+            best = Math.min(best, earliestStart(text, word, gap, index - 1, prev, skipped || prev < pos - 1));
+        }
+        return best;
+    }
+
+    private static final Comparator<List<Object>> MATCH_ORDER = Comparator
+            .<List<Object>>comparingInt(match -> (Integer) match.get(2))
+            .thenComparingInt(match -> (Integer) match.get(1))
+            .thenComparingLong(match -> (Long) match.get(0));
+
+    private static String describe(Map<String, long[]> live) {
+        StringBuilder description = new StringBuilder();
+        live.forEach((word, entry) -> description.append(word).append('/').append(entry[1]).append(' '));
+        return description.toString();
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, len = 1 + random.nextInt(4); i < len; ++i) {
+            word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return word.toString();
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0, len = random.nextInt(25); i < len; ++i) {
+            text.append(random.nextInt(4) == 0 ? 'x' : ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+}
@@ -0,0 +1,117 @@
+package org.ricky.common.sensitiveword.domain.algorithm.dat;
+
+import org.junit.jupiter.api.Test;
+import org.ricky.common.sensitiveword.domain.filter.impl.DATFilter;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className MaskingWriterTest
+ * @desc 以任意方式分块写入时，流式替换的结果与{@link DATFilter#filter(String)}相同，
+ * 包括夹杂大段被跳过字符的敏感词
+ */
+class MaskingWriterTest {
+
+    private static final String ALPHABET = "敏感词ab";
+
+    private static final String SKIP_CHARS = " ,.、　";
+
+    private final DATFilter filter = DATFilter.getInstance();
+
+    @Test
+    void should_mask_like_filter_string_in_any_chunks() throws IOException {
+        Random random = new Random(20261017);
+        CharNormalizer normalizer = CharNormalizer.defaults();
+        filter.normalizer(normalizer);
+        for (int round = 0; round < 200; ++round) {
+            List<String> words = new ArrayList<>();
+            for (int i = 0, n = 1 + random.nextInt(20); i < n; ++i) {
+                words.add(randomWord(random));
+            }
+            filter.loadWord(words);
+            DoubleArrayACDictionary dictionary = DoubleArrayACDictionary.of(normalizer.normalizeWords(words));
+            for (int i = 0; i < 20; ++i) {
+                String text = randomText(random);
+                String expected = filter.filter(text);
+
+                StringWriter out = new StringWriter();
+                MaskingWriter writer = new MaskingWriter(dictionary, normalizer, out, '*');
+                writeInChunks(writer, text, random);
+                writer.finish();
+                assertEquals(expected, out.toString(), () -> words + " in [" + text + "]");
+                assertEquals(text.length(), writer.position());
+
+                StringWriter streamed = new StringWriter();
+                assertEquals(text.length(), filter.filter(new StringReader(text), streamed));
+                assertEquals(expected, streamed.toString(), () -> words + " in [" + text + "]");
+            }
+        }
+    }
+
+    @Test
+    void should_reject_writes_after_close() throws IOException {
+        StringWriter out = new StringWriter();
+        MaskingWriter writer = new MaskingWriter(DoubleArrayACDictionary.of(List.of("ab")),
+                CharNormalizer.identity(), out, '*');
+        writer.write("xab");
+        writer.close();
+        assertEquals("x**", out.toString());
+        assertThrows(IOException.class, () -> writer.write('a'));
+    }
+
+    private static void writeInChunks(MaskingWriter writer, String text, Random random) throws IOException {
+        for (int from = 0; from < text.length(); ) {
+            int length = Math.min(text.length() - from, 1 + random.nextInt(8));
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    length = 1;
+                    writer.write(text.charAt(from));
+                }
+                case 1 -> writer.write(text, from, length);
+                default -> writer.write(text.toCharArray(), from, length);
+            }
+            from += length;
+            if (random.nextInt(5) == 0) {
+                // flush只写出已确定的字符，不影响之后的匹配
+                writer.flush();
+            }
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, len = 1 + random.nextInt(4); i < len; ++i) {
+            word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return word.toString();
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0, len = random.nextInt(200); i < len; ++i) {
+            if (random.nextInt(3) == 0) {
+                // 偶尔插入远长于最长敏感词的被跳过字符，窗口需要扩大
+                int run = 1 + random.nextInt(random.nextInt(10) == 0 ? 60 : 4);
+                for (int k = 0; k < run; ++k) {
+                    text.append(SKIP_CHARS.charAt(random.nextInt(SKIP_CHARS.length())));
+                }
+            } else {
+                text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+        }
+        return text.toString();
+    }
+
+}
@@ -0,0 +1,36 @@
+package org.ricky.common.sensitiveword.domain.filter.impl;
+
+import org.junit.jupiter.api.Test;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className ACProFilterTest
+ * @desc 归一化后的替换区间按自动机的命中对应回原文，原文中归一化为替换字符的字符同样被替换
+ */
+class ACProFilterTest {
+
+    private final ACProFilter filter = ACProFilter.getInstance();
+
+    @Test
+    void should_mask_original_range_of_words_containing_mask_char() {
+        filter.normalizer(CharNormalizer.builder().fullWidthToHalfWidth().lowercase().skipChars(" ").build());
+        try {
+            filter.loadWord(List.of("a*b", "*c"));
+            // 全角星号归一化后与替换字符相同
+            assertEquals("***", filter.filter("Ａ＊Ｂ"));
+            assertEquals("x**", filter.filter("x＊c"));
+            assertEquals("＊**** ＊", filter.filter("＊a* b ＊"));
+            assertEquals("****** d", filter.filter("a ＊b*c d"));
+        } finally {
+            filter.normalizer(CharNormalizer.defaults());
+        }
+    }
+
+}
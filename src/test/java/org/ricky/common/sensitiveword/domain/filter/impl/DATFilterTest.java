@@ -0,0 +1,87 @@
+package org.ricky.common.sensitiveword.domain.filter.impl;
+
+import org.junit.jupiter.api.Test;
+import org.ricky.common.sensitiveword.domain.SensitiveWord;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordHitVerifier;
+import org.ricky.common.sensitiveword.domain.filter.SensitiveWordSnapshot;
+import org.ricky.common.sensitiveword.domain.normalize.CharNormalizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DATFilterTest
+ * @desc 设置了二次确认时，最长的命中未通过确认，同一位置结束的更短命中通过确认，
+ * {@link DATFilter#hasSensitiveWord(String)}、{@link DATFilter#filter(String)}与{@link DATFilter#match}的结论一致
+ */
+class DATFilterTest {
+
+    /**
+     * 只确认不超过两个字的命中
+     */
+    private static final SensitiveWordHitVerifier SHORT_ONLY = (text, start, end) -> end - start <= 2;
+
+    private final DATFilter filter = DATFilter.getInstance();
+
+    @Test
+    void should_confirm_shorter_word_when_longest_is_rejected() {
+        filter.normalizer(CharNormalizer.identity());
+        filter.loadWord(List.of("是敏感词", "感词"));
+        filter.hitVerifier(SHORT_ONLY);
+        try {
+            String text = "这是敏感词";
+            assertEquals(List.of(List.of(3, 5)), matches(text));
+            assertTrue(filter.hasSensitiveWord(text));
+            assertEquals("这是敏**", filter.filter(text));
+
+            filter.hitVerifier((source, start, end) -> false);
+            assertTrue(matches(text).isEmpty());
+            assertFalse(filter.hasSensitiveWord(text));
+            assertEquals(text, filter.filter(text));
+        } finally {
+            filter.hitVerifier(null);
+        }
+    }
+
+    @Test
+    void should_confirm_shorter_word_from_overlay_or_gap_matcher() {
+        filter.normalizer(CharNormalizer.identity());
+        filter.hitVerifier(SHORT_ONLY);
+        try {
+            // 最长的命中来自共享词库，更短的命中来自叠加层
+            filter.loadWord(List.of("是敏感词"));
+            SensitiveWordSnapshot snapshot = filter.snapshot(filter.overlay(List.of("感词")));
+            assertTrue(snapshot.hasSensitiveWord("这是敏感词"));
+            assertEquals("这是敏**", snapshot.filter("这是敏感词"));
+            assertFalse(filter.hasSensitiveWord("这是敏感词"));
+
+            // 最长的命中插入了字符，更短的命中是精确匹配
+            filter.loadSensitiveWord(List.of(word("敏词", 1), word("词", 0)));
+            assertEquals(List.of(List.of(2, 3)), matches("敏感词"));
+            assertTrue(filter.hasSensitiveWord("敏感词"));
+            assertEquals("敏感*", filter.filter("敏感词"));
+        } finally {
+            filter.hitVerifier(null);
+        }
+    }
+
+    private List<List<Integer>> matches(String text) {
+        List<List<Integer>> matches = new ArrayList<>();
+        int count = filter.match(text, (wordId, category, severity, start, end) -> matches.add(List.of(start, end)));
+        assertEquals(matches.size(), count);
+        return matches;
+    }
+
+    private static SensitiveWord word(String text, int maxGap) {
+        SensitiveWord word = new SensitiveWord();
+        word.setWord(text);
+        word.setMaxGap(maxGap);
+        return word;
+    }
+
+}
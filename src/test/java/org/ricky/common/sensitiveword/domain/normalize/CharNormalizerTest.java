@@ -0,0 +1,110 @@
+package org.ricky.common.sensitiveword.domain.normalize;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.ricky.common.sensitiveword.domain.normalize.CharNormalizer.SKIP;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className CharNormalizerTest
+ * @desc 默认规则的全角、大小写、繁简与跳过字符；归一化后的每个字符都能对应回原文中归一化为它的字符
+ */
+class CharNormalizerTest {
+
+    private static final String ALPHABET = "aBＣｄ萬與敏感 *，\u200B.";
+
+    private final CharNormalizer normalizer = CharNormalizer.defaults();
+
+    @Test
+    void should_normalize_chars_with_default_rules() {
+        assertEquals('a', normalizer.normalize('Ａ'));
+        assertEquals('a', normalizer.normalize('A'));
+        assertEquals('1', normalizer.normalize('１'));
+        assertEquals('万', normalizer.normalize('萬'));
+        assertEquals('敏', normalizer.normalize('敏'));
+        for (char c : (CharNormalizer.DEFAULT_SKIP_CHARS + "\u200B\uFEFF\u3000＊").toCharArray()) {
+            assertEquals(SKIP, normalizer.normalize(c), () -> "char " + (int) c);
+            assertTrue(normalizer.isSkipped(c));
+        }
+        assertEquals("万与ab", normalizer.normalizeWord("萬 與\u200BＡｂ"));
+        assertEquals(List.of("ab"), normalizer.normalizeWords(List.of("A-B", "*.*")));
+    }
+
+    @Test
+    void should_map_normalized_chars_back_to_original() {
+        Random random = new Random(20261017);
+        for (int round = 0; round < 1000; ++round) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0, len = random.nextInt(30); i < len; ++i) {
+                builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            String text = builder.toString();
+            NormalizedText normalized = normalizer.normalize(text);
+
+            StringBuilder expected = new StringBuilder();
+            for (char c : text.toCharArray()) {
+                if (normalizer.normalize(c) != SKIP) {
+                    expected.append(normalizer.normalize(c));
+                }
+            }
+            assertEquals(expected.toString(), normalized.text(), text);
+            assertEquals(normalized.text().equals(text), normalized.isIdentity(), text);
+
+            int previous = -1;
+            for (int k = 0; k < normalized.text().length(); ++k) {
+                int start = normalized.originalStart(k);
+                assertTrue(start > previous, text);
+                assertEquals(normalized.text().charAt(k), normalizer.normalize(text.charAt(start)), text);
+                assertEquals(start + 1, normalized.originalEnd(k + 1), text);
+                previous = start;
+            }
+            assertEquals(0, normalized.originalEnd(0));
+        }
+    }
+
+    @Test
+    void should_compose_rules_in_order() {
+        // 映射后再转小写，映射为跳过字符的字符同样被跳过
+        CharNormalizer custom = CharNormalizer.builder()
+                .mapping('x', 'Ｙ')
+                .mapping('z', '-')
+                .fullWidthToHalfWidth()
+                .lowercase()
+                .skipChars("-")
+                .build();
+        assertEquals('y', custom.normalize('x'));
+        assertEquals(SKIP, custom.normalize('z'));
+        assertEquals(SKIP, custom.normalize('-'));
+        assertEquals(' ', custom.normalize('\u3000'));
+
+        CharNormalizer same = CharNormalizer.builder()
+                .mapping('z', '-')
+                .mapping('x', 'Ｙ')
+                .lowercase()
+                .fullWidthToHalfWidth()
+                .skipChars("-")
+                .build();
+        assertEquals(custom.fingerprint(), same.fingerprint());
+        assertNotEquals(custom.fingerprint(), CharNormalizer.identity().fingerprint());
+    }
+
+    @Test
+    void should_read_mappings_like_opencc() {
+        CharNormalizer custom = CharNormalizer.builder()
+                .mappings(new StringReader("# comment\n甲\t乙 丙\n丁戊\t己\n庚\t \n\n辛\t壬\n"))
+                .build();
+        assertEquals('乙', custom.normalize('甲'));
+        assertEquals('壬', custom.normalize('辛'));
+        // 词组映射与缺少目标字符的行被忽略
+        assertEquals('丁', custom.normalize('丁'));
+        assertEquals('庚', custom.normalize('庚'));
+    }
+
+}
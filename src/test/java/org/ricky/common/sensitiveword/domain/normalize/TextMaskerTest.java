@@ -0,0 +1,71 @@
+package org.ricky.common.sensitiveword.domain.normalize;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className TextMaskerTest
+ * @desc 按结束下标排列的任意区间（可以重叠）替换后，与逐个区间对应回原文再替换的结果相同，
+ * 区间之间被跳过的字符只在区间内部时才被替换
+ */
+class TextMaskerTest {
+
+    private static final String ALPHABET = "abＣ敏 ,*";
+
+    private static final char MASK_CHAR = '#';
+
+    private final CharNormalizer normalizer = CharNormalizer.defaults();
+
+    @Test
+    void should_mask_like_mapping_each_range_back() {
+        Random random = new Random(20261017);
+        for (int round = 0; round < 2000; ++round) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0, len = random.nextInt(30); i < len; ++i) {
+                builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            String text = builder.toString();
+            NormalizedText normalized = normalizer.normalize(text);
+            int length = normalized.text().length();
+
+            List<int[]> ranges = new ArrayList<>();
+            for (int i = 0, n = length == 0 ? 0 : random.nextInt(5); i < n; ++i) {
+                int start = random.nextInt(length);
+                ranges.add(new int[]{start, start + 1 + random.nextInt(length - start)});
+            }
+            ranges.sort(Comparator.comparingInt(range -> range[1]));
+
+            char[] expected = text.toCharArray();
+            TextMasker masker = new TextMasker(text, normalized, MASK_CHAR);
+            for (int[] range : ranges) {
+                Arrays.fill(expected, normalized.originalStart(range[0]), normalized.originalEnd(range[1]), MASK_CHAR);
+                masker.mask(range[0], range[1]);
+            }
+            String describe = text + " " + ranges.stream().map(Arrays::toString).toList();
+            assertEquals(new String(expected), masker.result(), describe);
+        }
+    }
+
+    @Test
+    void should_keep_skipped_chars_outside_ranges() {
+        String text = " Ａ,ｂ c, ";
+        TextMasker masker = new TextMasker(text, normalizer.normalize(text), MASK_CHAR);
+        masker.mask(0, 2);
+        assertEquals(" ### c, ", masker.result());
+
+        TextMasker untouched = new TextMasker(text, normalizer.normalize(text), MASK_CHAR);
+        assertSame(text, untouched.result());
+    }
+
+}
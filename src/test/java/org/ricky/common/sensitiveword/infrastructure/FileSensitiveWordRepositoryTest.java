@@ -0,0 +1,83 @@
+package org.ricky.common.sensitiveword.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ricky.common.sensitiveword.domain.SensitiveWord;
+import org.ricky.common.sensitiveword.domain.SensitiveWordChanges;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className FileSensitiveWordRepositoryTest
+ * @desc 文件内容变化后推进变更版本，只能从上一个版本增量同步；只改动修改时间而内容不变时版本不变
+ */
+class FileSensitiveWordRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private long modified = 1_000_000L;
+
+    @Test
+    void should_list_changes_since_previous_version() throws IOException {
+        Path file = dir.resolve("words.txt");
+        write(file, "");
+        FileSensitiveWordRepository repository = new FileSensitiveWordRepository(file);
+        assertEquals(0, repository.changeVersion());
+        assertTrue(repository.listChangesSince(0).isEmpty());
+
+        write(file, "a\n\n b \n");
+        SensitiveWordChanges changes = repository.listChangesSince(0);
+        assertEquals(1, changes.getVersion());
+        assertEquals(List.of("a", "b"), words(changes.getUpserted()));
+        assertEquals(List.of(), changes.getRemoved());
+        assertTrue(repository.listChangesSince(1).isEmpty());
+
+        write(file, "b\nc\n");
+        assertEquals(2, repository.changeVersion());
+        changes = repository.listChangesSince(1);
+        assertEquals(2, changes.getVersion());
+        assertEquals(List.of("c"), words(changes.getUpserted()));
+        assertEquals(List.of("a"), changes.getRemoved());
+        // 只记住上一个版本的内容
+        assertNull(repository.listChangesSince(0));
+        assertNull(repository.listChangesSince(3));
+        assertEquals(List.of("b", "c"), repository.listAllSensitiveWord());
+    }
+
+    @Test
+    void should_keep_version_when_content_is_unchanged() throws IOException {
+        Path file = dir.resolve("words.txt");
+        write(file, "a\nb\n");
+        FileSensitiveWordRepository repository = new FileSensitiveWordRepository(file);
+        assertEquals(1, repository.changeVersion());
+
+        write(file, "b\r\na\r\n\r\n");
+        assertEquals(1, repository.changeVersion());
+        assertTrue(repository.listChangesSince(1).isEmpty());
+        assertEquals(List.of(), repository.listChangesSince(0).getRemoved());
+    }
+
+    /**
+     * 每次写入都推进修改时间，避免文件系统的时间精度不足时读不到变化
+     */
+    private void write(Path file, String content) throws IOException {
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified += 1000));
+    }
+
+    private static List<String> words(List<SensitiveWord> words) {
+        return words.stream().map(SensitiveWord::getWord).toList();
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.ricky.common.sensitiveword.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.ricky.common.sensitiveword.domain.SensitiveWord;
+import org.ricky.common.sensitiveword.domain.SensitiveWordChanges;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.ricky.common.sensitiveword.domain.SensitiveWordCategoryEnum.POLITICS;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className InMemorySensitiveWordRepositoryTest
+ * @desc 增量同步只返回某个版本之后发生变化的敏感词，同一个词多次变化只出现一次且取当前状态；
+ * 变更记录被清理或版本不合法时返回null
+ */
+class InMemorySensitiveWordRepositoryTest {
+
+    @Test
+    void should_list_changes_since_version() {
+        InMemorySensitiveWordRepository repository = new InMemorySensitiveWordRepository();
+        assertEquals(0, repository.changeVersion());
+        assertTrue(repository.listChangesSince(0).isEmpty());
+
+        repository.save("a");
+        repository.save("b");
+        assertEquals(2, repository.changeVersion());
+        SensitiveWordChanges changes = repository.listChangesSince(0);
+        assertEquals(2, changes.getVersion());
+        assertEquals(List.of("a", "b"), words(changes.getUpserted()));
+        assertEquals(List.of(), changes.getRemoved());
+        assertEquals(List.of("b"), words(repository.listChangesSince(1).getUpserted()));
+        assertTrue(repository.listChangesSince(2).isEmpty());
+
+        // 已存在或内容相同时不推进版本
+        repository.save("a");
+        repository.save(repository.listAllSensitiveWordDetail().get(0));
+        assertEquals(2, repository.changeVersion());
+
+        SensitiveWord updated = new SensitiveWord();
+        updated.setWord("b");
+        updated.setCategory(POLITICS);
+        repository.save(updated);
+        repository.remove("a");
+        repository.remove("missing");
+        repository.save("c");
+        repository.remove("c");
+        assertEquals(6, repository.changeVersion());
+
+        changes = repository.listChangesSince(2);
+        assertEquals(6, changes.getVersion());
+        assertEquals(List.of("b"), words(changes.getUpserted()));
+        assertEquals(2, changes.getUpserted().get(0).getId().longValue());
+        assertEquals(POLITICS, changes.getUpserted().get(0).getCategory());
+        assertEquals(List.of("a", "c"), changes.getRemoved());
+    }
+
+    @Test
+    void should_return_copies() {
+        InMemorySensitiveWordRepository repository = new InMemorySensitiveWordRepository();
+        repository.save("a");
+        repository.listChangesSince(0).getUpserted().get(0).setCategory(POLITICS);
+        repository.listAllSensitiveWordDetail().get(0).setWord("b");
+        assertEquals(List.of("a"), repository.listAllSensitiveWord());
+        assertNotEquals(POLITICS, repository.listAllSensitiveWordDetail().get(0).getCategory());
+        assertEquals(1, repository.changeVersion());
+    }
+
+    @Test
+    void should_require_full_load_when_changes_are_unavailable() {
+        InMemorySensitiveWordRepository repository = new InMemorySensitiveWordRepository();
+        repository.save("a");
+        assertNull(repository.listChangesSince(-1));
+        assertNull(repository.listChangesSince(2));
+
+        for (int i = 0; i < InMemorySensitiveWordRepository.MAX_CHANGES; ++i) {
+            if (i % 2 == 0) {
+                repository.remove("a");
+            } else {
+                repository.save("a");
+            }
+        }
+        // 版本1之后的变更记录仍完整保留，版本0之后的第一条已被清理
+        long version = InMemorySensitiveWordRepository.MAX_CHANGES + 1;
+        assertEquals(version, repository.changeVersion());
+        assertNull(repository.listChangesSince(0));
+        SensitiveWordChanges changes = repository.listChangesSince(1);
+        assertEquals(version, changes.getVersion());
+        // 多次增删只按当前状态出现一次
+        assertEquals(List.of("a"), words(changes.getUpserted()));
+        assertEquals(List.of(), changes.getRemoved());
+        assertTrue(repository.listChangesSince(version).isEmpty());
+    }
+
+    private static List<String> words(List<SensitiveWord> words) {
+        return words.stream().map(SensitiveWord::getWord).toList();
+    }
+
+}
@@ -0,0 +1,149 @@
+package org.ricky.common.sensitiveword.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className WTinyLfuCacheTest
+ * @desc 版本号不一致视为未命中；条目数不超过容量；只出现一次的键不会挤走高频条目，
+ * 访问频率更高的新条目能够替换试用区中的低频条目
+ */
+class WTinyLfuCacheTest {
+
+    private static final long VERSION = 1;
+
+    @Test
+    void should_miss_on_version_mismatch() {
+        WTinyLfuCache<String> cache = new WTinyLfuCache<>(10, 1);
+        assertNull(cache.get("a", VERSION));
+        cache.put("a", VERSION, "A");
+        assertEquals("A", cache.get("a", VERSION));
+        assertNull(cache.get("a", VERSION + 1));
+
+        cache.put("a", VERSION + 1, "B");
+        assertEquals("B", cache.get("a", VERSION + 1));
+        assertEquals(1, cache.size());
+
+        WTinyLfuCache.CacheStats stats = cache.stats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(2, stats.missCount());
+        assertEquals(0.5, stats.hitRate());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a", VERSION + 1));
+    }
+
+    @Test
+    void should_keep_hot_entries_during_scan() {
+        WTinyLfuCache<String> cache = new WTinyLfuCache<>(100, 1);
+        for (int round = 0; round < 10; ++round) {
+            for (int i = 0; i < 50; ++i) {
+                access(cache, "hot-" + i);
+            }
+        }
+        // 大量只出现一次的键中夹杂着仍在被访问的热点键
+        int hotMisses = 0;
+        for (int i = 0; i < 10_000; ++i) {
+            access(cache, "scan-" + i);
+            if (i % 4 == 0 && !access(cache, "hot-" + i / 4 % 50)) {
+                ++hotMisses;
+            }
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(0, hotMisses);
+        assertTrue(cache.stats().rejectionCount() > 0);
+    }
+
+    @Test
+    void should_admit_candidate_more_frequent_than_victim() {
+        WTinyLfuCache<String> cache = new WTinyLfuCache<>(100, 1);
+        for (int i = 0; i < 100; ++i) {
+            access(cache, "cold-" + i);
+        }
+        assertEquals(100, cache.size());
+
+        for (int i = 0; i < 5; ++i) {
+            assertNull(cache.get("frequent", VERSION));
+        }
+        // 挤出窗口区的cold-99与试用区中最久未访问的cold-0频率相同，未被接纳
+        cache.put("frequent", VERSION, "frequent");
+        assertEquals(1, cache.stats().rejectionCount());
+        // frequent被挤出窗口区，频率高于cold-0，替换cold-0
+        cache.put("once", VERSION, "once");
+        assertEquals(1, cache.stats().evictionCount());
+        // once从未被读取，频率不高于cold-1，未被接纳
+        cache.put("never", VERSION, "never");
+        assertEquals(2, cache.stats().rejectionCount());
+
+        assertEquals("frequent", cache.get("frequent", VERSION));
+        assertNull(cache.get("once", VERSION));
+        assertNull(cache.get("cold-0", VERSION));
+        assertEquals("cold-1", cache.get("cold-1", VERSION));
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    void should_stay_within_capacity_under_concurrent_access() throws Exception {
+        WTinyLfuCache<Integer> cache = new WTinyLfuCache<>(1000, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; ++t) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 50_000; ++i) {
+                        // 少量热点键与大量冷门键
+                        int key = random.nextInt(4) == 0 ? random.nextInt(100) : 100 + random.nextInt(100_000);
+                        Integer value = cache.get(Integer.toString(key), VERSION);
+                        if (value == null) {
+                            cache.put(Integer.toString(key), VERSION, key);
+                        } else {
+                            assertEquals(key, value.intValue());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(cache.size() <= 1000, () -> "size " + cache.size());
+        assertTrue(cache.stats().hitRate() > 0.2, () -> "hit rate " + cache.stats().hitRate());
+    }
+
+    @Test
+    void should_reject_invalid_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> new WTinyLfuCache<String>(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WTinyLfuCache<String>(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new WTinyLfuCache<String>(1, 1).put("a", VERSION, null));
+    }
+
+    /**
+     * 与调用方的用法一致：未命中时计算并写入
+     *
+     * @return 是否命中
+     */
+    private static boolean access(WTinyLfuCache<String> cache, String key) {
+        if (cache.get(key, VERSION) != null) {
+            return true;
+        }
+        cache.put(key, VERSION, key);
+        return false;
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.ricky.common.taskexecutor;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className DownstreamConcurrencyLimiterTest
+ * @desc 同一线程嵌套访问共用一个许可；许可可以在其他线程归还，重复归还被忽略；许可用完后等待超时抛出异常
+ */
+class DownstreamConcurrencyLimiterTest {
+
+    private static final Duration MAX_WAIT = Duration.ofMillis(50);
+
+    @Test
+    void should_share_permit_when_nested_on_same_thread() throws Exception {
+        DownstreamConcurrencyLimiter limiter = new DownstreamConcurrencyLimiter("mongo", 1, MAX_WAIT);
+        DownstreamConcurrencyLimiter.Permit outer = limiter.acquire();
+        DownstreamConcurrencyLimiter.Permit inner = limiter.acquire();
+        assertSame(outer, inner);
+        assertEquals(1, limiter.inUse());
+
+        inner.release();
+        assertEquals(1, limiter.inUse());
+        assertThrows(IllegalStateException.class, () -> acquireOnOtherThread(limiter));
+
+        outer.release();
+        assertEquals(0, limiter.inUse());
+        outer.release();
+        inner.release();
+        assertEquals(0, limiter.inUse());
+
+        DownstreamConcurrencyLimiter.Permit next = limiter.acquire();
+        assertNotSame(outer, next);
+        assertEquals(1, limiter.inUse());
+        next.release();
+    }
+
+    @Test
+    void should_release_permit_on_other_thread() throws Exception {
+        DownstreamConcurrencyLimiter limiter = new DownstreamConcurrencyLimiter("redis", 1, MAX_WAIT);
+        DownstreamConcurrencyLimiter.Permit permit = limiter.acquire();
+        runOnNewThread(() -> {
+            permit.release();
+            return null;
+        });
+        assertEquals(0, limiter.inUse());
+
+        // 已归还的许可不再被当前线程复用
+        DownstreamConcurrencyLimiter.Permit next = limiter.acquire();
+        assertNotSame(permit, next);
+        assertEquals(1, limiter.inUse());
+        permit.release();
+        assertEquals(1, limiter.inUse());
+        next.release();
+        assertEquals(0, limiter.inUse());
+    }
+
+    @Test
+    void should_time_out_when_permits_are_used_up() throws Exception {
+        DownstreamConcurrencyLimiter limiter = new DownstreamConcurrencyLimiter("mongo", 2, MAX_WAIT);
+        DownstreamConcurrencyLimiter.Permit first = acquireOnOtherThread(limiter);
+        DownstreamConcurrencyLimiter.Permit second = acquireOnOtherThread(limiter);
+        assertEquals(2, limiter.inUse());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, limiter::acquire);
+        assertTrue(e.getMessage().contains("mongo"), e.getMessage());
+
+        first.release();
+        limiter.acquire().release();
+        second.release();
+        assertEquals(0, limiter.inUse());
+    }
+
+    @Test
+    void should_reject_invalid_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> new DownstreamConcurrencyLimiter("mongo", 0, MAX_WAIT));
+        assertThrows(IllegalArgumentException.class, () -> new DownstreamConcurrencyLimiter("mongo", 1, Duration.ofMillis(-1)));
+    }
+
+    private static DownstreamConcurrencyLimiter.Permit acquireOnOtherThread(DownstreamConcurrencyLimiter limiter) throws Exception {
+        return runOnNewThread(limiter::acquire);
+    }
+
+    /**
+     * 每次使用新线程，线程池复用的线程可能仍持有之前取得的许可
+     */
+    private static <T> T runOnNewThread(Callable<T> callable) throws Exception {
+        FutureTask<T> task = new FutureTask<>(callable);
+        new Thread(task).start();
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+}
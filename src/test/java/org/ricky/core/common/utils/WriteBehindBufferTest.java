@@ -0,0 +1,112 @@
+package org.ricky.core.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ricky
+ * @version 1.0
+ * @date 2026/10/17
+ * @className WriteBehindBufferTest
+ * @desc 队列已满或已关闭时放入失败、由调用方直接写入，关闭时写完剩余元素且每个元素只写入一次
+ */
+class WriteBehindBufferTest {
+
+    @Test
+    void should_write_remaining_elements_on_shutdown() throws InterruptedException {
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        // 时间窗口足够长，凑满一批之前不会写入
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test-flusher", 100, 7, Duration.ofHours(1),
+                batch -> batches.add(List.copyOf(batch)));
+        for (int i = 0; i < 50; ++i) {
+            assertTrue(buffer.offer(i));
+        }
+        buffer.shutdown();
+
+        assertEquals(0, buffer.size());
+        List<Integer> written = new ArrayList<>();
+        for (List<Integer> batch : batches) {
+            assertTrue(batch.size() <= 7, () -> "batch too large: " + batch.size());
+            written.addAll(batch);
+        }
+        Collections.sort(written);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            expected.add(i);
+        }
+        assertEquals(expected, written);
+
+        assertFalse(buffer.offer(50));
+        buffer.shutdown();
+        assertEquals(50, written.size());
+    }
+
+    @Test
+    void should_reject_when_queue_is_full() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test-flusher", 2, 1, Duration.ofMillis(1),
+                batch -> {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    written.addAll(batch);
+                });
+
+        // 后台线程取走第一个元素后阻塞在写入上，之后只有队列容量个元素能放入
+        assertTrue(buffer.offer(0));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+        assertEquals(2, buffer.size());
+
+        release.countDown();
+        buffer.shutdown();
+        List<Integer> sorted = new ArrayList<>(written);
+        Collections.sort(sorted);
+        assertEquals(List.of(0, 1, 2), sorted);
+    }
+
+    @Test
+    void should_keep_writing_after_writer_fails() throws InterruptedException {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test-flusher", 10, 1, Duration.ofMillis(1),
+                batch -> {
+                    if (batch.contains(0)) {
+                        throw new IllegalStateException("write failed");
+                    }
+                    written.addAll(batch);
+                });
+        assertTrue(buffer.offer(0));
+        assertTrue(buffer.offer(1));
+        buffer.shutdown();
+        assertEquals(List.of(1), written);
+    }
+
+    @Test
+    void should_reject_invalid_arguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WriteBehindBuffer<Integer>("test-flusher", 0, 1, Duration.ofMillis(1), batch -> {
+                }));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WriteBehindBuffer<Integer>("test-flusher", 1, 0, Duration.ofMillis(1), batch -> {
+                }));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WriteBehindBuffer<Integer>("test-flusher", 1, 1, Duration.ZERO, batch -> {
+                }));
+    }
+
+}